@@ -0,0 +1,104 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.benchmark;
+
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import uk.gov.gchq.gaffer.accumulostore.key.core.AbstractCoreKeyAccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityAccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.classic.ClassicAccumuloElementConverter;
+import uk.gov.gchq.gaffer.commonutil.pair.Pair;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks converting road traffic elements to and from Accumulo keys and
+ * values with the {@link AbstractCoreKeyAccumuloElementConverter} implementations.
+ * Scores for the element benchmarks are per line of road traffic data, each
+ * of which generates the same fixed set of elements.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccumuloElementConverterBenchmark {
+    private static final int NUM_LINES = 100;
+
+    @Param({"byteEntity", "classic"})
+    public String keyPackage;
+
+    private AbstractCoreKeyAccumuloElementConverter converter;
+    private Element[] elements;
+    private Key[] keys;
+    private Value[] values;
+
+    @Setup
+    public void setup() {
+        final Schema schema = RoadTrafficBenchmarkData.createSchema();
+        if ("classic".equals(keyPackage)) {
+            converter = new ClassicAccumuloElementConverter(schema);
+        } else {
+            converter = new ByteEntityAccumuloElementConverter(schema);
+        }
+
+        final List<Element> elementList = RoadTrafficBenchmarkData.createElements(NUM_LINES, RoadTrafficBenchmarkData.SEED);
+        elements = elementList.toArray(new Element[elementList.size()]);
+        keys = new Key[elements.length];
+        values = new Value[elements.length];
+        for (int i = 0; i < elements.length; i++) {
+            keys[i] = converter.getKeysFromElement(elements[i]).getFirst();
+            values[i] = converter.getValueFromElement(elements[i]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_LINES)
+    public void encode(final Blackhole blackhole) {
+        for (final Element element : elements) {
+            final Pair<Key, Key> elementKeys = converter.getKeysFromElement(element);
+            blackhole.consume(elementKeys);
+            blackhole.consume(converter.getValueFromElement(element));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_LINES)
+    public void decode(final Blackhole blackhole) {
+        for (int i = 0; i < keys.length; i++) {
+            blackhole.consume(converter.getFullElement(keys[i], values[i], false));
+        }
+    }
+}
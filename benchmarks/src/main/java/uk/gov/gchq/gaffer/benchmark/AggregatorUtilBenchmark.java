@@ -0,0 +1,96 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.util.AggregatorUtil;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link AggregatorUtil#ingestAggregate(Iterable, Schema)} and
+ * {@link AggregatorUtil#queryAggregate(Iterable, Schema, View)} over road traffic
+ * elements. Aggregation updates the elements in place, so fresh elements are
+ * generated before each invocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AggregatorUtilBenchmark {
+    @Param({"1000", "10000"})
+    public int numLines;
+
+    private Schema schema;
+    private View summariseView;
+    private List<Element> elements;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        schema = RoadTrafficBenchmarkData.createSchema();
+        final ViewElementDefinition summarise = new ViewElementDefinition.Builder()
+                .groupBy()
+                .build();
+        final View.Builder viewBuilder = new View.Builder();
+        for (final String group : schema.getEntityGroups()) {
+            viewBuilder.entity(group, summarise);
+        }
+        for (final String group : schema.getEdgeGroups()) {
+            viewBuilder.edge(group, summarise);
+        }
+        summariseView = viewBuilder.build();
+    }
+
+    @Setup(Level.Invocation)
+    public void setupInvocation() {
+        elements = RoadTrafficBenchmarkData.createElements(numLines, RoadTrafficBenchmarkData.SEED);
+    }
+
+    @Benchmark
+    public void ingestAggregate(final Blackhole blackhole) {
+        for (final Element element : AggregatorUtil.ingestAggregate(elements, schema)) {
+            blackhole.consume(element);
+        }
+    }
+
+    @Benchmark
+    public void queryAggregate(final Blackhole blackhole) {
+        for (final Element element : AggregatorUtil.queryAggregate(elements, schema, summariseView)) {
+            blackhole.consume(element);
+        }
+    }
+}
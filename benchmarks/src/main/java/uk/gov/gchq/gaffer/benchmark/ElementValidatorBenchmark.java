@@ -0,0 +1,90 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.store.ElementValidator;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks validating road traffic elements against the schema with the
+ * {@link ElementValidator}.
+ * Scores for the element benchmarks are per line of road traffic data, each
+ * of which generates the same fixed set of elements.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ElementValidatorBenchmark {
+    private static final int NUM_LINES = 100;
+
+    private Element[] elements;
+    private ElementValidator validator;
+    private ElementValidator validatorWithIsA;
+
+    @Setup
+    public void setup() {
+        final Schema schema = RoadTrafficBenchmarkData.createSchema();
+        validator = new ElementValidator(schema, false);
+        validatorWithIsA = new ElementValidator(schema, true);
+        final List<Element> elementList = RoadTrafficBenchmarkData.createElements(NUM_LINES, RoadTrafficBenchmarkData.SEED);
+        elements = elementList.toArray(new Element[elementList.size()]);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_LINES)
+    public void validate(final Blackhole blackhole) {
+        for (final Element element : elements) {
+            blackhole.consume(validator.validate(element));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_LINES)
+    public void validateWithIsA(final Blackhole blackhole) {
+        for (final Element element : elements) {
+            blackhole.consume(validatorWithIsA.validate(element));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_LINES)
+    public void validateWithValidationResult(final Blackhole blackhole) {
+        for (final Element element : elements) {
+            blackhole.consume(validatorWithIsA.validateWithValidationResult(element));
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link JSONSerialiser} round trips of road traffic elements and of
+ * an {@link AddElements} operation containing them, as sent to the REST API.
+ * Scores for the element benchmarks are per line of road traffic data, each
+ * of which generates the same fixed set of elements.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JSONSerialiserBenchmark {
+    private static final int NUM_LINES = 100;
+
+    private Element[] elements;
+    private byte[][] elementsJson;
+    private AddElements addElements;
+    private byte[] addElementsJson;
+
+    @Setup
+    public void setup() throws SerialisationException {
+        final List<Element> elementList = RoadTrafficBenchmarkData.createElements(NUM_LINES, RoadTrafficBenchmarkData.SEED);
+        elements = elementList.toArray(new Element[elementList.size()]);
+        elementsJson = new byte[elements.length][];
+        for (int i = 0; i < elements.length; i++) {
+            elementsJson[i] = JSONSerialiser.serialise(elements[i]);
+        }
+        addElements = new AddElements.Builder()
+                .input(elementList)
+                .build();
+        addElementsJson = JSONSerialiser.serialise(addElements);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_LINES)
+    public void serialiseElements(final Blackhole blackhole) throws SerialisationException {
+        for (final Element element : elements) {
+            blackhole.consume(JSONSerialiser.serialise(element));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_LINES)
+    public void deserialiseElements(final Blackhole blackhole) throws SerialisationException {
+        for (final byte[] json : elementsJson) {
+            blackhole.consume(JSONSerialiser.deserialise(json, Element.class));
+        }
+    }
+
+    @Benchmark
+    public byte[] serialiseOperation() throws SerialisationException {
+        return JSONSerialiser.serialise(addElements);
+    }
+
+    @Benchmark
+    public AddElements deserialiseOperation() throws SerialisationException {
+        return JSONSerialiser.deserialise(addElementsJson, AddElements.class);
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.graph.GraphConfig;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.traffic.ElementGroup;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Benchmarks adding road traffic elements to a MapStore and retrieving them
+ * with {@link GetElements}, seeded with the junctions in the data.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapStoreBenchmark {
+    private static final AtomicInteger GRAPH_COUNT = new AtomicInteger();
+    private static final int NUM_SEEDS = 100;
+
+    @Param({"1000", "10000"})
+    public int numLines;
+
+    private final User user = new User();
+    private List<Element> elements;
+    private Graph populatedGraph;
+    private Graph emptyGraph;
+    private List<EntitySeed> seeds;
+
+    @Setup(Level.Trial)
+    public void setupTrial() throws OperationException {
+        elements = RoadTrafficBenchmarkData.createElements(numLines, RoadTrafficBenchmarkData.SEED);
+        populatedGraph = createGraph();
+        populatedGraph.execute(new AddElements.Builder()
+                .input(RoadTrafficBenchmarkData.createElements(numLines, RoadTrafficBenchmarkData.SEED))
+                .build(), user);
+
+        final Set<Object> junctions = new LinkedHashSet<>();
+        for (final Element element : elements) {
+            if (ElementGroup.ROAD_HAS_JUNCTION.equals(element.getGroup())) {
+                junctions.add(((Edge) element).getDestination());
+                if (junctions.size() == NUM_SEEDS) {
+                    break;
+                }
+            }
+        }
+        seeds = new ArrayList<>(junctions.size());
+        for (final Object junction : junctions) {
+            seeds.add(new EntitySeed(junction));
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void setupInvocation() {
+        emptyGraph = createGraph();
+    }
+
+    @Benchmark
+    public void addElements() throws OperationException {
+        emptyGraph.execute(new AddElements.Builder()
+                .input(elements)
+                .validate(true)
+                .build(), user);
+    }
+
+    @Benchmark
+    public void getElements(final Blackhole blackhole) throws OperationException {
+        try (final CloseableIterable<? extends Element> results = populatedGraph.execute(new GetElements.Builder()
+                .input(seeds)
+                .build(), user)) {
+            for (final Element element : results) {
+                blackhole.consume(element);
+            }
+        }
+    }
+
+    private static Graph createGraph() {
+        return new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId("benchmark" + GRAPH_COUNT.incrementAndGet())
+                        .build())
+                .storeProperties(new MapStoreProperties())
+                .addSchemas(StreamUtil.schemas(ElementGroup.class))
+                .build();
+    }
+}
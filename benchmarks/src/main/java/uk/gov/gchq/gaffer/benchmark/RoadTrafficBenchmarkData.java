@@ -0,0 +1,121 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.benchmark;
+
+import com.google.common.collect.Lists;
+
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaOptimiser;
+import uk.gov.gchq.gaffer.traffic.ElementGroup;
+import uk.gov.gchq.gaffer.traffic.generator.RoadTrafficStringElementGenerator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Utility methods for creating the road traffic schema and deterministic
+ * synthetic road traffic data for the benchmarks.
+ */
+public final class RoadTrafficBenchmarkData {
+    public static final long SEED = 42L;
+
+    private static final String[] REGIONS = {"South West", "South East", "London", "Wales", "Scotland", "North West"};
+    private static final String[] ROADS = {"M4", "M5", "M25", "A30", "A38", "A303", "M1", "M6"};
+    private static final int LOCATIONS_PER_REGION = 10;
+    private static final int JUNCTIONS_PER_ROAD = 40;
+    private static final int DAYS = 28;
+
+    private RoadTrafficBenchmarkData() {
+        // Private constructor to prevent instantiation.
+    }
+
+    /**
+     * @return the road traffic schema, optimised with the default serialisers.
+     */
+    public static Schema createSchema() {
+        return new SchemaOptimiser().optimise(Schema.fromJson(StreamUtil.schemas(ElementGroup.class)), true);
+    }
+
+    /**
+     * Creates raw road traffic count lines in the format of the GB Road Traffic
+     * Counts data set.
+     *
+     * @param numLines the number of lines to create
+     * @param seed     the random seed, so runs are repeatable
+     * @return the csv lines
+     */
+    public static List<String> createCsvLines(final int numLines, final long seed) {
+        final Random random = new Random(seed);
+        final List<String> lines = new ArrayList<>(numLines);
+        for (int i = 0; i < numLines; i++) {
+            final int regionIndex = random.nextInt(REGIONS.length);
+            final String road = ROADS[random.nextInt(ROADS.length)];
+            final int junction = random.nextInt(JUNCTIONS_PER_ROAD);
+            final int day = 1 + random.nextInt(DAYS);
+            final String[] fields = {
+                    REGIONS[regionIndex],
+                    "E0600" + regionIndex,
+                    REGIONS[regionIndex] + " location " + random.nextInt(LOCATIONS_PER_REGION),
+                    String.valueOf(random.nextInt(10000)),
+                    String.valueOf(380000 + random.nextInt(20000)),
+                    String.valueOf(170000 + random.nextInt(20000)),
+                    road,
+                    String.valueOf(junction),
+                    String.valueOf(380000 + junction * 100),
+                    String.valueOf(170000 + junction * 100),
+                    String.valueOf(junction + 1),
+                    String.valueOf(380000 + (junction + 1) * 100),
+                    String.valueOf(170000 + (junction + 1) * 100),
+                    "TM",
+                    random.nextBoolean() ? "E" : "W",
+                    "2000",
+                    String.format("2000-05-%02d 00:00:00", day),
+                    String.valueOf(7 + random.nextInt(12)),
+                    String.valueOf(random.nextInt(5)),
+                    String.valueOf(random.nextInt(50)),
+                    String.valueOf(random.nextInt(5000)),
+                    String.valueOf(random.nextInt(50)),
+                    String.valueOf(random.nextInt(1000)),
+                    String.valueOf(random.nextInt(200)),
+                    String.valueOf(random.nextInt(50)),
+                    String.valueOf(random.nextInt(50)),
+                    String.valueOf(random.nextInt(50)),
+                    String.valueOf(random.nextInt(200)),
+                    String.valueOf(random.nextInt(100)),
+                    String.valueOf(random.nextInt(500)),
+                    String.valueOf(random.nextInt(6000))
+            };
+            lines.add('"' + String.join("\",\"", fields) + '"');
+        }
+        return lines;
+    }
+
+    /**
+     * Creates road traffic elements by running synthetic csv lines through the
+     * {@link RoadTrafficStringElementGenerator}.
+     *
+     * @param numLines the number of csv lines to generate elements from
+     * @param seed     the random seed, so runs are repeatable
+     * @return the generated elements
+     */
+    public static List<Element> createElements(final int numLines, final long seed) {
+        return Lists.newArrayList(new RoadTrafficStringElementGenerator().apply(createCsvLines(numLines, seed)));
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.FreqMapSerialiser;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.TreeSetStringSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.ordered.OrderedDateSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.ordered.OrderedLongSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawLongSerialiser;
+import uk.gov.gchq.gaffer.types.FreqMap;
+
+import java.util.Date;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks serialising and deserialising values with the {@link ToBytesSerialiser}
+ * implementations used by the road traffic schema.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ToBytesSerialiserBenchmark {
+    private static final int NUM_VALUES = 1024;
+
+    @Param({"compactRawLong", "orderedLong", "orderedDate", "string", "treeSetString", "freqMap"})
+    public String serialiserName;
+
+    private ToBytesSerialiser<Object> serialiser;
+    private Object[] values;
+    private byte[][] serialisedValues;
+
+    @Setup
+    public void setup() throws SerialisationException {
+        final Random random = new Random(RoadTrafficBenchmarkData.SEED);
+        serialiser = createSerialiser(serialiserName);
+        values = new Object[NUM_VALUES];
+        serialisedValues = new byte[NUM_VALUES][];
+        for (int i = 0; i < NUM_VALUES; i++) {
+            values[i] = createValue(serialiserName, random);
+            serialisedValues[i] = serialiser.serialise(values[i]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_VALUES)
+    public void serialise(final Blackhole blackhole) throws SerialisationException {
+        for (final Object value : values) {
+            blackhole.consume(serialiser.serialise(value));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_VALUES)
+    public void deserialise(final Blackhole blackhole) throws SerialisationException {
+        for (final byte[] bytes : serialisedValues) {
+            blackhole.consume(serialiser.deserialise(bytes));
+        }
+    }
+
+    private static ToBytesSerialiser createSerialiser(final String name) {
+        switch (name) {
+            case "compactRawLong":
+                return new CompactRawLongSerialiser();
+            case "orderedLong":
+                return new OrderedLongSerialiser();
+            case "orderedDate":
+                return new OrderedDateSerialiser();
+            case "string":
+                return new StringSerialiser();
+            case "treeSetString":
+                return new TreeSetStringSerialiser();
+            case "freqMap":
+                return new FreqMapSerialiser();
+            default:
+                throw new IllegalArgumentException("Unknown serialiser: " + name);
+        }
+    }
+
+    private static Object createValue(final String name, final Random random) {
+        switch (name) {
+            case "compactRawLong":
+            case "orderedLong":
+                return random.nextLong() >> random.nextInt(64);
+            case "orderedDate":
+                return new Date(random.nextInt(Integer.MAX_VALUE) * 1000L);
+            case "string":
+                return "M" + random.nextInt(100) + ":" + random.nextInt(100);
+            case "treeSetString":
+                final TreeSet<String> set = new TreeSet<>();
+                for (int i = 0; i < 5; i++) {
+                    set.add("M" + random.nextInt(100));
+                }
+                return set;
+            case "freqMap":
+                final FreqMap freqMap = new FreqMap();
+                for (final String vehicle : new String[]{"BUS", "CAR", "HGVR2", "HGVR3", "HGVR4", "HGVA3", "HGVA5", "HGVA6", "LGV", "PC", "WMV2"}) {
+                    freqMap.upsert(vehicle, (long) random.nextInt(5000));
+                }
+                return freqMap;
+            default:
+                throw new IllegalArgumentException("Unknown serialiser: " + name);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.commonutil.iterable;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A {@code ParallelMapIterable} lazily applies a {@link Function} to the items of
+ * an input {@link Iterable} using an {@link ExecutorService}.
+ * <p>
+ * The input is read in batches on the thread consuming the iterator and each batch
+ * is mapped by a separate task. At most {@code maxBatchesInFlight} batches are read
+ * ahead of the consumer, so the number of items held in memory is bounded. Each task
+ * gets its function from the provided {@link Supplier}, so functions that are not
+ * thread safe can be used by supplying a new function for each batch. Items mapped
+ * to null are removed from the output, so the function can also be used to filter.
+ * <p>
+ * The output is either in the same order as the input, or in the order the batches
+ * complete, which avoids waiting for a slow batch before returning the later ones.
+ *
+ * @param <I> the type of items in the input iterable
+ * @param <O> the type of items in the output iterable
+ */
+public class ParallelMapIterable<I, O> implements CloseableIterable<O> {
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    private final Iterable<? extends I> input;
+    private final Supplier<? extends Function<I, O>> functionSupplier;
+    private final ExecutorService executor;
+    private final int batchSize;
+    private final int maxBatchesInFlight;
+    private final boolean ordered;
+
+    public ParallelMapIterable(final Iterable<? extends I> input,
+                               final Supplier<? extends Function<I, O>> functionSupplier,
+                               final boolean ordered) {
+        this(input, functionSupplier, ForkJoinPool.commonPool(), DEFAULT_BATCH_SIZE,
+                2 * Runtime.getRuntime().availableProcessors(), ordered);
+    }
+
+    public ParallelMapIterable(final Iterable<? extends I> input,
+                               final Supplier<? extends Function<I, O>> functionSupplier,
+                               final ExecutorService executor,
+                               final int batchSize,
+                               final int maxBatchesInFlight,
+                               final boolean ordered) {
+        if (null == input) {
+            throw new IllegalArgumentException("Input iterable is required");
+        }
+        if (null == functionSupplier) {
+            throw new IllegalArgumentException("Function supplier is required");
+        }
+        if (null == executor) {
+            throw new IllegalArgumentException("Executor service is required");
+        }
+        if (batchSize < 1 || maxBatchesInFlight < 1) {
+            throw new IllegalArgumentException("Batch size and max batches in flight must be at least 1");
+        }
+        this.input = input;
+        this.functionSupplier = functionSupplier;
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.maxBatchesInFlight = maxBatchesInFlight;
+        this.ordered = ordered;
+    }
+
+    @Override
+    public void close() {
+        CloseableUtil.close(input);
+    }
+
+    @Override
+    public CloseableIterator<O> iterator() {
+        return new ParallelMapIterator();
+    }
+
+    private final class ParallelMapIterator implements CloseableIterator<O> {
+        private final Iterator<? extends I> inputIterator = input.iterator();
+        private final CompletionService<List<O>> completionService = new ExecutorCompletionService<>(executor);
+        private final Queue<Future<List<O>>> inFlight = new ArrayDeque<>(maxBatchesInFlight);
+        private Iterator<O> currentBatch = Collections.emptyIterator();
+        private boolean closed;
+
+        @Override
+        public boolean hasNext() {
+            while (!currentBatch.hasNext()) {
+                if (closed) {
+                    return false;
+                }
+                submitBatches();
+                if (inFlight.isEmpty()) {
+                    return false;
+                }
+                currentBatch = takeBatch().iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public O next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return currentBatch.next();
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                for (final Future<List<O>> future : inFlight) {
+                    future.cancel(true);
+                }
+                inFlight.clear();
+                currentBatch = Collections.emptyIterator();
+                CloseableUtil.close(inputIterator);
+            }
+        }
+
+        private void submitBatches() {
+            while (inFlight.size() < maxBatchesInFlight && inputIterator.hasNext()) {
+                final List<I> batch = new ArrayList<>(batchSize);
+                while (batch.size() < batchSize && inputIterator.hasNext()) {
+                    batch.add(inputIterator.next());
+                }
+                // Only unordered batches are tracked by the completion service, otherwise its queue would never be drained
+                inFlight.add(ordered ? executor.submit(() -> apply(batch)) : completionService.submit(() -> apply(batch)));
+            }
+        }
+
+        private List<O> takeBatch() {
+            final Future<List<O>> future;
+            try {
+                if (ordered) {
+                    future = inFlight.remove();
+                } else {
+                    future = completionService.take();
+                    inFlight.remove(future);
+                }
+                return future.get();
+            } catch (final InterruptedException e) {
+                close();
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted whilst waiting for a batch to be processed", e);
+            } catch (final ExecutionException e) {
+                close();
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new RuntimeException(e.getCause());
+            }
+        }
+
+        private List<O> apply(final List<I> batch) {
+            final Function<I, O> function = functionSupplier.get();
+            final List<O> results = new ArrayList<>(batch.size());
+            for (final I item : batch) {
+                final O result = function.apply(item);
+                if (null != result) {
+                    results.add(result);
+                }
+            }
+            return results;
+        }
+    }
+}
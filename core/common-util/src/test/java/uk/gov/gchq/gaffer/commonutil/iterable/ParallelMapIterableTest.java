@@ -0,0 +1,159 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.commonutil.iterable;
+
+import com.google.common.collect.Lists;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ParallelMapIterableTest {
+
+    @Test
+    public void shouldMapItemsInOrder() {
+        // Given
+        final List<Integer> input = createInput(1000);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // When
+        final List<Integer> output;
+        try {
+            output = Lists.newArrayList(new ParallelMapIterable<>(input, () -> i -> i * 2, executor, 7, 3, true));
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then
+        final List<Integer> expected = new ArrayList<>();
+        for (final Integer i : input) {
+            expected.add(i * 2);
+        }
+        assertEquals(expected, output);
+    }
+
+    @Test
+    public void shouldMapAllItemsWhenUnordered() {
+        // Given
+        final List<Integer> input = createInput(1000);
+
+        // When
+        final List<Integer> output = Lists.newArrayList(new ParallelMapIterable<Integer, Integer>(input, () -> i -> i, false));
+
+        // Then
+        Collections.sort(output);
+        assertEquals(input, output);
+    }
+
+    @Test
+    public void shouldRemoveItemsMappedToNull() {
+        // Given
+        final List<Integer> input = createInput(100);
+
+        // When
+        final List<Integer> output = Lists.newArrayList(new ParallelMapIterable<Integer, Integer>(input, () -> i -> i % 2 == 0 ? i : null, true));
+
+        // Then
+        assertEquals(50, output.size());
+        for (final Integer i : output) {
+            assertEquals(0, i % 2);
+        }
+    }
+
+    @Test
+    public void shouldOnlyReadAheadABoundedNumberOfBatches() {
+        // Given
+        final AtomicInteger read = new AtomicInteger();
+        final Iterable<Integer> input = () -> new Iterator<Integer>() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Integer next() {
+                return read.incrementAndGet();
+            }
+        };
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // When
+        try (final CloseableIterator<Integer> itr = new ParallelMapIterable<Integer, Integer>(input, () -> i -> i, executor, 10, 3, true).iterator()) {
+            assertTrue(itr.hasNext());
+            assertEquals(1, (int) itr.next());
+
+            // Then
+            assertEquals(30, read.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldCreateAFunctionForEachBatch() {
+        // Given
+        final List<Integer> input = createInput(100);
+        final AtomicInteger functions = new AtomicInteger();
+
+        // When
+        Lists.newArrayList(new ParallelMapIterable<Integer, Integer>(input, () -> {
+            functions.incrementAndGet();
+            return Function.identity();
+        }, ForkJoinPool.commonPool(), 10, 2, true));
+
+        // Then
+        assertEquals(10, functions.get());
+    }
+
+    @Test
+    public void shouldRethrowExceptionsFromTheFunction() {
+        // Given
+        final List<Integer> input = createInput(100);
+        final CloseableIterator<Integer> itr = new ParallelMapIterable<Integer, Integer>(input, () -> i -> {
+            throw new IllegalStateException("Failed " + i);
+        }, true).iterator();
+
+        // When / Then
+        try {
+            itr.hasNext();
+            fail("Exception expected");
+        } catch (final IllegalStateException e) {
+            assertTrue(e.getMessage().startsWith("Failed"));
+        }
+        assertFalse(itr.hasNext());
+    }
+
+    private List<Integer> createInput(final int size) {
+        final List<Integer> input = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            input.add(i);
+        }
+        return input;
+    }
+}
@@ -36,6 +36,11 @@ public class GroupedProperties extends Properties {
         this.group = group;
     }
 
+    public GroupedProperties(final String group, final PropertiesLayout layout) {
+        super(layout);
+        this.group = group;
+    }
+
     public String getGroup() {
         return group;
     }
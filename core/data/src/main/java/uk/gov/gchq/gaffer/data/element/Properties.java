@@ -18,40 +18,426 @@ package uk.gov.gchq.gaffer.data.element;
 
 import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 /**
  * {@code Properties} simply extends {@link java.util.HashMap} with property names (String) as keys and property value (Object) as values.
+ * <p>
+ * Properties can optionally be created in a compact mode using a {@link PropertiesLayout}.
+ * The values of properties in the layout are then held in an array, indexed by
+ * the slot of the property name in the shared layout, rather than in hash table
+ * entries. Properties that are not in the layout are still held in the underlying
+ * {@link java.util.HashMap}. Compact properties behave exactly like normal properties
+ * through the {@link Map} API.
+ * </p>
+ * <p>
+ * Compact properties can also be created with a {@link PropertyDecoder}, in which case
+ * the values of the lazy properties are only decoded when they are first accessed.
+ * Getting a property by name decodes just that property, whereas operations that need
+ * to know all of the properties, such as iterating, sizing, comparing or serialising,
+ * decode all of them first. Properties that are removed before they are accessed, e.g.
+ * by {@link #keepOnly(Collection)} or {@link #remove(Collection)}, are never decoded.
+ * </p>
  */
 public class Properties extends HashMap<String, Object> {
     private static final long serialVersionUID = -5412533432398907359L;
 
+    // Marks a slot whose value has not been decoded yet
+    private static final Object PENDING = new Object();
+
+    private final PropertiesLayout layout;
+    private final Object[] values;
+    private int compactSize;
+    private transient PropertyDecoder decoder;
+    private transient int pendingSize;
+
     public Properties() {
         super();
+        this.layout = null;
+        this.values = null;
     }
 
     public Properties(final Map<String, Object> properties) {
         super(properties);
+        this.layout = null;
+        this.values = null;
     }
 
     public Properties(final String name, final Object property) {
-        super();
+        this();
         put(name, property);
     }
 
+    /**
+     * Constructs compact properties with values stored in slots defined by the
+     * provided layout.
+     *
+     * @param layout the layout shared by all properties of the element group.
+     *               If null, normal hash based properties are created.
+     */
+    public Properties(final PropertiesLayout layout) {
+        super(0);
+        this.layout = layout;
+        this.values = null != layout ? new Object[layout.size()] : null;
+    }
+
+    public Properties(final PropertiesLayout layout, final Map<String, Object> properties) {
+        this(layout);
+        if (null != properties) {
+            putAll(properties);
+        }
+    }
+
+    /**
+     * Constructs compact properties with the values of the provided property names
+     * decoded lazily, when they are first accessed, by the provided decoder.
+     * Properties that are not in the layout are decoded straight away.
+     *
+     * @param layout            the layout shared by all properties of the element group
+     * @param lazyPropertyNames the names of the properties that can be decoded
+     * @param decoder           the decoder for the property values
+     */
+    public Properties(final PropertiesLayout layout, final Collection<String> lazyPropertyNames, final PropertyDecoder decoder) {
+        this(layout);
+        if (null == layout) {
+            throw new IllegalArgumentException("A layout is required for lazily decoded properties");
+        }
+        if (null != lazyPropertyNames && null != decoder) {
+            for (final String name : lazyPropertyNames) {
+                final int slot = layout.getSlot(name);
+                if (slot > -1) {
+                    if (null == values[slot]) {
+                        values[slot] = PENDING;
+                        pendingSize++;
+                    }
+                } else {
+                    put(name, decoder.decode(name));
+                }
+            }
+            if (pendingSize > 0) {
+                this.decoder = decoder;
+            }
+        }
+    }
+
+    /**
+     * @return true if these properties are backed by a {@link PropertiesLayout}.
+     */
+    public boolean isCompact() {
+        return null != layout;
+    }
+
+    public PropertiesLayout getLayout() {
+        return layout;
+    }
+
+    @Override
+    public int size() {
+        if (null == layout) {
+            return super.size();
+        }
+        decodeAll();
+        return compactSize + super.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return 0 == size();
+    }
+
+    @Override
+    public Object get(final Object name) {
+        if (null != layout) {
+            final int slot = layout.getSlot(name);
+            if (slot > -1) {
+                return decode(slot);
+            }
+        }
+        return super.get(name);
+    }
+
+    @Override
+    public Object getOrDefault(final Object name, final Object defaultValue) {
+        if (null == layout) {
+            return super.getOrDefault(name, defaultValue);
+        }
+        final Object value = get(name);
+        return null != value || containsKey(name) ? value : defaultValue;
+    }
+
+    @Override
+    public boolean containsKey(final Object name) {
+        if (null != layout) {
+            final int slot = layout.getSlot(name);
+            if (slot > -1) {
+                return null != decode(slot);
+            }
+        }
+        return super.containsKey(name);
+    }
+
+    @Override
+    public boolean containsValue(final Object value) {
+        if (null != layout && null != value) {
+            decodeAll();
+            for (final Object slotValue : values) {
+                if (value.equals(slotValue)) {
+                    return true;
+                }
+            }
+        }
+        return super.containsValue(value);
+    }
+
     @Override
     public Object put(final String name, final Object value) {
         if (null != name && null != value) {
+            if (null != layout) {
+                final int slot = layout.getSlot(name);
+                if (slot > -1) {
+                    final Object oldValue = decode(slot);
+                    if (null == oldValue) {
+                        compactSize++;
+                    }
+                    values[slot] = value;
+                    return oldValue;
+                }
+            }
             return super.put(name, value);
         }
 
         return null;
     }
 
+    @Override
+    public void putAll(final Map<? extends String, ?> properties) {
+        if (null == layout) {
+            super.putAll(properties);
+        } else {
+            for (final Entry<? extends String, ?> entry : properties.entrySet()) {
+                put(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    @Override
+    public Object remove(final Object name) {
+        if (null != layout) {
+            final int slot = layout.getSlot(name);
+            if (slot > -1) {
+                return removeSlot(slot);
+            }
+        }
+        return super.remove(name);
+    }
+
+    @Override
+    public boolean remove(final Object name, final Object value) {
+        if (null == layout) {
+            return super.remove(name, value);
+        }
+        final Object currentValue = get(name);
+        if (null == currentValue || !currentValue.equals(value)) {
+            return false;
+        }
+        remove(name);
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        if (null != layout) {
+            Arrays.fill(values, null);
+            compactSize = 0;
+            pendingSize = 0;
+            decoder = null;
+        }
+        super.clear();
+    }
+
+    @Override
+    public Object putIfAbsent(final String name, final Object value) {
+        if (null == layout) {
+            return super.putIfAbsent(name, value);
+        }
+        final Object currentValue = get(name);
+        if (null == currentValue) {
+            put(name, value);
+        }
+        return currentValue;
+    }
+
+    @Override
+    public boolean replace(final String name, final Object oldValue, final Object newValue) {
+        if (null == layout) {
+            return super.replace(name, oldValue, newValue);
+        }
+        final Object currentValue = get(name);
+        if (null == currentValue || !currentValue.equals(oldValue)) {
+            return false;
+        }
+        put(name, newValue);
+        return true;
+    }
+
+    @Override
+    public Object replace(final String name, final Object value) {
+        if (null == layout) {
+            return super.replace(name, value);
+        }
+        final Object currentValue = get(name);
+        if (null != currentValue) {
+            put(name, value);
+        }
+        return currentValue;
+    }
+
+    @Override
+    public Object computeIfAbsent(final String name, final Function<? super String, ?> mappingFunction) {
+        if (null == layout) {
+            return super.computeIfAbsent(name, mappingFunction);
+        }
+        Objects.requireNonNull(mappingFunction);
+        Object value = get(name);
+        if (null == value) {
+            value = mappingFunction.apply(name);
+            if (null != value) {
+                put(name, value);
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public Object computeIfPresent(final String name, final BiFunction<? super String, ? super Object, ?> remappingFunction) {
+        if (null == layout) {
+            return super.computeIfPresent(name, remappingFunction);
+        }
+        Objects.requireNonNull(remappingFunction);
+        final Object oldValue = get(name);
+        if (null == oldValue) {
+            return null;
+        }
+        final Object newValue = remappingFunction.apply(name, oldValue);
+        if (null == newValue) {
+            remove(name);
+        } else {
+            put(name, newValue);
+        }
+        return newValue;
+    }
+
+    @Override
+    public Object compute(final String name, final BiFunction<? super String, ? super Object, ?> remappingFunction) {
+        if (null == layout) {
+            return super.compute(name, remappingFunction);
+        }
+        Objects.requireNonNull(remappingFunction);
+        final Object newValue = remappingFunction.apply(name, get(name));
+        if (null == newValue) {
+            remove(name);
+        } else {
+            put(name, newValue);
+        }
+        return newValue;
+    }
+
+    @Override
+    public Object merge(final String name, final Object value, final BiFunction<? super Object, ? super Object, ?> remappingFunction) {
+        if (null == layout) {
+            return super.merge(name, value, remappingFunction);
+        }
+        Objects.requireNonNull(remappingFunction);
+        Objects.requireNonNull(value);
+        final Object oldValue = get(name);
+        final Object newValue = null == oldValue ? value : remappingFunction.apply(oldValue, value);
+        if (null == newValue) {
+            remove(name);
+        } else {
+            put(name, newValue);
+        }
+        return newValue;
+    }
+
+    @Override
+    public void forEach(final BiConsumer<? super String, ? super Object> action) {
+        if (null != layout) {
+            Objects.requireNonNull(action);
+            decodeAll();
+            for (int slot = 0; slot < values.length; slot++) {
+                if (null != values[slot]) {
+                    action.accept(layout.getName(slot), values[slot]);
+                }
+            }
+        }
+        super.forEach(action);
+    }
+
+    @Override
+    public void replaceAll(final BiFunction<? super String, ? super Object, ?> function) {
+        if (null != layout) {
+            Objects.requireNonNull(function);
+            decodeAll();
+            for (int slot = 0; slot < values.length; slot++) {
+                if (null != values[slot]) {
+                    final Object newValue = function.apply(layout.getName(slot), values[slot]);
+                    if (null == newValue) {
+                        removeSlot(slot);
+                    } else {
+                        values[slot] = newValue;
+                    }
+                }
+            }
+        }
+        super.replaceAll(function);
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        if (null == layout) {
+            return super.entrySet();
+        }
+        decodeAll();
+        return new CompactEntrySet();
+    }
+
+    @Override
+    public Set<String> keySet() {
+        if (null == layout) {
+            return super.keySet();
+        }
+        decodeAll();
+        return new CompactKeySet();
+    }
+
+    @Override
+    public Collection<Object> values() {
+        if (null == layout) {
+            return super.values();
+        }
+        decodeAll();
+        return new CompactValues();
+    }
+
     @Override
     public Properties clone() {
+        if (null != layout) {
+            return new Properties(layout, this);
+        }
         return new Properties((Map<String, Object>) super.clone());
     }
 
@@ -61,13 +447,27 @@ public class Properties extends HashMap<String, Object> {
      * @param propertiesToKeep a set of properties to keep
      */
     public void keepOnly(final Collection<String> propertiesToKeep) {
-        entrySet().removeIf(entry -> !propertiesToKeep.contains(entry.getKey()));
+        if (null == layout) {
+            entrySet().removeIf(entry -> !propertiesToKeep.contains(entry.getKey()));
+        } else {
+            for (int slot = 0; slot < values.length; slot++) {
+                if (null != values[slot] && !propertiesToKeep.contains(layout.getName(slot))) {
+                    discardSlot(slot);
+                }
+            }
+            overflowEntrySet().removeIf(entry -> !propertiesToKeep.contains(entry.getKey()));
+        }
     }
 
     public void remove(final Collection<String> propertiesToRemove) {
         if (null != propertiesToRemove) {
             for (final String property : propertiesToRemove) {
-                remove(property);
+                final int slot = null != layout ? layout.getSlot(property) : -1;
+                if (slot > -1) {
+                    discardSlot(slot);
+                } else {
+                    super.remove(property);
+                }
             }
         }
     }
@@ -75,7 +475,285 @@ public class Properties extends HashMap<String, Object> {
     @Override
     public String toString() {
         final ToStringBuilder sb = new ToStringBuilder(this);
-        super.forEach((key, value) -> sb.append(key, String.format("<%s>%s", value.getClass().getCanonicalName(), value)));
+        forEach((key, value) -> sb.append(key, String.format("<%s>%s", value.getClass().getCanonicalName(), value)));
         return sb.build();
     }
+
+    private Object removeSlot(final int slot) {
+        final Object oldValue = decode(slot);
+        if (null != oldValue) {
+            values[slot] = null;
+            compactSize--;
+        }
+        return oldValue;
+    }
+
+    private void discardSlot(final int slot) {
+        if (PENDING == values[slot]) {
+            values[slot] = null;
+            pendingDecoded();
+        } else {
+            removeSlot(slot);
+        }
+    }
+
+    private Object decode(final int slot) {
+        Object value = values[slot];
+        if (PENDING == value) {
+            value = decoder.decode(layout.getName(slot));
+            values[slot] = value;
+            if (null != value) {
+                compactSize++;
+            }
+            pendingDecoded();
+        }
+        return value;
+    }
+
+    private void decodeAll() {
+        for (int slot = 0; pendingSize > 0 && slot < values.length; slot++) {
+            decode(slot);
+        }
+    }
+
+    private void pendingDecoded() {
+        pendingSize--;
+        if (0 == pendingSize) {
+            // Release the decoder, and the serialised values it holds, once everything is decoded
+            decoder = null;
+        }
+    }
+
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        decodeAll();
+        out.defaultWriteObject();
+    }
+
+    private Iterator<Entry<String, Object>> overflowIterator() {
+        return super.entrySet().iterator();
+    }
+
+    private Set<Entry<String, Object>> overflowEntrySet() {
+        return super.entrySet();
+    }
+
+    private final class CompactEntryIterator implements Iterator<Entry<String, Object>> {
+        private final Iterator<Entry<String, Object>> overflow = overflowIterator();
+        private int nextSlot = -1;
+        private int lastSlot = -1;
+        private boolean inOverflow;
+
+        private CompactEntryIterator() {
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextSlot < values.length || overflow.hasNext();
+        }
+
+        @Override
+        public Entry<String, Object> next() {
+            if (nextSlot < values.length) {
+                lastSlot = nextSlot;
+                inOverflow = false;
+                advance();
+                return new SlotEntry(lastSlot);
+            }
+            if (!overflow.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastSlot = -1;
+            inOverflow = true;
+            return overflow.next();
+        }
+
+        @Override
+        public void remove() {
+            if (inOverflow) {
+                overflow.remove();
+                inOverflow = false;
+            } else if (lastSlot > -1) {
+                removeSlot(lastSlot);
+                lastSlot = -1;
+            } else {
+                throw new IllegalStateException();
+            }
+        }
+
+        private void advance() {
+            nextSlot++;
+            while (nextSlot < values.length && null == values[nextSlot]) {
+                nextSlot++;
+            }
+        }
+    }
+
+    private final class SlotEntry implements Entry<String, Object> {
+        private final int slot;
+
+        private SlotEntry(final int slot) {
+            this.slot = slot;
+        }
+
+        @Override
+        public String getKey() {
+            return layout.getName(slot);
+        }
+
+        @Override
+        public Object getValue() {
+            return values[slot];
+        }
+
+        @Override
+        public Object setValue(final Object value) {
+            final Object oldValue = values[slot];
+            if (null != value) {
+                if (null == oldValue) {
+                    compactSize++;
+                }
+                values[slot] = value;
+            }
+            return oldValue;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (!(obj instanceof Entry)) {
+                return false;
+            }
+            final Entry<?, ?> entry = (Entry<?, ?>) obj;
+            return getKey().equals(entry.getKey()) && Objects.equals(getValue(), entry.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return getKey().hashCode() ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+
+    private final class CompactEntrySet extends AbstractSet<Entry<String, Object>> {
+        @Override
+        public Iterator<Entry<String, Object>> iterator() {
+            return new CompactEntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return Properties.this.size();
+        }
+
+        @Override
+        public void clear() {
+            Properties.this.clear();
+        }
+
+        @Override
+        public boolean contains(final Object obj) {
+            if (!(obj instanceof Entry)) {
+                return false;
+            }
+            final Entry<?, ?> entry = (Entry<?, ?>) obj;
+            final Object value = get(entry.getKey());
+            return null != value && value.equals(entry.getValue());
+        }
+
+        @Override
+        public boolean remove(final Object obj) {
+            if (!(obj instanceof Entry)) {
+                return false;
+            }
+            final Entry<?, ?> entry = (Entry<?, ?>) obj;
+            return Properties.this.remove(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private final class CompactKeySet extends AbstractSet<String> {
+        @Override
+        public Iterator<String> iterator() {
+            final Iterator<Entry<String, Object>> entries = new CompactEntryIterator();
+            return new Iterator<String>() {
+                @Override
+                public boolean hasNext() {
+                    return entries.hasNext();
+                }
+
+                @Override
+                public String next() {
+                    return entries.next().getKey();
+                }
+
+                @Override
+                public void remove() {
+                    entries.remove();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return Properties.this.size();
+        }
+
+        @Override
+        public void clear() {
+            Properties.this.clear();
+        }
+
+        @Override
+        public boolean contains(final Object name) {
+            return containsKey(name);
+        }
+
+        @Override
+        public boolean remove(final Object name) {
+            final boolean contained = containsKey(name);
+            Properties.this.remove(name);
+            return contained;
+        }
+    }
+
+    private final class CompactValues extends AbstractCollection<Object> {
+        @Override
+        public Iterator<Object> iterator() {
+            final Iterator<Entry<String, Object>> entries = new CompactEntryIterator();
+            return new Iterator<Object>() {
+                @Override
+                public boolean hasNext() {
+                    return entries.hasNext();
+                }
+
+                @Override
+                public Object next() {
+                    return entries.next().getValue();
+                }
+
+                @Override
+                public void remove() {
+                    entries.remove();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return Properties.this.size();
+        }
+
+        @Override
+        public void clear() {
+            Properties.this.clear();
+        }
+
+        @Override
+        public boolean contains(final Object value) {
+            return containsValue(value);
+        }
+    }
 }
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.data.element;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A {@code PropertiesLayout} maps a fixed, ordered set of property names to
+ * slot indexes. A single layout is shared by all the compact {@link Properties}
+ * of an element group, so each {@link Properties} only needs to hold an array of
+ * values rather than a hash table entry per property.
+ * <p>
+ * Layouts are immutable and are normally obtained from the schema element
+ * definition of the group.
+ * </p>
+ */
+public final class PropertiesLayout implements Serializable {
+    private static final long serialVersionUID = 6263094410426530387L;
+
+    private final String[] names;
+    private final Map<String, Integer> slots;
+
+    public PropertiesLayout(final Collection<String> propertyNames) {
+        this(null != propertyNames ? propertyNames.toArray(new String[propertyNames.size()]) : new String[0]);
+    }
+
+    public PropertiesLayout(final String... propertyNames) {
+        this.names = null != propertyNames ? propertyNames.clone() : new String[0];
+        this.slots = new HashMap<>(Math.max(4, (int) (names.length / 0.75f) + 1));
+        for (int i = 0; i < names.length; i++) {
+            if (null == names[i]) {
+                throw new IllegalArgumentException("Property names in a layout must not be null");
+            }
+            if (null != slots.put(names[i], i)) {
+                throw new IllegalArgumentException("Duplicate property name in layout: " + names[i]);
+            }
+        }
+    }
+
+    /**
+     * @param propertyName the property name
+     * @return the slot index of the property, or -1 if the property is not part of this layout.
+     */
+    public int getSlot(final Object propertyName) {
+        final Integer slot = slots.get(propertyName);
+        return null != slot ? slot : -1;
+    }
+
+    public String getName(final int slot) {
+        return names[slot];
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        return null != obj && getClass() == obj.getClass()
+                && Arrays.equals(names, ((PropertiesLayout) obj).names);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(names);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(names);
+    }
+}
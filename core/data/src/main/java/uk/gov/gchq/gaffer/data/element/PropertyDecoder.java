@@ -0,0 +1,32 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.data.element;
+
+/**
+ * A {@code PropertyDecoder} decodes the value of a single property on demand.
+ * It is used by compact {@link Properties} to defer deserialising a property
+ * until the property is first accessed.
+ *
+ * @see Properties#Properties(PropertiesLayout, java.util.Collection, PropertyDecoder)
+ */
+public interface PropertyDecoder {
+    /**
+     * @param name the property name to decode
+     * @return the decoded property value, or null if the property has no value
+     */
+    Object decode(final String name);
+}
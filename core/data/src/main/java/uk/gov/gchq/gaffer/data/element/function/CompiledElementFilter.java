@@ -0,0 +1,170 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.data.element.function;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.ElementTuple;
+import uk.gov.gchq.gaffer.data.element.IdentifierType;
+import uk.gov.gchq.koryphe.tuple.ReferenceArrayTuple;
+import uk.gov.gchq.koryphe.tuple.TupleInputAdapter;
+import uk.gov.gchq.koryphe.tuple.predicate.TupleAdaptedPredicate;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * A {@code CompiledElementFilter} is a read only, flattened copy of an
+ * {@link ElementFilter}. The predicates are held in an array along with the
+ * selection of each predicate, which is resolved up front into the
+ * {@link IdentifierType} or property name to read from the {@link Element}.
+ * <p>
+ * Unlike an {@link ElementFilter} it holds no state between calls to
+ * {@link #test(Element)}, so a single instance can be shared between threads.
+ * Changes made to the {@link ElementFilter} after it has been compiled are
+ * not reflected in the compiled copy. Subclasses of {@link ElementFilter} are
+ * not flattened, as they may change how elements are tested, so they are
+ * called directly and are only as thread safe as the subclass.
+ */
+public final class CompiledElementFilter implements Predicate<Element> {
+    private static final CompiledElementFilter EMPTY = new CompiledElementFilter(new Predicate[0], new String[0][], new Object[0][], new Predicate[0], null);
+
+    private final Predicate[] predicates;
+    private final String[][] selections;
+    // Each selection item resolved to either an IdentifierType or a property name
+    private final Object[][] resolvedSelections;
+    // Components that do not use the standard tuple adapter are tested against an ElementTuple instead
+    private final Predicate[] tuplePredicates;
+    private final ElementFilter uncompiledFilter;
+
+    private CompiledElementFilter(final Predicate[] predicates, final String[][] selections, final Object[][] resolvedSelections,
+                                  final Predicate[] tuplePredicates, final ElementFilter uncompiledFilter) {
+        this.predicates = predicates;
+        this.selections = selections;
+        this.resolvedSelections = resolvedSelections;
+        this.tuplePredicates = tuplePredicates;
+        this.uncompiledFilter = uncompiledFilter;
+    }
+
+    /**
+     * Compiles the provided {@link ElementFilter}.
+     *
+     * @param filter the filter to compile, may be null
+     * @return the compiled filter, which accepts all elements if the filter is null or has no components
+     */
+    public static CompiledElementFilter compile(final ElementFilter filter) {
+        if (null == filter) {
+            return EMPTY;
+        }
+
+        if (ElementFilter.class != filter.getClass()) {
+            return new CompiledElementFilter(new Predicate[0], new String[0][], new Object[0][], new Predicate[0], filter);
+        }
+
+        if (null == filter.getComponents() || filter.getComponents().isEmpty()) {
+            return EMPTY;
+        }
+
+        final List<TupleAdaptedPredicate<String, ?>> components = filter.getComponents();
+        int numStandard = 0;
+        for (final TupleAdaptedPredicate<String, ?> component : components) {
+            if (isStandard(component)) {
+                numStandard++;
+            }
+        }
+
+        final Predicate[] predicates = new Predicate[numStandard];
+        final String[][] selections = new String[numStandard][];
+        final Object[][] resolvedSelections = new Object[numStandard][];
+        final Predicate[] tuplePredicates = new Predicate[components.size() - numStandard];
+        int i = 0;
+        int j = 0;
+        for (final TupleAdaptedPredicate<String, ?> component : components) {
+            if (isStandard(component)) {
+                predicates[i] = component.getPredicate();
+                selections[i] = null != component.getSelection() ? component.getSelection() : new String[0];
+                resolvedSelections[i] = resolveSelection(selections[i]);
+                i++;
+            } else {
+                tuplePredicates[j++] = component;
+            }
+        }
+
+        return new CompiledElementFilter(predicates, selections, resolvedSelections, tuplePredicates, null);
+    }
+
+    /**
+     * @return true if there are no predicates, so all elements are accepted
+     */
+    public boolean isEmpty() {
+        return null == uncompiledFilter && 0 == predicates.length && 0 == tuplePredicates.length;
+    }
+
+    @Override
+    public boolean test(final Element element) {
+        if (null != uncompiledFilter) {
+            return uncompiledFilter.test(element);
+        }
+
+        for (int i = 0; i < predicates.length; i++) {
+            final Object input;
+            if (1 == resolvedSelections[i].length) {
+                input = getValue(element, resolvedSelections[i][0]);
+            } else {
+                // Predicates of multiple values expect a tuple, the same as a TupleAdaptedPredicate would provide
+                input = new ReferenceArrayTuple<>(new ElementTuple(element), selections[i]);
+            }
+
+            if (!predicates[i].test(input)) {
+                return false;
+            }
+        }
+
+        if (0 < tuplePredicates.length) {
+            final ElementTuple tuple = new ElementTuple(element);
+            for (final Predicate tuplePredicate : tuplePredicates) {
+                if (!tuplePredicate.test(tuple)) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean isStandard(final TupleAdaptedPredicate<String, ?> component) {
+        return TupleAdaptedPredicate.class == component.getClass()
+                && null != component.getInputAdapter()
+                && TupleInputAdapter.class == component.getInputAdapter().getClass();
+    }
+
+    private static Object[] resolveSelection(final String[] selection) {
+        final Object[] resolved = new Object[selection.length];
+        for (int i = 0; i < selection.length; i++) {
+            final IdentifierType idType = IdentifierType.fromName(selection[i]);
+            resolved[i] = null != idType ? idType : selection[i];
+        }
+        return resolved;
+    }
+
+    private static Object getValue(final Element element, final Object reference) {
+        if (reference instanceof IdentifierType) {
+            return element.getIdentifier((IdentifierType) reference);
+        }
+
+        return element.getProperty((String) reference);
+    }
+}
@@ -59,7 +59,7 @@ public final class ViewUtil {
     public static void removeProperties(final ViewElementDefinition elDef, final Properties properties) {
         if (null != elDef && !elDef.isAllProperties()) {
             if (null == elDef.getProperties()) {
-                elDef.getExcludeProperties().forEach(properties::remove);
+                properties.remove(elDef.getExcludeProperties());
             } else {
                 properties.keepOnly(elDef.getProperties());
             }
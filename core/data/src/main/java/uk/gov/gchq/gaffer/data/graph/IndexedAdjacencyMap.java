@@ -0,0 +1,204 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.data.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An {@code IndexedAdjacencyMap} is a compact, read only alternative to the
+ * {@link AdjacencyMap} where vertices are referred to by the int ids assigned
+ * by a {@link VertexIndex}.
+ * <p>
+ * The map is held in compressed sparse row form. The distinct destinations of
+ * each source vertex are held in a single int array, in the order they were
+ * first added, and each (source, destination) pair is referred to by its
+ * position in that array. The edge objects are held in a single array, grouped
+ * by pair. Traversing the map therefore only requires array lookups on
+ * primitive ints.
+ *
+ * @param <U> the type of object representing the edge
+ * @see IndexedAdjacencyMap.Builder
+ */
+public class IndexedAdjacencyMap<U> {
+    private final int[] sourceOffsets;
+    private final int[] destinations;
+    private final int[] edgeOffsets;
+    private final Object[] edges;
+
+    private IndexedAdjacencyMap(final int[] sourceOffsets, final int[] destinations,
+                                final int[] edgeOffsets, final Object[] edges) {
+        this.sourceOffsets = sourceOffsets;
+        this.destinations = destinations;
+        this.edgeOffsets = edgeOffsets;
+        this.edges = edges;
+    }
+
+    /**
+     * Get the first pair with the given source vertex. The pairs with the given
+     * source are numbered from {@link #getPairsStart(int)} (inclusive) to
+     * {@link #getPairsEnd(int)} (exclusive).
+     *
+     * @param source the id of the source vertex
+     * @return the first pair with the source vertex
+     */
+    public int getPairsStart(final int source) {
+        return source >= 0 && source < sourceOffsets.length - 1 ? sourceOffsets[source] : 0;
+    }
+
+    /**
+     * Get the end of the pairs with the given source vertex.
+     *
+     * @param source the id of the source vertex
+     * @return the pair after the last pair with the source vertex
+     * @see #getPairsStart(int)
+     */
+    public int getPairsEnd(final int source) {
+        return source >= 0 && source < sourceOffsets.length - 1 ? sourceOffsets[source + 1] : 0;
+    }
+
+    /**
+     * @return the number of distinct (source, destination) pairs in the map
+     */
+    public int getNumberOfPairs() {
+        return destinations.length;
+    }
+
+    /**
+     * Get the destination vertex of a pair.
+     *
+     * @param pair the pair
+     * @return the id of the destination vertex
+     */
+    public int getDestination(final int pair) {
+        return destinations[pair];
+    }
+
+    /**
+     * Get the edge objects associated with a pair, in the order they were added.
+     *
+     * @param pair the pair
+     * @return an unmodifiable {@link List} view of the edge objects
+     */
+    @SuppressWarnings("unchecked")
+    public List<U> getEdges(final int pair) {
+        return Collections.unmodifiableList(
+                (List<U>) Arrays.asList(edges).subList(edgeOffsets[pair], edgeOffsets[pair + 1]));
+    }
+
+    /**
+     * A {@code Builder} collects the entries of an {@link IndexedAdjacencyMap}
+     * and sorts them into compressed sparse row form when the map is built.
+     *
+     * @param <U> the type of object representing the edge
+     */
+    public static final class Builder<U> {
+        private static final int DEFAULT_CAPACITY = 16;
+        private static final long INT_MASK = 0xFFFFFFFFL;
+
+        private int[] sources = new int[DEFAULT_CAPACITY];
+        private int[] dests = new int[DEFAULT_CAPACITY];
+        private final List<U> edgeList = new ArrayList<>();
+
+        /**
+         * Add an entry to the map.
+         *
+         * @param source      the id of the source vertex
+         * @param destination the id of the destination vertex
+         * @param edge        the edge to add
+         * @return this Builder
+         */
+        public Builder<U> put(final int source, final int destination, final U edge) {
+            if (source < 0 || destination < 0) {
+                throw new IllegalArgumentException("Vertex ids must not be negative");
+            }
+            final int size = edgeList.size();
+            if (size == sources.length) {
+                sources = Arrays.copyOf(sources, size << 1);
+                dests = Arrays.copyOf(dests, size << 1);
+            }
+            sources[size] = source;
+            dests[size] = destination;
+            edgeList.add(edge);
+            return this;
+        }
+
+        public IndexedAdjacencyMap<U> build() {
+            final int size = edgeList.size();
+            int numSources = 0;
+            for (int i = 0; i < size; i++) {
+                numSources = Math.max(numSources, sources[i] + 1);
+            }
+
+            // Counting sort the entries by source, keeping the entries for each source in insertion order
+            final int[] entryOffsets = new int[numSources + 1];
+            for (int i = 0; i < size; i++) {
+                entryOffsets[sources[i] + 1]++;
+            }
+            for (int s = 0; s < numSources; s++) {
+                entryOffsets[s + 1] += entryOffsets[s];
+            }
+            final int[] next = Arrays.copyOf(entryOffsets, numSources);
+            final long[] entries = new long[size];
+            for (int i = 0; i < size; i++) {
+                entries[next[sources[i]]++] = ((long) dests[i] << 32) | i;
+            }
+
+            final int[] sourceOffsets = new int[numSources + 1];
+            final int[] pairDestinations = new int[size];
+            final int[] edgeOffsets = new int[size + 1];
+            final Object[] sortedEdges = new Object[size];
+            final long[] groups = new long[size];
+            int numPairs = 0;
+            int numEdges = 0;
+            for (int s = 0; s < numSources; s++) {
+                final int start = entryOffsets[s];
+                final int end = entryOffsets[s + 1];
+
+                // Group the entries by destination, then order the groups by their first entry
+                Arrays.sort(entries, start, end);
+                int numGroups = 0;
+                for (int i = start; i < end; i++) {
+                    if (i == start || (entries[i] >>> 32) != (entries[i - 1] >>> 32)) {
+                        groups[numGroups++] = ((entries[i] & INT_MASK) << 32) | i;
+                    }
+                }
+                Arrays.sort(groups, 0, numGroups);
+
+                sourceOffsets[s] = numPairs;
+                for (int g = 0; g < numGroups; g++) {
+                    final int groupStart = (int) (groups[g] & INT_MASK);
+                    final int destination = (int) (entries[groupStart] >>> 32);
+                    pairDestinations[numPairs] = destination;
+                    edgeOffsets[numPairs] = numEdges;
+                    for (int i = groupStart; i < end && (int) (entries[i] >>> 32) == destination; i++) {
+                        sortedEdges[numEdges++] = edgeList.get((int) (entries[i] & INT_MASK));
+                    }
+                    numPairs++;
+                }
+            }
+            sourceOffsets[numSources] = numPairs;
+            edgeOffsets[numPairs] = numEdges;
+
+            return new IndexedAdjacencyMap<>(sourceOffsets,
+                    Arrays.copyOf(pairDestinations, numPairs),
+                    Arrays.copyOf(edgeOffsets, numPairs + 1),
+                    sortedEdges);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.data.graph;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@code VertexIndex} assigns each distinct vertex a unique int id, starting
+ * from 0 in the order the vertices are added. This allows adjacency structures
+ * such as the {@link IndexedAdjacencyMap} to refer to vertices using primitive
+ * ids, with each vertex object only held once.
+ *
+ * @param <T> the type of object representing the vertices
+ */
+public class VertexIndex<T> {
+    private final Map<T, Integer> ids = new HashMap<>();
+    private final List<T> vertices = new ArrayList<>();
+
+    /**
+     * Get the id of a vertex, adding the vertex to the index if required.
+     *
+     * @param vertex the vertex
+     * @return the id of the vertex
+     */
+    public int add(final T vertex) {
+        final Integer id = ids.get(vertex);
+        if (null != id) {
+            return id;
+        }
+        final int newId = vertices.size();
+        ids.put(vertex, newId);
+        vertices.add(vertex);
+        return newId;
+    }
+
+    /**
+     * Get the id of a vertex.
+     *
+     * @param vertex the vertex
+     * @return the id of the vertex, or -1 if the vertex is not in the index
+     */
+    public int getId(final T vertex) {
+        final Integer id = ids.get(vertex);
+        return null == id ? -1 : id;
+    }
+
+    /**
+     * Get the vertex with a given id.
+     *
+     * @param id the id of the vertex
+     * @return the vertex
+     */
+    public T getVertex(final int id) {
+        return vertices.get(id);
+    }
+
+    /**
+     * @return the number of vertices in the index
+     */
+    public int size() {
+        return vertices.size();
+    }
+}
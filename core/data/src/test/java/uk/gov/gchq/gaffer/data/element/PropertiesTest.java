@@ -20,13 +20,23 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -164,4 +174,201 @@ public class PropertiesTest {
         assertTrue(toString.contains("property 1="
                 + "<java.lang.String>property value 1"));
     }
+
+    @Test
+    public void shouldStoreLayoutPropertiesInSlotsAndOthersInMap() {
+        // Given
+        final PropertiesLayout layout = new PropertiesLayout("property 1", "property 2");
+        final Properties properties = new Properties(layout);
+
+        // When
+        properties.put("property 2", "property value 2");
+        properties.put("property 3", "property value 3");
+        properties.put("property 1", null);
+
+        // Then
+        assertTrue(properties.isCompact());
+        assertEquals(2, properties.size());
+        assertEquals("property value 2", properties.get("property 2"));
+        assertEquals("property value 3", properties.get("property 3"));
+        assertFalse(properties.containsKey("property 1"));
+        assertEquals(Arrays.asList("property 2", "property 3"), new ArrayList<>(properties.keySet()));
+    }
+
+    @Test
+    public void shouldBeEqualToHashPropertiesWithSameValues() {
+        // Given
+        final PropertiesLayout layout = new PropertiesLayout("property 1", "property 2");
+        final Properties compact = new Properties(layout);
+        compact.put("property 1", "property value 1");
+        compact.put("property 3", 3L);
+        final Properties hashed = new Properties();
+        hashed.put("property 1", "property value 1");
+        hashed.put("property 3", 3L);
+
+        // When / Then
+        assertEquals(hashed, compact);
+        assertEquals(compact, hashed);
+        assertEquals(hashed.hashCode(), compact.hashCode());
+    }
+
+    @Test
+    public void shouldRemoveCompactPropertiesThroughIteratorsAndKeepOnly() {
+        // Given
+        final PropertiesLayout layout = new PropertiesLayout("property 1", "property 2", "property 3");
+        final Properties properties = new Properties(layout);
+        properties.put("property 1", 1);
+        properties.put("property 2", 2);
+        properties.put("property 3", 3);
+        properties.put("property 4", 4);
+
+        // When
+        final Iterator<Object> itr = properties.values().iterator();
+        while (itr.hasNext()) {
+            if (2 == (int) itr.next()) {
+                itr.remove();
+            }
+        }
+        properties.keepOnly(Arrays.asList("property 1", "property 4"));
+
+        // Then
+        final Map<String, Object> expected = new HashMap<>();
+        expected.put("property 1", 1);
+        expected.put("property 4", 4);
+        assertEquals(expected, properties);
+        assertEquals(2, properties.size());
+    }
+
+    @Test
+    public void shouldMergeAndComputeCompactProperties() {
+        // Given
+        final Properties properties = new Properties(new PropertiesLayout("count"));
+        properties.put("count", 1);
+
+        // When
+        properties.merge("count", 2, (a, b) -> (int) a + (int) b);
+        properties.computeIfAbsent("other", name -> 5);
+        properties.computeIfPresent("other", (name, value) -> null);
+
+        // Then
+        assertEquals(3, properties.get("count"));
+        assertFalse(properties.containsKey("other"));
+        assertEquals(1, properties.size());
+    }
+
+    @Test
+    public void shouldCloneCompactProperties() {
+        // Given
+        final Properties properties = new Properties(new PropertiesLayout("property 1"));
+        properties.put("property 1", "property value 1");
+        properties.put("property 2", "property value 2");
+
+        // When
+        final Properties clone = properties.clone();
+
+        // Then
+        assertNotSame(properties, clone);
+        assertTrue(clone.isCompact());
+        assertSame(properties.getLayout(), clone.getLayout());
+        assertEquals(properties, clone);
+    }
+
+    @Test
+    public void shouldJavaSerialiseAndDeserialiseCompactProperties() throws IOException, ClassNotFoundException {
+        // Given
+        final Properties properties = new Properties(new PropertiesLayout("property 1"));
+        properties.put("property 1", "property value 1");
+        properties.put("property 2", 2L);
+
+        // When
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(properties);
+        }
+        final Properties deserialised;
+        try (final ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            deserialised = (Properties) in.readObject();
+        }
+
+        // Then
+        assertTrue(deserialised.isCompact());
+        assertEquals(properties, deserialised);
+    }
+
+    @Test
+    public void shouldOnlyDecodeLazyPropertiesWhenTheyAreAccessed() {
+        // Given
+        final CountingDecoder decoder = new CountingDecoder();
+        final Properties properties = new Properties(new PropertiesLayout("property 1", "property 2", "property 3"),
+                Arrays.asList("property 1", "property 2"), decoder);
+        properties.put("property 3", "property value 3");
+
+        // When
+        final Object value = properties.get("property 1");
+
+        // Then
+        assertEquals("decoded property 1", value);
+        assertEquals(Arrays.asList("property 1"), decoder.decoded);
+
+        // When
+        properties.get("property 1");
+        final int size = properties.size();
+
+        // Then
+        assertEquals(3, size);
+        assertEquals(Arrays.asList("property 1", "property 2"), decoder.decoded);
+    }
+
+    @Test
+    public void shouldNotDecodeLazyPropertiesThatAreRemovedBeforeAccess() {
+        // Given
+        final CountingDecoder decoder = new CountingDecoder();
+        final Properties properties = new Properties(new PropertiesLayout("property 1", "property 2", "property 3"),
+                Arrays.asList("property 1", "property 2", "property 3"), decoder);
+
+        // When
+        properties.keepOnly(Arrays.asList("property 1", "property 2"));
+        properties.remove(Arrays.asList("property 2"));
+
+        // Then
+        assertEquals(1, properties.size());
+        assertEquals("decoded property 1", properties.get("property 1"));
+        assertEquals(Arrays.asList("property 1"), decoder.decoded);
+    }
+
+    @Test
+    public void shouldBeEqualToHashPropertiesWhenLazyPropertiesAreDecoded() throws IOException, ClassNotFoundException {
+        // Given
+        final Properties properties = new Properties(new PropertiesLayout("property 1", "property 2"),
+                Arrays.asList("property 1", "property 2", "property 3"), new CountingDecoder());
+        final Properties expected = new Properties();
+        expected.put("property 1", "decoded property 1");
+        expected.put("property 2", "decoded property 2");
+        expected.put("property 3", "decoded property 3");
+
+        // When
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(properties);
+        }
+        final Properties deserialised;
+        try (final ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            deserialised = (Properties) in.readObject();
+        }
+
+        // Then
+        assertEquals(expected, properties);
+        assertEquals(expected, deserialised);
+        assertEquals(expected.hashCode(), properties.hashCode());
+    }
+
+    private static final class CountingDecoder implements PropertyDecoder {
+        private final List<String> decoded = new ArrayList<>();
+
+        @Override
+        public Object decode(final String name) {
+            decoded.add(name);
+            return "decoded " + name;
+        }
+    }
 }
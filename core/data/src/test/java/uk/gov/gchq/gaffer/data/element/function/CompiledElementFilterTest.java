@@ -0,0 +1,144 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.data.element.function;
+
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.IdentifierType;
+import uk.gov.gchq.koryphe.impl.predicate.IsEqual;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
+import uk.gov.gchq.koryphe.tuple.predicate.KoryphePredicate2;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CompiledElementFilterTest {
+
+    @Test
+    public void shouldAcceptAllElementsWhenFilterIsNullOrEmpty() {
+        // Given
+        final Entity element = new Entity(TestGroups.ENTITY, "vertex");
+
+        // When
+        final CompiledElementFilter nullFilter = CompiledElementFilter.compile(null);
+        final CompiledElementFilter emptyFilter = CompiledElementFilter.compile(new ElementFilter());
+
+        // Then
+        assertTrue(nullFilter.isEmpty());
+        assertTrue(emptyFilter.isEmpty());
+        assertTrue(nullFilter.test(element));
+        assertTrue(emptyFilter.test(element));
+    }
+
+    @Test
+    public void shouldTestIdentifiersAndProperties() {
+        // Given
+        final ElementFilter filter = new ElementFilter.Builder()
+                .select(IdentifierType.SOURCE.name())
+                .execute(new IsEqual("source"))
+                .select(TestPropertyNames.COUNT)
+                .execute(new IsMoreThan(5))
+                .build();
+        final CompiledElementFilter compiledFilter = CompiledElementFilter.compile(filter);
+
+        final Edge validEdge = new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("source")
+                .dest("dest")
+                .directed(true)
+                .property(TestPropertyNames.COUNT, 6)
+                .build();
+        final Edge wrongSource = new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("other")
+                .dest("dest")
+                .directed(true)
+                .property(TestPropertyNames.COUNT, 6)
+                .build();
+        final Edge wrongCount = new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("source")
+                .dest("dest")
+                .directed(true)
+                .property(TestPropertyNames.COUNT, 5)
+                .build();
+
+        // When / Then
+        assertFalse(compiledFilter.isEmpty());
+        assertTrue(compiledFilter.test(validEdge));
+        assertFalse(compiledFilter.test(wrongSource));
+        assertFalse(compiledFilter.test(wrongCount));
+    }
+
+    @Test
+    public void shouldTestMultipleSelections() {
+        // Given
+        final ElementFilter filter = new ElementFilter.Builder()
+                .select("prop1", "prop2")
+                .execute(new KoryphePredicate2<String, String>() {
+                    @Override
+                    public boolean test(final String o, final String o2) {
+                        return "value".equals(o) && "value2".equals(o2);
+                    }
+                })
+                .build();
+        final CompiledElementFilter compiledFilter = CompiledElementFilter.compile(filter);
+
+        final Entity element1 = new Entity.Builder()
+                .property("prop1", "value")
+                .property("prop2", "value2")
+                .build();
+        final Entity element2 = new Entity.Builder()
+                .property("prop1", "unknown")
+                .property("prop2", "value2")
+                .build();
+
+        // When / Then
+        assertTrue(compiledFilter.test(element1));
+        assertFalse(compiledFilter.test(element2));
+    }
+
+    @Test
+    public void shouldNotReflectChangesMadeToTheFilterAfterCompiling() {
+        // Given
+        final ElementFilter filter = new ElementFilter.Builder()
+                .select(TestPropertyNames.COUNT)
+                .execute(new IsMoreThan(5))
+                .build();
+        final CompiledElementFilter compiledFilter = CompiledElementFilter.compile(filter);
+        final Entity element = new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .property(TestPropertyNames.COUNT, 6)
+                .build();
+
+        // When
+        filter.getComponents().clear();
+        final ElementFilter rejectAll = new ElementFilter.Builder()
+                .select(TestPropertyNames.COUNT)
+                .execute(new IsMoreThan(10))
+                .build();
+        filter.getComponents().addAll(rejectAll.getComponents());
+
+        // Then
+        assertFalse(filter.test(element));
+        assertTrue(compiledFilter.test(element));
+    }
+}
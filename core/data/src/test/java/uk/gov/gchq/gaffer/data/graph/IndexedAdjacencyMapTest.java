@@ -0,0 +1,99 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.data.graph;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class IndexedAdjacencyMapTest {
+
+    @Test
+    public void shouldGroupEdgesBySourceAndDestinationInInsertionOrder() {
+        // Given
+        final IndexedAdjacencyMap<String> map = new IndexedAdjacencyMap.Builder<String>()
+                .put(1, 3, "1-3a")
+                .put(0, 2, "0-2")
+                .put(1, 0, "1-0")
+                .put(1, 3, "1-3b")
+                .put(0, 1, "0-1")
+                .put(1, 2, "1-2")
+                .build();
+
+        // When / Then
+        assertEquals(5, map.getNumberOfPairs());
+        assertEquals(Arrays.asList(2, 1), getDestinations(map, 0));
+        assertEquals(Arrays.asList(3, 0, 2), getDestinations(map, 1));
+        assertEquals(Arrays.asList("1-3a", "1-3b"), map.getEdges(map.getPairsStart(1)));
+        assertEquals(Collections.singletonList("0-2"), map.getEdges(map.getPairsStart(0)));
+    }
+
+    @Test
+    public void shouldHaveNoPairsForUnknownSource() {
+        // Given
+        final IndexedAdjacencyMap<String> map = new IndexedAdjacencyMap.Builder<String>()
+                .put(2, 0, "2-0")
+                .build();
+
+        // When / Then
+        assertEquals(Collections.emptyList(), getDestinations(map, 0));
+        assertEquals(Collections.emptyList(), getDestinations(map, 3));
+        assertEquals(Collections.emptyList(), getDestinations(map, -1));
+        assertEquals(Collections.singletonList(0), getDestinations(map, 2));
+    }
+
+    @Test
+    public void shouldBuildEmptyMap() {
+        // When
+        final IndexedAdjacencyMap<String> map = new IndexedAdjacencyMap.Builder<String>().build();
+
+        // Then
+        assertEquals(0, map.getNumberOfPairs());
+        assertEquals(Collections.emptyList(), getDestinations(map, 0));
+    }
+
+    @Test
+    public void shouldInternVertices() {
+        // Given
+        final VertexIndex<String> vertexIndex = new VertexIndex<>();
+
+        // When
+        final int a = vertexIndex.add("A");
+        final int b = vertexIndex.add("B");
+
+        // Then
+        assertEquals(0, a);
+        assertEquals(1, b);
+        assertEquals(a, vertexIndex.add("A"));
+        assertEquals(b, vertexIndex.getId("B"));
+        assertEquals(-1, vertexIndex.getId("C"));
+        assertEquals("B", vertexIndex.getVertex(b));
+        assertEquals(2, vertexIndex.size());
+    }
+
+    private List<Integer> getDestinations(final IndexedAdjacencyMap<String> map, final int source) {
+        final List<Integer> destinations = new ArrayList<>();
+        for (int pair = map.getPairsStart(source); pair < map.getPairsEnd(source); pair++) {
+            destinations.add(map.getDestination(pair));
+        }
+        return destinations;
+    }
+}
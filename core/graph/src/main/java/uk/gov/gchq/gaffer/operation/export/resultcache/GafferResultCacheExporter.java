@@ -19,11 +19,14 @@ package uk.gov.gchq.gaffer.operation.export.resultcache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.commonutil.CollectionUtil;
 import uk.gov.gchq.gaffer.commonutil.CommonConstants;
 import uk.gov.gchq.gaffer.commonutil.iterable.AlwaysValid;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.commonutil.iterable.TransformIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.TransformOneToManyIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
@@ -36,21 +39,37 @@ import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.data.EdgeSeed;
 import uk.gov.gchq.gaffer.operation.export.Exporter;
+import uk.gov.gchq.gaffer.operation.export.resultcache.handler.util.GafferResultCacheUtil;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.koryphe.impl.predicate.AreIn;
 
 import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.TreeSet;
 
 /**
  * Implementation of the {@link Exporter} interface for exporting the results of
  * a Gaffer query to a {@link Graph}-backed results cache.
+ * <p>
+ * If a batch size is provided, results are grouped into batches which are
+ * serialised with a {@link ResultBatchSerialiser} and stored as a single
+ * "resultBatch" edge per batch. Otherwise each result is stored as its own
+ * "result" edge containing the result JSON. Both formats can be read back.
+ * </p>
  */
 public class GafferResultCacheExporter implements Exporter {
+    public static final String RESULT_GROUP = "result";
+    public static final String RESULT_BATCH_GROUP = "resultBatch";
+
     private static final Logger LOGGER = LoggerFactory.getLogger(GafferResultCacheExporter.class);
     private final String jobId;
     private final Context context;
@@ -58,12 +77,35 @@ public class GafferResultCacheExporter implements Exporter {
     private final String visibility;
     private final TreeSet<String> requiredOpAuths;
     private final Set<String> userOpAuths;
+    private final Integer batchSize;
+    private final ResultBatchSerialiser batchSerialiser;
 
     public GafferResultCacheExporter(final Context context,
                                      final String jobId,
                                      final Graph resultCache,
                                      final String visibility,
                                      final Set<String> requiredOpAuths) {
+        this(context, jobId, resultCache, visibility, requiredOpAuths, null, GafferResultCacheUtil.DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * @param context         the user context
+     * @param jobId           the job id the results belong to
+     * @param resultCache     the result cache graph
+     * @param visibility      the visibility of the cached results
+     * @param requiredOpAuths the op auths required to read the results, defaults to the user id
+     * @param schema          the schema of the graph the results came from, used
+     *                        to serialise elements and vertices. May be null.
+     * @param batchSize       the number of results to store in each batch. If
+     *                        null or less than 1 each result is stored as a separate JSON edge.
+     */
+    public GafferResultCacheExporter(final Context context,
+                                     final String jobId,
+                                     final Graph resultCache,
+                                     final String visibility,
+                                     final Set<String> requiredOpAuths,
+                                     final Schema schema,
+                                     final Integer batchSize) {
         this.context = context;
         this.jobId = jobId;
         this.resultCache = resultCache;
@@ -76,6 +118,8 @@ public class GafferResultCacheExporter implements Exporter {
 
         userOpAuths = new HashSet<>(context.getUser().getOpAuths());
         userOpAuths.add(context.getUser().getUserId());
+        this.batchSize = batchSize;
+        this.batchSerialiser = new ResultBatchSerialiser(schema);
     }
 
     @Override
@@ -84,8 +128,21 @@ public class GafferResultCacheExporter implements Exporter {
             return;
         }
 
+        final Iterable<Element> elements;
+        if (null != batchSize && batchSize > 0) {
+            elements = new ResultBatchEdges(key, values, System.currentTimeMillis());
+        } else {
+            elements = createResultEdges(key, values);
+        }
+
+        resultCache.execute(new AddElements.Builder()
+                .input(elements)
+                .build(), context);
+    }
+
+    private Iterable<Element> createResultEdges(final String key, final Iterable<?> values) {
         final long timestamp = System.currentTimeMillis();
-        final Iterable<Element> elements = new TransformIterable<Object, Element>((Iterable) values) {
+        return new TransformIterable<Object, Element>((Iterable) values) {
             @Override
             protected Element transform(final Object value) {
                 try {
@@ -100,7 +157,7 @@ public class GafferResultCacheExporter implements Exporter {
                     }
 
                     return new Edge.Builder()
-                            .group("result")
+                            .group(RESULT_GROUP)
                             .source(jobId)
                             .dest(key)
                             .directed(true)
@@ -115,10 +172,6 @@ public class GafferResultCacheExporter implements Exporter {
                 }
             }
         };
-
-        resultCache.execute(new AddElements.Builder()
-                .input(elements)
-                .build(), context);
     }
 
     @Override
@@ -126,12 +179,8 @@ public class GafferResultCacheExporter implements Exporter {
         final GetElements getEdges = new GetElements.Builder()
                 .input(new EdgeSeed(jobId, key, true))
                 .view(new View.Builder()
-                        .edge("result", new ViewElementDefinition.Builder()
-                                .preAggregationFilter(new ElementFilter.Builder()
-                                        .select("opAuths")
-                                        .execute(new AreIn(userOpAuths))
-                                        .build())
-                                .build())
+                        .edge(RESULT_GROUP, createOpAuthsViewDefinition())
+                        .edge(RESULT_BATCH_GROUP, createOpAuthsViewDefinition())
                         .build())
                 .build();
 
@@ -139,16 +188,37 @@ public class GafferResultCacheExporter implements Exporter {
         if (null == edges) {
             return new WrappedCloseableIterable<>();
         }
-        return new TransformJsonResult(edges);
+        return new TransformResult(edges);
+    }
+
+    private ViewElementDefinition createOpAuthsViewDefinition() {
+        return new ViewElementDefinition.Builder()
+                .preAggregationFilter(new ElementFilter.Builder()
+                        .select("opAuths")
+                        .execute(new AreIn(userOpAuths))
+                        .build())
+                .build();
     }
 
-    private static class TransformJsonResult extends TransformIterable<Element, Object> {
-        TransformJsonResult(final Iterable<? extends Element> input) {
+    private final class TransformResult extends TransformOneToManyIterable<Element, Object> {
+        TransformResult(final Iterable<? extends Element> input) {
             super(input, new AlwaysValid<>(), false, true);
         }
 
         @Override
-        protected Object transform(final Element edge) {
+        protected Iterable<Object> transform(final Element edge) {
+            if (RESULT_BATCH_GROUP.equals(edge.getGroup())) {
+                try {
+                    return batchSerialiser.deserialise((byte[]) edge.getProperty("result"));
+                } catch (final SerialisationException e) {
+                    throw new RuntimeException("Unable to deserialise result batch", e);
+                }
+            }
+
+            return Collections.singletonList(transformJsonResult(edge));
+        }
+
+        private Object transformJsonResult(final Element edge) {
             final String resultClassName = (String) edge.getProperty("resultClass");
             final byte[] resultBytes = (byte[]) edge.getProperty("result");
             if (null == resultClassName || null == resultBytes) {
@@ -176,6 +246,77 @@ public class GafferResultCacheExporter implements Exporter {
         }
     }
 
+    /**
+     * Lazily groups the values into batches and converts each batch into a
+     * single result batch edge.
+     */
+    private final class ResultBatchEdges implements CloseableIterable<Element> {
+        private final String key;
+        private final Iterable<?> values;
+        private final long timestamp;
+
+        private ResultBatchEdges(final String key, final Iterable<?> values, final long timestamp) {
+            this.key = key;
+            this.values = values;
+            this.timestamp = timestamp;
+        }
+
+        @Override
+        public void close() {
+            CloseableUtil.close(values);
+        }
+
+        @Override
+        public CloseableIterator<Element> iterator() {
+            final Iterator<?> valuesItr = values.iterator();
+            return new CloseableIterator<Element>() {
+                @Override
+                public boolean hasNext() {
+                    final boolean hasNext = valuesItr.hasNext();
+                    if (!hasNext) {
+                        close();
+                    }
+                    return hasNext;
+                }
+
+                @Override
+                public Element next() {
+                    if (!valuesItr.hasNext()) {
+                        throw new NoSuchElementException("Reached the end of the results");
+                    }
+
+                    final List<Object> batch = new ArrayList<>(Math.min(batchSize, 1000));
+                    while (batch.size() < batchSize && valuesItr.hasNext()) {
+                        batch.add(valuesItr.next());
+                    }
+
+                    final byte[] batchBytes;
+                    try {
+                        batchBytes = batchSerialiser.serialise(batch);
+                    } catch (final SerialisationException e) {
+                        throw new RuntimeException("Unable to serialise result batch", e);
+                    }
+
+                    return new Edge.Builder()
+                            .group(RESULT_BATCH_GROUP)
+                            .source(jobId)
+                            .dest(key)
+                            .directed(true)
+                            .property("opAuths", requiredOpAuths)
+                            .property("timestamp", timestamp)
+                            .property("visibility", visibility)
+                            .property("result", batchBytes)
+                            .build();
+                }
+
+                @Override
+                public void close() {
+                    CloseableUtil.close(valuesItr);
+                }
+            };
+        }
+    }
+
     protected String getJobId() {
         return jobId;
     }
@@ -199,4 +340,8 @@ public class GafferResultCacheExporter implements Exporter {
     protected Set<String> getUserOpAuths() {
         return userOpAuths;
     }
+
+    protected Integer getBatchSize() {
+        return batchSize;
+    }
 }
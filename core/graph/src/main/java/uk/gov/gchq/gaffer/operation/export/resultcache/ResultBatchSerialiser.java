@@ -0,0 +1,273 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.operation.export.resultcache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.commonutil.StringUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.gaffer.store.serialiser.ElementSerialiser;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.NoSuchElementException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * A {@code ResultBatchSerialiser} serialises a batch of exported results into
+ * a single compressed binary blob so a large result can be stored in the
+ * Gaffer result cache as a small number of edges.
+ * <p>
+ * Each result is written with a one byte tag followed by its length-value encoded
+ * bytes. {@link Element}s are serialised using the {@link ElementSerialiser} for
+ * the schema of the graph the results came from and vertices are serialised with
+ * the schema vertex serialiser. Any other result, or an element the schema cannot
+ * serialise, falls back to its class name and JSON. This includes elements with
+ * properties that are not in the schema or have no schema serialiser, as the
+ * {@link ElementSerialiser} would silently drop them.
+ * </p>
+ * <p>
+ * Batches are decoded lazily, one result at a time, so only a single compressed
+ * batch is ever held in memory.
+ * </p>
+ */
+public class ResultBatchSerialiser {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResultBatchSerialiser.class);
+
+    private static final byte VERSION = 1;
+    private static final int END = -1;
+    private static final byte NULL = 0;
+    private static final byte ELEMENT = 1;
+    private static final byte VERTEX = 2;
+    private static final byte JSON = 3;
+
+    private final Schema schema;
+    private final ElementSerialiser elementSerialiser;
+    private final ToBytesSerialiser<Object> vertexSerialiser;
+
+    public ResultBatchSerialiser(final Schema schema) {
+        this.schema = schema;
+        this.elementSerialiser = createElementSerialiser(schema);
+        if (null != schema && schema.getVertexSerialiser() instanceof ToBytesSerialiser) {
+            this.vertexSerialiser = (ToBytesSerialiser) schema.getVertexSerialiser();
+        } else {
+            this.vertexSerialiser = null;
+        }
+    }
+
+    public byte[] serialise(final Iterable<?> batch) throws SerialisationException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        bytes.write(VERSION);
+        final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (final DeflaterOutputStream out = new DeflaterOutputStream(bytes, deflater)) {
+            for (final Object result : batch) {
+                writeResult(result, out);
+            }
+        } catch (final IOException e) {
+            throw new SerialisationException("Unable to serialise result batch", e);
+        } finally {
+            deflater.end();
+        }
+
+        return bytes.toByteArray();
+    }
+
+    public CloseableIterable<Object> deserialise(final byte[] bytes) throws SerialisationException {
+        if (null == bytes || 0 == bytes.length) {
+            throw new SerialisationException("Result batch is empty");
+        }
+        if (VERSION != bytes[0]) {
+            throw new SerialisationException("Unsupported result batch version: " + bytes[0]);
+        }
+
+        return new ResultBatchIterable(bytes);
+    }
+
+    private void writeResult(final Object result, final OutputStream out) throws IOException {
+        if (null == result) {
+            out.write(NULL);
+            return;
+        }
+
+        if (null != elementSerialiser && result instanceof Element && canSerialiseProperties((Element) result)) {
+            try {
+                final byte[] elementBytes = elementSerialiser.serialise((Element) result);
+                out.write(ELEMENT);
+                writeBytes(elementBytes, out);
+                return;
+            } catch (final SerialisationException | RuntimeException e) {
+                LOGGER.debug("Unable to serialise element with the schema serialisers, falling back to JSON", e);
+            }
+        }
+
+        if (null != vertexSerialiser && !(result instanceof Element)
+                && vertexSerialiser.canHandle(result.getClass())) {
+            out.write(VERTEX);
+            writeBytes(vertexSerialiser.serialise(result), out);
+            return;
+        }
+
+        out.write(JSON);
+        writeBytes(StringUtil.toBytes(result.getClass().getName()), out);
+        writeBytes(JSONSerialiser.serialise(result), out);
+    }
+
+    private boolean canSerialiseProperties(final Element element) {
+        final SchemaElementDefinition elementDef = schema.getElement(element.getGroup());
+        if (null == elementDef) {
+            return false;
+        }
+
+        for (final String propertyName : element.getProperties().keySet()) {
+            if (!elementDef.containsProperty(propertyName)) {
+                return false;
+            }
+            final TypeDefinition typeDef = elementDef.getPropertyTypeDef(propertyName);
+            if (null == typeDef || !(typeDef.getSerialiser() instanceof ToBytesSerialiser)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeBytes(final byte[] value, final OutputStream out) throws IOException {
+        CompactRawSerialisationUtils.write(value.length, out);
+        out.write(value);
+    }
+
+    private static byte[] readBytes(final DataInputStream in) throws IOException {
+        final byte[] value = new byte[(int) CompactRawSerialisationUtils.read(in)];
+        in.readFully(value);
+        return value;
+    }
+
+    private Object readResult(final int tag, final DataInputStream in) throws IOException {
+        switch (tag) {
+            case NULL:
+                return null;
+            case ELEMENT:
+                if (null == elementSerialiser) {
+                    throw new SerialisationException("A schema is required to deserialise cached elements");
+                }
+                return elementSerialiser.deserialise(readBytes(in));
+            case VERTEX:
+                if (null == vertexSerialiser) {
+                    throw new SerialisationException("A schema vertex serialiser is required to deserialise cached vertices");
+                }
+                return vertexSerialiser.deserialise(readBytes(in));
+            case JSON:
+                final String className = StringUtil.toString(readBytes(in));
+                final Class<?> resultClass;
+                try {
+                    resultClass = Class.forName(className);
+                } catch (final ClassNotFoundException e) {
+                    throw new SerialisationException("Result class name was not found: " + className, e);
+                }
+                return JSONSerialiser.deserialise(readBytes(in), resultClass);
+            default:
+                throw new SerialisationException("Unknown result type in result batch: " + tag);
+        }
+    }
+
+    private static ElementSerialiser createElementSerialiser(final Schema schema) {
+        if (null == schema || null == schema.getVertexSerialiser()) {
+            return null;
+        }
+
+        try {
+            return new ElementSerialiser(schema);
+        } catch (final IllegalArgumentException e) {
+            LOGGER.debug("Unable to create element serialiser from schema, elements will be cached as JSON", e);
+            return null;
+        }
+    }
+
+    private final class ResultBatchIterable implements CloseableIterable<Object> {
+        private final byte[] bytes;
+
+        private ResultBatchIterable(final byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public CloseableIterator<Object> iterator() {
+            final InputStream compressed = new ByteArrayInputStream(bytes, 1, bytes.length - 1);
+            final DataInputStream in = new DataInputStream(new InflaterInputStream(compressed));
+            return new CloseableIterator<Object>() {
+                private Integer nextTag;
+
+                @Override
+                public boolean hasNext() {
+                    if (null == nextTag) {
+                        try {
+                            nextTag = in.read();
+                        } catch (final IOException e) {
+                            throw new RuntimeException("Unable to read result batch", e);
+                        }
+                        if (END == nextTag) {
+                            close();
+                        }
+                    }
+                    return END != nextTag;
+                }
+
+                @Override
+                public Object next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException("Reached the end of the result batch");
+                    }
+                    final int tag = nextTag;
+                    nextTag = null;
+                    try {
+                        return readResult(tag, in);
+                    } catch (final IOException e) {
+                        throw new RuntimeException("Unable to deserialise result from batch", e);
+                    }
+                }
+
+                @Override
+                public void close() {
+                    try {
+                        in.close();
+                    } catch (final IOException e) {
+                        LOGGER.debug("Unable to close result batch stream", e);
+                    }
+                }
+            };
+        }
+    }
+}
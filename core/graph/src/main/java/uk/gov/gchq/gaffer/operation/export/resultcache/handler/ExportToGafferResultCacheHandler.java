@@ -38,6 +38,12 @@ public class ExportToGafferResultCacheHandler extends ExportToHandler<ExportToGa
 
     private String visibility;
 
+    /**
+     * The number of results to store in each result batch. If null or less
+     * than 1, each result is stored as a separate JSON edge.
+     */
+    private Integer batchSize = GafferResultCacheUtil.DEFAULT_BATCH_SIZE;
+
     private String cacheStorePropertiesPath;
 
     @Override
@@ -49,7 +55,7 @@ public class ExportToGafferResultCacheHandler extends ExportToHandler<ExportToGa
     protected GafferResultCacheExporter createExporter(final ExportToGafferResultCache export, final Context context, final Store store) {
         return new GafferResultCacheExporter(
                 context, context.getJobId(), createGraph(store),
-                visibility, export.getOpAuths());
+                visibility, export.getOpAuths(), store.getSchema(), batchSize);
     }
 
     protected Graph createGraph(final Store store) {
@@ -80,6 +86,14 @@ public class ExportToGafferResultCacheHandler extends ExportToHandler<ExportToGa
         this.visibility = visibility;
     }
 
+    public Integer getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(final Integer batchSize) {
+        this.batchSize = batchSize;
+    }
+
     public String getStorePropertiesPath() {
         return cacheStorePropertiesPath;
     }
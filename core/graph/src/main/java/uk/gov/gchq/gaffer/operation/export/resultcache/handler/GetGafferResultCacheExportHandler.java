@@ -50,7 +50,7 @@ public class GetGafferResultCacheExportHandler extends GetExportHandler<GetGaffe
         final String jobId = null != export.getJobId() ? export.getJobId() : context.getJobId();
         return new GafferResultCacheExporter(
                 context, jobId, createGraph(store),
-                visibility, null);
+                visibility, null, store.getSchema(), null);
     }
 
     protected Graph createGraph(final Store store) {
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.operation.export.resultcache;
+
+import com.google.common.collect.Lists;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.commonutil.TestTypes;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawIntegerSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ResultBatchSerialiserTest {
+    private final Schema schema = new Schema.Builder()
+            .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                    .build())
+            .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
+                    .build())
+            .vertexSerialiser(new StringSerialiser())
+            .build();
+
+    @Test
+    public void shouldSerialiseAndDeserialiseMixedResultsWithSchema() throws SerialisationException {
+        // Given
+        final ResultBatchSerialiser serialiser = new ResultBatchSerialiser(schema);
+        final List<Object> results = Arrays.asList(
+                new Entity(TestGroups.ENTITY, "vertex1"),
+                new Edge.Builder()
+                        .group(TestGroups.EDGE)
+                        .source("source")
+                        .dest("dest")
+                        .directed(true)
+                        .build(),
+                "vertex2",
+                null,
+                new EntitySeed("seed"),
+                1L
+        );
+
+        // When
+        final byte[] bytes = serialiser.serialise(results);
+        final List<Object> deserialised = Lists.newArrayList(serialiser.deserialise(bytes));
+
+        // Then
+        assertEquals(results, deserialised);
+    }
+
+    @Test
+    public void shouldSerialiseAndDeserialiseElementsWithPropertiesNotInSchema() throws SerialisationException {
+        // Given
+        final Schema schemaWithProperties = new Schema.Builder()
+                .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                        .vertex(TestTypes.ID_STRING)
+                        .property(TestPropertyNames.COUNT, TestTypes.PROP_INTEGER)
+                        .build())
+                .type(TestTypes.ID_STRING, String.class)
+                .type(TestTypes.PROP_INTEGER, new TypeDefinition.Builder()
+                        .clazz(Integer.class)
+                        .aggregateFunction(new Sum())
+                        .serialiser(new CompactRawIntegerSerialiser())
+                        .build())
+                .vertexSerialiser(new StringSerialiser())
+                .build();
+        final ResultBatchSerialiser serialiser = new ResultBatchSerialiser(schemaWithProperties);
+        final List<Object> results = Arrays.asList(
+                new Entity.Builder()
+                        .group(TestGroups.ENTITY)
+                        .vertex("vertex1")
+                        .property(TestPropertyNames.COUNT, 1)
+                        .build(),
+                new Entity.Builder()
+                        .group(TestGroups.ENTITY)
+                        .vertex("vertex2")
+                        .property(TestPropertyNames.COUNT, 2)
+                        .property(TestPropertyNames.TRANSIENT_1, "transient")
+                        .build()
+        );
+
+        // When
+        final byte[] bytes = serialiser.serialise(results);
+        final List<Object> deserialised = Lists.newArrayList(serialiser.deserialise(bytes));
+
+        // Then
+        assertEquals(results, deserialised);
+    }
+
+    @Test
+    public void shouldSerialiseAndDeserialiseResultsWithoutSchema() throws SerialisationException {
+        // Given
+        final ResultBatchSerialiser serialiser = new ResultBatchSerialiser(null);
+        final List<Object> results = Arrays.asList(1, "2", null, new Entity(TestGroups.ENTITY, "vertex1"));
+
+        // When
+        final byte[] bytes = serialiser.serialise(results);
+        final List<Object> deserialised = Lists.newArrayList(serialiser.deserialise(bytes));
+
+        // Then
+        assertEquals(results, deserialised);
+    }
+
+    @Test
+    public void shouldCompressLargeBatches() throws SerialisationException {
+        // Given
+        final ResultBatchSerialiser serialiser = new ResultBatchSerialiser(schema);
+        final List<Object> results = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            results.add(new Entity(TestGroups.ENTITY, "vertex" + i));
+        }
+
+        // When
+        final byte[] bytes = serialiser.serialise(results);
+
+        // Then
+        assertTrue(bytes.length < 1000 * 10);
+        assertEquals(results, Lists.newArrayList(serialiser.deserialise(bytes)));
+    }
+
+    @Test
+    public void shouldDeserialiseEmptyBatch() throws SerialisationException {
+        // Given
+        final ResultBatchSerialiser serialiser = new ResultBatchSerialiser(schema);
+
+        // When
+        final byte[] bytes = serialiser.serialise(new ArrayList<>());
+
+        // Then
+        assertEquals(new ArrayList<>(), Lists.newArrayList(serialiser.deserialise(bytes)));
+    }
+
+    @Test(expected = SerialisationException.class)
+    public void shouldThrowExceptionForUnknownVersion() throws SerialisationException {
+        new ResultBatchSerialiser(schema).deserialise(new byte[]{99});
+    }
+}
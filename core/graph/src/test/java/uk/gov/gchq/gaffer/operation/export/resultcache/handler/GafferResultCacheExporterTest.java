@@ -16,6 +16,7 @@
 
 package uk.gov.gchq.gaffer.operation.export.resultcache.handler;
 
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import org.junit.Before;
 import org.junit.Test;
@@ -34,6 +35,7 @@ import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
 import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.export.resultcache.GafferResultCacheExporter;
+import uk.gov.gchq.gaffer.operation.export.resultcache.ResultBatchSerialiser;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
@@ -41,6 +43,7 @@ import uk.gov.gchq.gaffer.store.StoreProperties;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.user.User;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -85,7 +88,7 @@ public class GafferResultCacheExporterTest {
     public void shouldAddResults() throws OperationException, SerialisationException {
         // Given
         final GafferResultCacheExporter exporter = new GafferResultCacheExporter(
-                context, jobId, resultCache, visibility, requiredOpAuths
+                context, jobId, resultCache, visibility, requiredOpAuths, null, null
         );
 
         // When
@@ -109,6 +112,84 @@ public class GafferResultCacheExporterTest {
         }
     }
 
+    @Test
+    public void shouldAddResultsInBatches() throws OperationException, SerialisationException {
+        // Given
+        final GafferResultCacheExporter exporter = new GafferResultCacheExporter(
+                context, jobId, resultCache, visibility, requiredOpAuths, null, 2
+        );
+
+        // When
+        exporter.add(key, results);
+
+        // Then
+        final ArgumentCaptor<OperationChain> opChain = ArgumentCaptor.forClass(OperationChain.class);
+        verify(store).execute(opChain.capture(), Mockito.any(Context.class));
+        final AddElements addElements = (AddElements) opChain.getValue().getOperations().get(0);
+        final List<Element> elements = Lists.newArrayList(addElements.getInput());
+        assertEquals(2, elements.size());
+        for (final Element element : elements) {
+            assertEquals(GafferResultCacheExporter.RESULT_BATCH_GROUP, element.getGroup());
+            assertEquals(requiredOpAuths, element.getProperty("opAuths"));
+            assertEquals(visibility, element.getProperty("visibility"));
+        }
+        final ResultBatchSerialiser serialiser = new ResultBatchSerialiser(null);
+        final List<Object> cachedResults = new ArrayList<>();
+        for (final Element element : elements) {
+            Iterables.addAll(cachedResults, serialiser.deserialise((byte[]) element.getProperty("result")));
+        }
+        assertEquals(results, cachedResults);
+    }
+
+    @Test
+    public void shouldAddResultsInBatchesByDefault() throws OperationException {
+        // Given
+        final GafferResultCacheExporter exporter = new GafferResultCacheExporter(
+                context, jobId, resultCache, visibility, requiredOpAuths
+        );
+
+        // When
+        exporter.add(key, results);
+
+        // Then
+        final ArgumentCaptor<OperationChain> opChain = ArgumentCaptor.forClass(OperationChain.class);
+        verify(store).execute(opChain.capture(), Mockito.any(Context.class));
+        final AddElements addElements = (AddElements) opChain.getValue().getOperations().get(0);
+        final List<Element> elements = Lists.newArrayList(addElements.getInput());
+        assertEquals(1, elements.size());
+        assertEquals(GafferResultCacheExporter.RESULT_BATCH_GROUP, elements.get(0).getGroup());
+    }
+
+    @Test
+    public void shouldGetBatchedAndJsonResults() throws OperationException, SerialisationException {
+        // Given
+        final long timestamp = System.currentTimeMillis();
+        final List<Element> cachedEdges = new ArrayList<>(createCachedEdges(timestamp, serialisedResults));
+        cachedEdges.add(new Edge.Builder()
+                .group(GafferResultCacheExporter.RESULT_BATCH_GROUP)
+                .source(jobId)
+                .dest(key)
+                .directed(true)
+                .property("opAuths", requiredOpAuths)
+                .property("timestamp", timestamp)
+                .property("visibility", visibility)
+                .property("result", new ResultBatchSerialiser(null).serialise(results))
+                .build());
+        given(store.execute(Mockito.any(OperationChain.class), Mockito.any())).willReturn(new WrappedCloseableIterable<>(cachedEdges));
+
+        final GafferResultCacheExporter exporter = new GafferResultCacheExporter(
+                context, jobId, resultCache, visibility, requiredOpAuths
+        );
+
+        // When
+        final CloseableIterable<?> cachedResults = exporter.get(key);
+
+        // Then
+        final List<Object> expected = new ArrayList<>(results);
+        expected.addAll(results);
+        assertEquals(expected, Lists.newArrayList(cachedResults));
+    }
+
     @Test
     public void shouldAddNotErrorWhenAddingANullResult() throws OperationException, SerialisationException {
         // Given
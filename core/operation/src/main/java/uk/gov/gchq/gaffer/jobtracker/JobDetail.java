@@ -35,6 +35,9 @@ public class JobDetail implements Serializable {
     private Long endTime;
     private String opChain;
     private String description;
+    private JobPriority priority;
+    private Long queueTime;
+    private Long runTime;
 
     public JobDetail() {
     }
@@ -45,12 +48,17 @@ public class JobDetail implements Serializable {
         this.opChain = getNewOrOld(oldJobDetail.opChain, newJobDetail.opChain);
         this.description = getNewOrOld(oldJobDetail.description, newJobDetail.description);
         this.status = getNewOrOld(oldJobDetail.status, newJobDetail.status);
+        this.priority = getNewOrOld(oldJobDetail.priority, newJobDetail.priority);
+        this.queueTime = getNewOrOld(oldJobDetail.queueTime, newJobDetail.queueTime);
+        this.runTime = getNewOrOld(oldJobDetail.runTime, newJobDetail.runTime);
 
         if (null == oldJobDetail.startTime) {
             this.startTime = System.currentTimeMillis();
         } else {
             this.startTime = oldJobDetail.startTime;
-            this.endTime = System.currentTimeMillis();
+            if (JobStatus.QUEUED != status && JobStatus.RUNNING != status) {
+                this.endTime = System.currentTimeMillis();
+            }
         }
     }
 
@@ -120,6 +128,36 @@ public class JobDetail implements Serializable {
         this.description = description;
     }
 
+    public JobPriority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(final JobPriority priority) {
+        this.priority = priority;
+    }
+
+    /**
+     * @return the number of milliseconds the job spent queued before it started running
+     */
+    public Long getQueueTime() {
+        return queueTime;
+    }
+
+    public void setQueueTime(final Long queueTime) {
+        this.queueTime = queueTime;
+    }
+
+    /**
+     * @return the number of milliseconds the job spent running
+     */
+    public Long getRunTime() {
+        return runTime;
+    }
+
+    public void setRunTime(final Long runTime) {
+        this.runTime = runTime;
+    }
+
     @Override
     public boolean equals(final Object obj) {
         if (this == obj) {
@@ -137,6 +175,9 @@ public class JobDetail implements Serializable {
                 .append(endTime, jobDetail.endTime)
                 .append(status, jobDetail.status)
                 .append(description, jobDetail.description)
+                .append(priority, jobDetail.priority)
+                .append(queueTime, jobDetail.queueTime)
+                .append(runTime, jobDetail.runTime)
                 .isEquals();
     }
 
@@ -150,6 +191,9 @@ public class JobDetail implements Serializable {
                 .append(endTime)
                 .append(status)
                 .append(description)
+                .append(priority)
+                .append(queueTime)
+                .append(runTime)
                 .toHashCode();
     }
 
@@ -163,6 +207,9 @@ public class JobDetail implements Serializable {
                 .append("endTime", endTime)
                 .append("opChain", opChain)
                 .append("description", description)
+                .append("priority", priority)
+                .append("queueTime", queueTime)
+                .append("runTime", runTime)
                 .toString();
     }
 
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.jobtracker;
+
+/**
+ * Denotes the priority of a Gaffer job. Queued jobs with a higher priority are
+ * run before queued jobs with a lower priority. The priority of a job can be set
+ * using the {@link #OPTION} operation option on the operation chain.
+ */
+public enum JobPriority {
+
+    /**
+     * For interactive jobs that a user is waiting on.
+     */
+    HIGH,
+
+    /**
+     * The default priority.
+     */
+    NORMAL,
+
+    /**
+     * For long running jobs, such as large exports.
+     */
+    LOW;
+
+    public static final String OPTION = "gaffer.job.priority";
+}
@@ -20,6 +20,11 @@ package uk.gov.gchq.gaffer.jobtracker;
  */
 public enum JobStatus {
 
+    /**
+     * The Gaffer job has been submitted and is waiting to be run.
+     */
+    QUEUED,
+
     /**
      * The Gaffer job has been submitted and is running.
      */
@@ -33,5 +38,10 @@ public enum JobStatus {
     /**
      * An error occured while executing the Gaffer job.
      */
-    FAILED
+    FAILED,
+
+    /**
+     * The Gaffer job was cancelled before it completed.
+     */
+    CANCELLED
 }
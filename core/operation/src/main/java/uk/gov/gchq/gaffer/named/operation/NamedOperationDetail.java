@@ -26,15 +26,12 @@ import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
 import uk.gov.gchq.gaffer.operation.OperationChain;
-import uk.gov.gchq.gaffer.operation.OperationChainDAO;
 import uk.gov.gchq.gaffer.user.User;
 
 import java.io.Serializable;
-import java.io.UnsupportedEncodingException;
 import java.nio.charset.Charset;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 /**
  * Simple POJO containing the details associated with a {@link NamedOperation}.
@@ -50,6 +47,7 @@ public class NamedOperationDetail implements Serializable {
     private List<String> writeAccessRoles;
     private Map<String, ParameterDetail> parameters = Maps.newHashMap();
     private Integer score;
+    private transient volatile NamedOperationTemplate template;
 
     public NamedOperationDetail(final String operationName, final String description, final String userId,
                                 final String operations, final List<String> readers,
@@ -105,10 +103,6 @@ public class NamedOperationDetail implements Serializable {
         return score;
     }
 
-    private String buildParamNameString(final String paramKey) {
-        return "\"${" + paramKey + "}\"";
-    }
-
     /**
      * Gets the OperationChain after adding in default values for any parameters. If a parameter
      * does not have a default, null is inserted.
@@ -118,29 +112,7 @@ public class NamedOperationDetail implements Serializable {
      */
     @JsonIgnore
     public OperationChain getOperationChainWithDefaultParams() {
-        String opStringWithDefaults = operations;
-
-        if (null != parameters) {
-            for (final Map.Entry<String, ParameterDetail> parameterDetailPair : parameters.entrySet()) {
-                String paramKey = parameterDetailPair.getKey();
-
-                try {
-                    opStringWithDefaults = opStringWithDefaults.replace(buildParamNameString(paramKey),
-                            new String(JSONSerialiser.serialise(parameterDetailPair.getValue().getDefaultValue(), CHARSET_NAME), CHARSET_NAME));
-                } catch (final SerialisationException | UnsupportedEncodingException e) {
-                    throw new IllegalArgumentException(e.getMessage());
-                }
-            }
-        }
-
-        OperationChain opChain;
-        try {
-            opChain = JSONSerialiser.deserialise(opStringWithDefaults.getBytes(CHARSET_NAME), OperationChainDAO.class);
-        } catch (final Exception e) {
-            throw new IllegalArgumentException(e.getMessage());
-        }
-
-        return opChain;
+        return getTemplate().getOperationChainWithDefaultParams();
     }
 
     /**
@@ -151,48 +123,24 @@ public class NamedOperationDetail implements Serializable {
      * @throws IllegalArgumentException if substituting the parameters fails
      */
     public OperationChain getOperationChain(final Map<String, Object> executionParams) {
-        String opStringWithParams = operations;
-
-        // First check all the parameters supplied are expected parameter names
-        if (null != parameters) {
-            if (null != executionParams) {
-                Set<String> paramDetailKeys = parameters.keySet();
-                Set<String> paramKeys = executionParams.keySet();
-
-                if (!paramDetailKeys.containsAll(paramKeys)) {
-                    throw new IllegalArgumentException("Unexpected parameter name in NamedOperation");
-                }
-            }
-
-            for (final Map.Entry<String, ParameterDetail> parameterDetailPair : parameters.entrySet()) {
-                String paramKey = parameterDetailPair.getKey();
-                try {
-                    if (null != executionParams && executionParams.containsKey(paramKey)) {
-                        Object paramObj = JSONSerialiser.deserialise(JSONSerialiser.serialise(executionParams.get(paramKey)), parameterDetailPair.getValue().getValueClass());
-
-                        opStringWithParams = opStringWithParams.replace(buildParamNameString(paramKey),
-                                new String(JSONSerialiser.serialise(paramObj, CHARSET_NAME), CHARSET_NAME));
-                    } else if (!parameterDetailPair.getValue().isRequired()) {
-                        opStringWithParams = opStringWithParams.replace(buildParamNameString(paramKey),
-                                new String(JSONSerialiser.serialise(parameterDetailPair.getValue().getDefaultValue(), CHARSET_NAME), CHARSET_NAME));
-                    } else {
-                        throw new IllegalArgumentException("Missing parameter " + paramKey + " with no default");
-                    }
-                } catch (final SerialisationException | UnsupportedEncodingException e) {
-                    throw new IllegalArgumentException(e.getMessage());
-                }
-            }
-        }
-
-        OperationChain opChain;
+        return getTemplate().getOperationChain(executionParams);
+    }
 
-        try {
-            opChain = JSONSerialiser.deserialise(opStringWithParams.getBytes(CHARSET_NAME), OperationChainDAO.class);
-        } catch (final Exception e) {
-            throw new IllegalArgumentException(e.getMessage());
+    /**
+     * Gets the {@link NamedOperationTemplate} for the operations, compiling it the first
+     * time it is required. The template is not serialised so it is compiled again for
+     * each deserialised copy of this detail.
+     *
+     * @return the compiled operations
+     * @throws IllegalArgumentException if the operations cannot be compiled
+     */
+    private NamedOperationTemplate getTemplate() {
+        NamedOperationTemplate compiled = template;
+        if (null == compiled) {
+            compiled = new NamedOperationTemplate(operations, parameters);
+            template = compiled;
         }
-
-        return opChain;
+        return compiled;
     }
 
     @Override
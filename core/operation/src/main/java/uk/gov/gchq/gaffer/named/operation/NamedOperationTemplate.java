@@ -0,0 +1,264 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.named.operation;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import uk.gov.gchq.gaffer.commonutil.CommonConstants;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.OperationChainDAO;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@code NamedOperationTemplate} is the compiled form of the operations of a
+ * {@link NamedOperationDetail}. The operations json is parsed once into a tree and
+ * the location of each parameter placeholder ("${paramName}") is recorded as a
+ * slot. An {@link OperationChain} is then created by copying the tree, binding the
+ * json of each parameter into its slots and converting the tree into an
+ * {@link OperationChainDAO}, rather than substituting the parameters into the json
+ * string and parsing the whole string again.
+ * <p>
+ * If a placeholder is used anywhere other than as a whole json string value, e.g.
+ * as a field name, the template falls back to substituting the parameters into the
+ * json string so that the behaviour is unchanged.
+ */
+public final class NamedOperationTemplate {
+    private static final String CHARSET_NAME = CommonConstants.UTF_8;
+
+    private final String operations;
+    private final Map<String, ParameterDetail> parameters;
+    private final boolean hasParameterDetails;
+    private final JsonNode operationsTree;
+    private final Map<String, List<Object[]>> slots;
+    private final Map<String, JsonNode> defaultValues;
+
+    public NamedOperationTemplate(final String operations, final Map<String, ParameterDetail> parameters) {
+        if (null == operations) {
+            throw new IllegalArgumentException("Operation Chain must not be empty");
+        }
+        this.operations = operations;
+        this.parameters = null != parameters ? parameters : Collections.emptyMap();
+        this.hasParameterDetails = null != parameters;
+
+        final JsonNode tree;
+        try {
+            tree = readTree(operations);
+        } catch (final IOException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+
+        final Map<String, String> placeholders = new HashMap<>(this.parameters.size());
+        for (final String paramKey : this.parameters.keySet()) {
+            placeholders.put("${" + paramKey + "}", paramKey);
+        }
+        final Map<String, List<Object[]>> foundSlots = new HashMap<>(this.parameters.size());
+        findSlots(tree, new ArrayList<>(), placeholders, foundSlots);
+
+        boolean compiled = true;
+        for (final String paramKey : this.parameters.keySet()) {
+            final List<Object[]> paramSlots = foundSlots.get(paramKey);
+            final int slotCount = null != paramSlots ? paramSlots.size() : 0;
+            if (slotCount != countOccurrences(operations, buildParamNameString(paramKey))) {
+                compiled = false;
+                break;
+            }
+        }
+
+        if (compiled) {
+            this.operationsTree = tree;
+            this.slots = foundSlots;
+        } else {
+            this.operationsTree = null;
+            this.slots = Collections.emptyMap();
+        }
+
+        this.defaultValues = new HashMap<>(this.parameters.size());
+        for (final Map.Entry<String, ParameterDetail> parameterDetailPair : this.parameters.entrySet()) {
+            defaultValues.put(parameterDetailPair.getKey(), toJsonNode(parameterDetailPair.getValue().getDefaultValue()));
+        }
+    }
+
+    /**
+     * @return true if the operations were compiled into a tree, false if parameters
+     * are substituted into the json string
+     */
+    public boolean isCompiled() {
+        return null != operationsTree;
+    }
+
+    /**
+     * Creates the OperationChain with default values for all parameters. If a
+     * parameter does not have a default, null is inserted.
+     *
+     * @return The {@link OperationChain}
+     * @throws IllegalArgumentException if substituting the parameters fails
+     */
+    public OperationChain getOperationChainWithDefaultParams() {
+        return bind(defaultValues);
+    }
+
+    /**
+     * Creates the OperationChain with the provided parameters, using the defaults for
+     * any parameters that are not required and have not been provided.
+     *
+     * @param executionParams the parameters for the {@link uk.gov.gchq.gaffer.operation.Operation} to be executed
+     * @return The {@link OperationChain}
+     * @throws IllegalArgumentException if a parameter is unexpected, a required parameter is missing or substituting the parameters fails
+     */
+    public OperationChain getOperationChain(final Map<String, Object> executionParams) {
+        if (hasParameterDetails && null != executionParams && !parameters.keySet().containsAll(executionParams.keySet())) {
+            throw new IllegalArgumentException("Unexpected parameter name in NamedOperation");
+        }
+
+        final Map<String, JsonNode> values = new HashMap<>(parameters.size());
+        for (final Map.Entry<String, ParameterDetail> parameterDetailPair : parameters.entrySet()) {
+            final String paramKey = parameterDetailPair.getKey();
+            if (null != executionParams && executionParams.containsKey(paramKey)) {
+                final Object paramObj;
+                try {
+                    paramObj = JSONSerialiser.deserialise(JSONSerialiser.serialise(executionParams.get(paramKey)), parameterDetailPair.getValue().getValueClass());
+                } catch (final SerialisationException e) {
+                    throw new IllegalArgumentException(e.getMessage());
+                }
+                values.put(paramKey, toJsonNode(paramObj));
+            } else if (!parameterDetailPair.getValue().isRequired()) {
+                values.put(paramKey, defaultValues.get(paramKey));
+            } else {
+                throw new IllegalArgumentException("Missing parameter " + paramKey + " with no default");
+            }
+        }
+
+        return bind(values);
+    }
+
+    private OperationChain bind(final Map<String, JsonNode> values) {
+        if (!isCompiled()) {
+            return bindToString(values);
+        }
+
+        final JsonNode tree = operationsTree.deepCopy();
+        for (final Map.Entry<String, List<Object[]>> paramSlots : slots.entrySet()) {
+            final JsonNode value = values.get(paramSlots.getKey());
+            for (final Object[] path : paramSlots.getValue()) {
+                setValue(tree, path, value);
+            }
+        }
+
+        try {
+            return JSONSerialiser.getMapper().treeToValue(tree, OperationChainDAO.class);
+        } catch (final Exception e) {
+            throw new IllegalArgumentException(e.getMessage());
+        }
+    }
+
+    private OperationChain bindToString(final Map<String, JsonNode> values) {
+        String opStringWithParams = operations;
+        for (final Map.Entry<String, JsonNode> value : values.entrySet()) {
+            try {
+                opStringWithParams = opStringWithParams.replace(buildParamNameString(value.getKey()), JSONSerialiser.getMapper().writeValueAsString(value.getValue()));
+            } catch (final IOException e) {
+                throw new IllegalArgumentException(e.getMessage());
+            }
+        }
+
+        try {
+            return JSONSerialiser.deserialise(opStringWithParams.getBytes(CHARSET_NAME), OperationChainDAO.class);
+        } catch (final Exception e) {
+            throw new IllegalArgumentException(e.getMessage());
+        }
+    }
+
+    private static JsonNode toJsonNode(final Object value) {
+        try {
+            return readTree(new String(JSONSerialiser.serialise(value, CHARSET_NAME), CHARSET_NAME));
+        } catch (final IOException e) {
+            throw new IllegalArgumentException(e.getMessage());
+        }
+    }
+
+    private static JsonNode readTree(final String json) throws IOException {
+        // Floating point numbers are kept as decimals so no precision is lost before they are bound to their fields
+        return JSONSerialiser.getMapper()
+                .reader()
+                .with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+                .readTree(json);
+    }
+
+    private static void findSlots(final JsonNode node, final List<Object> path, final Map<String, String> placeholders, final Map<String, List<Object[]>> foundSlots) {
+        if (node.isTextual()) {
+            final String paramKey = placeholders.get(node.textValue());
+            if (null != paramKey && !path.isEmpty()) {
+                foundSlots.computeIfAbsent(paramKey, k -> new ArrayList<>()).add(path.toArray());
+            }
+        } else if (node.isObject()) {
+            final Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                final Map.Entry<String, JsonNode> field = fields.next();
+                path.add(field.getKey());
+                findSlots(field.getValue(), path, placeholders, foundSlots);
+                path.remove(path.size() - 1);
+            }
+        } else if (node.isArray()) {
+            for (int i = 0; i < node.size(); i++) {
+                path.add(i);
+                findSlots(node.get(i), path, placeholders, foundSlots);
+                path.remove(path.size() - 1);
+            }
+        }
+    }
+
+    private static void setValue(final JsonNode tree, final Object[] path, final JsonNode value) {
+        JsonNode parent = tree;
+        for (int i = 0; i < path.length - 1; i++) {
+            parent = path[i] instanceof Integer ? parent.get((Integer) path[i]) : parent.get((String) path[i]);
+        }
+
+        // Each slot gets its own copy as the bound values may be shared between slots
+        final Object last = path[path.length - 1];
+        if (last instanceof Integer) {
+            ((ArrayNode) parent).set((Integer) last, value.deepCopy());
+        } else {
+            ((ObjectNode) parent).set((String) last, value.deepCopy());
+        }
+    }
+
+    private static int countOccurrences(final String str, final String subStr) {
+        int count = 0;
+        int index = str.indexOf(subStr);
+        while (index >= 0) {
+            count++;
+            index = str.indexOf(subStr, index + subStr.length());
+        }
+        return count;
+    }
+
+    private static String buildParamNameString(final String paramKey) {
+        return "\"${" + paramKey + "}\"";
+    }
+}
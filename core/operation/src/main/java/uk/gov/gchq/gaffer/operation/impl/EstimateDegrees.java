@@ -0,0 +1,126 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.operation.impl;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.io.InputOutput;
+import uk.gov.gchq.gaffer.operation.io.MultiInput;
+import uk.gov.gchq.gaffer.operation.serialisation.TypeReferenceImpl;
+
+import java.util.Map;
+
+/**
+ * An {@code EstimateDegrees} operation estimates the degree of each of the
+ * input vertices from a cardinality sketch property, such as a HyperLogLogPlus,
+ * held on an {@link uk.gov.gchq.gaffer.data.element.Entity} for the vertex.
+ * This avoids fetching every adjacent vertex of a high degree vertex just to
+ * count them. The result maps each vertex to its estimated degree, which is 0
+ * if the vertex has no sketch.
+ * <p>
+ * The group and property identify the sketch. If they are not set, the schema
+ * must contain exactly one entity group with a cardinality sketch property.
+ *
+ * @see EstimateDegrees.Builder
+ * @see EstimateNeighbourhoodCardinality
+ */
+public class EstimateDegrees implements
+        InputOutput<Iterable<? extends EntityId>, Map<Object, Long>>,
+        MultiInput<EntityId> {
+    private Iterable<? extends EntityId> input;
+    private String group;
+    private String property;
+    private Map<String, String> options;
+
+    @Override
+    @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.EXISTING_PROPERTY, property = "class")
+    public Object[] createInputArray() {
+        return MultiInput.super.createInputArray();
+    }
+
+    @Override
+    public Iterable<? extends EntityId> getInput() {
+        return input;
+    }
+
+    @Override
+    public void setInput(final Iterable<? extends EntityId> input) {
+        this.input = input;
+    }
+
+    public String getGroup() {
+        return group;
+    }
+
+    public void setGroup(final String group) {
+        this.group = group;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public void setProperty(final String property) {
+        this.property = property;
+    }
+
+    @Override
+    public TypeReference<Map<Object, Long>> getOutputTypeReference() {
+        return new TypeReferenceImpl.MapObjectLong();
+    }
+
+    @Override
+    public Map<String, String> getOptions() {
+        return options;
+    }
+
+    @Override
+    public void setOptions(final Map<String, String> options) {
+        this.options = options;
+    }
+
+    @Override
+    public EstimateDegrees shallowClone() {
+        return new EstimateDegrees.Builder()
+                .input(input)
+                .group(group)
+                .property(property)
+                .options(options)
+                .build();
+    }
+
+    public static class Builder extends Operation.BaseBuilder<EstimateDegrees, Builder>
+            implements InputOutput.Builder<EstimateDegrees, Iterable<? extends EntityId>, Map<Object, Long>, Builder>,
+            MultiInput.Builder<EstimateDegrees, EntityId, Builder> {
+        public Builder() {
+            super(new EstimateDegrees());
+        }
+
+        public Builder group(final String group) {
+            _getOp().setGroup(group);
+            return _self();
+        }
+
+        public Builder property(final String property) {
+            _getOp().setProperty(property);
+            return _self();
+        }
+    }
+}
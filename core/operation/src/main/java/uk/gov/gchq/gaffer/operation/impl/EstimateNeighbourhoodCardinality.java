@@ -0,0 +1,125 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.operation.impl;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.io.InputOutput;
+import uk.gov.gchq.gaffer.operation.io.MultiInput;
+import uk.gov.gchq.gaffer.operation.serialisation.TypeReferenceImpl;
+
+import java.util.Map;
+
+/**
+ * An {@code EstimateNeighbourhoodCardinality} operation estimates the number
+ * of distinct vertices adjacent to any of the input vertices. The cardinality
+ * sketch properties, such as HyperLogLogPlus, held on the
+ * {@link uk.gov.gchq.gaffer.data.element.Entity}s for the input vertices are
+ * merged together and the cardinality of the union is returned.
+ * <p>
+ * The group and property identify the sketch. If they are not set, the schema
+ * must contain exactly one entity group with a cardinality sketch property.
+ *
+ * @see EstimateNeighbourhoodCardinality.Builder
+ * @see EstimateDegrees
+ */
+public class EstimateNeighbourhoodCardinality implements
+        InputOutput<Iterable<? extends EntityId>, Long>,
+        MultiInput<EntityId> {
+    private Iterable<? extends EntityId> input;
+    private String group;
+    private String property;
+    private Map<String, String> options;
+
+    @Override
+    @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.EXISTING_PROPERTY, property = "class")
+    public Object[] createInputArray() {
+        return MultiInput.super.createInputArray();
+    }
+
+    @Override
+    public Iterable<? extends EntityId> getInput() {
+        return input;
+    }
+
+    @Override
+    public void setInput(final Iterable<? extends EntityId> input) {
+        this.input = input;
+    }
+
+    public String getGroup() {
+        return group;
+    }
+
+    public void setGroup(final String group) {
+        this.group = group;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public void setProperty(final String property) {
+        this.property = property;
+    }
+
+    @Override
+    public TypeReference<Long> getOutputTypeReference() {
+        return new TypeReferenceImpl.Long();
+    }
+
+    @Override
+    public Map<String, String> getOptions() {
+        return options;
+    }
+
+    @Override
+    public void setOptions(final Map<String, String> options) {
+        this.options = options;
+    }
+
+    @Override
+    public EstimateNeighbourhoodCardinality shallowClone() {
+        return new EstimateNeighbourhoodCardinality.Builder()
+                .input(input)
+                .group(group)
+                .property(property)
+                .options(options)
+                .build();
+    }
+
+    public static class Builder extends Operation.BaseBuilder<EstimateNeighbourhoodCardinality, Builder>
+            implements InputOutput.Builder<EstimateNeighbourhoodCardinality, Iterable<? extends EntityId>, Long, Builder>,
+            MultiInput.Builder<EstimateNeighbourhoodCardinality, EntityId, Builder> {
+        public Builder() {
+            super(new EstimateNeighbourhoodCardinality());
+        }
+
+        public Builder group(final String group) {
+            _getOp().setGroup(group);
+            return _self();
+        }
+
+        public Builder property(final String property) {
+            _getOp().setProperty(property);
+            return _self();
+        }
+    }
+}
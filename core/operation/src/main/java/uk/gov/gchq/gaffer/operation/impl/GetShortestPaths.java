@@ -0,0 +1,230 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.operation.impl;
+
+import com.fasterxml.jackson.annotation.JsonGetter;
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import uk.gov.gchq.gaffer.commonutil.Required;
+import uk.gov.gchq.gaffer.data.element.id.DirectedType;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.graph.Walk;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters;
+import uk.gov.gchq.gaffer.operation.io.InputOutput;
+import uk.gov.gchq.gaffer.operation.io.MultiInput;
+import uk.gov.gchq.gaffer.operation.serialisation.TypeReferenceImpl;
+import uk.gov.gchq.koryphe.ValidationResult;
+
+import java.util.Map;
+
+/**
+ * A {@code GetShortestPaths} operation is used to find the shortest paths in a
+ * graph from one of a set of source {@link EntityId}s (the input) to one of a
+ * set of destination {@link EntityId}s, up to a maximum number of hops.
+ * <p>
+ * Unlike {@link GetWalks}, which enumerates every walk of a fixed length from
+ * the seeds, the paths are found by a breadth first search from both ends at
+ * once, so only the vertices within half of the path length from either set
+ * need to be visited. The {@link View}, {@link DirectedType} and
+ * {@link IncludeIncomingOutgoingType} control which {@link uk.gov.gchq.gaffer.data.element.Edge}s
+ * are followed, with the direction being relative to the sources. If
+ * maxFrontierSize is set the operation fails if the number of vertices to
+ * expand in a single hop exceeds it.
+ * <p>
+ * Each path is returned as a {@link Walk}, with any parallel edges between
+ * consecutive vertices held in the same hop. If a vertex is both a source and
+ * a destination then the shortest path is a {@link Walk} of length zero.
+ *
+ * @see GetShortestPaths.Builder
+ */
+public class GetShortestPaths implements
+        InputOutput<Iterable<? extends EntityId>, Iterable<Walk>>,
+        MultiInput<EntityId>,
+        SeededGraphFilters {
+    private View view;
+    private Iterable<? extends EntityId> input;
+    @Required
+    private Iterable<? extends EntityId> destinations;
+    private DirectedType directedType;
+    private IncludeIncomingOutgoingType inOutType;
+    @Required
+    private Integer maxHops;
+    private Integer maxFrontierSize;
+    private Map<String, String> options;
+
+    @Override
+    @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.EXISTING_PROPERTY, property = "class")
+    public Object[] createInputArray() {
+        return MultiInput.super.createInputArray();
+    }
+
+    @Override
+    public Iterable<? extends EntityId> getInput() {
+        return input;
+    }
+
+    @Override
+    public void setInput(final Iterable<? extends EntityId> input) {
+        this.input = input;
+    }
+
+    public Iterable<? extends EntityId> getDestinations() {
+        return destinations;
+    }
+
+    public void setDestinations(final Iterable<? extends EntityId> destinations) {
+        this.destinations = destinations;
+    }
+
+    @SuppressFBWarnings(value = "PZLA_PREFER_ZERO_LENGTH_ARRAYS", justification = "If destinations is null then null should be returned")
+    @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.EXISTING_PROPERTY, property = "class")
+    @JsonGetter("destinations")
+    public Object[] createDestinationsArray() {
+        return null != destinations ? Iterables.toArray(destinations, Object.class) : null;
+    }
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.PROPERTY, property = "class")
+    @JsonSetter("destinations")
+    public void setDestinations(final EntityId[] destinations) {
+        setDestinations(Lists.newArrayList(destinations));
+    }
+
+    @Override
+    public View getView() {
+        return view;
+    }
+
+    @Override
+    public void setView(final View view) {
+        this.view = view;
+    }
+
+    @Override
+    public DirectedType getDirectedType() {
+        return directedType;
+    }
+
+    @Override
+    public void setDirectedType(final DirectedType directedType) {
+        this.directedType = directedType;
+    }
+
+    @Override
+    public IncludeIncomingOutgoingType getIncludeIncomingOutGoing() {
+        return inOutType;
+    }
+
+    @Override
+    public void setIncludeIncomingOutGoing(final IncludeIncomingOutgoingType inOutType) {
+        this.inOutType = inOutType;
+    }
+
+    public Integer getMaxHops() {
+        return maxHops;
+    }
+
+    public void setMaxHops(final Integer maxHops) {
+        this.maxHops = maxHops;
+    }
+
+    public Integer getMaxFrontierSize() {
+        return maxFrontierSize;
+    }
+
+    public void setMaxFrontierSize(final Integer maxFrontierSize) {
+        this.maxFrontierSize = maxFrontierSize;
+    }
+
+    @Override
+    public ValidationResult validate() {
+        final ValidationResult result = InputOutput.super.validate();
+
+        if (null != maxHops && maxHops < 1) {
+            result.addError("maxHops must be at least 1.");
+        }
+
+        if (null != maxFrontierSize && maxFrontierSize < 1) {
+            result.addError("maxFrontierSize must be at least 1.");
+        }
+
+        return result;
+    }
+
+    @Override
+    public TypeReference<Iterable<Walk>> getOutputTypeReference() {
+        return new TypeReferenceImpl.IterableWalk();
+    }
+
+    @Override
+    public Map<String, String> getOptions() {
+        return options;
+    }
+
+    @Override
+    public void setOptions(final Map<String, String> options) {
+        this.options = options;
+    }
+
+    @Override
+    public GetShortestPaths shallowClone() {
+        return new GetShortestPaths.Builder()
+                .view(view)
+                .input(input)
+                .destinations(destinations)
+                .directedType(directedType)
+                .inOutType(inOutType)
+                .maxHops(maxHops)
+                .maxFrontierSize(maxFrontierSize)
+                .options(options)
+                .build();
+    }
+
+    public static class Builder extends Operation.BaseBuilder<GetShortestPaths, Builder>
+            implements InputOutput.Builder<GetShortestPaths, Iterable<? extends EntityId>, Iterable<Walk>, Builder>,
+            MultiInput.Builder<GetShortestPaths, EntityId, Builder>,
+            SeededGraphFilters.Builder<GetShortestPaths, Builder> {
+        public Builder() {
+            super(new GetShortestPaths());
+        }
+
+        public Builder destinations(final EntityId... destinations) {
+            return destinations(Lists.newArrayList(destinations));
+        }
+
+        public Builder destinations(final Iterable<? extends EntityId> destinations) {
+            _getOp().setDestinations(destinations);
+            return _self();
+        }
+
+        public Builder maxHops(final Integer maxHops) {
+            _getOp().setMaxHops(maxHops);
+            return _self();
+        }
+
+        public Builder maxFrontierSize(final Integer maxFrontierSize) {
+            _getOp().setMaxFrontierSize(maxFrontierSize);
+            return _self();
+        }
+    }
+}
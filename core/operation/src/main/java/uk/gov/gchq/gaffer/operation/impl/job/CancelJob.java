@@ -0,0 +1,83 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.operation.impl.job;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import uk.gov.gchq.gaffer.commonutil.Required;
+import uk.gov.gchq.gaffer.jobtracker.JobDetail;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.io.Output;
+import uk.gov.gchq.gaffer.operation.serialisation.TypeReferenceImpl;
+
+import java.util.Map;
+
+/**
+ * A {@code CancelJob} operation is used to cancel a job that has been submitted
+ * to a Gaffer graph. A queued job is removed from the queue, a running job is
+ * stopped by closing its operation chain. The updated details of the job are
+ * returned.
+ */
+public class CancelJob implements
+        Output<JobDetail> {
+    @Required
+    private String jobId;
+    private Map<String, String> options;
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(final String jobId) {
+        this.jobId = jobId;
+    }
+
+    @Override
+    public TypeReference<JobDetail> getOutputTypeReference() {
+        return new TypeReferenceImpl.JobDetail();
+    }
+
+    @Override
+    public CancelJob shallowClone() {
+        return new CancelJob.Builder()
+                .jobId(jobId)
+                .options(options)
+                .build();
+    }
+
+    @Override
+    public Map<String, String> getOptions() {
+        return options;
+    }
+
+    @Override
+    public void setOptions(final Map<String, String> options) {
+        this.options = options;
+    }
+
+    public static class Builder extends Operation.BaseBuilder<CancelJob, Builder>
+            implements Output.Builder<CancelJob, JobDetail, Builder> {
+        public Builder() {
+            super(new CancelJob());
+        }
+
+        public Builder jobId(final String jobId) {
+            _getOp().setJobId(jobId);
+            return this;
+        }
+    }
+}
@@ -104,6 +104,9 @@ public final class TypeReferenceImpl {
     public static class MapStringSet extends TypeReference<java.util.Map<String, Set<Object>>> {
     }
 
+    public static class MapObjectLong extends TypeReference<java.util.Map<java.lang.Object, java.lang.Long>> {
+    }
+
     public static class Operations extends TypeReference<Set<Class<uk.gov.gchq.gaffer.operation.Operation>>> {
     }
 
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.named.operation;
+
+import com.google.common.collect.Maps;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.impl.Limit;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class NamedOperationTemplateTest {
+    private static final String OPERATIONS = "{ \"operations\": [ { \"class\":\"uk.gov.gchq.gaffer.operation.impl.get.GetAllElements\" }, " +
+            "{ \"class\":\"uk.gov.gchq.gaffer.operation.impl.Limit\", \"resultLimit\": \"${param1}\", \"truncate\": \"${param2}\" } ] }";
+
+    @Test
+    public void shouldCompileOperationsWithParametersAsValues() {
+        // When
+        final NamedOperationTemplate template = new NamedOperationTemplate(OPERATIONS, getParameters());
+
+        // Then
+        assertTrue(template.isCompiled());
+    }
+
+    @Test
+    public void shouldBindProvidedParametersAndDefaults() {
+        // Given
+        final NamedOperationTemplate template = new NamedOperationTemplate(OPERATIONS, getParameters());
+
+        // When
+        final OperationChain<?> opChain = template.getOperationChain(Collections.singletonMap("param1", 5));
+
+        // Then
+        assertEquals(2, opChain.getOperations().size());
+        assertEquals(GetAllElements.class, opChain.getOperations().get(0).getClass());
+        final Limit<?> limit = (Limit<?>) opChain.getOperations().get(1);
+        assertEquals(5, (int) limit.getResultLimit());
+        assertFalse(limit.getTruncate());
+    }
+
+    @Test
+    public void shouldBindDefaultParameters() {
+        // Given
+        final NamedOperationTemplate template = new NamedOperationTemplate(OPERATIONS, getParameters());
+
+        // When
+        final OperationChain<?> opChain = template.getOperationChainWithDefaultParams();
+
+        // Then
+        final Limit<?> limit = (Limit<?>) opChain.getOperations().get(1);
+        assertEquals(1, (int) limit.getResultLimit());
+        assertFalse(limit.getTruncate());
+    }
+
+    @Test
+    public void shouldCreateIndependentOperationChainsFromTheSameTemplate() {
+        // Given
+        final NamedOperationTemplate template = new NamedOperationTemplate(OPERATIONS, getParameters());
+
+        // When
+        final OperationChain<?> opChain1 = template.getOperationChain(Collections.singletonMap("param1", 2));
+        final OperationChain<?> opChain2 = template.getOperationChain(Collections.singletonMap("param1", 3));
+
+        // Then
+        assertNotSame(opChain1.getOperations().get(1), opChain2.getOperations().get(1));
+        assertEquals(2, (int) ((Limit<?>) opChain1.getOperations().get(1)).getResultLimit());
+        assertEquals(3, (int) ((Limit<?>) opChain2.getOperations().get(1)).getResultLimit());
+    }
+
+    @Test
+    public void shouldThrowExceptionForUnexpectedParameter() {
+        // Given
+        final NamedOperationTemplate template = new NamedOperationTemplate(OPERATIONS, getParameters());
+
+        // When / Then
+        try {
+            template.getOperationChain(Collections.singletonMap("param3", 1));
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertEquals("Unexpected parameter name in NamedOperation", e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldThrowExceptionForMissingRequiredParameter() {
+        // Given
+        final Map<String, ParameterDetail> parameters = getParameters();
+        parameters.put("param1", new ParameterDetail.Builder()
+                .description("Limit param")
+                .valueClass(Long.class)
+                .required(true)
+                .build());
+        final NamedOperationTemplate template = new NamedOperationTemplate(OPERATIONS, parameters);
+
+        // When / Then
+        try {
+            template.getOperationChain(null);
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertEquals("Missing parameter param1 with no default", e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldSubstituteIntoStringWhenParameterIsNotAWholeValue() {
+        // Given
+        final String operations = "{ \"operations\": [ { \"class\":\"uk.gov.gchq.gaffer.operation.impl.Limit\", \"${param2}\": true, \"resultLimit\": \"${param1}\" } ] }";
+        final Map<String, ParameterDetail> parameters = getParameters();
+        parameters.put("param2", new ParameterDetail.Builder()
+                .description("Field param")
+                .valueClass(String.class)
+                .defaultValue("truncate")
+                .build());
+
+        // When
+        final NamedOperationTemplate template = new NamedOperationTemplate(operations, parameters);
+
+        // Then
+        assertFalse(template.isCompiled());
+        final Limit<?> limit = (Limit<?>) template.getOperationChainWithDefaultParams().getOperations().get(0);
+        assertEquals(1, (int) limit.getResultLimit());
+        assertTrue(limit.getTruncate());
+    }
+
+    private Map<String, ParameterDetail> getParameters() {
+        final Map<String, ParameterDetail> parameters = Maps.newHashMap();
+        parameters.put("param1", new ParameterDetail.Builder()
+                .description("Limit param")
+                .valueClass(Long.class)
+                .defaultValue(1L)
+                .build());
+        parameters.put("param2", new ParameterDetail.Builder()
+                .description("Truncate param")
+                .valueClass(Boolean.class)
+                .defaultValue(false)
+                .build());
+        return parameters;
+    }
+}
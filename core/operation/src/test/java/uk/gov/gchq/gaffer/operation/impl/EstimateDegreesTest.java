@@ -0,0 +1,107 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.operation.impl;
+
+import com.google.common.collect.Lists;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.operation.OperationTest;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+public class EstimateDegreesTest extends OperationTest<EstimateDegrees> {
+    private static final String PROPERTY = "hllp";
+
+    @Test
+    public void shouldJSONSerialiseAndDeserialise() throws SerialisationException {
+        // Given
+        final EstimateDegrees op = new EstimateDegrees.Builder()
+                .input(new EntitySeed("1"), new EntitySeed("2"))
+                .group(TestGroups.ENTITY)
+                .property(PROPERTY)
+                .build();
+
+        // When
+        final byte[] json = JSONSerialiser.serialise(op, true);
+        final EstimateDegrees deserialisedOp = JSONSerialiser.deserialise(json, EstimateDegrees.class);
+
+        // Then
+        assertEquals(Lists.newArrayList(new EntitySeed("1"), new EntitySeed("2")), Lists.newArrayList(deserialisedOp.getInput()));
+        assertEquals(TestGroups.ENTITY, deserialisedOp.getGroup());
+        assertEquals(PROPERTY, deserialisedOp.getProperty());
+    }
+
+    @Test
+    @Override
+    public void builderShouldCreatePopulatedOperation() {
+        // When
+        final EstimateDegrees op = new EstimateDegrees.Builder()
+                .input(new EntitySeed("1"))
+                .group(TestGroups.ENTITY)
+                .property(PROPERTY)
+                .option("testOption", "true")
+                .build();
+
+        // Then
+        assertEquals(new EntitySeed("1"), op.getInput().iterator().next());
+        assertEquals(TestGroups.ENTITY, op.getGroup());
+        assertEquals(PROPERTY, op.getProperty());
+        assertEquals("true", op.getOption("testOption"));
+    }
+
+    @Override
+    public void shouldShallowCloneOperation() {
+        // Given
+        final EstimateDegrees op = new EstimateDegrees.Builder()
+                .input(new EntitySeed("1"))
+                .group(TestGroups.ENTITY)
+                .property(PROPERTY)
+                .option("testOption", "true")
+                .build();
+
+        // When
+        final EstimateDegrees clone = op.shallowClone();
+
+        // Then
+        assertNotSame(op, clone);
+        assertEquals(new EntitySeed("1"), clone.getInput().iterator().next());
+        assertEquals(TestGroups.ENTITY, clone.getGroup());
+        assertEquals(PROPERTY, clone.getProperty());
+        assertEquals("true", clone.getOption("testOption"));
+    }
+
+    @Test
+    public void shouldGetOutputClass() {
+        // When
+        final Class<?> outputClass = getTestObject().getOutputClass();
+
+        // Then
+        assertEquals(Map.class, outputClass);
+    }
+
+    @Override
+    protected EstimateDegrees getTestObject() {
+        return new EstimateDegrees();
+    }
+}
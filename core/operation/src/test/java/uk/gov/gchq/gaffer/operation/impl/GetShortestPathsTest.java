@@ -0,0 +1,152 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.operation.impl;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.id.DirectedType;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.operation.OperationTest;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters.IncludeIncomingOutgoingType;
+
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+public class GetShortestPathsTest extends OperationTest<GetShortestPaths> {
+
+    @Test
+    @Override
+    public void builderShouldCreatePopulatedOperation() {
+        // Given
+        final View view = new View.Builder()
+                .edge(TestGroups.EDGE)
+                .build();
+
+        // When
+        final GetShortestPaths op = new GetShortestPaths.Builder()
+                .input(new EntitySeed("A"), new EntitySeed("B"))
+                .destinations(new EntitySeed("C"))
+                .view(view)
+                .directedType(DirectedType.DIRECTED)
+                .inOutType(IncludeIncomingOutgoingType.OUTGOING)
+                .maxHops(4)
+                .maxFrontierSize(100)
+                .build();
+
+        // Then
+        assertEquals(Lists.newArrayList(new EntitySeed("A"), new EntitySeed("B")), Lists.newArrayList(op.getInput()));
+        assertEquals(Lists.newArrayList(new EntitySeed("C")), Lists.newArrayList(op.getDestinations()));
+        assertEquals(view, op.getView());
+        assertEquals(DirectedType.DIRECTED, op.getDirectedType());
+        assertEquals(IncludeIncomingOutgoingType.OUTGOING, op.getIncludeIncomingOutGoing());
+        assertEquals(4, (int) op.getMaxHops());
+        assertEquals(100, (int) op.getMaxFrontierSize());
+    }
+
+    @Test
+    @Override
+    public void shouldShallowCloneOperation() {
+        // Given
+        final GetShortestPaths op = new GetShortestPaths.Builder()
+                .input(new EntitySeed("A"))
+                .destinations(new EntitySeed("C"))
+                .view(new View.Builder()
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .directedType(DirectedType.UNDIRECTED)
+                .inOutType(IncludeIncomingOutgoingType.INCOMING)
+                .maxHops(3)
+                .maxFrontierSize(10)
+                .option("key", "value")
+                .build();
+
+        // When
+        final GetShortestPaths clone = op.shallowClone();
+
+        // Then
+        assertNotSame(op, clone);
+        assertEquals(op.getInput(), clone.getInput());
+        assertEquals(op.getDestinations(), clone.getDestinations());
+        assertEquals(op.getView(), clone.getView());
+        assertEquals(op.getDirectedType(), clone.getDirectedType());
+        assertEquals(op.getIncludeIncomingOutGoing(), clone.getIncludeIncomingOutGoing());
+        assertEquals(op.getMaxHops(), clone.getMaxHops());
+        assertEquals(op.getMaxFrontierSize(), clone.getMaxFrontierSize());
+        assertEquals(op.getOptions(), clone.getOptions());
+    }
+
+    @Test
+    public void shouldJsonSerialiseAndDeserialiseDestinations() throws SerialisationException {
+        // Given
+        final GetShortestPaths op = new GetShortestPaths.Builder()
+                .input(new EntitySeed("A"))
+                .destinations(new EntitySeed("C"), new EntitySeed("D"))
+                .maxHops(3)
+                .build();
+
+        // When
+        final byte[] json = JSONSerialiser.serialise(op, true);
+        final GetShortestPaths deserialisedOp = JSONSerialiser.deserialise(json, GetShortestPaths.class);
+
+        // Then
+        assertEquals(Lists.newArrayList(new EntitySeed("A")), Lists.newArrayList(deserialisedOp.getInput()));
+        assertEquals(Lists.newArrayList(new EntitySeed("C"), new EntitySeed("D")), Lists.newArrayList(deserialisedOp.getDestinations()));
+        assertEquals(3, (int) deserialisedOp.getMaxHops());
+    }
+
+    @Test
+    public void shouldValidateMaxHopsAndMaxFrontierSize() {
+        // Given
+        final GetShortestPaths validOp = new GetShortestPaths.Builder()
+                .input(new EntitySeed("A"))
+                .destinations(new EntitySeed("C"))
+                .maxHops(1)
+                .maxFrontierSize(1)
+                .build();
+        final GetShortestPaths invalidOp = new GetShortestPaths.Builder()
+                .input(new EntitySeed("A"))
+                .destinations(new EntitySeed("C"))
+                .maxHops(0)
+                .maxFrontierSize(0)
+                .build();
+
+        // When / Then
+        assertTrue(validOp.validate().isValid());
+        assertFalse(invalidOp.validate().isValid());
+        assertEquals(2, invalidOp.validate().getErrors().size());
+    }
+
+    @Override
+    protected Set<String> getRequiredFields() {
+        return Sets.newHashSet("destinations", "maxHops");
+    }
+
+    @Override
+    protected GetShortestPaths getTestObject() {
+        return new GetShortestPaths();
+    }
+}
@@ -21,6 +21,7 @@ import org.slf4j.LoggerFactory;
 
 import uk.gov.gchq.gaffer.commonutil.iterable.Validator;
 import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.function.CompiledElementFilter;
 import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
@@ -28,16 +29,29 @@ import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
 import uk.gov.gchq.koryphe.ValidationResult;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * An {@code ElementValidator} is a {@link Validator} for {@link Element}s
  * It is capable of validating an {@link Element} based on {@link java.util.function.Predicate}s
  * in {@link Schema} or {@link View}.
+ * <p>
+ * The validators and filters of each group are compiled into {@link CompiledElementFilter}s
+ * the first time an element of the group is validated, and then reused for all other
+ * elements of the group. The compiled filters hold no state, so a single
+ * {@code ElementValidator} can be used to validate elements on multiple threads.
+ * Changes made to the filters of a group after its first element has been validated
+ * are not reflected in the validation.
  */
 public class ElementValidator implements Validator<Element> {
     private static final Logger LOGGER = LoggerFactory.getLogger(ElementValidator.class);
     private final Schema schema;
     private final View view;
     private final boolean includeIsA;
+    private final Map<String, CompiledElementFilter> schemaValidators;
+    // The filters of each group, indexed by FilterType ordinal
+    private final Map<String, CompiledElementFilter[]> viewFilters;
 
     public enum FilterType {
         SCHEMA_VALIDATION,
@@ -72,6 +86,8 @@ public class ElementValidator implements Validator<Element> {
         this.schema = schema;
         this.view = null;
         this.includeIsA = includeIsA;
+        this.schemaValidators = new ConcurrentHashMap<>();
+        this.viewFilters = null;
     }
 
     /**
@@ -85,6 +101,8 @@ public class ElementValidator implements Validator<Element> {
         this.view = view;
         this.schema = null;
         includeIsA = false;
+        this.schemaValidators = null;
+        this.viewFilters = new ConcurrentHashMap<>();
     }
 
     /**
@@ -103,9 +121,11 @@ public class ElementValidator implements Validator<Element> {
         }
 
         if (null != view) {
-            return validateAgainstViewFilter(element, FilterType.PRE_AGGREGATION_FILTER)
-                    && validateAgainstViewFilter(element, FilterType.POST_AGGREGATION_FILTER)
-                    && validateAgainstViewFilter(element, FilterType.POST_TRANSFORM_FILTER);
+            final CompiledElementFilter[] filters = getViewFilters(element.getGroup());
+            return null != filters
+                    && filters[FilterType.PRE_AGGREGATION_FILTER.ordinal()].test(element)
+                    && filters[FilterType.POST_AGGREGATION_FILTER.ordinal()].test(element)
+                    && filters[FilterType.POST_TRANSFORM_FILTER.ordinal()].test(element);
         }
 
         return true;
@@ -148,8 +168,8 @@ public class ElementValidator implements Validator<Element> {
             return true;
         }
 
-        final SchemaElementDefinition elementDef = schema.getElement(element.getGroup());
-        return null != elementDef && elementDef.getValidator(includeIsA).test(element);
+        final CompiledElementFilter validator = getSchemaValidator(element.getGroup());
+        return null != validator && validator.test(element);
     }
 
     private ValidationResult validateWithSchemaWithValidationResult(final Element element) {
@@ -177,13 +197,8 @@ public class ElementValidator implements Validator<Element> {
             return true;
         }
 
-        final ViewElementDefinition elementDef = view.getElement(element.getGroup());
-        if (null == elementDef) {
-            return false;
-        }
-
-        final ElementFilter validator = getElementFilter(elementDef, filterType);
-        return null == validator || validator.test(element);
+        final CompiledElementFilter[] filters = getViewFilters(element.getGroup());
+        return null != filters && filters[filterType.ordinal()].test(element);
     }
 
     private ValidationResult validateAgainstViewFilterWithValidationResult(final Element element, final FilterType filterType) {
@@ -215,6 +230,40 @@ public class ElementValidator implements Validator<Element> {
         }
     }
 
+    private CompiledElementFilter getSchemaValidator(final String group) {
+        final CompiledElementFilter validator = schemaValidators.get(group);
+        if (null != validator) {
+            return validator;
+        }
+
+        // Groups without an element definition are not cached, as null values cannot be stored
+        return schemaValidators.computeIfAbsent(group, g -> {
+            final SchemaElementDefinition elementDef = schema.getElement(g);
+            return null != elementDef ? CompiledElementFilter.compile(elementDef.getValidator(includeIsA)) : null;
+        });
+    }
+
+    private CompiledElementFilter[] getViewFilters(final String group) {
+        final CompiledElementFilter[] filters = viewFilters.get(group);
+        if (null != filters) {
+            return filters;
+        }
+
+        return viewFilters.computeIfAbsent(group, g -> {
+            final ViewElementDefinition elementDef = view.getElement(g);
+            if (null == elementDef) {
+                return null;
+            }
+
+            final CompiledElementFilter[] groupFilters = new CompiledElementFilter[FilterType.values().length];
+            groupFilters[FilterType.SCHEMA_VALIDATION.ordinal()] = CompiledElementFilter.compile(null);
+            groupFilters[FilterType.PRE_AGGREGATION_FILTER.ordinal()] = CompiledElementFilter.compile(elementDef.getPreAggregationFilter());
+            groupFilters[FilterType.POST_AGGREGATION_FILTER.ordinal()] = CompiledElementFilter.compile(elementDef.getPostAggregationFilter());
+            groupFilters[FilterType.POST_TRANSFORM_FILTER.ordinal()] = CompiledElementFilter.compile(elementDef.getPostTransformFilter());
+            return groupFilters;
+        });
+    }
+
     public Schema getSchema() {
         return schema;
     }
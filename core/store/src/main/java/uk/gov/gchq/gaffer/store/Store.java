@@ -23,11 +23,13 @@ import org.slf4j.LoggerFactory;
 import uk.gov.gchq.gaffer.cache.CacheServiceLoader;
 import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.core.exception.Status;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.IdentifierType;
 import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.data.elementdefinition.exception.SchemaException;
 import uk.gov.gchq.gaffer.jobtracker.JobDetail;
+import uk.gov.gchq.gaffer.jobtracker.JobPriority;
 import uk.gov.gchq.gaffer.jobtracker.JobStatus;
 import uk.gov.gchq.gaffer.jobtracker.JobTracker;
 import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
@@ -42,6 +44,7 @@ import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.Count;
 import uk.gov.gchq.gaffer.operation.impl.CountGroups;
 import uk.gov.gchq.gaffer.operation.impl.DiscardOutput;
+import uk.gov.gchq.gaffer.operation.impl.GetShortestPaths;
 import uk.gov.gchq.gaffer.operation.impl.GetWalks;
 import uk.gov.gchq.gaffer.operation.impl.Limit;
 import uk.gov.gchq.gaffer.operation.impl.Validate;
@@ -61,6 +64,7 @@ import uk.gov.gchq.gaffer.operation.impl.generate.GenerateObjects;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.operation.impl.job.CancelJob;
 import uk.gov.gchq.gaffer.operation.impl.job.GetAllJobDetails;
 import uk.gov.gchq.gaffer.operation.impl.job.GetJobDetails;
 import uk.gov.gchq.gaffer.operation.impl.job.GetJobResults;
@@ -75,6 +79,8 @@ import uk.gov.gchq.gaffer.operation.impl.output.ToVertices;
 import uk.gov.gchq.gaffer.operation.io.Input;
 import uk.gov.gchq.gaffer.operation.io.Output;
 import uk.gov.gchq.gaffer.serialisation.Serialiser;
+import uk.gov.gchq.gaffer.store.job.JobScheduler;
+import uk.gov.gchq.gaffer.store.job.ScheduledJob;
 import uk.gov.gchq.gaffer.store.library.GraphLibrary;
 import uk.gov.gchq.gaffer.store.operation.GetSchema;
 import uk.gov.gchq.gaffer.store.operation.OperationChainValidator;
@@ -85,6 +91,7 @@ import uk.gov.gchq.gaffer.store.operation.handler.CountGroupsHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.CountHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.DiscardOutputHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.GetSchemaHandler;
+import uk.gov.gchq.gaffer.store.operation.handler.GetShortestPathsHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.GetWalksHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.LimitHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.OperationChainHandler;
@@ -102,6 +109,7 @@ import uk.gov.gchq.gaffer.store.operation.handler.function.FilterHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.function.TransformHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.generate.GenerateElementsHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.generate.GenerateObjectsHandler;
+import uk.gov.gchq.gaffer.store.operation.handler.job.CancelJobHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.job.GetAllJobDetailsHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.job.GetJobDetailsHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.job.GetJobResultsHandler;
@@ -131,11 +139,13 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * A {@code Store} backs a Graph and is responsible for storing the {@link
@@ -175,6 +185,7 @@ public abstract class Store {
     private GraphLibrary library;
 
     private JobTracker jobTracker;
+    private JobScheduler jobScheduler;
     private ExecutorService executorService;
     private String graphId;
 
@@ -232,6 +243,7 @@ public abstract class Store {
         optimiseSchema();
         validateSchemas();
         addOpHandlers();
+        addJobScheduler();
         addExecutorService();
     }
 
@@ -286,19 +298,21 @@ public abstract class Store {
     }
 
     protected <O> O execute(final OperationChain<O> operation, final Context context) throws OperationException {
-        addOrUpdateJobDetail(operation, context, null, JobStatus.RUNNING);
+        addOrUpdateJobDetail(operation, context, null, JobStatus.RUNNING, null);
         try {
             final O result = (O) handleOperation(operation, context);
-            addOrUpdateJobDetail(operation, context, null, JobStatus.FINISHED);
+            addOrUpdateJobDetail(operation, context, null, JobStatus.FINISHED, null);
             return result;
         } catch (final Throwable t) {
-            addOrUpdateJobDetail(operation, context, t.getMessage(), JobStatus.FAILED);
+            addOrUpdateJobDetail(operation, context, t.getMessage(), JobStatus.FAILED, null);
             throw t;
         }
     }
 
     /**
-     * Executes a given operation job and returns the job detail.
+     * Submits a given operation job to the job scheduler and returns the job detail.
+     * The priority of the job can be set using the {@link JobPriority#OPTION}
+     * option on the operation.
      *
      * @param operation the operation to execute.
      * @param context   the context executing the job
@@ -328,26 +342,52 @@ public abstract class Store {
             }
         }
 
-        final JobDetail initialJobDetail = addOrUpdateJobDetail(operationChain, context, null, JobStatus.RUNNING);
-
-        final Runnable runnable = () -> {
+        final ScheduledJob job = new ScheduledJob(context.getJobId(), context.getUser().getUserId(),
+                getJobPriority(operationChain), operationChain, scheduledJob -> {
+            addOrUpdateJobDetail(operationChain, context, null, JobStatus.RUNNING, scheduledJob);
             try {
-                handleOperation(operationChain, context);
-                addOrUpdateJobDetail(operationChain, context, null, JobStatus.FINISHED);
+                // The job may have been cancelled after it started but before the chain is run
+                if (!scheduledJob.isCancelled()) {
+                    handleOperation(operationChain, context);
+                }
+                if (scheduledJob.isCancelled()) {
+                    addOrUpdateJobDetail(operationChain, context, "Job was cancelled", JobStatus.CANCELLED, scheduledJob);
+                } else {
+                    addOrUpdateJobDetail(operationChain, context, null, JobStatus.FINISHED, scheduledJob);
+                }
             } catch (final Error e) {
-                addOrUpdateJobDetail(operationChain, context, e.getMessage(), JobStatus.FAILED);
+                addOrUpdateJobDetail(operationChain, context, e.getMessage(), JobStatus.FAILED, scheduledJob);
                 throw e;
             } catch (final Exception e) {
-                LOGGER.warn("Operation chain job failed to execute", e);
-                addOrUpdateJobDetail(operationChain, context, e.getMessage(), JobStatus.FAILED);
+                if (scheduledJob.isCancelled()) {
+                    addOrUpdateJobDetail(operationChain, context, "Job was cancelled", JobStatus.CANCELLED, scheduledJob);
+                } else {
+                    LOGGER.warn("Operation chain job failed to execute", e);
+                    addOrUpdateJobDetail(operationChain, context, e.getMessage(), JobStatus.FAILED, scheduledJob);
+                }
             }
-        };
+        });
 
-        executorService.execute(runnable);
+        final JobDetail initialJobDetail = addOrUpdateJobDetail(operationChain, context, null, JobStatus.QUEUED, job);
+        try {
+            jobScheduler.submit(job);
+        } catch (final RejectedExecutionException e) {
+            addOrUpdateJobDetail(operationChain, context, e.getMessage(), JobStatus.FAILED, job);
+            throw new OperationException(e.getMessage(), e, Status.TOO_MANY_REQUESTS);
+        }
 
         return initialJobDetail;
     }
 
+    /**
+     * Runs an internal task asynchronously, for example adding elements on
+     * behalf of an operation handler. Internal tasks are run on a dedicated thread
+     * pool rather than by the {@link JobScheduler}, so they do not count towards
+     * any user's fair share or queue limits and they are never rejected. Tasks are
+     * queued until a thread is free.
+     *
+     * @param runnable the task to run
+     */
     public void runAsync(final Runnable runnable) {
         executorService.execute(runnable);
     }
@@ -356,6 +396,10 @@ public abstract class Store {
         return jobTracker;
     }
 
+    public JobScheduler getJobScheduler() {
+        return jobScheduler;
+    }
+
     /**
      * @param operationClass the operation class to check
      * @return true if the provided operation is supported.
@@ -584,6 +628,17 @@ public abstract class Store {
         return null;
     }
 
+    protected JobScheduler createJobScheduler() {
+        final String jobSchedulerClass = properties.getJobSchedulerClass();
+        try {
+            return Class.forName(jobSchedulerClass)
+                    .asSubclass(JobScheduler.class)
+                    .newInstance();
+        } catch (final InstantiationException | IllegalAccessException | ClassNotFoundException e) {
+            throw new IllegalArgumentException("Could not create job scheduler of type: " + jobSchedulerClass, e);
+        }
+    }
+
     protected SchemaOptimiser createSchemaOptimiser() {
         return new SchemaOptimiser();
     }
@@ -691,10 +746,19 @@ public abstract class Store {
         return operationHandlers.get(opClass);
     }
 
-    private JobDetail addOrUpdateJobDetail(final OperationChain<?> operationChain, final Context context, final String msg, final JobStatus jobStatus) {
+    private JobDetail addOrUpdateJobDetail(final OperationChain<?> operationChain, final Context context, final String msg, final JobStatus jobStatus, final ScheduledJob job) {
         final JobDetail newJobDetail = new JobDetail(context.getJobId(), context
                 .getUser()
                 .getUserId(), operationChain, jobStatus, msg);
+        if (null != job) {
+            newJobDetail.setPriority(job.getPriority());
+            if (job.isStarted()) {
+                newJobDetail.setQueueTime(job.getQueueTime());
+                if (JobStatus.RUNNING != jobStatus) {
+                    newJobDetail.setRunTime(job.getRunTime());
+                }
+            }
+        }
         if (null != jobTracker) {
             final JobDetail oldJobDetail = jobTracker.getJob(newJobDetail.getJobId(), context
                     .getUser());
@@ -731,6 +795,11 @@ public abstract class Store {
         return result;
     }
 
+    private void addJobScheduler() {
+        this.jobScheduler = createJobScheduler();
+        this.jobScheduler.initialise(getProperties());
+    }
+
     private void addExecutorService() {
         final Integer jobExecutorThreadCount = getProperties().getJobExecutorThreadCount();
         LOGGER.debug("Initialising ExecutorService with " + jobExecutorThreadCount + " threads");
@@ -741,6 +810,18 @@ public abstract class Store {
         });
     }
 
+    private JobPriority getJobPriority(final Operation operation) throws OperationException {
+        final String priority = operation.getOption(JobPriority.OPTION);
+        if (null == priority) {
+            return JobPriority.NORMAL;
+        }
+        try {
+            return JobPriority.valueOf(priority.toUpperCase(Locale.ENGLISH));
+        } catch (final IllegalArgumentException e) {
+            throw new OperationException("Invalid job priority: " + priority, e, Status.BAD_REQUEST);
+        }
+    }
+
     private void addOpHandlers() {
         addCoreOpHandlers();
         addAdditionalOperationHandlers();
@@ -770,6 +851,7 @@ public abstract class Store {
             addOperationHandler(GetJobDetails.class, new GetJobDetailsHandler());
             addOperationHandler(GetAllJobDetails.class, new GetAllJobDetailsHandler());
             addOperationHandler(GetJobResults.class, new GetJobResultsHandler());
+            addOperationHandler(CancelJob.class, new CancelJobHandler());
         }
 
         // Output
@@ -801,6 +883,7 @@ public abstract class Store {
 
         // Walk tracking
         addOperationHandler(GetWalks.class, new GetWalksHandler());
+        addOperationHandler(GetShortestPaths.class, new GetShortestPathsHandler());
 
         // Other
         addOperationHandler(GenerateElements.class, new GenerateElementsHandler<>());
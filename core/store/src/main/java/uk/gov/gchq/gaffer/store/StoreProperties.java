@@ -30,6 +30,8 @@ import uk.gov.gchq.gaffer.commonutil.StreamUtil;
 import uk.gov.gchq.gaffer.data.elementdefinition.exception.SchemaException;
 import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
 import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiserModules;
+import uk.gov.gchq.gaffer.store.job.FairShareJobScheduler;
+import uk.gov.gchq.gaffer.store.job.JobScheduler;
 import uk.gov.gchq.gaffer.store.operation.declaration.OperationDeclarations;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 
@@ -68,6 +70,10 @@ public class StoreProperties implements Cloneable {
     public static final String EXECUTOR_SERVICE_THREAD_COUNT = "gaffer.store.job.executor.threads";
     public static final String EXECUTOR_SERVICE_THREAD_COUNT_DEFAULT = "50";
 
+    public static final String JOB_SCHEDULER_CLASS = "gaffer.store.job.scheduler.class";
+    public static final String JOB_SCHEDULER_MAX_QUEUED_JOBS = "gaffer.store.job.scheduler.max.queued";
+    public static final String JOB_SCHEDULER_MAX_QUEUED_JOBS_PER_USER = "gaffer.store.job.scheduler.max.queued.per.user";
+
     public static final String JSON_SERIALISER_CLASS = JSONSerialiser.JSON_SERIALISER_CLASS_KEY;
     public static final String JSON_SERIALISER_MODULES = JSONSerialiser.JSON_SERIALISER_MODULES;
 
@@ -388,6 +394,45 @@ public class StoreProperties implements Cloneable {
         return Integer.parseInt(get(EXECUTOR_SERVICE_THREAD_COUNT, EXECUTOR_SERVICE_THREAD_COUNT_DEFAULT));
     }
 
+    public String getJobSchedulerClass() {
+        return get(JOB_SCHEDULER_CLASS, FairShareJobScheduler.class.getName());
+    }
+
+    @JsonIgnore
+    public void setJobSchedulerClass(final Class<? extends JobScheduler> jobSchedulerClass) {
+        setJobSchedulerClass(jobSchedulerClass.getName());
+    }
+
+    public void setJobSchedulerClass(final String jobSchedulerClass) {
+        set(JOB_SCHEDULER_CLASS, jobSchedulerClass);
+    }
+
+    /**
+     * @return the maximum number of jobs that can be queued, or null if the queue is unbounded.
+     * Values less than 1 also leave the queue unbounded.
+     */
+    public Integer getJobSchedulerMaxQueuedJobs() {
+        final String maxQueuedJobs = get(JOB_SCHEDULER_MAX_QUEUED_JOBS);
+        return null != maxQueuedJobs ? Integer.valueOf(maxQueuedJobs) : null;
+    }
+
+    public void setJobSchedulerMaxQueuedJobs(final Integer maxQueuedJobs) {
+        set(JOB_SCHEDULER_MAX_QUEUED_JOBS, null != maxQueuedJobs ? maxQueuedJobs.toString() : null);
+    }
+
+    /**
+     * @return the maximum number of jobs that a single user can have queued, or null if there is no limit.
+     * Values less than 1 also mean there is no limit.
+     */
+    public Integer getJobSchedulerMaxQueuedJobsPerUser() {
+        final String maxQueuedJobs = get(JOB_SCHEDULER_MAX_QUEUED_JOBS_PER_USER);
+        return null != maxQueuedJobs ? Integer.valueOf(maxQueuedJobs) : null;
+    }
+
+    public void setJobSchedulerMaxQueuedJobsPerUser(final Integer maxQueuedJobs) {
+        set(JOB_SCHEDULER_MAX_QUEUED_JOBS_PER_USER, null != maxQueuedJobs ? maxQueuedJobs.toString() : null);
+    }
+
     public void addOperationDeclarationPaths(final String... newPaths) {
         final String newPathsCsv = StringUtils.join(newPaths, ",");
         String combinedPaths = getOperationDeclarationPaths();
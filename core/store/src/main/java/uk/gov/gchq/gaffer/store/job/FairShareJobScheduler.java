@@ -0,0 +1,259 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.job;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.jobtracker.JobPriority;
+import uk.gov.gchq.gaffer.store.StoreProperties;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A {@code FairShareJobScheduler} runs jobs on a fixed number of threads, set by
+ * {@link StoreProperties#EXECUTOR_SERVICE_THREAD_COUNT}.
+ * <p>
+ * When a thread is free the next job is chosen from the highest priority class
+ * that has queued jobs. Within a priority class each user has their own queue
+ * and the job is taken from the user with the fewest running jobs, then from the
+ * user who least recently had a job started, so a user with a large number of
+ * queued jobs cannot stop other users' jobs from running. Remaining ties are
+ * broken by the order the jobs were submitted, so with a single user and
+ * priority the jobs are run in the order they were submitted.
+ * <p>
+ * Priority classes are strict, a lower priority job is only started when there
+ * are no higher priority jobs queued.
+ * <p>
+ * The total number of queued jobs and the number of queued jobs per user can be
+ * limited using {@link StoreProperties#JOB_SCHEDULER_MAX_QUEUED_JOBS} and
+ * {@link StoreProperties#JOB_SCHEDULER_MAX_QUEUED_JOBS_PER_USER}, jobs submitted
+ * once a limit has been reached are rejected. Limits less than 1 are ignored.
+ */
+public class FairShareJobScheduler implements JobScheduler {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FairShareJobScheduler.class);
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition jobQueued = lock.newCondition();
+    private final Map<JobPriority, Map<String, Deque<ScheduledJob>>> queues = new EnumMap<>(JobPriority.class);
+    private final Map<String, ScheduledJob> queuedJobs = new HashMap<>();
+    private final Map<String, ScheduledJob> runningJobs = new HashMap<>();
+    private final Map<String, Integer> queuedJobsPerUser = new HashMap<>();
+    private final Map<String, Integer> runningJobsPerUser = new HashMap<>();
+    private final Map<String, Long> lastStartedPerUser = new HashMap<>();
+    private final Map<ScheduledJob, Long> submitOrder = new HashMap<>();
+    private long nextSubmitOrder;
+    private long nextStartOrder;
+    private int maxQueuedJobs = Integer.MAX_VALUE;
+    private int maxQueuedJobsPerUser = Integer.MAX_VALUE;
+
+    public FairShareJobScheduler() {
+        for (final JobPriority priority : JobPriority.values()) {
+            queues.put(priority, new LinkedHashMap<>());
+        }
+    }
+
+    @Override
+    public void initialise(final StoreProperties properties) {
+        final Integer maxQueued = properties.getJobSchedulerMaxQueuedJobs();
+        if (null != maxQueued && maxQueued > 0) {
+            maxQueuedJobs = maxQueued;
+        }
+        final Integer maxQueuedPerUser = properties.getJobSchedulerMaxQueuedJobsPerUser();
+        if (null != maxQueuedPerUser && maxQueuedPerUser > 0) {
+            maxQueuedJobsPerUser = maxQueuedPerUser;
+        }
+
+        final Integer threadCount = properties.getJobExecutorThreadCount();
+        LOGGER.debug("Initialising FairShareJobScheduler with {} threads", threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            startWorker();
+        }
+    }
+
+    @Override
+    public void submit(final ScheduledJob job) {
+        lock.lock();
+        try {
+            if (queuedJobs.containsKey(job.getJobId()) || runningJobs.containsKey(job.getJobId())) {
+                throw new IllegalArgumentException("Job " + job.getJobId() + " has already been submitted");
+            }
+            if (queuedJobs.size() >= maxQueuedJobs) {
+                throw new RejectedExecutionException("Job " + job.getJobId() + " was rejected, the job queue is full");
+            }
+            final int userQueued = queuedJobsPerUser.getOrDefault(job.getUserId(), 0);
+            if (userQueued >= maxQueuedJobsPerUser) {
+                throw new RejectedExecutionException("Job " + job.getJobId() + " was rejected, user "
+                        + job.getUserId() + " already has " + userQueued + " queued jobs");
+            }
+
+            queues.get(job.getPriority())
+                    .computeIfAbsent(job.getUserId(), k -> new ArrayDeque<>())
+                    .add(job);
+            queuedJobs.put(job.getJobId(), job);
+            queuedJobsPerUser.put(job.getUserId(), userQueued + 1);
+            submitOrder.put(job, nextSubmitOrder++);
+            jobQueued.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public ScheduledJob cancel(final String jobId) {
+        final ScheduledJob job;
+        lock.lock();
+        try {
+            final ScheduledJob queuedJob = queuedJobs.get(jobId);
+            if (null != queuedJob) {
+                final Map<String, Deque<ScheduledJob>> userQueues = queues.get(queuedJob.getPriority());
+                final Deque<ScheduledJob> userQueue = userQueues.get(queuedJob.getUserId());
+                userQueue.remove(queuedJob);
+                if (userQueue.isEmpty()) {
+                    userQueues.remove(queuedJob.getUserId());
+                }
+                dequeued(queuedJob);
+                releaseUser(queuedJob.getUserId());
+                job = queuedJob;
+            } else {
+                job = runningJobs.get(jobId);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (null != job) {
+            job.cancel();
+        }
+        return job;
+    }
+
+    private void startWorker() {
+        final Thread thread = new Thread(this::runJobs);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void runJobs() {
+        boolean failed = true;
+        try {
+            while (true) {
+                final ScheduledJob job = takeNextJob();
+                try {
+                    job.run();
+                } catch (final RuntimeException e) {
+                    LOGGER.warn("Job {} failed to execute", job.getJobId(), e);
+                } finally {
+                    finished(job);
+                }
+            }
+        } catch (final InterruptedException e) {
+            failed = false;
+            Thread.currentThread().interrupt();
+        } finally {
+            if (failed) {
+                // The job threw an Error, replace this thread so the number of threads is maintained
+                startWorker();
+            }
+        }
+    }
+
+    private ScheduledJob takeNextJob() throws InterruptedException {
+        lock.lock();
+        try {
+            while (queuedJobs.isEmpty()) {
+                jobQueued.await();
+            }
+
+            for (final Map<String, Deque<ScheduledJob>> userQueues : queues.values()) {
+                Deque<ScheduledJob> nextQueue = null;
+                for (final Deque<ScheduledJob> userQueue : userQueues.values()) {
+                    if (null == nextQueue || isFairerThan(userQueue.peek(), nextQueue.peek())) {
+                        nextQueue = userQueue;
+                    }
+                }
+
+                if (null != nextQueue) {
+                    final ScheduledJob job = nextQueue.remove();
+                    if (nextQueue.isEmpty()) {
+                        userQueues.remove(job.getUserId());
+                    }
+                    dequeued(job);
+                    runningJobs.put(job.getJobId(), job);
+                    runningJobsPerUser.merge(job.getUserId(), 1, Integer::sum);
+                    lastStartedPerUser.put(job.getUserId(), nextStartOrder++);
+                    return job;
+                }
+            }
+
+            throw new IllegalStateException("Queued jobs were not found in the job queues");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isFairerThan(final ScheduledJob job, final ScheduledJob other) {
+        final int running = runningJobsPerUser.getOrDefault(job.getUserId(), 0);
+        final int otherRunning = runningJobsPerUser.getOrDefault(other.getUserId(), 0);
+        if (running != otherRunning) {
+            return running < otherRunning;
+        }
+
+        final long lastStarted = lastStartedPerUser.getOrDefault(job.getUserId(), -1L);
+        final long otherLastStarted = lastStartedPerUser.getOrDefault(other.getUserId(), -1L);
+        if (lastStarted != otherLastStarted) {
+            return lastStarted < otherLastStarted;
+        }
+
+        return submitOrder.get(job) < submitOrder.get(other);
+    }
+
+    private void dequeued(final ScheduledJob job) {
+        queuedJobs.remove(job.getJobId());
+        submitOrder.remove(job);
+        decrement(queuedJobsPerUser, job.getUserId());
+    }
+
+    private void finished(final ScheduledJob job) {
+        lock.lock();
+        try {
+            runningJobs.remove(job.getJobId());
+            decrement(runningJobsPerUser, job.getUserId());
+            releaseUser(job.getUserId());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void releaseUser(final String userId) {
+        // Forget when a user's job was last started once they have no jobs, so idle users are not tracked
+        if (!queuedJobsPerUser.containsKey(userId) && !runningJobsPerUser.containsKey(userId)) {
+            lastStartedPerUser.remove(userId);
+        }
+    }
+
+    private static void decrement(final Map<String, Integer> counts, final String userId) {
+        counts.computeIfPresent(userId, (k, count) -> count > 1 ? count - 1 : null);
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.job;
+
+import uk.gov.gchq.gaffer.store.StoreProperties;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * A {@code JobScheduler} decides when the jobs submitted to a
+ * {@link uk.gov.gchq.gaffer.store.Store} are run. The scheduler used by a store
+ * is set using the {@link StoreProperties#JOB_SCHEDULER_CLASS} store property and
+ * must have a default constructor.
+ */
+public interface JobScheduler {
+    /**
+     * Initialises the scheduler, this is called once when the store is initialised.
+     *
+     * @param properties the store properties
+     */
+    void initialise(final StoreProperties properties);
+
+    /**
+     * Submits a job to be run.
+     *
+     * @param job the job to run
+     * @throws RejectedExecutionException if the job cannot be accepted, e.g. the queue is full
+     */
+    void submit(final ScheduledJob job);
+
+    /**
+     * Cancels a queued or running job. A queued job is removed from the queue
+     * and will not be run. A running job is cancelled by closing its resources,
+     * it is up to the job to stop once its resources are closed.
+     *
+     * @param jobId the id of the job to cancel
+     * @return the cancelled job, or null if the job is not queued or running
+     */
+    ScheduledJob cancel(final String jobId);
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.job;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
+import uk.gov.gchq.gaffer.jobtracker.JobPriority;
+
+import java.io.Closeable;
+import java.util.function.Consumer;
+
+/**
+ * A {@code ScheduledJob} is a job submitted to a {@link JobScheduler}. It records
+ * when the job was submitted, started and finished so the time the job spent
+ * queued and running can be reported.
+ */
+public class ScheduledJob implements Runnable {
+    private final String jobId;
+    private final String userId;
+    private final JobPriority priority;
+    private final Closeable resource;
+    private final Consumer<ScheduledJob> task;
+    private final long submitTime = System.currentTimeMillis();
+    private volatile Long startTime;
+    private volatile Long endTime;
+    private volatile boolean cancelled;
+
+    /**
+     * @param jobId    the job id
+     * @param userId   the id of the user who submitted the job
+     * @param priority the job priority, if null {@link JobPriority#NORMAL} is used
+     * @param resource the resource to close if the job is cancelled, e.g. the operation chain. Can be null.
+     * @param task     the task to run, it is given this job so it can check whether it has been cancelled
+     */
+    public ScheduledJob(final String jobId, final String userId, final JobPriority priority,
+                        final Closeable resource, final Consumer<ScheduledJob> task) {
+        if (null == task) {
+            throw new IllegalArgumentException("A task is required");
+        }
+        this.jobId = jobId;
+        this.userId = userId;
+        this.priority = null != priority ? priority : JobPriority.NORMAL;
+        this.resource = resource;
+        this.task = task;
+    }
+
+    /**
+     * Runs the job, unless it has already been cancelled.
+     */
+    @Override
+    public void run() {
+        synchronized (this) {
+            if (cancelled) {
+                return;
+            }
+            startTime = System.currentTimeMillis();
+        }
+        try {
+            task.accept(this);
+        } finally {
+            endTime = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Marks the job as cancelled and closes its resource. A job cancelled
+     * before it has started will not be run, so once this returns
+     * {@link #isStarted()} reliably reports whether the job ran.
+     */
+    public void cancel() {
+        synchronized (this) {
+            cancelled = true;
+        }
+        CloseableUtil.close(resource);
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public boolean isStarted() {
+        return null != startTime;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public JobPriority getPriority() {
+        return priority;
+    }
+
+    /**
+     * @return the number of milliseconds the job has spent queued
+     */
+    public long getQueueTime() {
+        final Long start = startTime;
+        return (null != start ? start : System.currentTimeMillis()) - submitTime;
+    }
+
+    /**
+     * @return the number of milliseconds the job has spent running, or null if it has not started
+     */
+    public Long getRunTime() {
+        final Long start = startTime;
+        if (null == start) {
+            return null;
+        }
+        final Long end = endTime;
+        return (null != end ? end : System.currentTimeMillis()) - start;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("jobId", jobId)
+                .append("userId", userId)
+                .append("priority", priority)
+                .append("cancelled", cancelled)
+                .toString();
+    }
+}
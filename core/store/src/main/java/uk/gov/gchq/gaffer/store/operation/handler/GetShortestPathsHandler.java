@@ -0,0 +1,305 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.operation.handler;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.graph.Walk;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters.IncludeIncomingOutgoingType;
+import uk.gov.gchq.gaffer.operation.impl.GetShortestPaths;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+/**
+ * <p>
+ * An operation handler for {@link GetShortestPaths} operations.
+ * </p>
+ * <p>
+ * The paths are found using a bidirectional breadth first search. On each hop
+ * the smaller of the two frontiers is expanded, with all of the vertices in the
+ * frontier being sent to the store as the seeds of a single {@link GetElements}
+ * operation. Vertices that have already been visited from the same side are not
+ * expanded again. The search stops as soon as the two sides meet, or when the
+ * total number of hops reaches the maximum.
+ * </p>
+ * <p>
+ * Currently the handler only supports creating {@link Walk}s which contain
+ * {@link Edge}s.
+ * </p>
+ */
+public class GetShortestPathsHandler implements OutputOperationHandler<GetShortestPaths, Iterable<Walk>> {
+
+    /**
+     * Can be set by modifying operationsDeclarations.json.
+     */
+    private Integer maxHops = null;
+
+    @Override
+    public Iterable<Walk> doOperation(final GetShortestPaths operation, final Context context, final Store store) throws OperationException {
+        if (null == operation.getInput() || null == operation.getDestinations()) {
+            return null;
+        }
+
+        if (null == operation.getMaxHops()) {
+            throw new OperationException("maxHops is required for the GetShortestPaths operation");
+        } else if (null != maxHops && operation.getMaxHops() > maxHops) {
+            throw new OperationException("GetShortestPaths operation contains " + operation.getMaxHops() + " hops. The maximum number of hops is: " + maxHops);
+        }
+
+        final IncludeIncomingOutgoingType inOutType = null != operation.getIncludeIncomingOutGoing()
+                ? operation.getIncludeIncomingOutGoing() : IncludeIncomingOutgoingType.EITHER;
+        final Search forward = new Search(operation.getInput(), inOutType);
+        final Search backward = new Search(operation.getDestinations(), reverse(inOutType));
+
+        Set<Object> meetingVertices = getMeetingVertices(forward.frontier, backward);
+        if (meetingVertices.isEmpty()) {
+            final View view = createEdgeView(operation, store);
+            int hops = 0;
+            while (meetingVertices.isEmpty() && hops < operation.getMaxHops()
+                    && !forward.frontier.isEmpty() && !backward.frontier.isEmpty()) {
+                final Search search = forward.frontier.size() <= backward.frontier.size() ? forward : backward;
+                checkFrontierSize(operation, search.frontier);
+                search.expand(getEdges(search, view, operation, context, store));
+                hops++;
+                meetingVertices = getMeetingVertices(search.frontier, search == forward ? backward : forward);
+            }
+        }
+
+        final List<Walk> walks = new ArrayList<>();
+        for (final Object vertex : meetingVertices) {
+            for (final List<Object> head : forward.getPaths(vertex)) {
+                for (final List<Object> tail : backward.getPaths(vertex)) {
+                    walks.add(toWalk(head, tail));
+                }
+            }
+        }
+        return walks;
+    }
+
+    public Integer getMaxHops() {
+        return maxHops;
+    }
+
+    public void setMaxHops(final Integer maxHops) {
+        this.maxHops = maxHops;
+    }
+
+    private View createEdgeView(final GetShortestPaths operation, final Store store) {
+        final View.Builder viewBuilder = new View.Builder();
+        if (null != operation.getView()) {
+            viewBuilder.merge(operation.getView());
+        } else {
+            viewBuilder.edges(store.getSchema().getEdgeGroups());
+        }
+        return viewBuilder
+                .entities(Collections.emptyMap())
+                .build();
+    }
+
+    private CloseableIterable<? extends Element> getEdges(final Search search,
+                                                          final View view,
+                                                          final GetShortestPaths operation,
+                                                          final Context context,
+                                                          final Store store) throws OperationException {
+        final List<EntitySeed> seeds = new ArrayList<>(search.frontier.size());
+        for (final Object vertex : search.frontier) {
+            seeds.add(new EntitySeed(vertex));
+        }
+
+        final GetElements getElements = new GetElements.Builder()
+                .input(seeds)
+                .view(view)
+                .directedType(operation.getDirectedType())
+                .inOutType(search.inOutType)
+                .options(operation.getOptions())
+                .build();
+        return store.execute(getElements, context);
+    }
+
+    private void checkFrontierSize(final GetShortestPaths operation, final Set<Object> frontier) throws OperationException {
+        if (null != operation.getMaxFrontierSize() && frontier.size() > operation.getMaxFrontierSize()) {
+            throw new OperationException("GetShortestPaths frontier contains " + frontier.size() + " vertices. The maximum frontier size is: " + operation.getMaxFrontierSize());
+        }
+    }
+
+    // Returns the vertices in the frontier that have been reached by the other
+    // search with the shortest combined distance.
+    private Set<Object> getMeetingVertices(final Set<Object> frontier, final Search other) {
+        final Set<Object> meetingVertices = new LinkedHashSet<>();
+        int shortestDistance = Integer.MAX_VALUE;
+        for (final Object vertex : frontier) {
+            final Integer distance = other.distances.get(vertex);
+            if (null != distance) {
+                if (distance < shortestDistance) {
+                    meetingVertices.clear();
+                    shortestDistance = distance;
+                }
+                if (distance == shortestDistance) {
+                    meetingVertices.add(vertex);
+                }
+            }
+        }
+        return meetingVertices;
+    }
+
+    // The head runs from a source to the meeting vertex and the tail runs from
+    // a destination to the meeting vertex. Both alternate between vertices and
+    // sets of edges.
+    @SuppressWarnings("unchecked")
+    private Walk toWalk(final List<Object> head, final List<Object> tail) {
+        final List<Set<Edge>> edges = new ArrayList<>();
+        final List<Entry<Object, Set<Entity>>> entities = new ArrayList<>();
+        for (int i = 0; i < head.size(); i += 2) {
+            entities.add(new AbstractMap.SimpleEntry<>(head.get(i), new HashSet<>()));
+            if (i + 1 < head.size()) {
+                edges.add(new HashSet<>((Set<Edge>) head.get(i + 1)));
+            }
+        }
+        for (int i = tail.size() - 2; i > 0; i -= 2) {
+            edges.add(new HashSet<>((Set<Edge>) tail.get(i)));
+            entities.add(new AbstractMap.SimpleEntry<>(tail.get(i - 1), new HashSet<>()));
+        }
+        return new Walk(edges, entities);
+    }
+
+    private static IncludeIncomingOutgoingType reverse(final IncludeIncomingOutgoingType inOutType) {
+        switch (inOutType) {
+            case INCOMING:
+                return IncludeIncomingOutgoingType.OUTGOING;
+            case OUTGOING:
+                return IncludeIncomingOutgoingType.INCOMING;
+            default:
+                return IncludeIncomingOutgoingType.EITHER;
+        }
+    }
+
+    /**
+     * The state of a breadth first search from one side of the path. For each
+     * visited vertex the distance from the seeds is recorded along with the
+     * edges to each of the vertices one hop closer to the seeds.
+     */
+    private static final class Search {
+        private final IncludeIncomingOutgoingType inOutType;
+        private final Map<Object, Integer> distances = new HashMap<>();
+        private final Map<Object, Map<Object, Set<Edge>>> parents = new HashMap<>();
+        private Set<Object> frontier = new LinkedHashSet<>();
+
+        private Search(final Iterable<? extends EntityId> seeds, final IncludeIncomingOutgoingType inOutType) {
+            this.inOutType = inOutType;
+            for (final EntityId seed : seeds) {
+                if (null == distances.putIfAbsent(seed.getVertex(), 0)) {
+                    frontier.add(seed.getVertex());
+                }
+            }
+        }
+
+        private void expand(final CloseableIterable<? extends Element> elements) {
+            final Set<Object> nextFrontier = new LinkedHashSet<>();
+            final int distance = distances.get(frontier.iterator().next()) + 1;
+            try {
+                for (final Element element : elements) {
+                    if (element instanceof Edge) {
+                        final Edge edge = (Edge) element;
+                        if (isMatchedOnDestination(edge)) {
+                            if (frontier.contains(edge.getDestination())) {
+                                visit(edge.getDestination(), edge.getSource(), edge, distance, nextFrontier);
+                            }
+                        } else if (frontier.contains(edge.getSource())) {
+                            visit(edge.getSource(), edge.getDestination(), edge, distance, nextFrontier);
+                        }
+                    }
+                }
+            } finally {
+                elements.close();
+            }
+            frontier = nextFrontier;
+        }
+
+        // An edge is only walked away from the vertex that matched the seed, so
+        // a directed edge between two vertices in the frontier is not walked
+        // backwards. If the store has not set the matched vertex it is worked
+        // out from the frontier and the direction of the search.
+        private boolean isMatchedOnDestination(final Edge edge) {
+            if (null != edge.getMatchedVertex()) {
+                return EdgeId.MatchedVertex.DESTINATION == edge.getMatchedVertex();
+            }
+            return !frontier.contains(edge.getSource())
+                    || (edge.isDirected() && IncludeIncomingOutgoingType.INCOMING == inOutType);
+        }
+
+        private void visit(final Object vertex, final Object adjacentVertex, final Edge edge, final int distance, final Set<Object> nextFrontier) {
+            final Integer adjacentDistance = distances.putIfAbsent(adjacentVertex, distance);
+            if (null == adjacentDistance) {
+                nextFrontier.add(adjacentVertex);
+            } else if (adjacentDistance != distance) {
+                // Already visited, so it must already be on a shorter path
+                return;
+            }
+            parents.computeIfAbsent(adjacentVertex, k -> new LinkedHashMap<>())
+                    .computeIfAbsent(vertex, k -> new LinkedHashSet<>())
+                    .add(edge);
+        }
+
+        /**
+         * Gets all of the shortest paths from the seeds to a visited vertex.
+         * Each path starts at a seed and alternates between vertices and the
+         * sets of edges between them.
+         *
+         * @param vertex the visited vertex
+         * @return the paths to the vertex
+         */
+        private List<List<Object>> getPaths(final Object vertex) {
+            final Map<Object, Set<Edge>> vertexParents = parents.get(vertex);
+            if (null == vertexParents) {
+                final List<Object> path = new ArrayList<>();
+                path.add(vertex);
+                return Collections.singletonList(path);
+            }
+
+            final List<List<Object>> paths = new ArrayList<>();
+            for (final Entry<Object, Set<Edge>> entry : vertexParents.entrySet()) {
+                for (final List<Object> parentPath : getPaths(entry.getKey())) {
+                    final List<Object> path = new ArrayList<>(parentPath);
+                    path.add(entry.getValue());
+                    path.add(vertex);
+                    paths.add(path);
+                }
+            }
+            return paths;
+        }
+    }
+}
@@ -18,13 +18,17 @@ package uk.gov.gchq.gaffer.store.operation.handler;
 
 import com.google.common.collect.Lists;
 
+import uk.gov.gchq.gaffer.commonutil.iterable.AlwaysValid;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.EmptyClosableIterable;
-import uk.gov.gchq.gaffer.commonutil.stream.Streams;
+import uk.gov.gchq.gaffer.commonutil.iterable.TransformOneToManyIterable;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
-import uk.gov.gchq.gaffer.data.graph.AdjacencyMap;
+import uk.gov.gchq.gaffer.data.graph.IndexedAdjacencyMap;
+import uk.gov.gchq.gaffer.data.graph.VertexIndex;
 import uk.gov.gchq.gaffer.data.graph.Walk;
 import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.OperationException;
@@ -37,12 +41,15 @@ import uk.gov.gchq.gaffer.operation.io.Output;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.LinkedList;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * <p>
@@ -84,7 +91,8 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
             throw new OperationException("GetWalks operation contains " + hops + " hops. The maximum number of hops is: " + maxHops);
         }
 
-        final List<AdjacencyMap<Object, Edge>> adjacencyMaps = new ArrayList<>();
+        final VertexIndex<Object> vertexIndex = new VertexIndex<>();
+        final List<IndexedAdjacencyMap<Edge>> adjacencyMaps = new ArrayList<>();
 
         List<Edge> results = null;
 
@@ -92,20 +100,24 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
         for (final GetElements getElements : getWalks.getOperations()) {
             results = executeGetElements(getElements, getWalks, context, store, results);
 
-            // Store results in an AdjacencyMap
-            final AdjacencyMap<Object, Edge> adjacencyMap = new AdjacencyMap<>();
+            // Store results in an IndexedAdjacencyMap
+            final IndexedAdjacencyMap.Builder<Edge> adjacencyMapBuilder = new IndexedAdjacencyMap.Builder<>();
             for (final Edge e : results) {
-                adjacencyMap.put(e.getMatchedVertexValue(), e.getAdjacentMatchedVertexValue(), e);
+                adjacencyMapBuilder.put(vertexIndex.add(e.getMatchedVertexValue()), vertexIndex.add(e.getAdjacentMatchedVertexValue()), e);
             }
 
-            adjacencyMaps.add(adjacencyMap);
+            adjacencyMaps.add(adjacencyMapBuilder.build());
         }
 
-        // Track/recombine the edge objects and convert to return type
-        return Streams.toStream(getWalks.getInput())
-                .map(seed -> walk(seed.getVertex(), null, adjacencyMaps, new LinkedList<>()))
-                .flatMap(List::stream)
-                .collect(Collectors.toList());
+        // Track/recombine the edge objects and convert to return type.
+        // The walks are only converted to Walk objects as they are iterated over.
+        final Iterable<? extends EntityId> seeds = getWalks.getInput();
+        return new TransformOneToManyIterable<EntityId, Walk>(seeds, new AlwaysValid<>(), false, false) {
+            @Override
+            protected Iterable<Walk> transform(final EntityId seed) {
+                return () -> new WalkIterator(vertexIndex.getId(seed.getVertex()), vertexIndex, adjacencyMaps);
+            }
+        };
     }
 
     public Integer getMaxHops() {
@@ -159,30 +171,90 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
         return Lists.newArrayList((Iterable<Edge>) store.execute(opChain, context));
     }
 
-    private List<Walk> walk(final Object curr, final Object prev, final List<AdjacencyMap<Object, Edge>> adjacencyMaps, final LinkedList<Set<Edge>> queue) {
-        final List<Walk> walks = new ArrayList<>();
+    /**
+     * Iterates over the walks from a single seed. The walks are found by a
+     * depth first search over the {@link IndexedAdjacencyMap}s, with the
+     * current walk held as an array of pairs, one per hop.
+     */
+    private static final class WalkIterator implements Iterator<Walk> {
+        private final VertexIndex<Object> vertexIndex;
+        private final List<IndexedAdjacencyMap<Edge>> adjacencyMaps;
+        private final int seed;
+        private final int[] pairs;
+        private final int[] pairsEnd;
+        private int depth;
+        private boolean hasNext;
 
-        if (null != prev && hops != queue.size()) { // if the walk is not at the maximum length
-            queue.offer(adjacencyMaps.get(queue.size()).get(prev, curr));
+        private WalkIterator(final int seed, final VertexIndex<Object> vertexIndex, final List<IndexedAdjacencyMap<Edge>> adjacencyMaps) {
+            this.seed = seed;
+            this.vertexIndex = vertexIndex;
+            this.adjacencyMaps = adjacencyMaps;
+            final int hops = adjacencyMaps.size();
+            pairs = new int[hops];
+            pairsEnd = new int[hops];
+            if (seed >= 0) {
+                descend(seed);
+                hasNext = findNext();
+            }
         }
 
-        if (hops == queue.size()) { // if the walk is at the maximum length
-            final Walk.Builder builder = new Walk.Builder();
-            for (final Set<Edge> edgeSet : queue) {
-                builder.edges(edgeSet);
-            }
-            final Walk walk = builder.build();
-            walks.add(walk);
-        } else {
-            for (final Object obj : adjacencyMaps.get(queue.size()).getDestinations(curr)) {
-                walks.addAll(walk(obj, curr, adjacencyMaps, queue));
+        @Override
+        public boolean hasNext() {
+            return hasNext;
+        }
+
+        @Override
+        public Walk next() {
+            if (!hasNext) {
+                throw new NoSuchElementException();
             }
+            final Walk walk = toWalk();
+            pairs[depth]++;
+            hasNext = findNext();
+            return walk;
+        }
+
+        private void descend(final int source) {
+            final IndexedAdjacencyMap<Edge> adjacencyMap = adjacencyMaps.get(depth);
+            pairs[depth] = adjacencyMap.getPairsStart(source);
+            pairsEnd[depth] = adjacencyMap.getPairsEnd(source);
         }
 
-        if (!queue.isEmpty()) {
-            queue.pollLast();
+        /**
+         * Advances the search until the pairs array holds a complete walk.
+         *
+         * @return true if a walk was found
+         */
+        private boolean findNext() {
+            final int lastHop = pairs.length - 1;
+            while (depth >= 0) {
+                if (pairs[depth] >= pairsEnd[depth]) {
+                    // Backtrack
+                    depth--;
+                    if (depth >= 0) {
+                        pairs[depth]++;
+                    }
+                } else if (depth == lastHop) {
+                    return true;
+                } else {
+                    final int destination = adjacencyMaps.get(depth).getDestination(pairs[depth]);
+                    depth++;
+                    descend(destination);
+                }
+            }
+            return false;
         }
 
-        return walks;
+        private Walk toWalk() {
+            final List<Set<Edge>> edges = new ArrayList<>(pairs.length);
+            final List<Entry<Object, Set<Entity>>> entities = new ArrayList<>(pairs.length + 1);
+            entities.add(new AbstractMap.SimpleEntry<>(vertexIndex.getVertex(seed), new HashSet<>()));
+            for (int hop = 0; hop < pairs.length; hop++) {
+                final IndexedAdjacencyMap<Edge> adjacencyMap = adjacencyMaps.get(hop);
+                edges.add(new HashSet<>(adjacencyMap.getEdges(pairs[hop])));
+                entities.add(new AbstractMap.SimpleEntry<>(vertexIndex.getVertex(adjacencyMap.getDestination(pairs[hop])), new HashSet<>()));
+            }
+            return new Walk(edges, entities);
+        }
     }
 }
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.operation.handler.function;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.ParallelMapIterable;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.io.Output;
+import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * An {@code AbstractParallelFunctionHandler} is the base class for the handlers of
+ * the function operations, which can optionally process their input in parallel.
+ * <p>
+ * Parallel execution is disabled by default. It can be enabled for all operations
+ * by setting the parallel field of the handler, e.g. in the operation declarations
+ * json, or for a single operation using the {@link #PARALLEL} option. Parallel
+ * output is in the same order as the input unless ordered is set to false, or the
+ * {@link #ORDERED} option is set to false.
+ *
+ * @param <OP> the operation type
+ */
+public abstract class AbstractParallelFunctionHandler<OP extends Output<Iterable<? extends Element>>>
+        implements OutputOperationHandler<OP, Iterable<? extends Element>> {
+    public static final String PARALLEL = "gaffer.operation.function.parallel";
+    public static final String ORDERED = "gaffer.operation.function.parallel.ordered";
+
+    private boolean parallel = false;
+    private boolean ordered = true;
+    private int batchSize = ParallelMapIterable.DEFAULT_BATCH_SIZE;
+    private Integer maxBatchesInFlight = null;
+
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    public void setParallel(final boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    public boolean isOrdered() {
+        return ordered;
+    }
+
+    public void setOrdered(final boolean ordered) {
+        this.ordered = ordered;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(final int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @return the maximum number of batches to read ahead of the consumer, if null
+     * twice the number of available processors is used
+     */
+    public Integer getMaxBatchesInFlight() {
+        return maxBatchesInFlight;
+    }
+
+    public void setMaxBatchesInFlight(final Integer maxBatchesInFlight) {
+        this.maxBatchesInFlight = maxBatchesInFlight;
+    }
+
+    protected boolean isParallel(final Operation operation) {
+        return Boolean.parseBoolean(operation.getOption(PARALLEL, String.valueOf(parallel)));
+    }
+
+    protected boolean isOrdered(final Operation operation) {
+        return Boolean.parseBoolean(operation.getOption(ORDERED, String.valueOf(ordered)));
+    }
+
+    protected CloseableIterable<Element> parallelMap(final Operation operation,
+                                                     final Iterable<? extends Element> input,
+                                                     final Supplier<? extends Function<Element, Element>> functionSupplier) {
+        final int maxBatches = null != maxBatchesInFlight
+                ? maxBatchesInFlight
+                : 2 * Runtime.getRuntime().availableProcessors();
+        return new ParallelMapIterable<>(input, functionSupplier, ForkJoinPool.commonPool(),
+                batchSize, maxBatches, isOrdered(operation));
+    }
+}
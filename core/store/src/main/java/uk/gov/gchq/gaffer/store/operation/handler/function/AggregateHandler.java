@@ -23,7 +23,6 @@ import uk.gov.gchq.gaffer.operation.impl.function.Aggregate;
 import uk.gov.gchq.gaffer.operation.util.AggregatePair;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
-import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
 import uk.gov.gchq.gaffer.store.operation.validator.function.AggregateValidator;
 import uk.gov.gchq.gaffer.store.operation.validator.function.FunctionValidator;
 import uk.gov.gchq.gaffer.store.schema.Schema;
@@ -33,7 +32,7 @@ import uk.gov.gchq.koryphe.ValidationResult;
 import java.util.HashMap;
 import java.util.Map;
 
-public class AggregateHandler implements OutputOperationHandler<Aggregate, Iterable<? extends Element>> {
+public class AggregateHandler extends AbstractParallelFunctionHandler<Aggregate> {
     private final FunctionValidator<Aggregate> validator = new AggregateValidator();
 
     @Override
@@ -63,7 +62,8 @@ public class AggregateHandler implements OutputOperationHandler<Aggregate, Itera
             throw new OperationException("Aggregate operation is invalid. " + result.getErrorString());
         }
 
-        return AggregatorUtil.queryAggregate(operation.getInput(), schema, buildView(operation));
+        // Aggregation has to consume all of its input, so in parallel mode the groups are aggregated in parallel partitions
+        return AggregatorUtil.queryAggregate(operation.getInput(), schema, buildView(operation), isParallel(operation));
     }
 
     private View buildView(final Aggregate operation) {
@@ -15,14 +15,15 @@
  */
 package uk.gov.gchq.gaffer.store.operation.handler.function;
 
+import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.function.CompiledElementFilter;
 import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.function.Filter;
 import uk.gov.gchq.gaffer.operation.util.StreamFilterIterable;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
-import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
 import uk.gov.gchq.gaffer.store.operation.validator.function.FilterValidator;
 import uk.gov.gchq.gaffer.store.operation.validator.function.FunctionValidator;
 import uk.gov.gchq.gaffer.store.schema.Schema;
@@ -30,8 +31,9 @@ import uk.gov.gchq.koryphe.ValidationResult;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Function;
 
-public class FilterHandler implements OutputOperationHandler<Filter, Iterable<? extends Element>> {
+public class FilterHandler extends AbstractParallelFunctionHandler<Filter> {
 
     private final FunctionValidator<Filter> validator = new FilterValidator();
 
@@ -61,6 +63,66 @@ public class FilterHandler implements OutputOperationHandler<Filter, Iterable<?
         if (!result.isValid()) {
             throw new OperationException("Filter operation is invalid. " + result.getErrorString());
         }
+        if (isParallel(operation)) {
+            // The compiled filters are thread safe so they can be shared by all of the batches
+            final CompiledFilterFunction function = new CompiledFilterFunction(operation);
+            return parallelMap(operation, operation.getInput(), () -> function);
+        }
+
         return new StreamFilterIterable(operation);
     }
+
+    /**
+     * Returns the element if it passes the {@link Filter}, otherwise null. This
+     * matches the filtering applied by a {@link StreamFilterIterable}.
+     */
+    private static final class CompiledFilterFunction implements Function<Element, Element> {
+        private final CompiledElementFilter globalElements;
+        private final CompiledElementFilter globalEntities;
+        private final CompiledElementFilter globalEdges;
+        private final Map<String, CompiledElementFilter> entities;
+        private final Map<String, CompiledElementFilter> edges;
+
+        private CompiledFilterFunction(final Filter filter) {
+            globalElements = CompiledElementFilter.compile(filter.getGlobalElements());
+            globalEntities = CompiledElementFilter.compile(filter.getGlobalEntities());
+            globalEdges = CompiledElementFilter.compile(filter.getGlobalEdges());
+            entities = compile(filter.getEntities());
+            edges = compile(filter.getEdges());
+        }
+
+        @Override
+        public Element apply(final Element element) {
+            final CompiledElementFilter globalFilter;
+            final CompiledElementFilter elementFilter;
+            if (element instanceof Edge) {
+                globalFilter = globalEdges;
+                elementFilter = null != edges ? edges.get(element.getGroup()) : null;
+            } else {
+                globalFilter = globalEntities;
+                elementFilter = null != entities ? entities.get(element.getGroup()) : null;
+            }
+
+            if (null == elementFilter
+                    || !globalElements.test(element)
+                    || !globalFilter.test(element)
+                    || !elementFilter.test(element)) {
+                return null;
+            }
+            return element;
+        }
+
+        private static Map<String, CompiledElementFilter> compile(final Map<String, ElementFilter> elementFilters) {
+            if (null == elementFilters) {
+                return null;
+            }
+            final Map<String, CompiledElementFilter> compiled = new HashMap<>(elementFilters.size());
+            for (final Map.Entry<String, ElementFilter> entry : elementFilters.entrySet()) {
+                if (null != entry.getValue()) {
+                    compiled.put(entry.getKey(), CompiledElementFilter.compile(entry.getValue()));
+                }
+            }
+            return compiled;
+        }
+    }
 }
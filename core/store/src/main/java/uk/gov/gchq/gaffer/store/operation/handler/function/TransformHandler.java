@@ -15,13 +15,13 @@
  */
 package uk.gov.gchq.gaffer.store.operation.handler.function;
 
+import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.function.Transform;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
-import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
 import uk.gov.gchq.gaffer.store.operation.util.StreamTransformIterable;
 import uk.gov.gchq.gaffer.store.operation.validator.function.FunctionValidator;
 import uk.gov.gchq.gaffer.store.operation.validator.function.TransformValidator;
@@ -30,8 +30,9 @@ import uk.gov.gchq.koryphe.ValidationResult;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Function;
 
-public class TransformHandler implements OutputOperationHandler<Transform, Iterable<? extends Element>> {
+public class TransformHandler extends AbstractParallelFunctionHandler<Transform> {
     private final FunctionValidator<Transform> validator = new TransformValidator();
 
     @Override
@@ -61,6 +62,48 @@ public class TransformHandler implements OutputOperationHandler<Transform, Itera
             throw new OperationException("Transform operation is invalid. " + result.getErrorString());
         }
 
+        if (isParallel(operation)) {
+            // ElementTransformers are not thread safe, so each batch gets its own copy
+            return parallelMap(operation, operation.getInput(), () -> new TransformFunction(operation));
+        }
+
         return new StreamTransformIterable(operation);
     }
+
+    /**
+     * Applies the {@link Transform} to an element using its own copies of the
+     * {@link ElementTransformer}s. This matches the transformation applied by a
+     * {@link StreamTransformIterable}.
+     */
+    private static final class TransformFunction implements Function<Element, Element> {
+        private final Map<String, ElementTransformer> entities;
+        private final Map<String, ElementTransformer> edges;
+
+        private TransformFunction(final Transform transform) {
+            entities = copy(transform.getEntities());
+            edges = copy(transform.getEdges());
+        }
+
+        @Override
+        public Element apply(final Element element) {
+            final ElementTransformer elementTransformer = element instanceof Edge ? edges.get(element.getGroup()) : entities.get(element.getGroup());
+            return elementTransformer.apply(element);
+        }
+
+        private static Map<String, ElementTransformer> copy(final Map<String, ElementTransformer> transformers) {
+            if (null == transformers) {
+                return null;
+            }
+            final Map<String, ElementTransformer> copies = new HashMap<>(transformers.size());
+            for (final Map.Entry<String, ElementTransformer> entry : transformers.entrySet()) {
+                ElementTransformer copy = null;
+                if (null != entry.getValue()) {
+                    copy = new ElementTransformer();
+                    copy.getComponents().addAll(entry.getValue().getComponents());
+                }
+                copies.put(entry.getKey(), copy);
+            }
+            return copies;
+        }
+    }
 }
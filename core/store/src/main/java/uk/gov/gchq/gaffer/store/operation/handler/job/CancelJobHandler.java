@@ -0,0 +1,70 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.operation.handler.job;
+
+import uk.gov.gchq.gaffer.jobtracker.JobDetail;
+import uk.gov.gchq.gaffer.jobtracker.JobStatus;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.job.CancelJob;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.job.ScheduledJob;
+import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
+
+import java.util.Objects;
+
+import static uk.gov.gchq.gaffer.core.exception.Status.FORBIDDEN;
+import static uk.gov.gchq.gaffer.core.exception.Status.NOT_FOUND;
+import static uk.gov.gchq.gaffer.core.exception.Status.SERVICE_UNAVAILABLE;
+
+/**
+ * A {@code CancelJobHandler} handles {@link CancelJob} operations by cancelling
+ * the job in the store's job scheduler. Users can only cancel their own jobs.
+ * A queued job is marked as cancelled immediately, a running job is marked as
+ * cancelled by the store once it has stopped.
+ */
+public class CancelJobHandler implements OutputOperationHandler<CancelJob, JobDetail> {
+    @Override
+    public JobDetail doOperation(final CancelJob operation, final Context context, final Store store) throws OperationException {
+        if (null == store.getJobTracker()) {
+            throw new OperationException("The Job Tracker has not been configured", SERVICE_UNAVAILABLE);
+        }
+
+        final String jobId = operation.getJobId();
+        final JobDetail jobDetail = store.getJobTracker().getJob(jobId, context.getUser());
+        if (null == jobDetail) {
+            throw new OperationException("Job " + jobId + " was not found", NOT_FOUND);
+        }
+        if (!Objects.equals(context.getUser().getUserId(), jobDetail.getUserId())) {
+            throw new OperationException("User " + context.getUser().getUserId()
+                    + " is not permitted to cancel job " + jobId, FORBIDDEN);
+        }
+
+        final ScheduledJob job = store.getJobScheduler().cancel(jobId);
+        // A job that has started records its own status once it stops, so it is only recorded here if it never ran
+        if (null != job && !job.isStarted()) {
+            final JobDetail cancelledJobDetail = new JobDetail();
+            cancelledJobDetail.setJobId(jobId);
+            cancelledJobDetail.setStatus(JobStatus.CANCELLED);
+            cancelledJobDetail.setDescription("Job was cancelled");
+            cancelledJobDetail.setQueueTime(job.getQueueTime());
+            store.getJobTracker().addOrUpdateJob(new JobDetail(jobDetail, cancelledJobDetail), context.getUser());
+        }
+
+        return store.getJobTracker().getJob(jobId, context.getUser());
+    }
+}
@@ -28,7 +28,9 @@ import uk.gov.gchq.gaffer.named.operation.cache.exception.CacheOperationFailedEx
 import uk.gov.gchq.gaffer.user.User;
 
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Wrapper around the {@link CacheServiceLoader} to provide an interface for handling
@@ -39,6 +41,13 @@ public class NamedOperationCache {
     private static final Logger LOGGER = LoggerFactory.getLogger(NamedOperationCache.class);
     private static final String CACHE_NAME = "NamedOperation";
 
+    /**
+     * The most recently used version of each named operation. The cache service may return a new copy of a
+     * {@link NamedOperationDetail} each time it is requested, so the copies are kept here to avoid compiling the
+     * operations of the same version more than once.
+     */
+    private static final Map<String, NamedOperationDetail> COMPILED_OPERATIONS = new ConcurrentHashMap<>();
+
     /**
      * If the user is just adding to the cache, ie the overwrite flag is set to false, then no security is added.
      * However if the user is overwriting the named operation stored in the cache, then their opAuths must be checked
@@ -115,7 +124,7 @@ public class NamedOperationCache {
      *                                       to read it.
      */
     public NamedOperationDetail getNamedOperation(final String name, final User user) throws CacheOperationFailedException {
-        final NamedOperationDetail op = getFromCache(name);
+        final NamedOperationDetail op = getCompiledVersion(getFromCache(name));
         if (op.hasReadAccess(user)) {
             return op;
         } else {
@@ -153,6 +162,7 @@ public class NamedOperationCache {
      * cache
      */
     public void clear() throws CacheOperationFailedException {
+        COMPILED_OPERATIONS.clear();
         try {
             CacheServiceLoader.getService().clearCache(CACHE_NAME);
         } catch (final CacheOperationException e) {
@@ -169,6 +179,7 @@ public class NamedOperationCache {
      * operation from the cache
      */
     public void deleteFromCache(final String name) throws CacheOperationFailedException {
+        COMPILED_OPERATIONS.remove(name);
         CacheServiceLoader.getService().removeFromCache(CACHE_NAME, name);
 
         if (null != CacheServiceLoader.getService().getFromCache(CACHE_NAME, name)) {
@@ -187,6 +198,7 @@ public class NamedOperationCache {
      * operation to the cache
      */
     public void addToCache(final String name, final NamedOperationDetail operation, final boolean overwrite) throws CacheOperationFailedException {
+        COMPILED_OPERATIONS.remove(name);
         try {
             if (overwrite) {
                 CacheServiceLoader.getService().putInCache(CACHE_NAME, name, operation);
@@ -217,4 +229,13 @@ public class NamedOperationCache {
         }
         throw new CacheOperationFailedException("No named operation with the name " + name + " exists in the cache");
     }
+
+    private NamedOperationDetail getCompiledVersion(final NamedOperationDetail op) {
+        final NamedOperationDetail compiled = COMPILED_OPERATIONS.get(op.getOperationName());
+        if (op.equals(compiled)) {
+            return compiled;
+        }
+        COMPILED_OPERATIONS.put(op.getOperationName(), op);
+        return op;
+    }
 }
@@ -31,6 +31,7 @@ import uk.gov.gchq.gaffer.commonutil.PropertiesUtil;
 import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
 import uk.gov.gchq.gaffer.commonutil.iterable.TransformIterable;
 import uk.gov.gchq.gaffer.data.element.IdentifierType;
+import uk.gov.gchq.gaffer.data.element.PropertiesLayout;
 import uk.gov.gchq.gaffer.data.element.function.ElementAggregator;
 import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
 import uk.gov.gchq.gaffer.data.elementdefinition.ElementDefinition;
@@ -94,6 +95,8 @@ public abstract class SchemaElementDefinition implements ElementDefinition {
 
     protected final Map<Set<String>, ElementAggregator> queryAggregatorCacheMap = new HashMap<>();
 
+    protected PropertiesLayout propertiesLayoutCache;
+
     protected Schema schemaReference;
 
     /**
@@ -126,6 +129,21 @@ public abstract class SchemaElementDefinition implements ElementDefinition {
         return properties.keySet();
     }
 
+    /**
+     * Gets the layout used to create compact {@link uk.gov.gchq.gaffer.data.element.Properties} for this element
+     * definition. The layout is shared, so all compact properties for the group
+     * only hold an array of property values.
+     *
+     * @return the properties layout for this element definition.
+     */
+    @JsonIgnore
+    public PropertiesLayout getPropertiesLayout() {
+        if (null == propertiesLayoutCache) {
+            propertiesLayoutCache = new PropertiesLayout(properties.keySet());
+        }
+        return propertiesLayoutCache;
+    }
+
     public boolean containsProperty(final String propertyName) {
         return properties.containsKey(propertyName);
     }
@@ -526,6 +544,7 @@ public abstract class SchemaElementDefinition implements ElementDefinition {
         groupBy = Collections.unmodifiableSet(groupBy);
         properties = Collections.unmodifiableMap(properties);
         identifiers = Collections.unmodifiableMap(identifiers);
+        propertiesLayoutCache = null;
         if (null != validator) {
             validator.lock();
         }
@@ -567,6 +586,7 @@ public abstract class SchemaElementDefinition implements ElementDefinition {
 
         public CHILD_CLASS property(final String propertyName, final String typeName) {
             elDef.properties.put(propertyName, typeName);
+            elDef.propertiesLayoutCache = null;
             return self();
         }
 
@@ -578,6 +598,7 @@ public abstract class SchemaElementDefinition implements ElementDefinition {
             } else {
                 elDef.properties.putAll(properties);
             }
+            elDef.propertiesLayoutCache = null;
             return self();
         }
 
@@ -689,6 +710,7 @@ public abstract class SchemaElementDefinition implements ElementDefinition {
                         }
                     }
                 }
+                elDef.propertiesLayoutCache = null;
 
                 if (elDef.identifiers.isEmpty()) {
                     elDef.identifiers.putAll(elementDef.getIdentifierMap());
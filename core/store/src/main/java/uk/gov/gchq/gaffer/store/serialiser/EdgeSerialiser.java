@@ -17,6 +17,7 @@
 package uk.gov.gchq.gaffer.store.serialiser;
 
 import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Properties;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
 import uk.gov.gchq.gaffer.serialisation.implementation.BooleanSerialiser;
@@ -96,7 +97,7 @@ public class EdgeSerialiser extends PropertiesSerialiser<Edge> {
             throw new SerialisationException("No SchemaElementDefinition found for group " + group + ", is this group in your schema?");
         }
 
-        final Edge edge = new Edge(group, source, dest, directed);
+        final Edge edge = new Edge(group, source, dest, directed, null, new Properties(elementDefinition.getPropertiesLayout()));
         deserialiseProperties(bytes, edge.getProperties(), elementDefinition, lastDelimiter);
         return edge;
     }
@@ -17,6 +17,7 @@
 package uk.gov.gchq.gaffer.store.serialiser;
 
 import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.Properties;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
 import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
@@ -90,7 +91,7 @@ public class EntitySerialiser extends PropertiesSerialiser<Entity> {
             throw new SerialisationException("No SchemaElementDefinition found for group " + group + ", is this group in your schema?");
         }
 
-        final Entity entity = new Entity(group, vertex);
+        final Entity entity = new Entity(group, vertex, new Properties(elementDefinition.getPropertiesLayout()));
         deserialiseProperties(bytes, entity.getProperties(), elementDefinition, lastDelimiter);
         return entity;
     }
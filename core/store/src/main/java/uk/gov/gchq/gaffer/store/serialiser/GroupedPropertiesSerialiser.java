@@ -87,7 +87,7 @@ public class GroupedPropertiesSerialiser extends PropertiesSerialiser<GroupedPro
             throw new SerialisationException("No SchemaElementDefinition found for group " + group + ", is this group in your schema?");
         }
 
-        final GroupedProperties properties = new GroupedProperties(group);
+        final GroupedProperties properties = new GroupedProperties(group, elementDefinition.getPropertiesLayout());
         deserialiseProperties(bytes, properties, elementDefinition, lastDelimiter);
         return properties;
     }
@@ -17,7 +17,6 @@ package uk.gov.gchq.gaffer.store.util;
 
 import uk.gov.gchq.gaffer.commonutil.iterable.ChainedIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
-import uk.gov.gchq.gaffer.commonutil.stream.Streams;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.GroupedProperties;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
@@ -35,7 +34,6 @@ import java.util.Set;
 import java.util.function.BinaryOperator;
 import java.util.function.Function;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 /**
  * Utility methods to help with doing aggregation of elements. Aggregation differs
@@ -53,6 +51,8 @@ public final class AggregatorUtil {
      * the elements prior to aggregating them.
      * <p>
      * NOTE - this is done in memory so the size of the iterable should be limited.
+     * The aggregation is done by a {@link PartitionedElementAggregator}, so the
+     * provided elements may be modified.
      *
      * @param elements the elements to be aggregated
      * @param schema   the schema containing the aggregators and groupBy properties to use
@@ -75,9 +75,8 @@ public final class AggregatorUtil {
             }
         }
 
-        final Iterable<Element> aggregatedElements = Streams.toStream(aggregatableElements)
-                .collect(Collectors.groupingBy(new ToIngestElementKey(schema), Collectors.reducing(null, new IngestElementBinaryOperator(schema))))
-                .values();
+        final Iterable<Element> aggregatedElements = PartitionedElementAggregator.forIngest(schema)
+                .aggregate(aggregatableElements);
         return new ChainedIterable<>(aggregatedElements, nonAggregatedElements);
     }
 
@@ -87,6 +86,8 @@ public final class AggregatorUtil {
      * the elements prior to aggregating them.
      * <p>
      * NOTE - this is done in memory so the size of the iterable should be limited.
+     * The aggregation is done by a {@link PartitionedElementAggregator}, so the
+     * provided elements may be modified.
      *
      * @param elements the elements to be aggregated
      * @param schema   the schema containing the aggregators and groupBy properties to use
@@ -94,6 +95,24 @@ public final class AggregatorUtil {
      * @return the aggregated elements.
      */
     public static CloseableIterable<Element> queryAggregate(final Iterable<? extends Element> elements, final Schema schema, final View view) {
+        return queryAggregate(elements, schema, view, false);
+    }
+
+    /**
+     * Applies query time aggregation to the provided iterable of {@link Element}s.
+     * This uses the groupBy properties in the provided {@link View} or {@link Schema} to group
+     * the elements prior to aggregating them.
+     * <p>
+     * NOTE - this is done in memory so the size of the iterable should be limited.
+     *
+     * @param elements the elements to be aggregated
+     * @param schema   the schema containing the aggregators and groupBy properties to use
+     * @param view     the view containing the aggregators and groupBy properties to use
+     * @param parallel if true the elements are always aggregated in parallel partitions,
+     *                 otherwise only large iterables are aggregated in parallel
+     * @return the aggregated elements.
+     */
+    public static CloseableIterable<Element> queryAggregate(final Iterable<? extends Element> elements, final Schema schema, final View view, final boolean parallel) {
         if (null == schema) {
             throw new IllegalArgumentException("Schema is required");
         }
@@ -112,9 +131,9 @@ public final class AggregatorUtil {
                 }
             }
         }
-        final Iterable<Element> aggregatedElements = Streams.toStream(aggregatableElements)
-                .collect(Collectors.groupingBy(new ToQueryElementKey(schema, view), Collectors.reducing(null, new QueryElementBinaryOperator(schema, view))))
-                .values();
+        final Iterable<Element> aggregatedElements = PartitionedElementAggregator
+                .forQuery(schema, view, parallel ? 0 : PartitionedElementAggregator.DEFAULT_PARALLEL_THRESHOLD)
+                .aggregate(aggregatableElements);
         return new ChainedIterable<>(aggregatedElements, nonAggregatedElements);
     }
 
@@ -0,0 +1,287 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.util;
+
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.function.ElementAggregator;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * A {@code PartitionedElementAggregator} aggregates {@link Element}s that have
+ * the same group, identifiers and groupBy property values.
+ * <p>
+ * Each element is given a light weight key holding its group, identifiers and
+ * groupBy values, rather than a cloned key {@link Element}. The keys are split
+ * into partitions by hash and each partition is aggregated into a hash map of
+ * accumulators. The first element of each key is used as the accumulator and the
+ * other elements are aggregated into it in place. Large inputs are aggregated with
+ * a partition per available processor, in parallel, each using its own copy of the
+ * {@link ElementAggregator}s as they are not thread safe.
+ * <p>
+ * The provided elements are already held in memory, so the accumulators hold
+ * no more than the input; the size of the input should still be limited.
+ */
+public final class PartitionedElementAggregator {
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 10000;
+
+    private final Map<String, String[]> groupToGroupBys;
+    private final Function<String, ElementAggregator> aggregatorProvider;
+    private final int parallelThreshold;
+
+    /**
+     * @param groupToGroupBys    the groupBy properties of each group
+     * @param aggregatorProvider provides the aggregator of each group
+     */
+    public PartitionedElementAggregator(final Map<String, Set<String>> groupToGroupBys,
+                                        final Function<String, ElementAggregator> aggregatorProvider) {
+        this(groupToGroupBys, aggregatorProvider, DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * @param groupToGroupBys    the groupBy properties of each group
+     * @param aggregatorProvider provides the aggregator of each group
+     * @param parallelThreshold  the minimum number of elements to aggregate in parallel
+     */
+    public PartitionedElementAggregator(final Map<String, Set<String>> groupToGroupBys,
+                                        final Function<String, ElementAggregator> aggregatorProvider,
+                                        final int parallelThreshold) {
+        if (null == groupToGroupBys) {
+            throw new IllegalArgumentException("groupToGroupBys map is required");
+        }
+        if (null == aggregatorProvider) {
+            throw new IllegalArgumentException("Aggregator provider is required");
+        }
+        this.groupToGroupBys = new HashMap<>(groupToGroupBys.size());
+        for (final Map.Entry<String, Set<String>> entry : groupToGroupBys.entrySet()) {
+            final Set<String> groupBy = entry.getValue();
+            this.groupToGroupBys.put(entry.getKey(), null != groupBy ? groupBy.toArray(new String[groupBy.size()]) : null);
+        }
+        this.aggregatorProvider = aggregatorProvider;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Creates a {@code PartitionedElementAggregator} that applies ingest aggregation, using the
+     * groupBy properties and aggregators in the provided {@link Schema}.
+     *
+     * @param schema the schema
+     * @return the aggregator
+     */
+    public static PartitionedElementAggregator forIngest(final Schema schema) {
+        if (null == schema) {
+            throw new IllegalArgumentException("Schema is required");
+        }
+        return new PartitionedElementAggregator(AggregatorUtil.getIngestGroupBys(schema),
+                group -> getElementDefinition(schema, group).getIngestAggregator());
+    }
+
+    /**
+     * Creates a {@code PartitionedElementAggregator} that applies query time aggregation, using the
+     * groupBy properties and aggregators in the provided {@link View}, falling back to those in the {@link Schema}.
+     *
+     * @param schema the schema
+     * @param view   the view
+     * @return the aggregator
+     */
+    public static PartitionedElementAggregator forQuery(final Schema schema, final View view) {
+        return forQuery(schema, view, DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Creates a {@code PartitionedElementAggregator} that applies query time aggregation, using the
+     * groupBy properties and aggregators in the provided {@link View}, falling back to those in the {@link Schema}.
+     *
+     * @param schema            the schema
+     * @param view              the view
+     * @param parallelThreshold the minimum number of elements to aggregate in parallel
+     * @return the aggregator
+     */
+    public static PartitionedElementAggregator forQuery(final Schema schema, final View view, final int parallelThreshold) {
+        if (null == schema) {
+            throw new IllegalArgumentException("Schema is required");
+        }
+        if (null == view) {
+            throw new IllegalArgumentException("View is required");
+        }
+        return new PartitionedElementAggregator(AggregatorUtil.getQueryGroupBys(schema, view),
+                group -> {
+                    final ViewElementDefinition elementDef = view.getElement(group);
+                    return null != elementDef
+                            ? getElementDefinition(schema, group).getQueryAggregator(elementDef.getGroupBy(), elementDef.getAggregator())
+                            : getElementDefinition(schema, group).getQueryAggregator(null, null);
+                }, parallelThreshold);
+    }
+
+    /**
+     * Aggregates the provided elements. All of the elements must be in aggregated groups.
+     * The elements are aggregated in place, so the returned elements are a subset of the
+     * provided elements.
+     *
+     * @param elements the elements to aggregate
+     * @return the aggregated elements, in no particular order
+     */
+    public List<Element> aggregate(final List<Element> elements) {
+        final int size = elements.size();
+        if (0 == size) {
+            return new ArrayList<>(0);
+        }
+
+        final int numPartitions = size >= parallelThreshold ? Runtime.getRuntime().availableProcessors() : 1;
+        final Map<String, ElementAggregator> aggregators = new HashMap<>();
+        final List<List<GroupByKey>> partitions = new ArrayList<>(numPartitions);
+        for (int i = 0; i < numPartitions; i++) {
+            partitions.add(new ArrayList<>(size / numPartitions + 1));
+        }
+
+        for (final Element element : elements) {
+            final GroupByKey key = new GroupByKey(element, getGroupBy(element.getGroup()));
+            // Look up the aggregators on this thread, as the schema caches them lazily
+            aggregators.computeIfAbsent(element.getGroup(), aggregatorProvider);
+            partitions.get(partitionOf(key.hash, numPartitions)).add(key);
+        }
+
+        if (1 == numPartitions) {
+            return aggregatePartition(partitions.get(0), aggregators);
+        }
+
+        return IntStream.range(0, numPartitions)
+                .parallel()
+                .mapToObj(i -> aggregatePartition(partitions.get(i), aggregators))
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+    }
+
+    private List<Element> aggregatePartition(final List<GroupByKey> keys, final Map<String, ElementAggregator> aggregatorTemplates) {
+        // Each partition uses its own copy of the aggregators as they hold state while aggregating
+        final Map<String, ElementAggregator> aggregators = new HashMap<>(aggregatorTemplates.size());
+        for (final Map.Entry<String, ElementAggregator> entry : aggregatorTemplates.entrySet()) {
+            final ElementAggregator aggregator = new ElementAggregator();
+            aggregator.getComponents().addAll(entry.getValue().getComponents());
+            aggregators.put(entry.getKey(), aggregator);
+        }
+
+        final Map<GroupByKey, GroupByKey> accumulators = new HashMap<>();
+        for (final GroupByKey key : keys) {
+            final GroupByKey accumulator = accumulators.putIfAbsent(key, key);
+            if (null != accumulator) {
+                aggregators.get(key.group).apply(accumulator.element, key.element);
+            }
+        }
+
+        final List<Element> aggregated = new ArrayList<>(accumulators.size());
+        for (final GroupByKey key : accumulators.keySet()) {
+            aggregated.add(key.element);
+        }
+        return aggregated;
+    }
+
+    private String[] getGroupBy(final String group) {
+        final String[] groupBy = groupToGroupBys.get(group);
+        if (null == groupBy) {
+            throw new IllegalArgumentException("Group " + group + " was not recognised");
+        }
+        return groupBy;
+    }
+
+    private static SchemaElementDefinition getElementDefinition(final Schema schema, final String group) {
+        final SchemaElementDefinition elementDef = schema.getElement(group);
+        if (null == elementDef) {
+            throw new IllegalArgumentException("Received group " + group
+                    + " which was not found in the schema");
+        }
+        return elementDef;
+    }
+
+    private static int partitionOf(final int hash, final int numPartitions) {
+        return ((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % numPartitions;
+    }
+
+    /**
+     * The key of an element: its class, group, identifiers and groupBy property
+     * values. Identifiers are compared deeply, as {@link Element#equals(Object)}
+     * does, and groupBy values are compared with equals, as
+     * {@link uk.gov.gchq.gaffer.data.element.Properties} does.
+     */
+    private static final class GroupByKey {
+        private final Element element;
+        private final String group;
+        private final Object[] identifiers;
+        private final Object[] groupByValues;
+        private final int hash;
+
+        private GroupByKey(final Element element, final String[] groupBy) {
+            this.element = element;
+            this.group = element.getGroup();
+            if (element instanceof Entity) {
+                this.identifiers = new Object[]{((Entity) element).getVertex()};
+            } else if (element instanceof Edge) {
+                final Edge edge = (Edge) element;
+                this.identifiers = new Object[]{edge.getSource(), edge.getDestination(), edge.isDirected()};
+            } else {
+                throw new IllegalArgumentException("Unsupported element class: " + element.getClass().getName());
+            }
+            this.groupByValues = new Object[groupBy.length];
+            for (int i = 0; i < groupBy.length; i++) {
+                groupByValues[i] = element.getProperty(groupBy[i]);
+            }
+
+            int h = element.getClass().hashCode();
+            h = 31 * h + group.hashCode();
+            h = 31 * h + Arrays.deepHashCode(identifiers);
+            h = 31 * h + Arrays.hashCode(groupByValues);
+            this.hash = h;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+
+            if (null == obj || getClass() != obj.getClass()) {
+                return false;
+            }
+
+            final GroupByKey that = (GroupByKey) obj;
+            return hash == that.hash
+                    && element.getClass() == that.element.getClass()
+                    && group.equals(that.group)
+                    && Arrays.deepEquals(identifiers, that.identifiers)
+                    && Arrays.equals(groupByValues, that.groupByValues);
+        }
+    }
+}
@@ -234,4 +234,40 @@ public class ElementValidatorTest {
         // Then
         assertFalse(isValid);
     }
+
+    @Test
+    public void shouldReturnFalseForEachFilterTypeWhenNoViewElementDefinition() {
+        // Given
+        final View view = mock(View.class);
+        final String group = TestGroups.EDGE;
+        final Element elm = mock(Element.class);
+        final ElementValidator validator = new ElementValidator(view);
+
+        given(elm.getGroup()).willReturn(group);
+        given(view.getElement(group)).willReturn(null);
+
+        // When / Then
+        assertFalse(validator.validateInput(elm));
+        assertFalse(validator.validateAggregation(elm));
+        assertFalse(validator.validateTransform(elm));
+    }
+
+    @Test
+    public void shouldReturnTrueForEachFilterTypeWhenViewElementDefinitionHasNoFilters() {
+        // Given
+        final View view = mock(View.class);
+        final String group = TestGroups.EDGE;
+        final Element elm = mock(Element.class);
+        final ViewElementDefinition elementDef = mock(ViewElementDefinition.class);
+        final ElementValidator validator = new ElementValidator(view);
+
+        given(elm.getGroup()).willReturn(group);
+        given(view.getElement(group)).willReturn(elementDef);
+
+        // When / Then
+        assertTrue(validator.validateInput(elm));
+        assertTrue(validator.validateAggregation(elm));
+        assertTrue(validator.validateTransform(elm));
+        assertTrue(validator.validate(elm));
+    }
 }
@@ -52,6 +52,7 @@ import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.Count;
 import uk.gov.gchq.gaffer.operation.impl.CountGroups;
 import uk.gov.gchq.gaffer.operation.impl.DiscardOutput;
+import uk.gov.gchq.gaffer.operation.impl.GetShortestPaths;
 import uk.gov.gchq.gaffer.operation.impl.GetWalks;
 import uk.gov.gchq.gaffer.operation.impl.Limit;
 import uk.gov.gchq.gaffer.operation.impl.Validate;
@@ -72,6 +73,7 @@ import uk.gov.gchq.gaffer.operation.impl.generate.GenerateObjects;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.operation.impl.job.CancelJob;
 import uk.gov.gchq.gaffer.operation.impl.job.GetAllJobDetails;
 import uk.gov.gchq.gaffer.operation.impl.job.GetJobDetails;
 import uk.gov.gchq.gaffer.operation.impl.job.GetJobResults;
@@ -477,6 +479,7 @@ public class StoreTest {
                 GetJobDetails.class,
                 GetAllJobDetails.class,
                 GetJobResults.class,
+                CancelJob.class,
 
                 // Output
                 ToArray.class,
@@ -501,6 +504,7 @@ public class StoreTest {
 
                 // Algorithm
                 GetWalks.class,
+                GetShortestPaths.class,
 
                 // OperationChain
                 OperationChain.class,
@@ -588,6 +592,7 @@ public class StoreTest {
 
                 // Algorithm
                 GetWalks.class,
+                GetShortestPaths.class,
 
                 // OperationChain
                 OperationChain.class,
@@ -684,9 +689,11 @@ public class StoreTest {
         // Then
         Thread.sleep(1000);
         final ArgumentCaptor<JobDetail> jobDetail = ArgumentCaptor.forClass(JobDetail.class);
-        verify(jobTracker, times(2)).addOrUpdateJob(jobDetail.capture(), eq(user));
+        verify(jobTracker, times(3)).addOrUpdateJob(jobDetail.capture(), eq(user));
         assertEquals(jobDetail.getAllValues().get(0), resultJobDetail);
-        assertEquals(JobStatus.FINISHED, jobDetail.getAllValues().get(1).getStatus());
+        assertEquals(JobStatus.QUEUED, jobDetail.getAllValues().get(0).getStatus());
+        assertEquals(JobStatus.RUNNING, jobDetail.getAllValues().get(1).getStatus());
+        assertEquals(JobStatus.FINISHED, jobDetail.getAllValues().get(2).getStatus());
 
         final ArgumentCaptor<Context> contextCaptor = ArgumentCaptor.forClass(Context.class);
         verify(exportToGafferResultCacheHandler).doOperation(Mockito.any(ExportToGafferResultCache.class), contextCaptor.capture(), eq(store));
@@ -711,9 +718,11 @@ public class StoreTest {
         // Then
         Thread.sleep(1000);
         final ArgumentCaptor<JobDetail> jobDetail = ArgumentCaptor.forClass(JobDetail.class);
-        verify(jobTracker, times(2)).addOrUpdateJob(jobDetail.capture(), eq(user));
+        verify(jobTracker, times(3)).addOrUpdateJob(jobDetail.capture(), eq(user));
         assertEquals(jobDetail.getAllValues().get(0), resultJobDetail);
-        assertEquals(JobStatus.FINISHED, jobDetail.getAllValues().get(1).getStatus());
+        assertEquals(JobStatus.QUEUED, jobDetail.getAllValues().get(0).getStatus());
+        assertEquals(JobStatus.RUNNING, jobDetail.getAllValues().get(1).getStatus());
+        assertEquals(JobStatus.FINISHED, jobDetail.getAllValues().get(2).getStatus());
 
         final ArgumentCaptor<Context> contextCaptor = ArgumentCaptor.forClass(Context.class);
         verify(exportToGafferResultCacheHandler).doOperation(Mockito.any(ExportToGafferResultCache.class), contextCaptor.capture(), eq(store));
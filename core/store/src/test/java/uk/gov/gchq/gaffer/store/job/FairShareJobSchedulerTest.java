@@ -0,0 +1,241 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.job;
+
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.jobtracker.JobPriority;
+import uk.gov.gchq.gaffer.store.StoreProperties;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class FairShareJobSchedulerTest {
+    private static final long TIMEOUT_SECONDS = 10;
+
+    @Test
+    public void shouldShareThreadsFairlyBetweenUsers() throws InterruptedException {
+        // Given
+        final FairShareJobScheduler scheduler = createScheduler(1, null, null);
+        final CountDownLatch blocker = blockScheduler(scheduler);
+        final List<String> started = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch finished = new CountDownLatch(5);
+
+        scheduler.submit(createJob("user1-job1", "user1", JobPriority.NORMAL, started, finished));
+        scheduler.submit(createJob("user1-job2", "user1", JobPriority.NORMAL, started, finished));
+        scheduler.submit(createJob("user1-job3", "user1", JobPriority.NORMAL, started, finished));
+        scheduler.submit(createJob("user2-job1", "user2", JobPriority.NORMAL, started, finished));
+        scheduler.submit(createJob("user2-job2", "user2", JobPriority.NORMAL, started, finished));
+
+        // When
+        blocker.countDown();
+
+        // Then
+        assertTrue(finished.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("user1-job1", "user2-job1", "user1-job2", "user2-job2", "user1-job3"), started);
+    }
+
+    @Test
+    public void shouldRunHigherPriorityJobsFirst() throws InterruptedException {
+        // Given
+        final FairShareJobScheduler scheduler = createScheduler(1, null, null);
+        final CountDownLatch blocker = blockScheduler(scheduler);
+        final List<String> started = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch finished = new CountDownLatch(3);
+
+        scheduler.submit(createJob("low", "user1", JobPriority.LOW, started, finished));
+        scheduler.submit(createJob("normal", "user1", JobPriority.NORMAL, started, finished));
+        scheduler.submit(createJob("high", "user2", JobPriority.HIGH, started, finished));
+
+        // When
+        blocker.countDown();
+
+        // Then
+        assertTrue(finished.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("high", "normal", "low"), started);
+    }
+
+    @Test
+    public void shouldRejectJobsWhenTheQueueIsFull() {
+        // Given
+        final FairShareJobScheduler scheduler = createScheduler(0, 2, null);
+        scheduler.submit(createJob("job1", "user1"));
+        scheduler.submit(createJob("job2", "user2"));
+
+        // When / Then
+        try {
+            scheduler.submit(createJob("job3", "user3"));
+            fail("Exception expected");
+        } catch (final RejectedExecutionException e) {
+            assertEquals("Job job3 was rejected, the job queue is full", e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldRejectJobsWhenAUsersQueueIsFull() {
+        // Given
+        final FairShareJobScheduler scheduler = createScheduler(0, null, 1);
+        scheduler.submit(createJob("job1", "user1"));
+
+        // When
+        scheduler.submit(createJob("job2", "user2"));
+        try {
+            scheduler.submit(createJob("job3", "user1"));
+            fail("Exception expected");
+        } catch (final RejectedExecutionException e) {
+            // Then
+            assertEquals("Job job3 was rejected, user user1 already has 1 queued jobs", e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldCancelQueuedJobAndCloseItsResource() {
+        // Given
+        final FairShareJobScheduler scheduler = createScheduler(0, 1, null);
+        final CountDownLatch closed = new CountDownLatch(1);
+        final ScheduledJob job = new ScheduledJob("job1", "user1", null, closed::countDown, j -> fail("Job should not run"));
+        scheduler.submit(job);
+
+        // When
+        final ScheduledJob cancelledJob = scheduler.cancel("job1");
+
+        // Then
+        assertSame(job, cancelledJob);
+        assertTrue(job.isCancelled());
+        assertFalse(job.isStarted());
+        assertEquals(0, closed.getCount());
+        assertNull(scheduler.cancel("job1"));
+
+        // The cancelled job no longer counts towards the queue limit
+        scheduler.submit(createJob("job2", "user1"));
+    }
+
+    @Test
+    public void shouldCancelRunningJobByClosingItsResource() throws InterruptedException {
+        // Given
+        final FairShareJobScheduler scheduler = createScheduler(1, null, null);
+        final CountDownLatch running = new CountDownLatch(1);
+        final CountDownLatch closed = new CountDownLatch(1);
+        final CountDownLatch finished = new CountDownLatch(1);
+        final ScheduledJob job = new ScheduledJob("job1", "user1", JobPriority.HIGH, closed::countDown, j -> {
+            running.countDown();
+            try {
+                closed.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            finished.countDown();
+        });
+        scheduler.submit(job);
+        assertTrue(running.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        // When
+        final ScheduledJob cancelledJob = scheduler.cancel("job1");
+
+        // Then
+        assertSame(job, cancelledJob);
+        assertTrue(job.isCancelled());
+        assertTrue(job.isStarted());
+        assertTrue(finished.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void shouldNotRunJobCancelledAfterItWasTakenFromTheQueue() {
+        // Given
+        final List<String> started = new ArrayList<>();
+        final ScheduledJob job = createJob("job1", "user1", JobPriority.NORMAL, started, new CountDownLatch(1));
+
+        // When
+        job.cancel();
+        job.run();
+
+        // Then
+        assertTrue(job.isCancelled());
+        assertFalse(job.isStarted());
+        assertEquals(Collections.emptyList(), started);
+    }
+
+    @Test
+    public void shouldRecordQueueAndRunTimes() throws InterruptedException {
+        // Given
+        final FairShareJobScheduler scheduler = createScheduler(1, null, null);
+        final CountDownLatch blocker = blockScheduler(scheduler);
+        final CountDownLatch finished = new CountDownLatch(1);
+        final ScheduledJob job = createJob("job1", "user1", JobPriority.NORMAL, new ArrayList<>(), finished);
+        scheduler.submit(job);
+        assertNull(job.getRunTime());
+
+        // When
+        Thread.sleep(50);
+        blocker.countDown();
+
+        // Then
+        assertTrue(finished.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertTrue(job.getQueueTime() >= 50);
+        assertTrue(job.getRunTime() >= 0);
+    }
+
+    private FairShareJobScheduler createScheduler(final int threads, final Integer maxQueued, final Integer maxQueuedPerUser) {
+        final StoreProperties properties = new StoreProperties();
+        properties.set(StoreProperties.EXECUTOR_SERVICE_THREAD_COUNT, String.valueOf(threads));
+        properties.setJobSchedulerMaxQueuedJobs(maxQueued);
+        properties.setJobSchedulerMaxQueuedJobsPerUser(maxQueuedPerUser);
+        final FairShareJobScheduler scheduler = new FairShareJobScheduler();
+        scheduler.initialise(properties);
+        return scheduler;
+    }
+
+    private CountDownLatch blockScheduler(final FairShareJobScheduler scheduler) throws InterruptedException {
+        final CountDownLatch running = new CountDownLatch(1);
+        final CountDownLatch blocker = new CountDownLatch(1);
+        scheduler.submit(new ScheduledJob("blocker", "blocker", JobPriority.HIGH, null, job -> {
+            running.countDown();
+            try {
+                blocker.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertTrue(running.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        return blocker;
+    }
+
+    private ScheduledJob createJob(final String jobId, final String userId) {
+        return new ScheduledJob(jobId, userId, JobPriority.NORMAL, null, job -> {
+        });
+    }
+
+    private ScheduledJob createJob(final String jobId, final String userId, final JobPriority priority,
+                                   final List<String> started, final CountDownLatch finished) {
+        return new ScheduledJob(jobId, userId, priority, null, job -> {
+            started.add(jobId);
+            finished.countDown();
+        });
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.operation.handler;
+
+import com.google.common.collect.Lists;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.graph.Walk;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters.IncludeIncomingOutgoingType;
+import uk.gov.gchq.gaffer.operation.impl.GetShortestPaths;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+
+public class GetShortestPathsHandlerTest {
+
+    @Test
+    public void shouldHandleNullInput() throws Exception {
+        // Given
+        final GetShortestPaths operation = new GetShortestPaths.Builder()
+                .destinations(new EntitySeed("B"))
+                .maxHops(2)
+                .build();
+
+        final GetShortestPathsHandler handler = new GetShortestPathsHandler();
+
+        // When
+        final Iterable<Walk> result = handler.doOperation(operation, null, null);
+
+        // Then
+        assertNull(result);
+    }
+
+    @Test
+    public void shouldReturnZeroLengthWalkWhenSourceIsADestination() throws Exception {
+        // Given
+        final GetShortestPaths operation = new GetShortestPaths.Builder()
+                .input(new EntitySeed("A"), new EntitySeed("B"))
+                .destinations(new EntitySeed("B"))
+                .maxHops(2)
+                .build();
+
+        final GetShortestPathsHandler handler = new GetShortestPathsHandler();
+
+        // When
+        final List<Walk> result = Lists.newArrayList(handler.doOperation(operation, null, null));
+
+        // Then
+        assertEquals(1, result.size());
+        assertEquals(0, result.get(0).length());
+        assertEquals(Lists.newArrayList("B"), result.get(0).getVerticesOrdered());
+    }
+
+    @Test
+    public void shouldNotWalkDirectedEdgesBackwards() throws Exception {
+        // Given - A -> B <- C -> D, so there is only a path from A to D if B -> C is walked backwards
+        final Store store = mock(Store.class);
+        final Context context = new Context(new User());
+        final GetShortestPaths operation = new GetShortestPaths.Builder()
+                .input(new EntitySeed("A"))
+                .destinations(new EntitySeed("D"))
+                .view(new View.Builder()
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .inOutType(IncludeIncomingOutgoingType.OUTGOING)
+                .maxHops(3)
+                .build();
+
+        given(store.execute(any(GetElements.class), any(Context.class))).willReturn(
+                (CloseableIterable) new WrappedCloseableIterable<>(Collections.singletonList(createEdge("A", "B", EdgeId.MatchedVertex.SOURCE))),
+                (CloseableIterable) new WrappedCloseableIterable<>(Collections.emptyList()));
+
+        final GetShortestPathsHandler handler = new GetShortestPathsHandler();
+
+        // When
+        final List<Walk> result = Lists.newArrayList(handler.doOperation(operation, context, store));
+
+        // Then
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    public void shouldOnlyWalkEdgesAwayFromTheMatchedVertex() throws Exception {
+        // Given - A -> B with both A and B as sources, and B -> C
+        final Store store = mock(Store.class);
+        final Context context = new Context(new User());
+        final GetShortestPaths operation = new GetShortestPaths.Builder()
+                .input(new EntitySeed("A"), new EntitySeed("B"))
+                .destinations(new EntitySeed("C"), new EntitySeed("D"))
+                .view(new View.Builder()
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .inOutType(IncludeIncomingOutgoingType.OUTGOING)
+                .maxHops(1)
+                .build();
+
+        given(store.execute(any(GetElements.class), any(Context.class))).willReturn(
+                (CloseableIterable) new WrappedCloseableIterable<>(Lists.newArrayList(
+                        createEdge("A", "B", EdgeId.MatchedVertex.SOURCE),
+                        createEdge("B", "C", EdgeId.MatchedVertex.SOURCE))));
+
+        final GetShortestPathsHandler handler = new GetShortestPathsHandler();
+
+        // When
+        final List<Walk> result = Lists.newArrayList(handler.doOperation(operation, context, store));
+
+        // Then
+        assertEquals(1, result.size());
+        assertEquals(Lists.newArrayList("B", "C"), result.get(0).getVerticesOrdered());
+    }
+
+    @Test
+    public void shouldThrowExceptionIfMaxHopsIsGreaterThanTheHandlerLimit() {
+        // Given
+        final GetShortestPaths operation = new GetShortestPaths.Builder()
+                .input(new EntitySeed("A"))
+                .destinations(new EntitySeed("B"))
+                .maxHops(3)
+                .build();
+
+        final GetShortestPathsHandler handler = new GetShortestPathsHandler();
+        handler.setMaxHops(2);
+
+        // When / Then
+        try {
+            handler.doOperation(operation, null, null);
+            fail("Exception expected");
+        } catch (final OperationException e) {
+            assertTrue(e.getMessage().contains("The maximum number of hops is: 2"));
+        }
+    }
+
+    private Edge createEdge(final String source, final String destination, final EdgeId.MatchedVertex matchedVertex) {
+        return new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source(source)
+                .dest(destination)
+                .directed(true)
+                .matchedVertex(matchedVertex)
+                .build();
+    }
+}
@@ -798,4 +798,38 @@ public class FilterHandlerTest {
                                 .build()),
                 results);
     }
+
+    @Test
+    public void shouldFilterInParallelAndPreserveOrder() throws OperationException {
+        // Given
+        for (long i = 0; i < 5000; i++) {
+            final Edge edge = new Edge.Builder()
+                    .group(TestGroups.EDGE)
+                    .source("junction" + i)
+                    .dest("junctionB")
+                    .directed(true)
+                    .property(TestPropertyNames.COUNT, i)
+                    .build();
+            input.add(edge);
+            if (i > 2500L) {
+                expected.add(edge);
+            }
+        }
+
+        final Filter filter = new Filter.Builder()
+                .input(input)
+                .edge(TestGroups.EDGE, new ElementFilter.Builder()
+                        .select(TestPropertyNames.COUNT)
+                        .execute(new IsMoreThan(2500L))
+                        .build())
+                .option(FilterHandler.PARALLEL, "true")
+                .build();
+        handler.setBatchSize(100);
+
+        // When
+        final Iterable<? extends Element> results = handler.doOperation(filter, SCHEMA);
+
+        // Then
+        assertEquals(expected, Lists.newArrayList(results));
+    }
 }
@@ -46,6 +46,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.BDDMockito.given;
@@ -516,4 +517,39 @@ public class TransformHandlerTest {
                 .build();
         ElementUtil.assertElementEquals(Collections.singletonList(expectedEdge), results);
     }
+
+    @Test
+    public void shouldTransformInParallelAndPreserveOrder() throws OperationException {
+        // Given
+        for (long i = 0; i < 5000; i++) {
+            input.add(new Entity.Builder()
+                    .group(TestGroups.ENTITY)
+                    .vertex("vertex" + i)
+                    .property(TestPropertyNames.COUNT, i)
+                    .build());
+            expected.add(new Entity.Builder()
+                    .group(TestGroups.ENTITY)
+                    .vertex("vertex" + i)
+                    .property(TestPropertyNames.COUNT, i)
+                    .property(TestPropertyNames.PROP_1, "vertex" + i)
+                    .build());
+        }
+
+        final Transform transform = new Transform.Builder()
+                .input(input)
+                .entity(TestGroups.ENTITY, new ElementTransformer.Builder()
+                        .select(IdentifierType.VERTEX.name())
+                        .execute(new Identity())
+                        .project(TestPropertyNames.PROP_1)
+                        .build())
+                .build();
+        handler.setParallel(true);
+        handler.setBatchSize(100);
+
+        // When
+        final Iterable<? extends Element> results = handler.doOperation(transform, schema);
+
+        // Then
+        assertEquals(expected, Lists.newArrayList(results));
+    }
 }
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.operation.handler.job;
+
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import uk.gov.gchq.gaffer.core.exception.Status;
+import uk.gov.gchq.gaffer.jobtracker.JobDetail;
+import uk.gov.gchq.gaffer.jobtracker.JobPriority;
+import uk.gov.gchq.gaffer.jobtracker.JobStatus;
+import uk.gov.gchq.gaffer.jobtracker.JobTracker;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.job.CancelJob;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.job.FairShareJobScheduler;
+import uk.gov.gchq.gaffer.store.job.ScheduledJob;
+import uk.gov.gchq.gaffer.user.User;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class CancelJobHandlerTest {
+    private static final String JOB_ID = "jobId";
+
+    @Test
+    public void shouldThrowExceptionIfJobTrackerIsNotConfigured() {
+        // Given
+        final CancelJobHandler handler = new CancelJobHandler();
+        final CancelJob operation = mock(CancelJob.class);
+        final Store store = mock(Store.class);
+        final User user = mock(User.class);
+
+        given(store.getJobTracker()).willReturn(null);
+
+        // When / Then
+        try {
+            handler.doOperation(operation, new Context(user), store);
+            fail("Exception expected");
+        } catch (final OperationException e) {
+            assertNotNull(e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldNotCancelAnotherUsersJob() {
+        // Given
+        final CancelJobHandler handler = new CancelJobHandler();
+        final CancelJob operation = new CancelJob.Builder()
+                .jobId(JOB_ID)
+                .build();
+        final Store store = mock(Store.class);
+        final JobTracker jobTracker = mock(JobTracker.class);
+        final FairShareJobScheduler jobScheduler = new FairShareJobScheduler();
+        final User user = new User("user1");
+        final ScheduledJob job = createJob("user2");
+        jobScheduler.submit(job);
+
+        given(store.getJobTracker()).willReturn(jobTracker);
+        given(store.getJobScheduler()).willReturn(jobScheduler);
+        given(jobTracker.getJob(JOB_ID, user)).willReturn(createJobDetail("user2"));
+
+        // When / Then
+        try {
+            handler.doOperation(operation, new Context(user), store);
+            fail("Exception expected");
+        } catch (final OperationException e) {
+            assertEquals(Status.FORBIDDEN, e.getStatus());
+        }
+        assertFalse(job.isCancelled());
+        verify(jobTracker, never()).addOrUpdateJob(any(JobDetail.class), any(User.class));
+    }
+
+    @Test
+    public void shouldCancelQueuedJobAndMarkItAsCancelled() throws OperationException {
+        // Given
+        final CancelJobHandler handler = new CancelJobHandler();
+        final CancelJob operation = new CancelJob.Builder()
+                .jobId(JOB_ID)
+                .build();
+        final Store store = mock(Store.class);
+        final JobTracker jobTracker = mock(JobTracker.class);
+        final FairShareJobScheduler jobScheduler = new FairShareJobScheduler();
+        final User user = new User("user1");
+        final JobDetail jobDetail = createJobDetail("user1");
+        final ScheduledJob job = createJob("user1");
+        jobScheduler.submit(job);
+
+        given(store.getJobTracker()).willReturn(jobTracker);
+        given(store.getJobScheduler()).willReturn(jobScheduler);
+        given(jobTracker.getJob(JOB_ID, user)).willReturn(jobDetail);
+
+        // When
+        final JobDetail result = handler.doOperation(operation, new Context(user), store);
+
+        // Then
+        assertTrue(job.isCancelled());
+        final ArgumentCaptor<JobDetail> jobDetailCaptor = ArgumentCaptor.forClass(JobDetail.class);
+        verify(jobTracker).addOrUpdateJob(jobDetailCaptor.capture(), any(User.class));
+        assertEquals(JobStatus.CANCELLED, jobDetailCaptor.getValue().getStatus());
+        assertEquals(JOB_ID, jobDetailCaptor.getValue().getJobId());
+        assertEquals("user1", jobDetailCaptor.getValue().getUserId());
+        assertNotNull(jobDetailCaptor.getValue().getEndTime());
+        assertSame(jobDetail, result);
+    }
+
+    private ScheduledJob createJob(final String userId) {
+        return new ScheduledJob(JOB_ID, userId, JobPriority.NORMAL, null, job -> {
+        });
+    }
+
+    private JobDetail createJobDetail(final String userId) {
+        return new JobDetail(JOB_ID, userId, null, JobStatus.QUEUED, null);
+    }
+}
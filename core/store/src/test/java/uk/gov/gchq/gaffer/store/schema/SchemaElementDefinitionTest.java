@@ -22,6 +22,7 @@ import org.junit.Test;
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
 import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
 import uk.gov.gchq.gaffer.data.element.IdentifierType;
+import uk.gov.gchq.gaffer.data.element.PropertiesLayout;
 import uk.gov.gchq.gaffer.data.element.function.ElementAggregator;
 import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
 import uk.gov.gchq.gaffer.data.elementdefinition.exception.SchemaException;
@@ -810,6 +811,28 @@ public abstract class SchemaElementDefinitionTest<T extends SchemaElementDefinit
         }
     }
 
+    @Test
+    public void shouldUpdatePropertiesLayoutWhenPropertiesAreAddedAfterItIsCreated() {
+        // Given
+        final T elementDef2 = createBuilder()
+                .property(TestPropertyNames.PROP_2, "property.object")
+                .build();
+        final SchemaElementDefinition.BaseBuilder<T, ?> builder = createEmptyBuilder()
+                .property(TestPropertyNames.PROP_1, "property.integer");
+        final PropertiesLayout initialLayout = builder.getElementDef().getPropertiesLayout();
+
+        // When
+        builder.merge(elementDef2)
+                .property(TestPropertyNames.PROP_3, "property.integer");
+        final T elementDef = builder.build();
+
+        // Then
+        assertEquals(1, initialLayout.size());
+        assertEquals(new PropertiesLayout(TestPropertyNames.PROP_1, TestPropertyNames.PROP_2, TestPropertyNames.PROP_3),
+                elementDef.getPropertiesLayout());
+        assertSame(elementDef.getPropertiesLayout(), elementDef.getPropertiesLayout());
+    }
+
     protected void setupSchema(final T elementDef) {
         final Schema.Builder schemaBuilder = new Schema.Builder()
                 .type("id.integer", Integer.class)
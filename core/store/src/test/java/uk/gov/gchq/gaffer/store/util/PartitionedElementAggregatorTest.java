@@ -0,0 +1,152 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.util;
+
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static uk.gov.gchq.gaffer.data.util.ElementUtil.assertElementEquals;
+
+public class PartitionedElementAggregatorTest {
+    private static final int NUM_VERTICES = 100;
+    private static final int ELEMENTS_PER_VERTEX = 20;
+
+    @Test
+    public void shouldAggregateElementsInASinglePartition() {
+        // Given
+        final Schema schema = getSchema();
+        final PartitionedElementAggregator aggregator = new PartitionedElementAggregator(
+                AggregatorUtil.getIngestGroupBys(schema),
+                group -> schema.getElement(group).getIngestAggregator());
+
+        // When
+        final List<Element> aggregated = aggregator.aggregate(createElements());
+
+        // Then
+        assertElementEquals(createExpectedElements(), aggregated);
+    }
+
+    @Test
+    public void shouldAggregateElementsInParallelPartitions() {
+        // Given
+        final Schema schema = getSchema();
+        final PartitionedElementAggregator aggregator = new PartitionedElementAggregator(
+                AggregatorUtil.getIngestGroupBys(schema),
+                group -> schema.getElement(group).getIngestAggregator(),
+                1);
+
+        // When
+        final List<Element> aggregated = aggregator.aggregate(createElements());
+
+        // Then
+        assertElementEquals(createExpectedElements(), aggregated);
+    }
+
+    @Test
+    public void shouldKeepElementsWithDifferentGroupByValuesSeparate() {
+        // Given
+        final Schema schema = getSchema();
+        final List<Element> elements = new ArrayList<>();
+        elements.add(createEntity("vertex", 1L, "value1"));
+        elements.add(createEntity("vertex", 2L, "value2"));
+        elements.add(createEntity("vertex", 3L, "value1"));
+
+        // When
+        final List<Element> aggregated = PartitionedElementAggregator.forIngest(schema).aggregate(elements);
+
+        // Then
+        final Set<Element> expected = new HashSet<>();
+        expected.add(createEntity("vertex", 4L, "value1"));
+        expected.add(createEntity("vertex", 2L, "value2"));
+        assertElementEquals(expected, aggregated);
+    }
+
+    @Test
+    public void shouldThrowExceptionForUnrecognisedGroup() {
+        // Given
+        final Schema schema = getSchema();
+        final List<Element> elements = new ArrayList<>();
+        elements.add(new Entity("UnknownGroup", "vertex"));
+
+        // When / Then
+        try {
+            PartitionedElementAggregator.forIngest(schema).aggregate(elements);
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertEquals("Group UnknownGroup was not recognised", e.getMessage());
+        }
+    }
+
+    private Schema getSchema() {
+        return Schema.fromJson(StreamUtil.openStreams(getClass(), "schema-groupby"));
+    }
+
+    private List<Element> createElements() {
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < ELEMENTS_PER_VERTEX; i++) {
+            for (int v = 0; v < NUM_VERTICES; v++) {
+                elements.add(createEntity("vertex" + v, 1L, null));
+                elements.add(createEdge("vertex" + v, 2L));
+            }
+        }
+        return elements;
+    }
+
+    private Set<Element> createExpectedElements() {
+        final Set<Element> expected = new HashSet<>();
+        for (int v = 0; v < NUM_VERTICES; v++) {
+            expected.add(createEntity("vertex" + v, (long) ELEMENTS_PER_VERTEX, null));
+            expected.add(createEdge("vertex" + v, 2L * ELEMENTS_PER_VERTEX));
+        }
+        return expected;
+    }
+
+    private Entity createEntity(final String vertex, final long count, final String property2) {
+        final Entity entity = new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .vertex(vertex)
+                .property("count", count)
+                .build();
+        if (null != property2) {
+            entity.putProperty("property2", property2);
+        }
+        return entity;
+    }
+
+    private Edge createEdge(final String source, final long count) {
+        return new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source(source)
+                .dest("dest")
+                .directed(true)
+                .property("count", count)
+                .build();
+    }
+}
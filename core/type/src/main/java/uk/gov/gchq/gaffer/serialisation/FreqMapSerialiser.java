@@ -18,14 +18,11 @@ package uk.gov.gchq.gaffer.serialisation;
 import uk.gov.gchq.gaffer.commonutil.ByteArrayEscapeUtils;
 import uk.gov.gchq.gaffer.commonutil.CommonConstants;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
-import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawLongSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils;
 import uk.gov.gchq.gaffer.types.FreqMap;
 
 import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.io.UnsupportedEncodingException;
-import java.util.Map.Entry;
-import java.util.Set;
 
 /**
  * A {@code FreqMapSerialiser} serialises and deserialises {@code FreqMap}s.
@@ -33,34 +30,36 @@ import java.util.Set;
  */
 public class FreqMapSerialiser implements ToBytesSerialiser<FreqMap> {
     private static final long serialVersionUID = 6530929395214726384L;
-    private final CompactRawLongSerialiser longSerialiser = new CompactRawLongSerialiser();
 
     @Override
     public byte[] serialise(final FreqMap map) throws SerialisationException {
-        Set<Entry<String, Long>> entrySet = map.entrySet();
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        boolean isFirst = true;
-        for (final Entry<String, Long> entry : entrySet) {
-            if (null != entry.getKey() && null != entry.getValue()) {
-                if (isFirst) {
-                    isFirst = false;
-                } else {
-                    out.write(ByteArrayEscapeUtils.DELIMITER);
-                }
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final SerialisationException[] exception = new SerialisationException[1];
+        map.forEachLong((key, value) -> {
+            if (null == key || null != exception[0]) {
+                return;
+            }
 
-                try {
-                    out.write(ByteArrayEscapeUtils.escape(entry.getKey().getBytes(CommonConstants.UTF_8)));
-                } catch (final IOException e) {
-                    throw new SerialisationException("Failed to serialise a key from a FreqMap: " + entry.getKey(), e);
-                }
+            // Every entry writes at least one value byte, so an empty stream means this is the first entry
+            if (out.size() > 0) {
                 out.write(ByteArrayEscapeUtils.DELIMITER);
+            }
 
-                try {
-                    out.write(ByteArrayEscapeUtils.escape(longSerialiser.serialise(entry.getValue())));
-                } catch (final IOException e) {
-                    throw new SerialisationException("Failed to serialise a value from a FreqMap: " + entry.getValue(), e);
-                }
+            try {
+                final byte[] keyBytes = ByteArrayEscapeUtils.escape(key.getBytes(CommonConstants.UTF_8));
+                out.write(keyBytes, 0, keyBytes.length);
+            } catch (final UnsupportedEncodingException e) {
+                exception[0] = new SerialisationException("Failed to serialise a key from a FreqMap: " + key, e);
+                return;
             }
+            out.write(ByteArrayEscapeUtils.DELIMITER);
+
+            final byte[] valueBytes = ByteArrayEscapeUtils.escape(CompactRawSerialisationUtils.writeLong(value));
+            out.write(valueBytes, 0, valueBytes.length);
+        });
+
+        if (null != exception[0]) {
+            throw exception[0];
         }
 
         return out.toByteArray();
@@ -92,8 +91,7 @@ public class FreqMapSerialiser implements ToBytesSerialiser<FreqMap> {
                 } else {
                     // Deserialise value
                     if (i > lastDelimiter) {
-                        final Long value = longSerialiser.deserialise(ByteArrayEscapeUtils.unEscape(bytes, lastDelimiter, i));
-                        freqMap.put(key, value);
+                        freqMap.upsert(key, CompactRawSerialisationUtils.readLong(ByteArrayEscapeUtils.unEscape(bytes, lastDelimiter, i)));
                         key = null;
                     }
                 }
@@ -105,8 +103,7 @@ public class FreqMapSerialiser implements ToBytesSerialiser<FreqMap> {
         if (null != key) {
             // Deserialise value
             if (bytes.length > lastDelimiter) {
-                final Long value = longSerialiser.deserialise(ByteArrayEscapeUtils.unEscape(bytes, lastDelimiter, bytes.length));
-                freqMap.put(key, value);
+                freqMap.upsert(key, CompactRawSerialisationUtils.readLong(ByteArrayEscapeUtils.unEscape(bytes, lastDelimiter, bytes.length)));
             }
         }
 
@@ -17,9 +17,14 @@ package uk.gov.gchq.gaffer.types;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.ObjLongConsumer;
 
 /**
  * {@code FreqMap} extends {@link HashMap} with String keys and Long values, adding an upsert operation.
+ * <p>
+ * The upsert operations look up each key once, using {@link HashMap#merge}, rather
+ * than a separate get and put.
+ * </p>
  */
 public class FreqMap extends HashMap<String, Long> {
     private static final long serialVersionUID = -851105369975081220L;
@@ -47,14 +52,25 @@ public class FreqMap extends HashMap<String, Long> {
      * @param value The value to increment by or initialise to.
      */
     public void upsert(final String key, final Long value) {
-        final Long currentValue = get(key);
-        if (null == currentValue) {
-            put(key, value);
+        if (null == value) {
+            putIfAbsent(key, null);
         } else {
-            put(key, currentValue + value);
+            merge(key, value, Long::sum);
         }
     }
 
+    /**
+     * Adds a new key and value to the map if the key is not already there.
+     * If the key is already there, the value supplied is added to the existing
+     * value for the key. If the existing value is null it is replaced.
+     *
+     * @param key   The key in the map to increment or insert.
+     * @param value The value to increment by or initialise to.
+     */
+    public void upsert(final String key, final long value) {
+        merge(key, value, Long::sum);
+    }
+
     /**
      * Increments the value of an existing key by 1.
      * If the key doesn't exist, initialises the value to 1.
@@ -64,4 +80,44 @@ public class FreqMap extends HashMap<String, Long> {
     public void upsert(final String key) {
         upsert(key, 1L);
     }
+
+    /**
+     * Adds all the counts from the provided {@code FreqMap} into this map.
+     *
+     * @param other the {@code FreqMap} to merge into this map.
+     */
+    public void merge(final FreqMap other) {
+        if (null == other) {
+            return;
+        }
+
+        for (final Entry<String, Long> entry : other.entrySet()) {
+            upsert(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Returns the count for the given key as a primitive long.
+     *
+     * @param key          the key to look up.
+     * @param defaultValue the value to return if the key is not in the map or has a null value.
+     * @return the count for the key.
+     */
+    public long getLong(final String key, final long defaultValue) {
+        final Long value = get(key);
+        return null == value ? defaultValue : value;
+    }
+
+    /**
+     * Performs the given action for each entry with a non-null count.
+     *
+     * @param action the action to perform.
+     */
+    public void forEachLong(final ObjLongConsumer<String> action) {
+        for (final Entry<String, Long> entry : entrySet()) {
+            if (null != entry.getValue()) {
+                action.accept(entry.getKey(), entry.getValue());
+            }
+        }
+    }
 }
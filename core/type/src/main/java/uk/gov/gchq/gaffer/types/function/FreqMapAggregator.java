@@ -18,22 +18,15 @@ package uk.gov.gchq.gaffer.types.function;
 import uk.gov.gchq.gaffer.types.FreqMap;
 import uk.gov.gchq.koryphe.binaryoperator.KorypheBinaryOperator;
 
-import java.util.Map.Entry;
-
 /**
  * An {@code FreqMapAggregator} is a {@link KorypheBinaryOperator} that takes in
- * {@link FreqMap}s and merges the frequencies together.
+ * {@link FreqMap}s and merges the frequencies together. The frequencies are
+ * merged in place into the first {@link FreqMap} without boxing the counts.
  */
 public class FreqMapAggregator extends KorypheBinaryOperator<FreqMap> {
     @Override
     protected FreqMap _apply(final FreqMap a, final FreqMap b) {
-        for (final Entry<String, Long> entry : b.entrySet()) {
-            if (a.containsKey(entry.getKey())) {
-                a.put(entry.getKey(), a.get(entry.getKey()) + entry.getValue());
-            } else {
-                a.put(entry.getKey(), entry.getValue());
-            }
-        }
+        a.merge(b);
         return a;
     }
 }
@@ -19,7 +19,12 @@ package uk.gov.gchq.gaffer.types;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 public class FreqMapTests {
@@ -114,4 +119,73 @@ public class FreqMapTests {
         assertEquals(freqMap.get(key), expectedValue);
     }
 
+    @Test
+    public void testMergeAddsCountsFromOtherMap() {
+
+        //given
+        freqMap.upsert("a", 1L);
+        freqMap.upsert("b", 2L);
+        final FreqMap other = new FreqMap();
+        other.upsert("b", 3L);
+        other.upsert("c", 4L);
+
+        //when
+        freqMap.merge(other);
+
+        //then
+        assertEquals(3, freqMap.size());
+        assertEquals((Long) 1L, freqMap.get("a"));
+        assertEquals((Long) 5L, freqMap.get("b"));
+        assertEquals((Long) 4L, freqMap.get("c"));
+    }
+
+    @Test
+    public void testGetLongAndForEachLong() {
+
+        //given
+        freqMap.upsert("a", 1L);
+        freqMap.upsert("b", 2L);
+        final Map<String, Long> visited = new HashMap<>();
+
+        //when
+        freqMap.forEachLong(visited::put);
+
+        //then
+        assertEquals(freqMap, visited);
+        assertEquals(2L, freqMap.getLong("b", 0L));
+        assertEquals(-1L, freqMap.getLong("c", -1L));
+    }
+
+    @Test
+    public void testBehavesLikeAHashMapWhenResizingAndRemoving() {
+
+        //given
+        final Map<String, Long> expected = new HashMap<>();
+
+        //when
+        for (int i = 0; i < 1000; i++) {
+            freqMap.upsert("key" + i, (long) i);
+            expected.put("key" + i, (long) i);
+        }
+        for (int i = 0; i < 1000; i += 3) {
+            assertEquals(expected.remove("key" + i), freqMap.remove("key" + i));
+        }
+        final Iterator<Map.Entry<String, Long>> itr = freqMap.entrySet().iterator();
+        while (itr.hasNext()) {
+            final Map.Entry<String, Long> entry = itr.next();
+            if (entry.getValue() % 2 == 0) {
+                itr.remove();
+                expected.remove(entry.getKey());
+            }
+        }
+        freqMap.put(null, 5L);
+        expected.put(null, 5L);
+
+        //then
+        assertEquals(expected, freqMap);
+        assertEquals(freqMap, expected);
+        assertEquals(expected.hashCode(), freqMap.hashCode());
+        assertFalse(freqMap.containsKey("key0"));
+    }
+
 }
@@ -32,6 +32,7 @@ import uk.gov.gchq.gaffer.integration.AbstractStoreIT;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.data.EntitySeed;
 import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters;
+import uk.gov.gchq.gaffer.operation.impl.GetShortestPaths;
 import uk.gov.gchq.gaffer.operation.impl.GetWalks;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
@@ -46,8 +47,10 @@ import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
 import uk.gov.gchq.koryphe.impl.predicate.AgeOff;
 import uk.gov.gchq.koryphe.impl.predicate.IsLessThan;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -55,6 +58,9 @@ import java.util.stream.Collectors;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
 
 public class GraphAlgorithmsIT extends AbstractStoreIT {
 
@@ -92,7 +98,7 @@ public class GraphAlgorithmsIT extends AbstractStoreIT {
         final Iterable<Walk> results = graph.execute(op, user);
 
         // Then
-        assertThat(getPaths(results), is(equalTo("AED,ABC")));
+        assertThat(getPaths(results), is(equalTo("ABC,AED")));
     }
 
     @Test
@@ -121,7 +127,7 @@ public class GraphAlgorithmsIT extends AbstractStoreIT {
         final Iterable<Walk> results = graph.execute(op, user);
 
         // Then
-        assertThat(getPaths(results), is(equalTo("AED,ABC,EDA")));
+        assertThat(getPaths(results), is(equalTo("ABC,AED,EDA")));
     }
 
     @Test
@@ -152,7 +158,7 @@ public class GraphAlgorithmsIT extends AbstractStoreIT {
         final Iterable<Walk> results = graph.execute(op, user);
 
         // Then
-        assertThat(getPaths(results), is(equalTo("AED,AEF,ABC")));
+        assertThat(getPaths(results), is(equalTo("ABC,AED,AEF")));
     }
 
     @Test
@@ -184,7 +190,7 @@ public class GraphAlgorithmsIT extends AbstractStoreIT {
         final Iterable<Walk> results = graph.execute(op, user);
 
         // Then
-        assertThat(getPaths(results), is(equalTo("AED,AEF,ABC,EDA,EFC")));
+        assertThat(getPaths(results), is(equalTo("ABC,AED,AEF,EDA,EFC")));
     }
 
     @Test
@@ -246,7 +252,7 @@ public class GraphAlgorithmsIT extends AbstractStoreIT {
         final Iterable<Walk> results = graph.execute(op, user);
 
         // Then
-        assertThat(getPaths(results), is(equalTo("AEDAE,AEDAB")));
+        assertThat(getPaths(results), is(equalTo("AEDAB,AEDAE")));
     }
 
     @Test
@@ -277,6 +283,119 @@ public class GraphAlgorithmsIT extends AbstractStoreIT {
         assertThat(getPaths(results), is(equalTo("AAAAA")));
     }
 
+    @Test
+    public void shouldGetShortestPaths() throws Exception {
+        // Given
+        final User user = new User();
+
+        final GetShortestPaths op = new GetShortestPaths.Builder()
+                .input(new EntitySeed("A"))
+                .destinations(new EntitySeed("C"))
+                .directedType(DirectedType.DIRECTED)
+                .inOutType(SeededGraphFilters.IncludeIncomingOutgoingType.OUTGOING)
+                .maxHops(3)
+                .build();
+
+        // When
+        final Iterable<Walk> results = graph.execute(op, user);
+
+        // Then
+        assertThat(getPaths(results), is(equalTo("ABC")));
+        final Iterator<Walk> it = results.iterator();
+        final Walk walk = it.next();
+        assertFalse(it.hasNext());
+        assertEquals(1, walk.getEdges().get(0).size());
+        // The edges in both groups from B to C are included in the same hop
+        assertEquals(2, walk.getEdges().get(1).size());
+    }
+
+    @Test
+    public void shouldGetShortestPathsToMultipleDestinations() throws Exception {
+        // Given
+        final User user = new User();
+
+        final GetShortestPaths op = new GetShortestPaths.Builder()
+                .input(new EntitySeed("A"))
+                .destinations(new EntitySeed("C"), new EntitySeed("F"))
+                .directedType(DirectedType.DIRECTED)
+                .inOutType(SeededGraphFilters.IncludeIncomingOutgoingType.OUTGOING)
+                .maxHops(3)
+                .build();
+
+        // When
+        final Iterable<Walk> results = graph.execute(op, user);
+
+        // Then
+        assertThat(getPaths(results), is(equalTo("ABC,AEF")));
+    }
+
+    @Test
+    public void shouldNotGetShortestPathsLongerThanMaxHops() throws Exception {
+        // Given
+        final User user = new User();
+
+        final GetShortestPaths op2Hops = new GetShortestPaths.Builder()
+                .input(new EntitySeed("D"))
+                .destinations(new EntitySeed("C"))
+                .directedType(DirectedType.DIRECTED)
+                .inOutType(SeededGraphFilters.IncludeIncomingOutgoingType.OUTGOING)
+                .maxHops(2)
+                .build();
+        final GetShortestPaths op3Hops = op2Hops.shallowClone();
+        op3Hops.setMaxHops(3);
+
+        // When
+        final Iterable<Walk> results2Hops = graph.execute(op2Hops, user);
+        final Iterable<Walk> results3Hops = graph.execute(op3Hops, user);
+
+        // Then
+        assertThat(getPaths(results2Hops), is(equalTo("")));
+        assertThat(getPaths(results3Hops), is(equalTo("DABC")));
+    }
+
+    @Test
+    public void shouldGetShortestPathsInEitherDirection() throws Exception {
+        // Given
+        final User user = new User();
+
+        final GetShortestPaths op = new GetShortestPaths.Builder()
+                .input(new EntitySeed("D"))
+                .destinations(new EntitySeed("C"))
+                .directedType(DirectedType.DIRECTED)
+                .inOutType(SeededGraphFilters.IncludeIncomingOutgoingType.EITHER)
+                .maxHops(5)
+                .build();
+
+        // When
+        final Iterable<Walk> results = graph.execute(op, user);
+
+        // Then
+        assertThat(getPaths(results), is(equalTo("DABC,DEFC")));
+    }
+
+    @Test
+    public void shouldFailToGetShortestPathsWhenFrontierIsTooLarge() throws Exception {
+        // Given
+        final User user = new User();
+
+        final GetShortestPaths op = new GetShortestPaths.Builder()
+                .input(new EntitySeed("D"))
+                .destinations(new EntitySeed("C"))
+                .directedType(DirectedType.DIRECTED)
+                .inOutType(SeededGraphFilters.IncludeIncomingOutgoingType.EITHER)
+                .maxHops(5)
+                .maxFrontierSize(1)
+                .build();
+
+        // When / Then
+        try {
+            graph.execute(op, user);
+            fail("Exception expected");
+        } catch (final OperationException e) {
+            assertThat(e.getMessage().contains("The maximum frontier size is: 1"), is(true));
+        }
+    }
+
     private Set<Entity> createEntitySet() {
         final Set<Entity> entities = new HashSet<>();
 
@@ -487,12 +606,12 @@ public class GraphAlgorithmsIT extends AbstractStoreIT {
     }
 
     private String getPaths(final Iterable<Walk> walks) {
-        final StringBuilder sb = new StringBuilder();
+        // Sort the paths so the order the store returns the edges in does not matter
+        final List<String> paths = new ArrayList<>();
         for (final Walk walk : walks) {
-            sb.append(walk.getVerticesOrdered().stream().map(Object::toString).collect(Collectors.joining("")));
-            sb.append(',');
+            paths.add(walk.getVerticesOrdered().stream().map(Object::toString).collect(Collectors.joining("")));
         }
-        sb.setLength(sb.length() - 1);
-        return sb.toString();
+        Collections.sort(paths);
+        return String.join(",", paths);
     }
 }
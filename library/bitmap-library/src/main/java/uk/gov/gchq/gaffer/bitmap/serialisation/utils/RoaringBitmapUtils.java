@@ -40,6 +40,29 @@ public final class RoaringBitmapUtils {
 
     }
 
+    /**
+     * Converts a serialised RoaringBitmap in a {@link ByteBuffer} into a form that can be read by the current version.
+     * If the bitmap is already in a compatible form the buffer is returned without copying, so a memory mapped
+     * buffer can be read in place, e.g. by an {@code ImmutableRoaringBitmap}.
+     *
+     * @param serialisedBitmap the buffer containing the serialised bitmap, from its position to its limit
+     * @return a buffer containing the bitmap in a compatible form, from its position to its limit
+     * @throws SerialisationException if the bitmap could not be converted
+     */
+    public static ByteBuffer upConvertSerialisedForm(final ByteBuffer serialisedBitmap) throws SerialisationException {
+        if (serialisedBitmap.remaining() < 4) {
+            throw new SerialisationException("I failed to read the bitmap version cookie");
+        }
+        final int cookie = Integer.reverseBytes(serialisedBitmap.getInt(serialisedBitmap.position()));
+        if (cookie == VERSION_ZERO_FOUR_ZERO_TO_SIX_THRIRTY_FIVE_NO_RUNCONTAINER_COOKIE || (cookie & 0xFFFF) == VERSION_ZERO_FIVE_ZERO_TO_SIX_THIRTY_FIVE_COOKIE) {
+            return serialisedBitmap;
+        }
+
+        final byte[] bytes = new byte[serialisedBitmap.remaining()];
+        serialisedBitmap.duplicate().get(bytes);
+        return ByteBuffer.wrap(upConvertSerialisedForm(bytes, 0, bytes.length));
+    }
+
     public static byte[] upConvertSerialisedForm(final byte[] serialisedBitmap, final int offset, final int length) throws SerialisationException {
         try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(serialisedBitmap, offset, length))) {
             int cookie;
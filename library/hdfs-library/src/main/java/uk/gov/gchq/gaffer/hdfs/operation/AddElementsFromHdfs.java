@@ -56,6 +56,14 @@ public class AddElementsFromHdfs implements
 
     private boolean validate = true;
 
+    /**
+     * The maximum number of elements each mapper aggregates in memory before
+     * outputting them. Aggregating in the mapper reduces the number of elements
+     * that are sorted and shuffled. If null, or less than 1, elements are not
+     * aggregated in the mapper.
+     */
+    private Integer mapperAggregationBufferSize;
+
     /**
      * Used to generate elements from the Hdfs files.
      * For Avro data see {@link uk.gov.gchq.gaffer.hdfs.operation.mapper.generator.AvroMapperGenerator}.
@@ -107,6 +115,14 @@ public class AddElementsFromHdfs implements
         this.validate = validate;
     }
 
+    public Integer getMapperAggregationBufferSize() {
+        return mapperAggregationBufferSize;
+    }
+
+    public void setMapperAggregationBufferSize(final Integer mapperAggregationBufferSize) {
+        this.mapperAggregationBufferSize = mapperAggregationBufferSize;
+    }
+
     @Override
     public Map<String, String> getInputMapperPairs() {
         return inputMapperPairs;
@@ -251,6 +267,7 @@ public class AddElementsFromHdfs implements
                 .failurePath(failurePath)
                 .workingPath(workingPath)
                 .validate(validate)
+                .mapperAggregationBufferSize(mapperAggregationBufferSize)
                 .inputMapperPairs(inputMapperPairs)
                 .outputPath(outputPath)
                 .jobInitialiser(jobInitialiser)
@@ -278,6 +295,11 @@ public class AddElementsFromHdfs implements
             return _self();
         }
 
+        public Builder mapperAggregationBufferSize(final Integer mapperAggregationBufferSize) {
+            _getOp().setMapperAggregationBufferSize(mapperAggregationBufferSize);
+            return _self();
+        }
+
         @Override
         public Builder inputMapperPairs(final Map<String, String> inputMapperPairs) {
             _getOp().setInputMapperPairs(inputMapperPairs);
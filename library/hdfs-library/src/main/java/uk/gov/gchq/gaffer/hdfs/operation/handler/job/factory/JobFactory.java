@@ -33,6 +33,7 @@ public interface JobFactory<O extends MapReduce> {
     String SCHEMA = "schema";
     String MAPPER_GENERATOR = "mapperGenerator";
     String VALIDATE = "validate";
+    String MAPPER_AGGREGATION_BUFFER_SIZE = "mapperAggregationBufferSize";
 
     /**
      * Creates a job with the store specific job initialisation and then applies the operation specific
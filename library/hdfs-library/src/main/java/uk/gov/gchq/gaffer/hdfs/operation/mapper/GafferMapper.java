@@ -28,6 +28,7 @@ import uk.gov.gchq.gaffer.store.schema.Schema;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 
+import static uk.gov.gchq.gaffer.hdfs.operation.handler.job.factory.AddElementsFromHdfsJobFactory.MAPPER_AGGREGATION_BUFFER_SIZE;
 import static uk.gov.gchq.gaffer.hdfs.operation.handler.job.factory.AddElementsFromHdfsJobFactory.MAPPER_GENERATOR;
 import static uk.gov.gchq.gaffer.hdfs.operation.handler.job.factory.AddElementsFromHdfsJobFactory.SCHEMA;
 import static uk.gov.gchq.gaffer.hdfs.operation.handler.job.factory.AddElementsFromHdfsJobFactory.VALIDATE;
@@ -37,6 +38,10 @@ import static uk.gov.gchq.gaffer.hdfs.operation.handler.job.factory.AddElementsF
  * {@link MapperGenerator} to map the input data into
  * {@link Element}s and then delegates the elements to an abstract map method to serialise them
  * and add them to the job map context.
+ * <p>
+ * If {@link uk.gov.gchq.gaffer.hdfs.operation.handler.job.factory.JobFactory#MAPPER_AGGREGATION_BUFFER_SIZE}
+ * is set then elements of aggregated groups are aggregated in an {@link IngestAggregationBuffer}
+ * before they are delegated, the buffer is flushed when it is full and when the mapper finishes.
  *
  * @param <KEY_IN>    type of input key
  * @param <VALUE_IN>  type of input value
@@ -48,6 +53,7 @@ public abstract class GafferMapper<KEY_IN, VALUE_IN, KEY_OUT, VALUE_OUT> extends
     private MapperGenerator<KEY_IN, VALUE_IN> mapperGenerator;
     private boolean doValidation;
     private ElementValidator elementValidator;
+    private IngestAggregationBuffer aggregationBuffer;
     protected Schema schema;
 
     @Override
@@ -66,13 +72,22 @@ public abstract class GafferMapper<KEY_IN, VALUE_IN, KEY_OUT, VALUE_OUT> extends
         } catch (final ClassNotFoundException | InstantiationException | IllegalAccessException e) {
             throw new IllegalArgumentException("Element generator could be created: " + generatorClass, e);
         }
+
+        final int aggregationBufferSize = context.getConfiguration().getInt(MAPPER_AGGREGATION_BUFFER_SIZE, 0);
+        if (aggregationBufferSize > 0) {
+            aggregationBuffer = new IngestAggregationBuffer(schema, aggregationBufferSize);
+        }
     }
 
     @Override
     protected void map(final KEY_IN keyIn, final VALUE_IN valueIn, final Context context) throws IOException, InterruptedException {
         for (final Element element : mapperGenerator.getElements(keyIn, valueIn, context)) {
             if (!doValidation || isValid(element)) {
-                map(element, context);
+                if (null == aggregationBuffer || !aggregationBuffer.add(element)) {
+                    map(element, context);
+                } else if (aggregationBuffer.isFull()) {
+                    flushAggregationBuffer(context);
+                }
             } else {
                 LOGGER.warn("Element {} did not validate.", element);
                 context.getCounter("Bulk import", "Invalid element count").increment(1L);
@@ -80,6 +95,24 @@ public abstract class GafferMapper<KEY_IN, VALUE_IN, KEY_OUT, VALUE_OUT> extends
         }
     }
 
+    @Override
+    protected void cleanup(final Context context) throws IOException, InterruptedException {
+        if (null != aggregationBuffer) {
+            flushAggregationBuffer(context);
+            context.getCounter("Bulk import", "Mapper aggregated element count").increment(aggregationBuffer.getAggregatedCount());
+        }
+        super.cleanup(context);
+    }
+
+    protected void flushAggregationBuffer(final Context context) throws IOException, InterruptedException {
+        if (!aggregationBuffer.isEmpty()) {
+            LOGGER.debug("Flushing {} elements from the aggregation buffer", aggregationBuffer.size());
+            for (final Element element : aggregationBuffer.flush()) {
+                map(element, context);
+            }
+        }
+    }
+
     protected boolean isValid(final Element element) {
         return elementValidator.validateWithSchema(element);
     }
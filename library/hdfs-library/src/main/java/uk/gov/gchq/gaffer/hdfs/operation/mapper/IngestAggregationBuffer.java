@@ -0,0 +1,143 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.hdfs.operation.mapper;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.util.AggregatorUtil;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+/**
+ * An {@code IngestAggregationBuffer} holds a bounded number of elements in memory
+ * and merges elements with the same ingest group-by key as they are added, so a
+ * {@link GafferMapper} outputs fewer elements to be sorted and shuffled.
+ * <p>
+ * Only elements of aggregated groups are buffered, {@link #add(Element)} returns
+ * false for other elements and they should be output directly. The buffer should
+ * be flushed when {@link #isFull()} returns true, which is either when it holds the
+ * maximum number of elements or when the free heap drops below the given fraction of
+ * the maximum heap size.
+ * <p>
+ * The buffer may modify the elements that are added to it, so elements must not be
+ * reused once they have been added.
+ */
+public class IngestAggregationBuffer {
+    public static final double DEFAULT_MIN_FREE_MEMORY_FRACTION = 0.1;
+    private static final int MEMORY_CHECK_INTERVAL = 1000;
+
+    private final Collection<String> aggregatedGroups;
+    private final Function<Element, Element> toKey;
+    private final BinaryOperator<Element> aggregator;
+    private final Map<Element, Element> elements = new HashMap<>();
+    private final int maxSize;
+    private final double minFreeMemoryFraction;
+    private int addsSinceMemoryCheck;
+    private boolean lowMemory;
+    private long aggregatedCount;
+
+    public IngestAggregationBuffer(final Schema schema, final int maxSize) {
+        this(schema, maxSize, DEFAULT_MIN_FREE_MEMORY_FRACTION);
+    }
+
+    public IngestAggregationBuffer(final Schema schema, final int maxSize, final double minFreeMemoryFraction) {
+        if (null == schema) {
+            throw new IllegalArgumentException("Schema is required");
+        }
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Max size must be at least 1");
+        }
+        this.aggregatedGroups = schema.getAggregatedGroups();
+        this.toKey = new AggregatorUtil.ToIngestElementKey(schema);
+        this.aggregator = new AggregatorUtil.IngestElementBinaryOperator(schema);
+        this.maxSize = maxSize;
+        this.minFreeMemoryFraction = minFreeMemoryFraction;
+    }
+
+    /**
+     * Adds an element to the buffer, merging it with any buffered element with the
+     * same ingest group-by key.
+     *
+     * @param element the element to add
+     * @return true if the element was buffered, false if its group is not aggregated
+     */
+    public boolean add(final Element element) {
+        if (null == element || !aggregatedGroups.contains(element.getGroup())) {
+            return false;
+        }
+
+        final Element key = toKey.apply(element);
+        final Element existing = elements.get(key);
+        if (null == existing) {
+            elements.put(key, element);
+        } else {
+            elements.put(key, aggregator.apply(existing, element));
+            aggregatedCount++;
+        }
+
+        if (++addsSinceMemoryCheck >= MEMORY_CHECK_INTERVAL) {
+            addsSinceMemoryCheck = 0;
+            lowMemory = isLowMemory();
+        }
+        return true;
+    }
+
+    public boolean isFull() {
+        return elements.size() >= maxSize || (lowMemory && !elements.isEmpty());
+    }
+
+    public boolean isEmpty() {
+        return elements.isEmpty();
+    }
+
+    public int size() {
+        return elements.size();
+    }
+
+    /**
+     * @return the number of elements that have been merged into a buffered element
+     * rather than being buffered separately
+     */
+    public long getAggregatedCount() {
+        return aggregatedCount;
+    }
+
+    /**
+     * Removes all the elements from the buffer.
+     *
+     * @return the buffered elements
+     */
+    public List<Element> flush() {
+        final List<Element> flushed = new ArrayList<>(elements.values());
+        elements.clear();
+        lowMemory = false;
+        addsSinceMemoryCheck = 0;
+        return flushed;
+    }
+
+    private boolean isLowMemory() {
+        final Runtime runtime = Runtime.getRuntime();
+        final long maxMemory = runtime.maxMemory();
+        final long freeMemory = runtime.freeMemory() + maxMemory - runtime.totalMemory();
+        return freeMemory < minFreeMemoryFraction * maxMemory;
+    }
+}
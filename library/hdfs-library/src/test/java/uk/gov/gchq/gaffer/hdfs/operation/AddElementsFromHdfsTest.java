@@ -103,10 +103,12 @@ public class AddElementsFromHdfsTest extends OperationTest<AddElementsFromHdfs>
                 .mappers(10)
                 .reducers(20)
                 .validate(true)
+                .mapperAggregationBufferSize(1000)
                 .option("testOption", "true")
                 .build();
         assertEquals("true", addElements.getOption("testOption"));
         assertTrue(addElements.isValidate());
+        assertEquals(new Integer(1000), addElements.getMapperAggregationBufferSize());
         assertEquals("fail", addElements.getFailurePath());
         assertEquals(new Integer(10), addElements.getNumMapTasks());
         assertEquals(new Integer(20), addElements.getNumReduceTasks());
@@ -128,6 +130,7 @@ public class AddElementsFromHdfsTest extends OperationTest<AddElementsFromHdfs>
                 .mappers(10)
                 .reducers(20)
                 .validate(true)
+                .mapperAggregationBufferSize(1000)
                 .option("testOption", "true")
                 .build();
 
@@ -138,6 +141,7 @@ public class AddElementsFromHdfsTest extends OperationTest<AddElementsFromHdfs>
         assertNotSame(addElements, clone);
         assertEquals("true", clone.getOption("testOption"));
         assertTrue(clone.isValidate());
+        assertEquals(new Integer(1000), clone.getMapperAggregationBufferSize());
         assertEquals("fail", clone.getFailurePath());
         assertEquals(new Integer(10), clone.getNumMapTasks());
         assertEquals(new Integer(20), clone.getNumReduceTasks());
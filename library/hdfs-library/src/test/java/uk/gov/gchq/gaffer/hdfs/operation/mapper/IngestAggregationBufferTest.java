@@ -0,0 +1,150 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.hdfs.operation.mapper;
+
+import com.google.common.collect.Sets;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.koryphe.impl.binaryoperator.StringConcat;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
+
+import java.util.HashSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class IngestAggregationBufferTest {
+
+    @Test
+    public void shouldAggregateElementsWithTheSameGroupByValues() {
+        // Given
+        final IngestAggregationBuffer buffer = new IngestAggregationBuffer(getSchema(), 100);
+
+        // When
+        buffer.add(createEntity("vertex", "a", 1L));
+        buffer.add(createEntity("vertex", "a", 2L));
+        buffer.add(createEntity("vertex", "b", 3L));
+        buffer.add(createEntity("vertex2", "a", 4L));
+
+        // Then
+        assertEquals(3, buffer.size());
+        assertEquals(1, buffer.getAggregatedCount());
+        assertEquals(Sets.newHashSet(
+                createEntity("vertex", "a", 3L),
+                createEntity("vertex", "b", 3L),
+                createEntity("vertex2", "a", 4L)
+        ), new HashSet<>(buffer.flush()));
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    public void shouldNotBufferElementsOfNonAggregatedGroups() {
+        // Given
+        final IngestAggregationBuffer buffer = new IngestAggregationBuffer(getSchema(), 100);
+        final Edge edge = new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("source")
+                .dest("dest")
+                .directed(true)
+                .property("count", 1L)
+                .build();
+
+        // When
+        final boolean buffered = buffer.add(edge);
+
+        // Then
+        assertFalse(buffered);
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    public void shouldBeFullWhenMaxSizeIsReached() {
+        // Given
+        final IngestAggregationBuffer buffer = new IngestAggregationBuffer(getSchema(), 2);
+
+        // When
+        buffer.add(createEntity("vertex1", "a", 1L));
+        buffer.add(createEntity("vertex1", "a", 1L));
+        final boolean fullAfterAggregating = buffer.isFull();
+        buffer.add(createEntity("vertex2", "a", 1L));
+
+        // Then
+        assertFalse(fullAfterAggregating);
+        assertTrue(buffer.isFull());
+        assertEquals(2, buffer.flush().size());
+        assertFalse(buffer.isFull());
+    }
+
+    @Test
+    public void shouldBeFullWhenFreeMemoryIsLow() {
+        // Given - every heap is below the minimum free memory fraction of 1
+        final IngestAggregationBuffer buffer = new IngestAggregationBuffer(getSchema(), Integer.MAX_VALUE, 1);
+
+        // When
+        for (int i = 0; i < 1000; i++) {
+            buffer.add(createEntity("vertex" + i, "a", 1L));
+        }
+
+        // Then
+        assertTrue(buffer.isFull());
+        buffer.flush();
+        assertFalse(buffer.isFull());
+    }
+
+    private Schema getSchema() {
+        return new Schema.Builder()
+                .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                        .vertex("string")
+                        .property("property1", "string")
+                        .property("count", "long")
+                        .groupBy("property1")
+                        .build())
+                .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
+                        .source("string")
+                        .destination("string")
+                        .directed("true")
+                        .property("count", "long")
+                        .aggregate(false)
+                        .build())
+                .type("string", new TypeDefinition.Builder()
+                        .clazz(String.class)
+                        .aggregateFunction(new StringConcat())
+                        .build())
+                .type("long", new TypeDefinition.Builder()
+                        .clazz(Long.class)
+                        .aggregateFunction(new Sum())
+                        .build())
+                .type("true", Boolean.class)
+                .build();
+    }
+
+    private Entity createEntity(final String vertex, final String property1, final long count) {
+        return new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .vertex(vertex)
+                .property("property1", property1)
+                .property("count", count)
+                .build();
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.sketches.operation.handler;
+
+import com.clearspring.analytics.stream.cardinality.HyperLogLogPlus;
+import com.yahoo.sketches.hll.HllSketch;
+import com.yahoo.sketches.hll.Union;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.pair.Pair;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.sketches.clearspring.cardinality.binaryoperator.HyperLogLogPlusAggregator;
+import uk.gov.gchq.gaffer.sketches.datasketches.cardinality.binaryoperator.HllSketchAggregator;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Utility methods for estimating cardinalities from the cardinality sketches
+ * held on {@link Entity}s. The supported sketches are
+ * {@link HyperLogLogPlus}, {@link HllSketch} and {@link Union}, which are
+ * merged using the {@link HyperLogLogPlusAggregator} and
+ * {@link HllSketchAggregator}.
+ */
+public final class CardinalitySketchUtil {
+    private static final HyperLogLogPlusAggregator HYPER_LOG_LOG_PLUS_AGGREGATOR = new HyperLogLogPlusAggregator();
+    private static final HllSketchAggregator HLL_SKETCH_AGGREGATOR = new HllSketchAggregator();
+
+    private CardinalitySketchUtil() {
+        // Private constructor to prevent instantiation.
+    }
+
+    /**
+     * Gets the cardinality sketches held on the entities for the given
+     * vertices.
+     * <p>
+     * If the group or property is null, the schema is searched for the entity
+     * groups and properties that hold a supported sketch. Exactly one must
+     * match.
+     *
+     * @param vertices the vertices to get the sketches for
+     * @param group    the entity group holding the sketch, or null
+     * @param property the property holding the sketch, or null
+     * @param context  the operation context
+     * @param store    the store to get the entities from
+     * @return the sketches for each vertex that has at least one sketch
+     * @throws OperationException if the sketch property cannot be found or the entities cannot be retrieved
+     */
+    public static Map<Object, List<Object>> getSketches(final Set<Object> vertices, final String group,
+                                                        final String property, final Context context,
+                                                        final Store store) throws OperationException {
+        final Map<Object, List<Object>> sketches = new HashMap<>();
+        if (vertices.isEmpty()) {
+            return sketches;
+        }
+
+        final Pair<String, String> sketchProperty = getSketchProperty(group, property, store);
+        final GetElements getElements = new GetElements.Builder()
+                .input(vertices.stream().map(EntitySeed::new).collect(Collectors.toList()))
+                .view(new View.Builder()
+                        .entity(sketchProperty.getFirst())
+                        .build())
+                .build();
+        try (final CloseableIterable<? extends Element> entities = store.execute(getElements, context)) {
+            if (null != entities) {
+                for (final Element element : entities) {
+                    if (element instanceof Entity) {
+                        final Object sketch = element.getProperty(sketchProperty.getSecond());
+                        if (null != sketch) {
+                            sketches.computeIfAbsent(((Entity) element).getVertex(), v -> new ArrayList<>()).add(sketch);
+                        }
+                    }
+                }
+            }
+        }
+        return sketches;
+    }
+
+    /**
+     * Merges the given sketches together. The sketches are not modified.
+     *
+     * @param sketches the sketches to merge
+     * @return the merged sketch, or null if there are no sketches
+     */
+    public static Object union(final Iterable<Object> sketches) {
+        Object result = null;
+        for (final Object sketch : sketches) {
+            if (null == result) {
+                result = copy(sketch);
+            } else if (result instanceof HyperLogLogPlus) {
+                // The result is a copy, so it can be modified by the aggregator
+                result = HYPER_LOG_LOG_PLUS_AGGREGATOR.apply((HyperLogLogPlus) result, (HyperLogLogPlus) sketch);
+            } else {
+                result = HLL_SKETCH_AGGREGATOR.apply((HllSketch) result, toHllSketch(sketch));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param sketch a cardinality sketch, or null
+     * @return the estimated cardinality of the sketch, or 0 if it is null
+     */
+    public static long getCardinality(final Object sketch) {
+        if (null == sketch) {
+            return 0L;
+        }
+        if (sketch instanceof HyperLogLogPlus) {
+            return ((HyperLogLogPlus) sketch).cardinality();
+        }
+        return Math.round(toHllSketch(sketch).getEstimate());
+    }
+
+    /**
+     * @param propertyClass the class of a property
+     * @return true if the class is a supported cardinality sketch
+     */
+    public static boolean isCardinalitySketch(final Class<?> propertyClass) {
+        return null != propertyClass
+                && (HyperLogLogPlus.class.isAssignableFrom(propertyClass)
+                || HllSketch.class.isAssignableFrom(propertyClass)
+                || Union.class.isAssignableFrom(propertyClass));
+    }
+
+    // Returns the entity group and the property that hold the sketch
+    private static Pair<String, String> getSketchProperty(final String group, final String property, final Store store)
+            throws OperationException {
+        final List<Pair<String, String>> matches = new ArrayList<>();
+        for (final Map.Entry<String, SchemaEntityDefinition> entry : store.getSchema().getEntities().entrySet()) {
+            if (null == group || group.equals(entry.getKey())) {
+                for (final String propertyName : entry.getValue().getProperties()) {
+                    if ((null == property || property.equals(propertyName))
+                            && isCardinalitySketch(entry.getValue().getPropertyClass(propertyName))) {
+                        matches.add(new Pair<>(entry.getKey(), propertyName));
+                    }
+                }
+            }
+        }
+
+        if (1 != matches.size()) {
+            throw new OperationException("Expected exactly 1 entity property holding a cardinality sketch for group "
+                    + group + " and property " + property + " but found " + matches.size()
+                    + ". Set the group and property of a HyperLogLogPlus, HllSketch or Union entity property.");
+        }
+        return matches.get(0);
+    }
+
+    private static Object copy(final Object sketch) {
+        if (sketch instanceof HyperLogLogPlus) {
+            try {
+                return HyperLogLogPlus.Builder.build(((HyperLogLogPlus) sketch).getBytes());
+            } catch (final IOException e) {
+                throw new RuntimeException("Unable to copy the HyperLogLogPlus sketch", e);
+            }
+        }
+        return toHllSketch(sketch);
+    }
+
+    // The aggregators do not modify HllSketches, so they do not need copying
+    private static HllSketch toHllSketch(final Object sketch) {
+        if (sketch instanceof Union) {
+            return ((Union) sketch).getResult();
+        }
+        return (HllSketch) sketch;
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.sketches.operation.handler;
+
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.EstimateDegrees;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An {@code EstimateDegreesHandler} handles {@link EstimateDegrees} operations.
+ * It estimates the degree of each input vertex from the cardinality sketches
+ * on its entities, without retrieving any edges.
+ */
+public class EstimateDegreesHandler implements OutputOperationHandler<EstimateDegrees, Map<Object, Long>> {
+    @Override
+    public Map<Object, Long> doOperation(final EstimateDegrees operation, final Context context, final Store store)
+            throws OperationException {
+        final Set<Object> vertices = new LinkedHashSet<>();
+        if (null != operation.getInput()) {
+            for (final EntityId entityId : operation.getInput()) {
+                vertices.add(entityId.getVertex());
+            }
+        }
+
+        final Map<Object, List<Object>> sketches = CardinalitySketchUtil.getSketches(vertices,
+                operation.getGroup(), operation.getProperty(), context, store);
+        final Map<Object, Long> degrees = new LinkedHashMap<>(vertices.size());
+        for (final Object vertex : vertices) {
+            final List<Object> vertexSketches = sketches.get(vertex);
+            degrees.put(vertex, null == vertexSketches ? 0L : CardinalitySketchUtil.getCardinality(CardinalitySketchUtil.union(vertexSketches)));
+        }
+        return degrees;
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.sketches.operation.handler;
+
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.EstimateNeighbourhoodCardinality;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * An {@code EstimateNeighbourhoodCardinalityHandler} handles
+ * {@link EstimateNeighbourhoodCardinality} operations. It merges the
+ * cardinality sketches on the entities of all of the input vertices and
+ * returns the estimated cardinality of the merged sketch, without retrieving
+ * any edges.
+ */
+public class EstimateNeighbourhoodCardinalityHandler implements OutputOperationHandler<EstimateNeighbourhoodCardinality, Long> {
+    @Override
+    public Long doOperation(final EstimateNeighbourhoodCardinality operation, final Context context, final Store store)
+            throws OperationException {
+        final Set<Object> vertices = new HashSet<>();
+        if (null != operation.getInput()) {
+            for (final EntityId entityId : operation.getInput()) {
+                vertices.add(entityId.getVertex());
+            }
+        }
+
+        final Map<Object, List<Object>> sketches = CardinalitySketchUtil.getSketches(vertices,
+                operation.getGroup(), operation.getProperty(), context, store);
+        return CardinalitySketchUtil.getCardinality(CardinalitySketchUtil.union(sketches.values().stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toList())));
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.sketches.operation.handler;
+
+import com.clearspring.analytics.stream.cardinality.HyperLogLogPlus;
+import org.junit.Before;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.EstimateDegrees;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+
+public class EstimateDegreesHandlerTest {
+    private static final String PROPERTY = "hllp";
+
+    private Store store;
+    private Context context;
+    private HyperLogLogPlus sketchA;
+
+    @Before
+    public void setup() throws OperationException {
+        store = mock(Store.class);
+        context = new Context(new User());
+        given(store.getSchema()).willReturn(createSchema(PROPERTY));
+
+        sketchA = createSketch("B", "C", "D");
+        final Element entityA1 = new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .vertex("A")
+                .property(PROPERTY, sketchA)
+                .build();
+        final Element entityA2 = new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .vertex("A")
+                .property(PROPERTY, createSketch("D", "E"))
+                .build();
+        final Element entityB = new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .vertex("B")
+                .property(PROPERTY, createSketch("A"))
+                .build();
+        given(store.execute(any(GetElements.class), eq(context)))
+                .willReturn((CloseableIterable) new WrappedCloseableIterable<>(Arrays.asList(entityA1, entityA2, entityB)));
+    }
+
+    @Test
+    public void shouldEstimateTheDegreeOfEachSeed() throws OperationException {
+        // Given
+        final EstimateDegrees operation = new EstimateDegrees.Builder()
+                .input(new EntitySeed("A"), new EntitySeed("B"), new EntitySeed("C"))
+                .group(TestGroups.ENTITY)
+                .property(PROPERTY)
+                .build();
+
+        // When
+        final Map<Object, Long> degrees = new EstimateDegreesHandler().doOperation(operation, context, store);
+
+        // Then
+        final Map<Object, Long> expected = new LinkedHashMap<>();
+        expected.put("A", 4L);
+        expected.put("B", 1L);
+        expected.put("C", 0L);
+        assertEquals(expected, degrees);
+        assertEquals(3L, sketchA.cardinality());
+    }
+
+    @Test
+    public void shouldFindTheSketchPropertyInTheSchema() throws OperationException {
+        // Given
+        final EstimateDegrees operation = new EstimateDegrees.Builder()
+                .input(new EntitySeed("B"))
+                .build();
+
+        // When
+        final Map<Object, Long> degrees = new EstimateDegreesHandler().doOperation(operation, context, store);
+
+        // Then
+        assertEquals(1L, (long) degrees.get("B"));
+    }
+
+    @Test
+    public void shouldFailIfTheSketchPropertyIsAmbiguous() {
+        // Given
+        given(store.getSchema()).willReturn(createSchema(PROPERTY, "otherHllp"));
+        final EstimateDegrees operation = new EstimateDegrees.Builder()
+                .input(new EntitySeed("A"))
+                .group(TestGroups.ENTITY)
+                .build();
+
+        // When / Then
+        try {
+            new EstimateDegreesHandler().doOperation(operation, context, store);
+            fail("Exception expected");
+        } catch (final OperationException e) {
+            assertTrue(e.getMessage().contains("found 2"));
+        }
+    }
+
+    static Schema createSchema(final String... sketchProperties) {
+        final SchemaEntityDefinition.Builder entityBuilder = new SchemaEntityDefinition.Builder()
+                .vertex("string");
+        for (final String sketchProperty : sketchProperties) {
+            entityBuilder.property(sketchProperty, "hllp");
+        }
+        return new Schema.Builder()
+                .entity(TestGroups.ENTITY, entityBuilder.build())
+                .type("string", String.class)
+                .type("hllp", HyperLogLogPlus.class)
+                .build();
+    }
+
+    static HyperLogLogPlus createSketch(final String... vertices) {
+        final HyperLogLogPlus sketch = new HyperLogLogPlus(10, 20);
+        for (final String vertex : vertices) {
+            sketch.offer(vertex);
+        }
+        return sketch;
+    }
+}
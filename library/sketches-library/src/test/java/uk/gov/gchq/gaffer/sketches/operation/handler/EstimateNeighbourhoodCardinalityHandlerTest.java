@@ -0,0 +1,105 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.sketches.operation.handler;
+
+import com.clearspring.analytics.stream.cardinality.HyperLogLogPlus;
+import org.junit.Before;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.EstimateNeighbourhoodCardinality;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+public class EstimateNeighbourhoodCardinalityHandlerTest {
+    private static final String PROPERTY = "hllp";
+
+    private Store store;
+    private Context context;
+    private HyperLogLogPlus sketchA;
+
+    @Before
+    public void setup() throws OperationException {
+        store = mock(Store.class);
+        context = new Context(new User());
+        given(store.getSchema()).willReturn(EstimateDegreesHandlerTest.createSchema(PROPERTY));
+
+        sketchA = EstimateDegreesHandlerTest.createSketch("B", "C", "D");
+        final Element entityA = new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .vertex("A")
+                .property(PROPERTY, sketchA)
+                .build();
+        final Element entityB = new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .vertex("B")
+                .property(PROPERTY, EstimateDegreesHandlerTest.createSketch("A", "C", "E"))
+                .build();
+        given(store.execute(any(GetElements.class), eq(context)))
+                .willReturn((CloseableIterable) new WrappedCloseableIterable<>(Arrays.asList(entityA, entityB)));
+    }
+
+    @Test
+    public void shouldEstimateTheCardinalityOfTheUnionOfTheNeighbourhoods() throws OperationException {
+        // Given
+        final EstimateNeighbourhoodCardinality operation = new EstimateNeighbourhoodCardinality.Builder()
+                .input(new EntitySeed("A"), new EntitySeed("B"), new EntitySeed("C"))
+                .group(TestGroups.ENTITY)
+                .property(PROPERTY)
+                .build();
+
+        // When
+        final Long cardinality = new EstimateNeighbourhoodCardinalityHandler().doOperation(operation, context, store);
+
+        // Then
+        assertEquals(5L, (long) cardinality);
+        assertEquals(3L, sketchA.cardinality());
+        verify(store).execute(any(GetElements.class), eq(context));
+    }
+
+    @Test
+    public void shouldReturnZeroWithoutQueryingTheStoreIfThereAreNoSeeds() throws OperationException {
+        // Given
+        final Store emptyStore = mock(Store.class);
+        final EstimateNeighbourhoodCardinality operation = new EstimateNeighbourhoodCardinality.Builder()
+                .build();
+
+        // When
+        final Long cardinality = new EstimateNeighbourhoodCardinalityHandler().doOperation(operation, context, emptyStore);
+
+        // Then
+        assertEquals(0L, (long) cardinality);
+        verifyZeroInteractions(emptyStore);
+    }
+}
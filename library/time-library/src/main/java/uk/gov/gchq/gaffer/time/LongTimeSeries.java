@@ -19,7 +19,6 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.google.common.collect.Sets;
-import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
 import uk.gov.gchq.gaffer.commonutil.CommonTimeUtil;
@@ -27,6 +26,7 @@ import uk.gov.gchq.gaffer.commonutil.CommonTimeUtil.TimeBucket;
 import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
 
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Set;
 import java.util.SortedMap;
@@ -50,6 +50,10 @@ import static uk.gov.gchq.gaffer.commonutil.CommonTimeUtil.TimeBucket.YEAR;
  * <code>MINUTE</code> is specified, and a timestamp of January 1st 2017, 12:34:56
  * is added then the seconds are removed so that the value is associated to
  * 12:34.
+ * <p>
+ * The buckets and values are held in sorted parallel arrays of primitive longs,
+ * so the time series can be updated and merged without boxing.
+ * </p>
  */
 public class LongTimeSeries implements TimeSeries<Long> {
     private static final Set<TimeBucket> VALID_TIME_BUCKETS = Sets.newHashSet(
@@ -63,8 +67,12 @@ public class LongTimeSeries implements TimeSeries<Long> {
             YEAR
     );
 
+    private static final int DEFAULT_CAPACITY = 8;
+
     private final TimeBucket timeBucket;
-    private final SortedMap<Long, Long> timeSeries = new TreeMap<>();
+    private long[] buckets = new long[DEFAULT_CAPACITY];
+    private long[] values = new long[DEFAULT_CAPACITY];
+    private int size;
 
     public LongTimeSeries(final TimeBucket timeBucket) {
         if (!VALID_TIME_BUCKETS.contains(timeBucket)) {
@@ -83,15 +91,25 @@ public class LongTimeSeries implements TimeSeries<Long> {
     /**
      * Puts the provided <code>value</code> into the time series associated to
      * the {@link Instant} <code>instant</code>. Note that this overwrites any
-     * previous value in that bucket.
+     * previous value in that bucket. The values are held as primitive longs,
+     * so a null value is rejected.
      *
      * @param instant The instant at which the value was observed.
      * @param value   The value observed at the instant.
+     * @throws IllegalArgumentException if the value is null.
      */
     @Override
     public void put(final Instant instant, final Long value) {
+        if (null == value) {
+            throw new IllegalArgumentException("A LongTimeSeries cannot hold a null value, instant: " + instant);
+        }
         final long bucket = toLong(timeBucket, instant.toEpochMilli());
-        timeSeries.put(bucket, value);
+        final int index = indexOf(bucket);
+        if (index >= 0) {
+            values[index] = value;
+        } else {
+            insert(-index - 1, bucket, value);
+        }
     }
 
     /**
@@ -104,7 +122,8 @@ public class LongTimeSeries implements TimeSeries<Long> {
     @JsonIgnore
     @Override
     public Long get(final Instant instant) {
-        return timeSeries.get(toLong(timeBucket, instant.toEpochMilli()));
+        final int index = indexOf(toLong(timeBucket, instant.toEpochMilli()));
+        return index >= 0 ? values[index] : null;
     }
 
     /**
@@ -118,8 +137,172 @@ public class LongTimeSeries implements TimeSeries<Long> {
      * @param count   The value observed at the instant.
      */
     public void upsert(final Instant instant, final long count) {
-        final long bucket = toLong(timeBucket, instant.toEpochMilli());
-        timeSeries.merge(bucket, count, (x, y) -> x + y);
+        upsert(instant.toEpochMilli(), count);
+    }
+
+    /**
+     * Adds the given <code>count</code> to the current value associated to the
+     * given timestamp, in milliseconds since the epoch. See
+     * {@link #upsert(Instant, long)}.
+     *
+     * @param timestamp The timestamp at which the value was observed.
+     * @param count     The value observed at the timestamp.
+     */
+    public void upsert(final long timestamp, final long count) {
+        upsertBucket(toLong(timeBucket, timestamp), count);
+    }
+
+    /**
+     * Adds all of the values in the provided time series to this time series.
+     * If both time series contain a value for the same bucket then the values
+     * are summed. The two sorted time series are merged in a single pass.
+     *
+     * @param other The time series to merge into this time series.
+     */
+    public void merge(final LongTimeSeries other) {
+        if (!timeBucket.equals(other.timeBucket)) {
+            throw new IllegalArgumentException("Can't merge two LongTimeSeries with different time buckets: "
+                    + timeBucket + " and " + other.timeBucket);
+        }
+        if (0 == other.size) {
+            return;
+        }
+        if (0 == size || buckets[size - 1] < other.buckets[0]) {
+            // Fast path - the other time series can just be appended
+            ensureCapacity(size + other.size);
+            System.arraycopy(other.buckets, 0, buckets, size, other.size);
+            System.arraycopy(other.values, 0, values, size, other.size);
+            size += other.size;
+            return;
+        }
+
+        final long[] mergedBuckets = new long[size + other.size];
+        final long[] mergedValues = new long[size + other.size];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < size && j < other.size) {
+            final long a = buckets[i];
+            final long b = other.buckets[j];
+            if (a < b) {
+                mergedBuckets[k] = a;
+                mergedValues[k++] = values[i++];
+            } else if (a > b) {
+                mergedBuckets[k] = b;
+                mergedValues[k++] = other.values[j++];
+            } else {
+                mergedBuckets[k] = a;
+                mergedValues[k++] = values[i++] + other.values[j++];
+            }
+        }
+        while (i < size) {
+            mergedBuckets[k] = buckets[i];
+            mergedValues[k++] = values[i++];
+        }
+        while (j < other.size) {
+            mergedBuckets[k] = other.buckets[j];
+            mergedValues[k++] = other.values[j++];
+        }
+
+        buckets = mergedBuckets;
+        values = mergedValues;
+        size = k;
+    }
+
+    /**
+     * Returns the start of the bucket at the given position in the time series,
+     * in milliseconds since the epoch.
+     *
+     * @param index The position in the time series, from 0 to
+     *              {@link #getNumberOfInstants()} - 1.
+     * @return The timestamp of the bucket.
+     */
+    public long getTimestamp(final int index) {
+        checkIndex(index);
+        return fromLong(timeBucket, buckets[index]);
+    }
+
+    /**
+     * Returns the bucket at the given position in the time series. Buckets are
+     * numbered from the epoch in units of the time bucket, except for the
+     * <code>WEEK</code>, <code>MONTH</code> and <code>YEAR</code> time buckets
+     * which are numbered in days.
+     *
+     * @param index The position in the time series, from 0 to
+     *              {@link #getNumberOfInstants()} - 1.
+     * @return The bucket.
+     */
+    public long getBucket(final int index) {
+        checkIndex(index);
+        return buckets[index];
+    }
+
+    /**
+     * Adds the given <code>count</code> to the current value associated to the
+     * given bucket, as returned by {@link #getBucket(int)}. Adding buckets in
+     * ascending order does not require any searching or copying.
+     *
+     * @param bucket The bucket.
+     * @param count  The value observed in the bucket.
+     */
+    public void upsertBucket(final long bucket, final long count) {
+        final int index = indexOf(bucket);
+        if (index >= 0) {
+            values[index] += count;
+        } else {
+            insert(-index - 1, bucket, count);
+        }
+    }
+
+    /**
+     * Returns a new time series containing the buckets of this time series
+     * that start within the given range. The range is found by binary search
+     * and the buckets and values are copied without boxing.
+     *
+     * @param startInclusive The start of the range, or null if the range has no start.
+     * @param endExclusive   The end of the range, or null if the range has no end.
+     * @return A new time series containing the buckets within the range.
+     */
+    public LongTimeSeries getTimeSeriesInRange(final Instant startInclusive, final Instant endExclusive) {
+        final int from = null == startInclusive
+                ? 0
+                : searchInsertionPoint(getFirstBucketStartingAtOrAfter(timeBucket, startInclusive.toEpochMilli()));
+        final int to = null == endExclusive
+                ? size
+                : searchInsertionPoint(getFirstBucketStartingAtOrAfter(timeBucket, endExclusive.toEpochMilli()));
+
+        final LongTimeSeries timeSeriesInRange = new LongTimeSeries(timeBucket);
+        if (from < to) {
+            timeSeriesInRange.ensureCapacity(to - from);
+            System.arraycopy(buckets, from, timeSeriesInRange.buckets, 0, to - from);
+            System.arraycopy(values, from, timeSeriesInRange.values, 0, to - from);
+            timeSeriesInRange.size = to - from;
+        }
+        return timeSeriesInRange;
+    }
+
+    /**
+     * Returns the first bucket, as returned by {@link #getBucket(int)}, that
+     * starts at or after the given timestamp.
+     *
+     * @param timeBucket The time bucket.
+     * @param timestamp  The timestamp, in milliseconds since the epoch.
+     * @return The first bucket starting at or after the timestamp.
+     */
+    public static long getFirstBucketStartingAtOrAfter(final TimeBucket timeBucket, final long timestamp) {
+        return -Math.floorDiv(-timestamp, fromLong(timeBucket, 1L));
+    }
+
+    /**
+     * Returns the value at the given position in the time series.
+     *
+     * @param index The position in the time series, from 0 to
+     *              {@link #getNumberOfInstants()} - 1.
+     * @return The value.
+     */
+    public long getValue(final int index) {
+        checkIndex(index);
+        return values[index];
     }
 
     /**
@@ -130,11 +313,9 @@ public class LongTimeSeries implements TimeSeries<Long> {
     @JsonIgnore
     public SortedSet<Instant> getInstants() {
         final SortedSet<Instant> instants = new TreeSet<>();
-        timeSeries
-                .keySet()
-                .stream()
-                .map(l -> getInstantFromLong(timeBucket, l))
-                .forEach(instants::add);
+        for (int i = 0; i < size; i++) {
+            instants.add(getInstantFromLong(timeBucket, buckets[i]));
+        }
         return instants;
     }
 
@@ -145,7 +326,7 @@ public class LongTimeSeries implements TimeSeries<Long> {
      */
     @JsonIgnore
     public int getNumberOfInstants() {
-        return timeSeries.size();
+        return size;
     }
 
     /**
@@ -157,7 +338,9 @@ public class LongTimeSeries implements TimeSeries<Long> {
      */
     public SortedMap<Instant, Long> getTimeSeries() {
         final SortedMap<Instant, Long> map = new TreeMap<>();
-        timeSeries.forEach((k, v) -> map.put(getInstantFromLong(timeBucket, k), v));
+        for (int i = 0; i < size; i++) {
+            map.put(getInstantFromLong(timeBucket, buckets[i]), values[i]);
+        }
         return map;
     }
 
@@ -170,7 +353,7 @@ public class LongTimeSeries implements TimeSeries<Long> {
         if (null == timeBucket) {
             throw new IllegalArgumentException("timeBucket should be configured before setting a timeSeries");
         }
-        this.timeSeries.clear();
+        size = 0;
         if (null != timeSeries) {
             timeSeries.forEach(this::put);
         }
@@ -191,28 +374,81 @@ public class LongTimeSeries implements TimeSeries<Long> {
 
         final LongTimeSeries that = (LongTimeSeries) obj;
 
-        return new EqualsBuilder()
-                .append(timeBucket, that.timeBucket)
-                .append(timeSeries, that.timeSeries)
-                .isEquals();
+        if (timeBucket != that.timeBucket || size != that.size) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (buckets[i] != that.buckets[i] || values[i] != that.values[i]) {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
     public int hashCode() {
-        return new HashCodeBuilder(21, 3)
-                .append(timeBucket)
-                .append(timeSeries)
-                .toHashCode();
+        final HashCodeBuilder builder = new HashCodeBuilder(21, 3)
+                .append(timeBucket);
+        for (int i = 0; i < size; i++) {
+            builder.append(buckets[i]).append(values[i]);
+        }
+        return builder.toHashCode();
     }
 
     @Override
     public String toString() {
         return new ToStringBuilder(this)
                 .append("timeBucket", timeBucket)
-                .append("timeSeries", timeSeries)
+                .append("timeSeries", toBucketMap())
                 .build();
     }
 
+    private Map<Long, Long> toBucketMap() {
+        final Map<Long, Long> map = new TreeMap<>();
+        for (int i = 0; i < size; i++) {
+            map.put(buckets[i], values[i]);
+        }
+        return map;
+    }
+
+    private int indexOf(final long bucket) {
+        // Values are usually added in time order so check the end first
+        if (0 == size || buckets[size - 1] < bucket) {
+            return -size - 1;
+        }
+        return Arrays.binarySearch(buckets, 0, size, bucket);
+    }
+
+    private int searchInsertionPoint(final long bucket) {
+        final int index = Arrays.binarySearch(buckets, 0, size, bucket);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    private void insert(final int index, final long bucket, final long value) {
+        ensureCapacity(size + 1);
+        if (index < size) {
+            System.arraycopy(buckets, index, buckets, index + 1, size - index);
+            System.arraycopy(values, index, values, index + 1, size - index);
+        }
+        buckets[index] = bucket;
+        values[index] = value;
+        size++;
+    }
+
+    private void ensureCapacity(final int capacity) {
+        if (capacity > buckets.length) {
+            final int newCapacity = Math.max(capacity, buckets.length << 1);
+            buckets = Arrays.copyOf(buckets, newCapacity);
+            values = Arrays.copyOf(values, newCapacity);
+        }
+    }
+
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
     private static long toLong(final TimeBucket timeBucket, final long time) {
         final long timeTruncatedToBucket = CommonTimeUtil.timeToBucket(time, timeBucket);
         switch (timeBucket) {
@@ -36,6 +36,7 @@ import java.util.HashSet;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.function.IntToLongFunction;
 import java.util.stream.Stream;
 
 import static uk.gov.gchq.gaffer.commonutil.CommonTimeUtil.TimeBucket;
@@ -55,6 +56,13 @@ import static uk.gov.gchq.gaffer.commonutil.CommonTimeUtil.TimeBucket;
  * a second then the maximum supported {@link Instant} is the maximum integer multiplied by 1000L milliseconds after
  * the epoch.
  * </p>
+ * <p>
+ * The timestamps within a time range can be counted, checked for and extracted directly from the
+ * {@link RoaringBitmap}, without creating an {@link Instant} for each timestamp, using
+ * {@link #getNumberOfTimestamps(Instant, Instant)}, {@link #containsTimestampInRange(Instant, Instant)}
+ * and {@link #getTimestampsInRange(Instant, Instant)}. A timestamp is within a range if its truncated value
+ * is on or after the start of the range and before the end of the range.
+ * </p>
  */
 @JsonDeserialize(builder = RBMBackedTimestampSet.Builder.class)
 public class RBMBackedTimestampSet implements TimestampSet {
@@ -110,6 +118,71 @@ public class RBMBackedTimestampSet implements TimestampSet {
         return rbm.getCardinality();
     }
 
+    /**
+     * Gets the number of timestamps within a time range.
+     *
+     * @param startInclusive the start of the range, or null if the range has no start
+     * @param endExclusive   the end of the range, or null if the range has no end
+     * @return the number of timestamps within the range
+     */
+    public long getNumberOfTimestamps(final Instant startInclusive, final Instant endExclusive) {
+        return countTimestampsInRange(rbm::rank, timeBucket, startInclusive, endExclusive);
+    }
+
+    /**
+     * Checks whether there is a timestamp within a time range.
+     *
+     * @param startInclusive the start of the range, or null if the range has no start
+     * @param endExclusive   the end of the range, or null if the range has no end
+     * @return true if there is at least one timestamp within the range
+     */
+    public boolean containsTimestampInRange(final Instant startInclusive, final Instant endExclusive) {
+        return getNumberOfTimestamps(startInclusive, endExclusive) > 0;
+    }
+
+    /**
+     * Gets a new {@code RBMBackedTimestampSet} containing the timestamps within a time range.
+     *
+     * @param startInclusive the start of the range, or null if the range has no start
+     * @param endExclusive   the end of the range, or null if the range has no end
+     * @return a new {@code RBMBackedTimestampSet} with the same time bucket, containing the timestamps within the range
+     */
+    public RBMBackedTimestampSet getTimestampsInRange(final Instant startInclusive, final Instant endExclusive) {
+        final RBMBackedTimestampSet timestampsInRange = new RBMBackedTimestampSet(timeBucket);
+        final long[] range = toIntRange(timeBucket, startInclusive, endExclusive);
+        if (range[0] < range[1]) {
+            final RoaringBitmap rangeRbm = new RoaringBitmap();
+            // The exclusive end of the range can be one more than the maximum int, so the maximum int is added separately
+            rangeRbm.add((int) range[0], (int) Math.min(range[1], Integer.MAX_VALUE));
+            if (range[1] > Integer.MAX_VALUE) {
+                rangeRbm.add(Integer.MAX_VALUE);
+            }
+            timestampsInRange.setRbm(RoaringBitmap.and(rbm, rangeRbm));
+        }
+        return timestampsInRange;
+    }
+
+    /**
+     * Counts the timestamps within a time range using the rank function of a bitmap of timestamps, i.e. a function
+     * returning the number of values in the bitmap that are less than or equal to a given value. This allows
+     * serialised timestamp sets to be queried using an immutable bitmap without deserialising them.
+     *
+     * @param rank           the rank function of the bitmap
+     * @param timeBucket     the time bucket of the timestamps in the bitmap
+     * @param startInclusive the start of the range, or null if the range has no start
+     * @param endExclusive   the end of the range, or null if the range has no end
+     * @return the number of timestamps within the range
+     */
+    public static long countTimestampsInRange(final IntToLongFunction rank, final TimeBucket timeBucket,
+                                              final Instant startInclusive, final Instant endExclusive) {
+        final long[] range = toIntRange(timeBucket, startInclusive, endExclusive);
+        if (range[0] >= range[1]) {
+            return 0L;
+        }
+        final long countBeforeStart = range[0] > 0 ? rank.applyAsLong((int) (range[0] - 1)) : 0L;
+        return rank.applyAsLong((int) (range[1] - 1)) - countBeforeStart;
+    }
+
     @Override
     public Instant getEarliest() {
         final IntIterator it = rbm.getIntIterator();
@@ -240,6 +313,23 @@ public class RBMBackedTimestampSet implements TimestampSet {
         }
     }
 
+    /**
+     * Converts a time range to the range of ints in the bitmap whose timestamps are within it.
+     *
+     * @return the inclusive start and exclusive end of the range of ints
+     */
+    private static long[] toIntRange(final TimeBucket timeBucket, final Instant startInclusive, final Instant endExclusive) {
+        final long millisInBucket = fromInt(timeBucket, 1);
+        final long maxIntExclusive = Integer.MAX_VALUE + 1L;
+        final long start = null == startInclusive
+                ? 0L
+                : Math.min(maxIntExclusive, Math.max(0L, -Math.floorDiv(-startInclusive.toEpochMilli(), millisInBucket)));
+        final long end = null == endExclusive
+                ? maxIntExclusive
+                : Math.min(maxIntExclusive, Math.max(0L, -Math.floorDiv(-endExclusive.toEpochMilli(), millisInBucket)));
+        return new long[]{start, end};
+    }
+
     private Instant getInstantFromInt(final int i) {
         return Instant.ofEpochMilli(fromInt(i));
     }
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.time.function;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+
+import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
+import uk.gov.gchq.gaffer.time.LongTimeSeries;
+import uk.gov.gchq.koryphe.function.KorypheFunction;
+
+import java.time.Instant;
+
+/**
+ * A {@code MaskLongTimeSeriesByTimeRange} is a {@link java.util.function.Function} that takes an
+ * {@link LongTimeSeries} and returns a new {@link LongTimeSeries} containing only the buckets that start
+ * within a time range. The start time is inclusive and the end time is exclusive, both are milliseconds since the
+ * epoch and if either is not set the range is unbounded.
+ */
+public class MaskLongTimeSeriesByTimeRange extends KorypheFunction<LongTimeSeries, LongTimeSeries> {
+    private Long startTime;
+    private Long endTime;
+
+    public MaskLongTimeSeriesByTimeRange() {
+        // Required for serialisation
+    }
+
+    public MaskLongTimeSeriesByTimeRange(final Long startTime, final Long endTime) {
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
+    public Long getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(final Long startTime) {
+        this.startTime = startTime;
+    }
+
+    public Long getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(final Long endTime) {
+        this.endTime = endTime;
+    }
+
+    @Override
+    public LongTimeSeries apply(final LongTimeSeries input) {
+        if (null == input) {
+            return null;
+        }
+
+        return input.getTimeSeriesInRange(
+                null == startTime ? null : Instant.ofEpochMilli(startTime),
+                null == endTime ? null : Instant.ofEpochMilli(endTime));
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (null == obj || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        final MaskLongTimeSeriesByTimeRange that = (MaskLongTimeSeriesByTimeRange) obj;
+
+        return new EqualsBuilder()
+                .append(startTime, that.startTime)
+                .append(endTime, that.endTime)
+                .isEquals();
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder(29, 71)
+                .append(startTime)
+                .append(endTime)
+                .toHashCode();
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("startTime", startTime)
+                .append("endTime", endTime)
+                .toString();
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.time.predicate;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+
+import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
+import uk.gov.gchq.gaffer.time.RBMBackedTimestampSet;
+import uk.gov.gchq.koryphe.predicate.KoryphePredicate;
+
+import java.time.Instant;
+
+/**
+ * An {@code RBMBackedTimestampSetInRange} is a {@link java.util.function.Predicate} that tests whether an
+ * {@link RBMBackedTimestampSet} has timestamps within a time range. The start time is inclusive and the end
+ * time is exclusive, both are milliseconds since the epoch and if either is not set the range is unbounded.
+ * <p>
+ * By default the predicate accepts a timestamp set with at least one timestamp within the range. If
+ * includeAllTimestamps is set the predicate only accepts a non-empty timestamp set with all of its
+ * timestamps within the range.
+ * <p>
+ * The timestamps are tested using the underlying bitmap, without creating an {@link Instant} for each timestamp.
+ */
+public class RBMBackedTimestampSetInRange extends KoryphePredicate<RBMBackedTimestampSet> {
+    private Long startTime;
+    private Long endTime;
+    private boolean includeAllTimestamps;
+
+    public RBMBackedTimestampSetInRange() {
+        // Required for serialisation
+    }
+
+    public RBMBackedTimestampSetInRange(final Long startTime, final Long endTime) {
+        this(startTime, endTime, false);
+    }
+
+    public RBMBackedTimestampSetInRange(final Long startTime, final Long endTime, final boolean includeAllTimestamps) {
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.includeAllTimestamps = includeAllTimestamps;
+    }
+
+    public Long getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(final Long startTime) {
+        this.startTime = startTime;
+    }
+
+    public Long getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(final Long endTime) {
+        this.endTime = endTime;
+    }
+
+    public boolean isIncludeAllTimestamps() {
+        return includeAllTimestamps;
+    }
+
+    public void setIncludeAllTimestamps(final boolean includeAllTimestamps) {
+        this.includeAllTimestamps = includeAllTimestamps;
+    }
+
+    @Override
+    public boolean test(final RBMBackedTimestampSet input) {
+        if (null == input) {
+            return false;
+        }
+
+        final Instant start = null == startTime ? null : Instant.ofEpochMilli(startTime);
+        final Instant end = null == endTime ? null : Instant.ofEpochMilli(endTime);
+        if (includeAllTimestamps) {
+            final long numberOfTimestamps = input.getNumberOfTimestamps();
+            return numberOfTimestamps > 0 && numberOfTimestamps == input.getNumberOfTimestamps(start, end);
+        }
+        return input.containsTimestampInRange(start, end);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (null == obj || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        final RBMBackedTimestampSetInRange that = (RBMBackedTimestampSetInRange) obj;
+
+        return new EqualsBuilder()
+                .append(startTime, that.startTime)
+                .append(endTime, that.endTime)
+                .append(includeAllTimestamps, that.includeAllTimestamps)
+                .isEquals();
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder(61, 37)
+                .append(startTime)
+                .append(endTime)
+                .append(includeAllTimestamps)
+                .toHashCode();
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("startTime", startTime)
+                .append("endTime", endTime)
+                .append("includeAllTimestamps", includeAllTimestamps)
+                .toString();
+    }
+}
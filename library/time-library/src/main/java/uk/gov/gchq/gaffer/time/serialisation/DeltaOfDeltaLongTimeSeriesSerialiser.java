@@ -0,0 +1,372 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.time.serialisation;
+
+import uk.gov.gchq.gaffer.commonutil.CommonTimeUtil.TimeBucket;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils;
+import uk.gov.gchq.gaffer.time.LongTimeSeries;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Instant;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Serialises a {@link LongTimeSeries} in a columnar form: all of the buckets
+ * are written first, followed by all of the values. The buckets are written as
+ * deltas of the deltas between consecutive buckets, so a regularly spaced time
+ * series is stored as a run of zeros that take up a single byte each. The values
+ * are written as the deltas between consecutive values. All numbers are written
+ * using the variable length encoding in {@link CompactRawSerialisationUtils}.
+ *
+ * <p>If <code>compress</code> is set then the columns are also compressed using
+ * a {@link Deflater} when they are larger than {@link #MIN_COMPRESSION_SIZE}
+ * bytes and compressing them makes them smaller.
+ *
+ * <p>The deltas are calculated using ordinary long arithmetic. If this overflows
+ * then the overflow is reversed when the deltas are added back together, so
+ * extreme values do not need to be handled separately.
+ *
+ * <p>Serialised time series can be merged using {@link #merge(byte[], byte[])}
+ * and sliced by time range using {@link #getTimeSeriesInRange(byte[], Instant, Instant)}.
+ * Both of these stream through the serialised forms in a single pass without
+ * creating a {@link LongTimeSeries}.
+ */
+public class DeltaOfDeltaLongTimeSeriesSerialiser implements ToBytesSerialiser<LongTimeSeries> {
+    public static final int MIN_COMPRESSION_SIZE = 64;
+    private static final long serialVersionUID = 3415306289186472163L;
+    private static final byte UNCOMPRESSED = 0;
+    private static final byte COMPRESSED = 1;
+
+    private boolean compress;
+
+    public DeltaOfDeltaLongTimeSeriesSerialiser() {
+        this(false);
+    }
+
+    public DeltaOfDeltaLongTimeSeriesSerialiser(final boolean compress) {
+        this.compress = compress;
+    }
+
+    public boolean isCompress() {
+        return compress;
+    }
+
+    public void setCompress(final boolean compress) {
+        this.compress = compress;
+    }
+
+    @Override
+    public boolean canHandle(final Class clazz) {
+        return LongTimeSeries.class.equals(clazz);
+    }
+
+    @Override
+    public byte[] serialise(final LongTimeSeries timeSeries) throws SerialisationException {
+        if (null == timeSeries) {
+            return EMPTY_BYTES;
+        }
+        final Encoder encoder = new Encoder(timeSeries.getTimeBucket());
+        final int numEntries = timeSeries.getNumberOfInstants();
+        for (int i = 0; i < numEntries; i++) {
+            encoder.add(timeSeries.getBucket(i), timeSeries.getValue(i));
+        }
+        return encoder.toByteArray(compress);
+    }
+
+    @Override
+    public LongTimeSeries deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
+        if (allBytes.length == 0 || length == 0) {
+            return null;
+        }
+        final Decoder decoder = new Decoder(allBytes, offset, length);
+        final LongTimeSeries timeSeries = new LongTimeSeries(decoder.getTimeBucket());
+        while (decoder.next()) {
+            timeSeries.upsertBucket(decoder.getBucket(), decoder.getValue());
+        }
+        return timeSeries;
+    }
+
+    @Override
+    public LongTimeSeries deserialise(final byte[] bytes) throws SerialisationException {
+        return deserialise(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public LongTimeSeries deserialiseEmpty() throws SerialisationException {
+        return null;
+    }
+
+    @Override
+    public boolean preservesObjectOrdering() {
+        return false;
+    }
+
+    @Override
+    public boolean isConsistent() {
+        return true;
+    }
+
+    /**
+     * Merges two serialised time series, summing the values of any buckets that
+     * are in both, in the same way as {@link LongTimeSeries#merge(LongTimeSeries)}.
+     *
+     * @param a the first serialised time series
+     * @param b the second serialised time series
+     * @return the serialised merged time series
+     * @throws SerialisationException if either time series could not be read
+     */
+    public byte[] merge(final byte[] a, final byte[] b) throws SerialisationException {
+        if (null == a || a.length == 0) {
+            return b;
+        }
+        if (null == b || b.length == 0) {
+            return a;
+        }
+
+        final Decoder decoderA = new Decoder(a, 0, a.length);
+        final Decoder decoderB = new Decoder(b, 0, b.length);
+        if (decoderA.getTimeBucket() != decoderB.getTimeBucket()) {
+            throw new IllegalArgumentException("Can't merge two LongTimeSeries with different time buckets: "
+                    + decoderA.getTimeBucket() + " and " + decoderB.getTimeBucket());
+        }
+
+        final Encoder encoder = new Encoder(decoderA.getTimeBucket());
+        boolean hasA = decoderA.next();
+        boolean hasB = decoderB.next();
+        while (hasA && hasB) {
+            if (decoderA.getBucket() < decoderB.getBucket()) {
+                encoder.add(decoderA.getBucket(), decoderA.getValue());
+                hasA = decoderA.next();
+            } else if (decoderA.getBucket() > decoderB.getBucket()) {
+                encoder.add(decoderB.getBucket(), decoderB.getValue());
+                hasB = decoderB.next();
+            } else {
+                encoder.add(decoderA.getBucket(), decoderA.getValue() + decoderB.getValue());
+                hasA = decoderA.next();
+                hasB = decoderB.next();
+            }
+        }
+        while (hasA) {
+            encoder.add(decoderA.getBucket(), decoderA.getValue());
+            hasA = decoderA.next();
+        }
+        while (hasB) {
+            encoder.add(decoderB.getBucket(), decoderB.getValue());
+            hasB = decoderB.next();
+        }
+        return encoder.toByteArray(compress);
+    }
+
+    /**
+     * Gets the buckets of a serialised time series that start within a time range,
+     * in the same way as {@link LongTimeSeries#getTimeSeriesInRange(Instant, Instant)}.
+     *
+     * @param bytes          the serialised time series
+     * @param startInclusive the start of the range, or null if the range has no start
+     * @param endExclusive   the end of the range, or null if the range has no end
+     * @return the serialised time series containing the buckets within the range
+     * @throws SerialisationException if the time series could not be read
+     */
+    public byte[] getTimeSeriesInRange(final byte[] bytes, final Instant startInclusive, final Instant endExclusive)
+            throws SerialisationException {
+        if (null == bytes || bytes.length == 0) {
+            return bytes;
+        }
+
+        final Decoder decoder = new Decoder(bytes, 0, bytes.length);
+        final TimeBucket timeBucket = decoder.getTimeBucket();
+        final long start = null == startInclusive
+                ? Long.MIN_VALUE
+                : LongTimeSeries.getFirstBucketStartingAtOrAfter(timeBucket, startInclusive.toEpochMilli());
+        final long end = null == endExclusive
+                ? Long.MAX_VALUE
+                : LongTimeSeries.getFirstBucketStartingAtOrAfter(timeBucket, endExclusive.toEpochMilli());
+
+        final Encoder encoder = new Encoder(timeBucket);
+        while (decoder.next() && decoder.getBucket() < end) {
+            if (decoder.getBucket() >= start) {
+                encoder.add(decoder.getBucket(), decoder.getValue());
+            }
+        }
+        return encoder.toByteArray(compress);
+    }
+
+    private static final class Encoder {
+        private final TimeBucket timeBucket;
+        private final ByteArrayOutputStream buckets = new ByteArrayOutputStream();
+        private final ByteArrayOutputStream values = new ByteArrayOutputStream();
+        private int numEntries;
+        private long previousBucket;
+        private long previousDelta;
+        private long previousValue;
+
+        private Encoder(final TimeBucket timeBucket) {
+            this.timeBucket = timeBucket;
+        }
+
+        private void add(final long bucket, final long value) throws SerialisationException {
+            if (0 == numEntries) {
+                CompactRawSerialisationUtils.write(bucket, buckets);
+            } else {
+                final long delta = bucket - previousBucket;
+                CompactRawSerialisationUtils.write(delta - previousDelta, buckets);
+                previousDelta = delta;
+            }
+            previousBucket = bucket;
+            CompactRawSerialisationUtils.write(value - previousValue, values);
+            previousValue = value;
+            numEntries++;
+        }
+
+        private byte[] toByteArray(final boolean compress) throws SerialisationException {
+            final ByteArrayOutputStream columns = new ByteArrayOutputStream(buckets.size() + values.size() + 9);
+            CompactRawSerialisationUtils.write(buckets.size(), columns);
+            columns.write(buckets.toByteArray(), 0, buckets.size());
+            columns.write(values.toByteArray(), 0, values.size());
+            byte[] body = columns.toByteArray();
+            byte mode = UNCOMPRESSED;
+            if (compress && body.length > MIN_COMPRESSION_SIZE) {
+                final byte[] compressed = deflate(body);
+                if (compressed.length < body.length) {
+                    body = compressed;
+                    mode = COMPRESSED;
+                }
+            }
+
+            final ByteArrayOutputStream out = new ByteArrayOutputStream(body.length + 12);
+            CompactRawSerialisationUtils.write(timeBucket.ordinal(), out);
+            CompactRawSerialisationUtils.write(numEntries, out);
+            out.write(mode);
+            out.write(body, 0, body.length);
+            return out.toByteArray();
+        }
+
+        private static byte[] deflate(final byte[] body) throws SerialisationException {
+            final Deflater deflater = new Deflater();
+            try {
+                deflater.setInput(body);
+                deflater.finish();
+                final ByteArrayOutputStream out = new ByteArrayOutputStream(body.length);
+                CompactRawSerialisationUtils.write(body.length, out);
+                final byte[] buffer = new byte[1024];
+                while (!deflater.finished()) {
+                    final int count = deflater.deflate(buffer);
+                    out.write(buffer, 0, count);
+                }
+                return out.toByteArray();
+            } finally {
+                deflater.end();
+            }
+        }
+    }
+
+    private static final class Decoder {
+        private final TimeBucket timeBucket;
+        private final int numEntries;
+        private final byte[] bytes;
+        private int bucketPosition;
+        private int valuePosition;
+        private int index;
+        private long bucket;
+        private long delta;
+        private long value;
+
+        private Decoder(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
+            final int end = offset + length;
+            int position = offset;
+            final int bucketInt = (int) CompactRawSerialisationUtils.readLong(allBytes, position);
+            position += CompactRawSerialisationUtils.decodeVIntSize(allBytes[position]);
+            final long numEntriesLong = CompactRawSerialisationUtils.readLong(allBytes, position);
+            position += CompactRawSerialisationUtils.decodeVIntSize(allBytes[position]);
+            if (bucketInt < 0 || bucketInt >= TimeBucket.values().length || numEntriesLong < 0 || position >= end) {
+                throw new SerialisationException("Invalid serialised LongTimeSeries");
+            }
+            timeBucket = TimeBucket.values()[bucketInt];
+            numEntries = (int) numEntriesLong;
+
+            final byte mode = allBytes[position++];
+            if (COMPRESSED == mode) {
+                bytes = inflate(allBytes, position, end);
+                position = 0;
+            } else {
+                bytes = allBytes;
+            }
+            final long bucketsLength = CompactRawSerialisationUtils.readLong(bytes, position);
+            bucketPosition = position + CompactRawSerialisationUtils.decodeVIntSize(bytes[position]);
+            valuePosition = bucketPosition + (int) bucketsLength;
+        }
+
+        private TimeBucket getTimeBucket() {
+            return timeBucket;
+        }
+
+        private long getBucket() {
+            return bucket;
+        }
+
+        private long getValue() {
+            return value;
+        }
+
+        private boolean next() throws SerialisationException {
+            if (index >= numEntries) {
+                return false;
+            }
+            final long bucketDelta = CompactRawSerialisationUtils.readLong(bytes, bucketPosition);
+            bucketPosition += CompactRawSerialisationUtils.decodeVIntSize(bytes[bucketPosition]);
+            if (0 == index) {
+                bucket = bucketDelta;
+            } else {
+                delta += bucketDelta;
+                bucket += delta;
+            }
+            value += CompactRawSerialisationUtils.readLong(bytes, valuePosition);
+            valuePosition += CompactRawSerialisationUtils.decodeVIntSize(bytes[valuePosition]);
+            index++;
+            return true;
+        }
+
+        private static byte[] inflate(final byte[] allBytes, final int offset, final int end) throws SerialisationException {
+            final long bodyLength = CompactRawSerialisationUtils.readLong(allBytes, offset);
+            final int position = offset + CompactRawSerialisationUtils.decodeVIntSize(allBytes[offset]);
+            if (bodyLength < 0 || bodyLength > Integer.MAX_VALUE) {
+                throw new SerialisationException("Invalid serialised LongTimeSeries");
+            }
+            final byte[] body = new byte[(int) bodyLength];
+            final Inflater inflater = new Inflater();
+            try {
+                inflater.setInput(allBytes, position, end - position);
+                int length = 0;
+                while (length < body.length) {
+                    final int count = inflater.inflate(body, length, body.length - length);
+                    if (0 == count && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+                        throw new SerialisationException("Invalid compressed LongTimeSeries");
+                    }
+                    length += count;
+                }
+            } catch (final DataFormatException e) {
+                throw new SerialisationException("Invalid compressed LongTimeSeries", e);
+            } finally {
+                inflater.end();
+            }
+            return body;
+        }
+    }
+}
@@ -16,6 +16,7 @@
 package uk.gov.gchq.gaffer.time.serialisation;
 
 import org.roaringbitmap.RoaringBitmap;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
 
 import uk.gov.gchq.gaffer.bitmap.serialisation.utils.RoaringBitmapUtils;
 import uk.gov.gchq.gaffer.commonutil.CommonTimeUtil.TimeBucket;
@@ -29,6 +30,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
 
 /**
  * A {@code RBMBackedTimestampSetSerialiser} serialises a {@link RBMBackedTimestampSet} to an array of bytes.
@@ -42,6 +45,9 @@ import java.io.IOException;
  * <li> When the time bucket is a second and every second in a single year is added then the serialised size is
  * approximately 4,000,000 bytes.
  * </ul>
+ * <p>The timestamps of a serialised {@link RBMBackedTimestampSet} within a time range can be counted without
+ * deserialising it using {@link #getNumberOfTimestamps(ByteBuffer, Instant, Instant)}, which reads the bitmap in place
+ * using an {@link ImmutableRoaringBitmap}. The buffer can therefore be a memory mapped file.
  */
 public class RBMBackedTimestampSetSerialiser implements ToBytesSerialiser<RBMBackedTimestampSet> {
     private static final long serialVersionUID = -5820977643949438174L;
@@ -91,6 +97,52 @@ public class RBMBackedTimestampSetSerialiser implements ToBytesSerialiser<RBMBac
         return rbmBackedTimestampSet;
     }
 
+    /**
+     * Counts the timestamps of a serialised {@link RBMBackedTimestampSet} that are within a time range, without
+     * deserialising it.
+     *
+     * @param buffer         the buffer containing the serialised {@link RBMBackedTimestampSet}, from its position to
+     *                       its limit. The position of the buffer is not changed.
+     * @param startInclusive the start of the range, or null if the range has no start
+     * @param endExclusive   the end of the range, or null if the range has no end
+     * @return the number of timestamps within the range
+     * @throws SerialisationException if the bitmap could not be read
+     * @see RBMBackedTimestampSet#getNumberOfTimestamps(Instant, Instant)
+     */
+    public long getNumberOfTimestamps(final ByteBuffer buffer, final Instant startInclusive, final Instant endExclusive)
+            throws SerialisationException {
+        if (!buffer.hasRemaining()) {
+            return 0L;
+        }
+        final int numBytesForInt = CompactRawSerialisationUtils.decodeVIntSize(buffer.get(buffer.position()));
+        final byte[] bucketBytes = new byte[numBytesForInt];
+        final ByteBuffer bitmapBuffer = buffer.duplicate();
+        bitmapBuffer.get(bucketBytes);
+        final TimeBucket bucket = TimeBucket.values()[(int) CompactRawSerialisationUtils.readLong(bucketBytes)];
+
+        final ImmutableRoaringBitmap rbm = new ImmutableRoaringBitmap(
+                RoaringBitmapUtils.upConvertSerialisedForm(bitmapBuffer.slice()));
+        return RBMBackedTimestampSet.countTimestampsInRange(rbm::rank, bucket, startInclusive, endExclusive);
+    }
+
+    /**
+     * Counts the timestamps of a serialised {@link RBMBackedTimestampSet} that are within a time range, without
+     * deserialising it.
+     *
+     * @param allBytes       the bytes containing the serialised {@link RBMBackedTimestampSet}
+     * @param offset         the offset of the serialised {@link RBMBackedTimestampSet}
+     * @param length         the length of the serialised {@link RBMBackedTimestampSet}
+     * @param startInclusive the start of the range, or null if the range has no start
+     * @param endExclusive   the end of the range, or null if the range has no end
+     * @return the number of timestamps within the range
+     * @throws SerialisationException if the bitmap could not be read
+     */
+    public long getNumberOfTimestamps(final byte[] allBytes, final int offset, final int length,
+                                      final Instant startInclusive, final Instant endExclusive)
+            throws SerialisationException {
+        return getNumberOfTimestamps(ByteBuffer.wrap(allBytes, offset, length), startInclusive, endExclusive);
+    }
+
     @Override
     public RBMBackedTimestampSet deserialise(final byte[] bytes) throws SerialisationException {
         return deserialise(bytes, 0, bytes.length);
@@ -253,6 +253,91 @@ public class LongTimeSeriesTest extends JSONSerialisationTest<LongTimeSeries> {
         }
     }
 
+    @Test
+    public void testMerge() {
+        // Given
+        final LongTimeSeries timeSeries1 = new LongTimeSeries(TimeBucket.SECOND);
+        timeSeries1.upsert(Instant.ofEpochMilli(1000L), 1L);
+        timeSeries1.upsert(Instant.ofEpochMilli(3000L), 3L);
+        final LongTimeSeries timeSeries2 = new LongTimeSeries(TimeBucket.SECOND);
+        timeSeries2.upsert(Instant.ofEpochMilli(2000L), 20L);
+        timeSeries2.upsert(Instant.ofEpochMilli(3000L), 30L);
+        timeSeries2.upsert(Instant.ofEpochMilli(4000L), 40L);
+
+        // When
+        timeSeries1.merge(timeSeries2);
+
+        // Then
+        final Map<Instant, Long> expected = new HashMap<>();
+        expected.put(Instant.ofEpochMilli(1000L), 1L);
+        expected.put(Instant.ofEpochMilli(2000L), 20L);
+        expected.put(Instant.ofEpochMilli(3000L), 33L);
+        expected.put(Instant.ofEpochMilli(4000L), 40L);
+        assertEquals(expected, timeSeries1.getTimeSeries());
+        assertEquals(4, timeSeries1.getNumberOfInstants());
+    }
+
+    @Test
+    public void testGetTimestampAndValueByIndex() {
+        // Given
+        final LongTimeSeries timeSeries = new LongTimeSeries(TimeBucket.MINUTE);
+        timeSeries.upsert(1000L * 60 * 5 + 1, 5L);
+        timeSeries.upsert(1000L * 60 + 1, 1L);
+
+        // Then
+        assertEquals(1000L * 60, timeSeries.getTimestamp(0));
+        assertEquals(1L, timeSeries.getValue(0));
+        assertEquals(1000L * 60 * 5, timeSeries.getTimestamp(1));
+        assertEquals(5L, timeSeries.getValue(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMergeWithDifferentTimeBucketsFails() {
+        new LongTimeSeries(TimeBucket.SECOND).merge(new LongTimeSeries(TimeBucket.MINUTE));
+    }
+
+    @Test
+    public void shouldRejectNullValueOnPut() {
+        // Given
+        final LongTimeSeries timeSeries = new LongTimeSeries(TimeBucket.SECOND);
+
+        // When / Then
+        try {
+            timeSeries.put(Instant.ofEpochMilli(1000L), null);
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertNotNull(e.getMessage());
+        }
+        assertEquals(0, timeSeries.getNumberOfInstants());
+    }
+
+    @Test
+    public void testGetTimeSeriesInRange() {
+        // Given
+        final LongTimeSeries timeSeries = new LongTimeSeries(TimeBucket.MINUTE);
+        IntStream.range(0, 10)
+                .forEach(i -> timeSeries.upsert(Instant.ofEpochMilli(1000L * 60 * i), i));
+
+        // When
+        final LongTimeSeries inRange = timeSeries.getTimeSeriesInRange(Instant.ofEpochMilli(1000L * 60 * 2), Instant.ofEpochMilli(1000L * 60 * 5));
+        final LongTimeSeries roundedStart = timeSeries.getTimeSeriesInRange(Instant.ofEpochMilli(1000L * 60 * 2 + 1), Instant.ofEpochMilli(1000L * 60 * 5));
+        final LongTimeSeries noStart = timeSeries.getTimeSeriesInRange(null, Instant.ofEpochMilli(1000L * 60 * 2));
+        final LongTimeSeries noEnd = timeSeries.getTimeSeriesInRange(Instant.ofEpochMilli(1000L * 60 * 8), null);
+        final LongTimeSeries empty = timeSeries.getTimeSeriesInRange(Instant.ofEpochMilli(1000L * 60 * 20), null);
+
+        // Then
+        final LongTimeSeries expected = new LongTimeSeries(TimeBucket.MINUTE);
+        expected.upsert(1000L * 60 * 2, 2L);
+        expected.upsert(1000L * 60 * 3, 3L);
+        expected.upsert(1000L * 60 * 4, 4L);
+        assertEquals(expected, inRange);
+        assertEquals(2, roundedStart.getNumberOfInstants());
+        assertEquals(2, noStart.getNumberOfInstants());
+        assertEquals(2, noEnd.getNumberOfInstants());
+        assertEquals(0, empty.getNumberOfInstants());
+        assertEquals(10, timeSeries.getNumberOfInstants());
+    }
+
     @Override
     protected LongTimeSeries getTestObject() {
         final LongTimeSeries timeSeries = new LongTimeSeries(TimeBucket.SECOND);
@@ -111,6 +111,65 @@ public class RBMBackedTimestampSetTest extends JSONSerialisationTest<RBMBackedTi
         assertEquals(4, numberOfTimestamps);
     }
 
+    @Test
+    public void testGetNumberOfTimestampsInRange() {
+        // Given
+        final RBMBackedTimestampSet timestampSet = new RBMBackedTimestampSet(TimeBucket.SECOND);
+        IntStream.range(0, 10)
+                .forEach(i -> timestampSet.add(Instant.ofEpochMilli(i * 10000L)));
+
+        // When / Then
+        assertEquals(10, timestampSet.getNumberOfTimestamps(null, null));
+        assertEquals(3, timestampSet.getNumberOfTimestamps(Instant.ofEpochMilli(20000L), Instant.ofEpochMilli(50000L)));
+        // The start of the range is rounded up to the next time bucket
+        assertEquals(2, timestampSet.getNumberOfTimestamps(Instant.ofEpochMilli(20001L), Instant.ofEpochMilli(50000L)));
+        // The end of the range is exclusive, but a timestamp truncated to before the end is included
+        assertEquals(3, timestampSet.getNumberOfTimestamps(Instant.ofEpochMilli(20000L), Instant.ofEpochMilli(40001L)));
+        assertEquals(5, timestampSet.getNumberOfTimestamps(Instant.ofEpochMilli(50000L), null));
+        assertEquals(5, timestampSet.getNumberOfTimestamps(null, Instant.ofEpochMilli(50000L)));
+        assertEquals(0, timestampSet.getNumberOfTimestamps(Instant.ofEpochMilli(50000L), Instant.ofEpochMilli(50000L)));
+        assertEquals(0, timestampSet.getNumberOfTimestamps(Instant.ofEpochMilli(100000L), null));
+        assertEquals(0, timestampSet.getNumberOfTimestamps(null, Instant.ofEpochMilli(-1000L)));
+    }
+
+    @Test
+    public void testContainsTimestampInRange() {
+        // Given
+        final RBMBackedTimestampSet timestampSet = new RBMBackedTimestampSet(TimeBucket.MINUTE);
+        timestampSet.add(instant1);
+
+        // When / Then
+        assertTrue(timestampSet.containsTimestampInRange(instant1.minus(Duration.ofMinutes(1L)), instant1.plus(Duration.ofMinutes(1L))));
+        assertFalse(timestampSet.containsTimestampInRange(instant1.plus(Duration.ofMinutes(1L)), null));
+        assertFalse(timestampSet.containsTimestampInRange(null, instant1.minus(Duration.ofMinutes(1L))));
+    }
+
+    @Test
+    public void testGetTimestampsInRange() {
+        // Given
+        final RBMBackedTimestampSet timestampSet = new RBMBackedTimestampSet(TimeBucket.SECOND);
+        IntStream.range(0, 10)
+                .forEach(i -> timestampSet.add(Instant.ofEpochMilli(i * 10000L)));
+
+        // When
+        final RBMBackedTimestampSet timestampsInRange = timestampSet.getTimestampsInRange(Instant.ofEpochMilli(20000L), Instant.ofEpochMilli(50000L));
+        final RBMBackedTimestampSet timestampsFromStart = timestampSet.getTimestampsInRange(Instant.ofEpochMilli(70000L), null);
+
+        // Then
+        final RBMBackedTimestampSet expected = new RBMBackedTimestampSet(TimeBucket.SECOND);
+        expected.add(Instant.ofEpochMilli(20000L));
+        expected.add(Instant.ofEpochMilli(30000L));
+        expected.add(Instant.ofEpochMilli(40000L));
+        assertEquals(expected, timestampsInRange);
+
+        final RBMBackedTimestampSet expectedFromStart = new RBMBackedTimestampSet(TimeBucket.SECOND);
+        expectedFromStart.add(Instant.ofEpochMilli(70000L));
+        expectedFromStart.add(Instant.ofEpochMilli(80000L));
+        expectedFromStart.add(Instant.ofEpochMilli(90000L));
+        assertEquals(expectedFromStart, timestampsFromStart);
+        assertEquals(10, timestampSet.getNumberOfTimestamps());
+    }
+
     @Test
     public void testEqualsAndHashcode() {
         // Given
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.time.function;
+
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.CommonTimeUtil.TimeBucket;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.time.LongTimeSeries;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class MaskLongTimeSeriesByTimeRangeTest {
+
+    @Test
+    public void shouldMaskLongTimeSeriesByTimeRange() {
+        // Given
+        final LongTimeSeries timeSeries = new LongTimeSeries(TimeBucket.SECOND);
+        timeSeries.upsert(10000L, 1L);
+        timeSeries.upsert(20000L, 2L);
+        timeSeries.upsert(30000L, 3L);
+        final MaskLongTimeSeriesByTimeRange function = new MaskLongTimeSeriesByTimeRange(15000L, 35000L);
+
+        // When
+        final LongTimeSeries masked = function.apply(timeSeries);
+
+        // Then
+        final LongTimeSeries expected = new LongTimeSeries(TimeBucket.SECOND);
+        expected.upsert(20000L, 2L);
+        expected.upsert(30000L, 3L);
+        assertEquals(expected, masked);
+        assertNull(function.apply(null));
+    }
+
+    @Test
+    public void shouldJsonSerialiseAndDeserialise() throws SerialisationException {
+        // Given
+        final MaskLongTimeSeriesByTimeRange function = new MaskLongTimeSeriesByTimeRange(null, 10000L);
+
+        // When
+        final byte[] json = JSONSerialiser.serialise(function);
+        final MaskLongTimeSeriesByTimeRange deserialised = JSONSerialiser.deserialise(json, MaskLongTimeSeriesByTimeRange.class);
+
+        // Then
+        assertEquals(function, deserialised);
+    }
+}
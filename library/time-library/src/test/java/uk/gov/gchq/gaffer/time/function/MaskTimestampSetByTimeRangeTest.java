@@ -0,0 +1,64 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.time.function;
+
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.CommonTimeUtil.TimeBucket;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.time.RBMBackedTimestampSet;
+
+import java.time.Instant;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class MaskTimestampSetByTimeRangeTest {
+
+    @Test
+    public void shouldMaskTimestampSetByTimeRange() {
+        // Given
+        final RBMBackedTimestampSet timestampSet = new RBMBackedTimestampSet(TimeBucket.SECOND);
+        timestampSet.add(Instant.ofEpochMilli(10000L));
+        timestampSet.add(Instant.ofEpochMilli(20000L));
+        timestampSet.add(Instant.ofEpochMilli(30000L));
+        final MaskTimestampSetByTimeRange function = new MaskTimestampSetByTimeRange(15000L, 35000L);
+
+        // When
+        final RBMBackedTimestampSet masked = function.apply(timestampSet);
+
+        // Then
+        final RBMBackedTimestampSet expected = new RBMBackedTimestampSet(TimeBucket.SECOND);
+        expected.add(Instant.ofEpochMilli(20000L));
+        expected.add(Instant.ofEpochMilli(30000L));
+        assertEquals(expected, masked);
+        assertNull(function.apply(null));
+    }
+
+    @Test
+    public void shouldJsonSerialiseAndDeserialise() throws SerialisationException {
+        // Given
+        final MaskTimestampSetByTimeRange function = new MaskTimestampSetByTimeRange(10000L, null);
+
+        // When
+        final byte[] json = JSONSerialiser.serialise(function);
+        final MaskTimestampSetByTimeRange deserialised = JSONSerialiser.deserialise(json, MaskTimestampSetByTimeRange.class);
+
+        // Then
+        assertEquals(function, deserialised);
+    }
+}
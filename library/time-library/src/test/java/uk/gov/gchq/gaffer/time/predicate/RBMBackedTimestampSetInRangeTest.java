@@ -0,0 +1,88 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.time.predicate;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.CommonTimeUtil.TimeBucket;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.time.RBMBackedTimestampSet;
+
+import java.time.Instant;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RBMBackedTimestampSetInRangeTest {
+    private RBMBackedTimestampSet timestampSet;
+
+    @Before
+    public void setup() {
+        timestampSet = new RBMBackedTimestampSet(TimeBucket.SECOND);
+        timestampSet.add(Instant.ofEpochMilli(10000L));
+        timestampSet.add(Instant.ofEpochMilli(20000L));
+        timestampSet.add(Instant.ofEpochMilli(30000L));
+    }
+
+    @Test
+    public void shouldAcceptWhenATimestampIsInRange() {
+        // Given
+        final RBMBackedTimestampSetInRange predicate = new RBMBackedTimestampSetInRange(15000L, 25000L);
+
+        // When / Then
+        assertTrue(predicate.test(timestampSet));
+    }
+
+    @Test
+    public void shouldRejectWhenNoTimestampIsInRange() {
+        // Given
+        final RBMBackedTimestampSetInRange predicate = new RBMBackedTimestampSetInRange(31000L, null);
+
+        // When / Then
+        assertFalse(predicate.test(timestampSet));
+        assertFalse(predicate.test(null));
+    }
+
+    @Test
+    public void shouldOnlyAcceptWhenAllTimestampsAreInRangeIfIncludeAllTimestamps() {
+        // Given
+        final RBMBackedTimestampSetInRange allInRange = new RBMBackedTimestampSetInRange(10000L, 30001L, true);
+        final RBMBackedTimestampSetInRange someInRange = new RBMBackedTimestampSetInRange(10000L, 30000L, true);
+
+        // When / Then
+        assertTrue(allInRange.test(timestampSet));
+        assertFalse(someInRange.test(timestampSet));
+        assertFalse(allInRange.test(new RBMBackedTimestampSet(TimeBucket.SECOND)));
+    }
+
+    @Test
+    public void shouldJsonSerialiseAndDeserialise() throws SerialisationException {
+        // Given
+        final RBMBackedTimestampSetInRange predicate = new RBMBackedTimestampSetInRange(10000L, 20000L, true);
+
+        // When
+        final byte[] json = JSONSerialiser.serialise(predicate);
+        final RBMBackedTimestampSetInRange deserialised = JSONSerialiser.deserialise(json, RBMBackedTimestampSetInRange.class);
+
+        // Then
+        assertEquals(predicate, deserialised);
+        assertNotEquals(new RBMBackedTimestampSetInRange(10000L, 20000L), deserialised);
+    }
+}
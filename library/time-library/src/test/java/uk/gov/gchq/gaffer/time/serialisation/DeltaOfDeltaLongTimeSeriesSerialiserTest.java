@@ -0,0 +1,300 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.time.serialisation;
+
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.CommonTimeUtil;
+import uk.gov.gchq.gaffer.commonutil.CommonTimeUtil.TimeBucket;
+import uk.gov.gchq.gaffer.commonutil.pair.Pair;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.Serialiser;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialisationTest;
+import uk.gov.gchq.gaffer.time.LongTimeSeries;
+
+import java.time.Instant;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DeltaOfDeltaLongTimeSeriesSerialiserTest extends ToBytesSerialisationTest<LongTimeSeries> {
+    private static final DeltaOfDeltaLongTimeSeriesSerialiser serialiser = new DeltaOfDeltaLongTimeSeriesSerialiser();
+    private static final DeltaOfDeltaLongTimeSeriesSerialiser compressingSerialiser = new DeltaOfDeltaLongTimeSeriesSerialiser(true);
+
+    @Test
+    public void testSerialiser() throws SerialisationException {
+        testSerialiser(getExampleValueMillisecond());
+        testSerialiser(getExampleValueSecond());
+        testSerialiser(getExampleValueMinute());
+        testSerialiser(getExampleValueHour());
+        testSerialiser(getExampleValueDay());
+        testSerialiser(getExampleValueWeek());
+        testSerialiser(getExampleValueMonth());
+        testSerialiser(getExampleValueYear());
+        testSerialiser(getRegularTimeSeries(1000));
+    }
+
+    private void testSerialiser(final LongTimeSeries timeSeries) throws SerialisationException {
+        // When
+        final byte[] serialised = serialiser.serialise(timeSeries);
+        final LongTimeSeries deserialised = serialiser.deserialise(serialised);
+        final byte[] compressed = compressingSerialiser.serialise(timeSeries);
+        final LongTimeSeries deserialisedCompressed = compressingSerialiser.deserialise(compressed);
+
+        // Then
+        assertEquals(timeSeries, deserialised);
+        assertEquals(timeSeries, deserialisedCompressed);
+        assertEquals(timeSeries, serialiser.deserialise(compressed));
+        assertTrue(compressed.length <= serialised.length);
+    }
+
+    @Test
+    public void testSerialiserForEmptyTimeSeries() throws SerialisationException {
+        // Given
+        final LongTimeSeries timeSeries = new LongTimeSeries(TimeBucket.SECOND);
+
+        // When
+        final byte[] serialised = serialiser.serialise(timeSeries);
+        final LongTimeSeries deserialised = serialiser.deserialise(serialised);
+
+        // Then
+        assertEquals(timeSeries, deserialised);
+    }
+
+    @Test
+    public void testExtremeValues() throws SerialisationException {
+        // Given
+        final LongTimeSeries timeSeries = new LongTimeSeries(TimeBucket.MILLISECOND);
+        timeSeries.upsert(Long.MIN_VALUE + 1, Long.MAX_VALUE);
+        timeSeries.upsert(0L, Long.MIN_VALUE);
+        timeSeries.upsert(Long.MAX_VALUE, Long.MAX_VALUE);
+
+        // When
+        final byte[] serialised = serialiser.serialise(timeSeries);
+        final LongTimeSeries deserialised = serialiser.deserialise(serialised);
+
+        // Then
+        assertEquals(timeSeries, deserialised);
+    }
+
+    @Test
+    public void testRegularTimeSeriesIsSmallerThanWithDeltaSerialiser() throws SerialisationException {
+        // Given
+        final LongTimeSeries timeSeries = getRegularTimeSeries(1000);
+
+        // When
+        final int length = serialiser.serialise(timeSeries).length;
+        final int deltaLength = new DeltaLongTimeSeriesSerialiser().serialise(timeSeries).length;
+        final int compressedLength = compressingSerialiser.serialise(timeSeries).length;
+
+        // Then
+        assertTrue(length < deltaLength);
+        assertTrue(compressedLength < length);
+    }
+
+    @Test
+    public void shouldMergeSerialisedTimeSeries() throws SerialisationException {
+        // Given
+        final LongTimeSeries timeSeries1 = new LongTimeSeries(TimeBucket.SECOND);
+        final LongTimeSeries timeSeries2 = new LongTimeSeries(TimeBucket.SECOND);
+        IntStream.range(0, 100)
+                .forEach(i -> {
+                    timeSeries1.upsert(i * 2000L, i);
+                    timeSeries2.upsert(i * 3000L, 10L * i);
+                });
+        final LongTimeSeries expected = new LongTimeSeries(TimeBucket.SECOND);
+        expected.merge(timeSeries1);
+        expected.merge(timeSeries2);
+
+        // When
+        final byte[] merged = serialiser.merge(serialiser.serialise(timeSeries1), compressingSerialiser.serialise(timeSeries2));
+        final byte[] mergedWithEmpty = serialiser.merge(serialiser.serialise(timeSeries1), new byte[0]);
+
+        // Then
+        assertEquals(expected, serialiser.deserialise(merged));
+        assertArrayEquals(serialiser.serialise(expected), merged);
+        assertEquals(timeSeries1, serialiser.deserialise(mergedWithEmpty));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldFailToMergeSerialisedTimeSeriesWithDifferentTimeBuckets() throws SerialisationException {
+        serialiser.merge(serialiser.serialise(getExampleValueSecond()), serialiser.serialise(getExampleValueMinute()));
+    }
+
+    @Test
+    public void shouldGetSerialisedTimeSeriesInRange() throws SerialisationException {
+        // Given
+        final LongTimeSeries timeSeries = getRegularTimeSeries(100);
+        final byte[] serialised = compressingSerialiser.serialise(timeSeries);
+        final Instant start = Instant.ofEpochMilli(CommonTimeUtil.MILLISECONDS_IN_MINUTE * 1_000_010);
+        final Instant end = Instant.ofEpochMilli(CommonTimeUtil.MILLISECONDS_IN_MINUTE * 1_000_020 + 1);
+
+        // When
+        final byte[] inRange = serialiser.getTimeSeriesInRange(serialised, start, end);
+        final byte[] fromStart = serialiser.getTimeSeriesInRange(serialised, start, null);
+
+        // Then
+        assertEquals(timeSeries.getTimeSeriesInRange(start, end), serialiser.deserialise(inRange));
+        assertEquals(11, serialiser.deserialise(inRange).getNumberOfInstants());
+        assertEquals(timeSeries.getTimeSeriesInRange(start, null), serialiser.deserialise(fromStart));
+    }
+
+    @Test
+    public void testCanHandle() throws SerialisationException {
+        assertTrue(serialiser.canHandle(LongTimeSeries.class));
+        assertFalse(serialiser.canHandle(String.class));
+    }
+
+    @Test
+    public void testConsistent() throws SerialisationException {
+        // Given
+        final LongTimeSeries timeSeries1 = new LongTimeSeries(TimeBucket.SECOND);
+        timeSeries1.upsert(Instant.ofEpochMilli(1000L), 10L);
+        final LongTimeSeries timeSeries2 = new LongTimeSeries(TimeBucket.SECOND);
+        timeSeries2.upsert(Instant.ofEpochMilli(1000L), 5L);
+        timeSeries2.upsert(Instant.ofEpochMilli(1000L), 5L);
+
+        // When
+        final byte[] serialised1 = serialiser.serialise(timeSeries1);
+        final byte[] serialised2 = serialiser.serialise(timeSeries2);
+
+        // Then
+        assertArrayEquals(serialised1, serialised2);
+    }
+
+    @Override
+    public Serialiser<LongTimeSeries, byte[]> getSerialisation() {
+        return new DeltaOfDeltaLongTimeSeriesSerialiser();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Pair<LongTimeSeries, byte[]>[] getHistoricSerialisationPairs() {
+        return new Pair[]{
+                new Pair(getExampleValueMillisecond(),
+                        new byte[]{7,3,0,10,-114,3,-24,-114,7,-48,-115,15,46,-72,1,9,-115,-104,-106,118}),
+                new Pair(getExampleValueSecond(),
+                        new byte[]{0,3,0,9,100,-114,3,-124,-116,59,-102,-62,-108,100,0,-116,59,-102,-55,-100}),
+                new Pair(getExampleValueMinute(),
+                        new byte[]{1,3,0,8,100,-114,38,-84,-115,14,-12,-124,100,-114,38,-84,-115,15,27,48}),
+                new Pair(getExampleValueHour(),
+                        new byte[]{2,3,0,8,100,-114,3,-124,-115,15,58,-44,100,-114,3,-124,-115,15,62,88}),
+                new Pair(getExampleValueDay(),
+                        new byte[]{3,3,0,5,7,7,-114,2,-89,7,7,-114,2,-82}),
+                new Pair(getExampleValueWeek(),
+                        new byte[]{4,3,0,5,4,63,-114,2,55,7,63,-114,2,118}),
+                new Pair(getExampleValueMonth(),
+                        new byte[]{5,3,0,5,0,90,-114,3,26,30,60,-114,3,-114}),
+                new Pair(getExampleValueYear(),
+                        new byte[]{6,3,0,10,-115,11,35,-112,-114,1,109,-114,21,99,-114,7,-48,0,0})
+        };
+    }
+
+    private LongTimeSeries getRegularTimeSeries(final int numEntries) {
+        final LongTimeSeries timeSeries = new LongTimeSeries(TimeBucket.MINUTE);
+        IntStream.range(0, numEntries)
+                .forEach(i -> timeSeries.upsert(CommonTimeUtil.MILLISECONDS_IN_MINUTE * (1_000_000 + i), 1000L + i % 7));
+        return timeSeries;
+    }
+
+    private LongTimeSeries getExampleValueMillisecond() {
+        final LongTimeSeries timeSeries = new LongTimeSeries(TimeBucket.MILLISECOND);
+        timeSeries.upsert(Instant.ofEpochMilli(1_000L), 1L);
+        timeSeries.upsert(Instant.ofEpochMilli(3_000L), 10L);
+        timeSeries.upsert(Instant.ofEpochMilli(1_000_000L), 10_000_000L);
+        return timeSeries;
+    }
+
+    private LongTimeSeries getExampleValueSecond() {
+        final LongTimeSeries timeSeries = new LongTimeSeries(TimeBucket.SECOND);
+        timeSeries.upsert(Instant
+                .ofEpochMilli(CommonTimeUtil.MILLISECONDS_IN_SECOND * 100), 100L);
+        timeSeries.upsert(Instant
+                .ofEpochMilli(CommonTimeUtil.MILLISECONDS_IN_SECOND * 1_000), 100L);
+        timeSeries.upsert(Instant
+                .ofEpochMilli(CommonTimeUtil.MILLISECONDS_IN_SECOND * 1_000_000_000), 1_000_000_000L);
+        return timeSeries;
+    }
+
+    private LongTimeSeries getExampleValueMinute() {
+        final LongTimeSeries timeSeries = new LongTimeSeries(TimeBucket.MINUTE);
+        timeSeries.upsert(Instant
+                .ofEpochMilli(CommonTimeUtil.MILLISECONDS_IN_MINUTE * 100), 100L);
+        timeSeries.upsert(Instant
+                .ofEpochMilli(CommonTimeUtil.MILLISECONDS_IN_MINUTE * 10_000), 10_000L);
+        timeSeries.upsert(Instant
+                .ofEpochMilli(CommonTimeUtil.MILLISECONDS_IN_MINUTE * 1_000_000), 1_000_000L);
+        return timeSeries;
+    }
+
+    private LongTimeSeries getExampleValueHour() {
+        final LongTimeSeries timeSeries = new LongTimeSeries(TimeBucket.HOUR);
+        timeSeries.upsert(Instant
+                .ofEpochMilli(CommonTimeUtil.MILLISECONDS_IN_HOUR * 100), 100L);
+        timeSeries.upsert(Instant
+                .ofEpochMilli(CommonTimeUtil.MILLISECONDS_IN_HOUR * 1_000), 1_000L);
+        timeSeries.upsert(Instant
+                .ofEpochMilli(CommonTimeUtil.MILLISECONDS_IN_HOUR * 1_000_000), 1_000_000L);
+        return timeSeries;
+    }
+
+    private LongTimeSeries getExampleValueDay() {
+        final LongTimeSeries timeSeries = new LongTimeSeries(TimeBucket.DAY);
+        timeSeries.upsert(Instant
+                .ofEpochMilli(CommonTimeUtil.MILLISECONDS_IN_DAY * 7), 7L);
+        timeSeries.upsert(Instant
+                .ofEpochMilli(CommonTimeUtil.MILLISECONDS_IN_DAY * 14), 14L);
+        timeSeries.upsert(Instant
+                .ofEpochMilli(CommonTimeUtil.MILLISECONDS_IN_DAY * 700), 700L);
+        return timeSeries;
+    }
+
+    private LongTimeSeries getExampleValueWeek() {
+        final LongTimeSeries timeSeries = new LongTimeSeries(TimeBucket.WEEK);
+        timeSeries.upsert(Instant
+                .ofEpochMilli(CommonTimeUtil.MILLISECONDS_IN_DAY * 7), 7L);
+        timeSeries.upsert(Instant
+                .ofEpochMilli(CommonTimeUtil.MILLISECONDS_IN_DAY * 70), 70L);
+        timeSeries.upsert(Instant
+                .ofEpochMilli(CommonTimeUtil.MILLISECONDS_IN_DAY * 700), 700L);
+        return timeSeries;
+    }
+
+    private LongTimeSeries getExampleValueMonth() {
+        final LongTimeSeries timeSeries = new LongTimeSeries(TimeBucket.MONTH);
+        timeSeries.upsert(Instant
+                .ofEpochMilli(CommonTimeUtil.MILLISECONDS_IN_DAY * 30), 30L);
+        timeSeries.upsert(Instant
+                .ofEpochMilli(CommonTimeUtil.MILLISECONDS_IN_DAY * 90), 90L);
+        timeSeries.upsert(Instant
+                .ofEpochMilli(CommonTimeUtil.MILLISECONDS_IN_DAY * 1000), 1000L);
+        return timeSeries;
+    }
+
+    private LongTimeSeries getExampleValueYear() {
+        final LongTimeSeries timeSeries = new LongTimeSeries(TimeBucket.YEAR);
+        timeSeries.upsert(Instant
+                .ofEpochMilli(CommonTimeUtil.MILLISECONDS_IN_DAY * 365 * 2000), 2000L);
+        timeSeries.upsert(Instant
+                .ofEpochMilli(CommonTimeUtil.MILLISECONDS_IN_DAY * 365 * 2001), 2000L);
+        timeSeries.upsert(Instant
+                .ofEpochMilli(CommonTimeUtil.MILLISECONDS_IN_DAY * 365 * 2017), 2000L);
+        return timeSeries;
+    }
+}
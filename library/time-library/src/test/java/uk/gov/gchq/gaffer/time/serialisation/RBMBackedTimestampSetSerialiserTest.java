@@ -24,6 +24,7 @@ import uk.gov.gchq.gaffer.serialisation.Serialiser;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialisationTest;
 import uk.gov.gchq.gaffer.time.RBMBackedTimestampSet;
 
+import java.nio.ByteBuffer;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
@@ -56,6 +57,28 @@ public class RBMBackedTimestampSetSerialiserTest extends ToBytesSerialisationTes
         return rbmBackedTimestampSet;
     }
 
+    @Test
+    public void shouldGetNumberOfTimestampsInRangeWithoutDeserialising() throws SerialisationException {
+        // Given
+        final RBMBackedTimestampSet rbmBackedTimestampSet = new RBMBackedTimestampSet(CommonTimeUtil.TimeBucket.SECOND);
+        IntStream.range(0, 10)
+                .forEach(i -> rbmBackedTimestampSet.add(Instant.ofEpochMilli(i * 10000L)));
+        final byte[] serialised = serialiser.serialise(rbmBackedTimestampSet);
+        final byte[] padded = new byte[serialised.length + 4];
+        System.arraycopy(serialised, 0, padded, 2, serialised.length);
+        final RBMBackedTimestampSetSerialiser rbmSerialiser = (RBMBackedTimestampSetSerialiser) serialiser;
+
+        // When
+        final long count = rbmSerialiser.getNumberOfTimestamps(ByteBuffer.wrap(serialised), Instant.ofEpochMilli(20000L), Instant.ofEpochMilli(50000L));
+        final long countAll = rbmSerialiser.getNumberOfTimestamps(serialised, 0, serialised.length, null, null);
+        final long countWithOffset = rbmSerialiser.getNumberOfTimestamps(padded, 2, serialised.length, Instant.ofEpochMilli(50000L), null);
+
+        // Then
+        assertEquals(3L, count);
+        assertEquals(10L, countAll);
+        assertEquals(5L, countWithOffset);
+    }
+
     @Test
     public void testCanHandle() throws SerialisationException {
         assertTrue(serialiser.canHandle(RBMBackedTimestampSet.class));
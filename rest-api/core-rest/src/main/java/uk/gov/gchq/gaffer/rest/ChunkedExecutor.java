@@ -0,0 +1,195 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.rest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import uk.gov.gchq.gaffer.core.exception.Status;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@code ChunkedExecutor} runs the background tasks that write chunked
+ * results back to REST clients. Tasks are executed on a bounded pool of named
+ * threads with a bounded queue, so bursts of chunked requests are queued and
+ * then rejected rather than each spawning a new thread.
+ * <p>
+ * The pool is configured using the system properties
+ * {@link SystemProperty#CHUNKED_THREADS} and {@link SystemProperty#CHUNKED_QUEUE_SIZE}.
+ * </p>
+ * <p>
+ * Rejections are logged with a snapshot of the queueing metrics, and the
+ * metrics are logged again when the executor is shut down.
+ * </p>
+ */
+public final class ChunkedExecutor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChunkedExecutor.class);
+    private static final String THREAD_NAME_PREFIX = "gaffer-chunked-";
+
+    private static ChunkedExecutor instance;
+
+    private final ThreadPoolExecutor executor;
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong disconnected = new AtomicLong();
+    private final AtomicLong totalQueueTimeMillis = new AtomicLong();
+
+    public ChunkedExecutor(final int threads, final int queueSize) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("The number of chunked threads must be at least 1");
+        }
+        if (queueSize < 0) {
+            throw new IllegalArgumentException("The chunked queue size must not be negative");
+        }
+
+        LOGGER.debug("Initialising chunked executor with {} threads and a queue size of {}", threads, queueSize);
+        executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                queueSize > 0 ? new ArrayBlockingQueue<>(queueSize) : new SynchronousQueue<>(),
+                createThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * @return the shared executor, created from the system properties on first use.
+     */
+    public static synchronized ChunkedExecutor getInstance() {
+        if (null == instance) {
+            instance = new ChunkedExecutor(
+                    Integer.parseInt(System.getProperty(SystemProperty.CHUNKED_THREADS, SystemProperty.CHUNKED_THREADS_DEFAULT)),
+                    Integer.parseInt(System.getProperty(SystemProperty.CHUNKED_QUEUE_SIZE, SystemProperty.CHUNKED_QUEUE_SIZE_DEFAULT)));
+        }
+        return instance;
+    }
+
+    /**
+     * Shuts down the shared executor, if it has been created. Running tasks
+     * are interrupted.
+     */
+    public static synchronized void shutdown() {
+        if (null != instance) {
+            instance.close();
+            instance = null;
+        }
+    }
+
+    /**
+     * Shuts down this executor and logs its metrics. Running tasks are interrupted.
+     */
+    public void close() {
+        executor.shutdownNow();
+        LOGGER.info("Shut down chunked executor - {}", getMetrics());
+    }
+
+    /**
+     * Submits a chunked task for execution.
+     *
+     * @param task the task to run
+     * @throws GafferRuntimeException with status {@link Status#SERVICE_UNAVAILABLE}
+     *                                if the executor is saturated or shut down
+     */
+    public void execute(final Runnable task) {
+        final long queuedAt = System.currentTimeMillis();
+        // Count the task before it is executed, so it cannot complete before it is counted
+        submitted.incrementAndGet();
+        try {
+            executor.execute(() -> {
+                totalQueueTimeMillis.addAndGet(System.currentTimeMillis() - queuedAt);
+                try {
+                    task.run();
+                } finally {
+                    completed.incrementAndGet();
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            submitted.decrementAndGet();
+            rejected.incrementAndGet();
+            LOGGER.warn("Rejected chunked request - {}", getMetrics());
+            throw new GafferRuntimeException("The server is too busy to process the chunked request, please try again later", e, Status.SERVICE_UNAVAILABLE);
+        }
+    }
+
+    /**
+     * Records that a client disconnected before all of its results were written.
+     */
+    public void recordDisconnect() {
+        disconnected.incrementAndGet();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public int getQueuedCount() {
+        return executor.getQueue().size();
+    }
+
+    public long getSubmittedCount() {
+        return submitted.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    public long getCompletedCount() {
+        return completed.get();
+    }
+
+    public long getDisconnectedCount() {
+        return disconnected.get();
+    }
+
+    public long getTotalQueueTimeMillis() {
+        return totalQueueTimeMillis.get();
+    }
+
+    /**
+     * @return a snapshot of the queueing and rejection metrics.
+     */
+    public Map<String, Object> getMetrics() {
+        final Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("active", getActiveCount());
+        metrics.put("queued", getQueuedCount());
+        metrics.put("submitted", getSubmittedCount());
+        metrics.put("rejected", getRejectedCount());
+        metrics.put("completed", getCompletedCount());
+        metrics.put("disconnected", getDisconnectedCount());
+        metrics.put("totalQueueTimeMillis", getTotalQueueTimeMillis());
+        return metrics;
+    }
+
+    private static ThreadFactory createThreadFactory() {
+        final AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -63,5 +63,6 @@ public class ServletLifecycleListener implements ServletContextListener {
     public void contextDestroyed(final ServletContextEvent servletContextEvent) {
         LOGGER.info("Server shutting down - releasing resources");
         CacheServiceLoader.shutdown();
+        ChunkedExecutor.shutdown();
     }
 }
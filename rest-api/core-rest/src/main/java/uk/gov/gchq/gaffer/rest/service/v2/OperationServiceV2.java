@@ -30,6 +30,7 @@ import uk.gov.gchq.gaffer.core.exception.Status;
 import uk.gov.gchq.gaffer.operation.Operation;
 import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.rest.ChunkedExecutor;
 import uk.gov.gchq.gaffer.rest.factory.GraphFactory;
 import uk.gov.gchq.gaffer.rest.factory.UserFactory;
 import uk.gov.gchq.gaffer.rest.service.v2.example.ExamplesFactory;
@@ -95,16 +96,22 @@ public class OperationServiceV2 implements IOperationServiceV2 {
         // Create chunked output instance
         final ChunkedOutput<String> output = new ChunkedOutput<>(String.class, "\r\n");
 
-        // write chunks to the chunked output object
-        new Thread(() -> {
-            try {
-                final Object result = _execute(opChain);
-                chunkResult(result, output);
-            } finally {
-                CloseableUtil.close(output);
-                CloseableUtil.close(opChain);
-            }
-        }).start();
+        // write chunks to the chunked output object using the bounded chunked executor
+        try {
+            ChunkedExecutor.getInstance().execute(() -> {
+                try {
+                    final Object result = _execute(opChain);
+                    chunkResult(result, output);
+                } finally {
+                    CloseableUtil.close(output);
+                    CloseableUtil.close(opChain);
+                }
+            });
+        } catch (final RuntimeException e) {
+            CloseableUtil.close(output);
+            CloseableUtil.close(opChain);
+            throw e;
+        }
 
         return output;
     }
@@ -220,10 +227,18 @@ public class OperationServiceV2 implements IOperationServiceV2 {
             final Iterable itr = (Iterable) result;
             try {
                 for (final Object item : itr) {
+                    // Stop iterating as soon as the client has gone away so
+                    // the underlying scanners are closed straight away.
+                    if (output.isClosed()) {
+                        LOGGER.debug("Client disconnected - closing chunked results");
+                        ChunkedExecutor.getInstance().recordDisconnect();
+                        break;
+                    }
                     output.write(mapper.writeValueAsString(item));
                 }
             } catch (final IOException ioe) {
-                LOGGER.warn("IOException (chunks)", ioe);
+                LOGGER.debug("IOException writing chunks - the client has probably disconnected", ioe);
+                ChunkedExecutor.getInstance().recordDisconnect();
             } finally {
                 CloseableUtil.close(itr);
             }
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.rest;
+
+import org.junit.After;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import uk.gov.gchq.gaffer.core.exception.Status;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ChunkedExecutorTest {
+    private ChunkedExecutor executor;
+
+    @After
+    public void after() {
+        if (null != executor) {
+            executor.close();
+        }
+        ChunkedExecutor.shutdown();
+        System.clearProperty(SystemProperty.CHUNKED_THREADS);
+        System.clearProperty(SystemProperty.CHUNKED_QUEUE_SIZE);
+    }
+
+    @Test
+    public void shouldExecuteTaskOnNamedThread() throws InterruptedException {
+        // Given
+        executor = new ChunkedExecutor(1, 1);
+        final CountDownLatch latch = new CountDownLatch(1);
+        final String[] threadName = new String[1];
+
+        // When
+        executor.execute(() -> {
+            threadName[0] = Thread.currentThread().getName();
+            latch.countDown();
+        });
+
+        // Then
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertTrue(threadName[0].startsWith("gaffer-chunked-"));
+        assertEquals(1, executor.getSubmittedCount());
+    }
+
+    @Test
+    public void shouldCountTaskAsSubmittedBeforeItRuns() throws InterruptedException {
+        // Given
+        executor = new ChunkedExecutor(1, 1);
+        final CountDownLatch latch = new CountDownLatch(1);
+        final long[] submittedWhenRun = new long[1];
+
+        // When
+        executor.execute(() -> {
+            submittedWhenRun[0] = executor.getSubmittedCount();
+            latch.countDown();
+        });
+
+        // Then
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertEquals(1, submittedWhenRun[0]);
+    }
+
+    @Test
+    public void shouldRejectTasksWhenThreadsAndQueueAreFull() throws InterruptedException {
+        // Given
+        executor = new ChunkedExecutor(1, 1);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            awaitQuietly(release);
+        });
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        executor.execute(() -> awaitQuietly(release));
+
+        // When / Then
+        try {
+            executor.execute(() -> {
+            });
+            fail("Exception expected");
+        } catch (final GafferRuntimeException e) {
+            assertEquals(Status.SERVICE_UNAVAILABLE, e.getStatus());
+        }
+        assertEquals(2, executor.getSubmittedCount());
+        assertEquals(1, executor.getRejectedCount());
+        assertEquals(1, executor.getQueuedCount());
+        release.countDown();
+    }
+
+    @Test
+    public void shouldCreateSharedInstanceFromSystemProperties() {
+        // Given
+        System.setProperty(SystemProperty.CHUNKED_THREADS, "2");
+        System.setProperty(SystemProperty.CHUNKED_QUEUE_SIZE, "0");
+
+        // When
+        final ChunkedExecutor instance = ChunkedExecutor.getInstance();
+
+        // Then
+        assertSame(instance, ChunkedExecutor.getInstance());
+        ChunkedExecutor.shutdown();
+        assertNotSame(instance, ChunkedExecutor.getInstance());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowExceptionForInvalidThreadCount() {
+        new ChunkedExecutor(0, 1);
+    }
+
+    private static void awaitQuietly(final CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
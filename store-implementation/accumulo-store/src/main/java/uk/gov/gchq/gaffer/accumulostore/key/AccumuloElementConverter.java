@@ -126,6 +126,23 @@ public interface AccumuloElementConverter {
      */
     Element getFullElement(final Key key, final Value value, final boolean includeMatchedVertex);
 
+    /**
+     * Returns an {@link Element} populated with all the properties defined
+     * within the {@link Key} and {@link Value}, where the properties stored in
+     * the {@link Value} are only deserialised when they are first accessed.
+     * By default this is the same as
+     * {@link #getFullElement(Key, Value, boolean)}.
+     *
+     * @param key                  the accumulo Key containing serialised parts of the Element
+     * @param value                the accumulo Value containing serialised properties of the Element
+     * @param includeMatchedVertex if true then the matchedVertex field is set on Edges
+     * @return Returns an {@link Element} populated with all the properties defined within the {@link Key}
+     * and {@link Value}
+     */
+    default Element getLazyFullElement(final Key key, final Value value, final boolean includeMatchedVertex) {
+        return getFullElement(key, value, includeMatchedVertex);
+    }
+
     /**
      * Helper Used to create Bloom Filters, method Serialises a given object
      * (from an {@link uk.gov.gchq.gaffer.data.element.id.EntityId} ) with the Identifier
@@ -136,6 +153,18 @@ public interface AccumuloElementConverter {
      */
     byte[] serialiseVertex(final Object vertex);
 
+    /**
+     * Gets the vertex at the other end of an edge from the vertex at the start
+     * of the row key, in the serialised and escaped form used in the row keys.
+     * The vertex is copied directly out of the row key so it is never
+     * deserialised.
+     *
+     * @param row the row key
+     * @return the serialised adjacent vertex, or null if the row key is for an
+     * Entity
+     */
+    byte[] getSerialisedAdjacentVertex(final byte[] row);
+
     /**
      * Creates a byte array representing the Element identifiers, this will be
      * stored in the Accumulo row Key.
@@ -48,6 +48,21 @@ public interface RangeFactory {
     List<Range> getRange(final ElementId elementId, final GraphFilters operation)
             throws RangeFactoryException;
 
+    /**
+     * Returns the Ranges representing a query for a vertex that has already
+     * been serialised, so the vertex does not need to be deserialised to
+     * query for it.
+     *
+     * @param serialisedVertex the vertex, serialised and escaped in the same
+     *                         way as in the row keys
+     * @param operation        the operation
+     * @return A List of Ranges that are required to return all elements that
+     * match the parameters of the query.
+     * @throws RangeFactoryException if a range could not be created
+     */
+    List<Range> getRangeFromSerialisedVertex(final byte[] serialisedVertex, final GraphFilters operation)
+            throws RangeFactoryException;
+
     /**
      * Operation Returns a Range representing a query for all values between the
      * given {@link uk.gov.gchq.gaffer.data.element.id.ElementId}s taken from the minimum
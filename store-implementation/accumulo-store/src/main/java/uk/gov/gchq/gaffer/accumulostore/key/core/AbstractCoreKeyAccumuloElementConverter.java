@@ -31,6 +31,7 @@ import uk.gov.gchq.gaffer.data.element.EdgeDirection;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.data.element.Properties;
+import uk.gov.gchq.gaffer.data.element.PropertyDecoder;
 import uk.gov.gchq.gaffer.data.element.id.EdgeId;
 import uk.gov.gchq.gaffer.data.element.id.ElementId;
 import uk.gov.gchq.gaffer.data.element.id.EntityId;
@@ -46,6 +47,9 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
 
 @SuppressWarnings("unchecked")
 public abstract class AbstractCoreKeyAccumuloElementConverter implements AccumuloElementConverter {
@@ -169,6 +173,25 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
         return element;
     }
 
+    @Override
+    public Element getLazyFullElement(final Key key, final Value value, final boolean includeMatchedVertex) {
+        final Element keyElement = getElementFromKey(key, includeMatchedVertex);
+        if (!isNotEmpty(value)) {
+            return keyElement;
+        }
+
+        final SchemaElementDefinition elementDefinition = getSchemaElementDefinition(keyElement.getGroup());
+        final ValuePropertyDecoder decoder = new ValuePropertyDecoder(value.get(), elementDefinition);
+        final Properties properties = new Properties(elementDefinition.getPropertiesLayout(), decoder.getPropertyNames(), decoder);
+        properties.putAll(keyElement.getProperties());
+
+        if (keyElement instanceof Entity) {
+            return new Entity(keyElement.getGroup(), ((Entity) keyElement).getVertex(), properties);
+        }
+        final Edge edge = (Edge) keyElement;
+        return new Edge(edge.getGroup(), edge.getSource(), edge.getDestination(), edge.isDirected(), edge.getMatchedVertex(), properties);
+    }
+
     @Override
     public Pair<byte[], byte[]> getRowKeysFromElement(final Element element) {
         if (element instanceof Entity) {
@@ -514,6 +537,55 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
         return deserialisedObject;
     }
 
+    /**
+     * Decodes the properties stored in a {@link Value} on demand. The value is
+     * scanned once to find the offset of each serialised property, each property
+     * is then only deserialised when it is requested.
+     */
+    private final class ValuePropertyDecoder implements PropertyDecoder {
+        private final byte[] bytes;
+        private final Map<String, Integer> positions = new LinkedHashMap<>();
+        private final SchemaElementDefinition elementDefinition;
+
+        private ValuePropertyDecoder(final byte[] bytes, final SchemaElementDefinition elementDefinition) {
+            this.bytes = bytes;
+            this.elementDefinition = elementDefinition;
+            int delimiterPosition = 0;
+            final Iterator<String> propertyNames = elementDefinition.getProperties().iterator();
+            while (propertyNames.hasNext() && delimiterPosition < bytes.length) {
+                final String propertyName = propertyNames.next();
+                if (isStoredInValue(propertyName, elementDefinition) && null != getSerialiser(propertyName)) {
+                    positions.put(propertyName, delimiterPosition);
+                    delimiterPosition += CompactRawSerialisationUtils.decodeVIntSize(bytes[delimiterPosition])
+                            + getCurrentPropLength(bytes, delimiterPosition);
+                }
+            }
+        }
+
+        private Set<String> getPropertyNames() {
+            return positions.keySet();
+        }
+
+        @Override
+        public Object decode(final String propertyName) {
+            final Integer position = positions.get(propertyName);
+            if (null == position) {
+                return null;
+            }
+            try {
+                final int from = position + CompactRawSerialisationUtils.decodeVIntSize(bytes[position]);
+                return getDeserialisedObject(getSerialiser(propertyName), bytes, from, getCurrentPropLength(bytes, position));
+            } catch (final SerialisationException e) {
+                throw new AccumuloElementConversionException("Failed to deserialise property " + propertyName, e);
+            }
+        }
+
+        private ToBytesSerialiser getSerialiser(final String propertyName) {
+            final TypeDefinition typeDefinition = elementDefinition.getPropertyTypeDef(propertyName);
+            return (null != typeDefinition) ? (ToBytesSerialiser) typeDefinition.getSerialiser() : null;
+        }
+    }
+
     private boolean isNotEmpty(final Value value) {
         return null != value && value.getSize() != 0;
     }
@@ -70,6 +70,11 @@ public abstract class AbstractCoreKeyRangeFactory implements RangeFactory {
         }
     }
 
+    @Override
+    public List<Range> getRangeFromSerialisedVertex(final byte[] serialisedVertex, final GraphFilters operation) {
+        return getRangeFromSerialisedVertex(serialisedVertex, operation, operation.getView().hasEdges());
+    }
+
     @Override
     public Range getRangeFromPair(final Pair<ElementId, ElementId> pairRange, final GraphFilters operation)
             throws RangeFactoryException {
@@ -99,4 +104,8 @@ public abstract class AbstractCoreKeyRangeFactory implements RangeFactory {
     protected abstract List<Range> getRange(final Object vertex,
                                             final GraphFilters operation,
                                             final boolean includeEdges) throws RangeFactoryException;
+
+    protected abstract List<Range> getRangeFromSerialisedVertex(final byte[] serialisedVertex,
+                                                                final GraphFilters operation,
+                                                                final boolean includeEdges);
 }
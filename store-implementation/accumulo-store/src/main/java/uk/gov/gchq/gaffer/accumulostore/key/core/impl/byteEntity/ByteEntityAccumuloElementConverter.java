@@ -120,6 +120,20 @@ public class ByteEntityAccumuloElementConverter extends AbstractCoreKeyAccumuloE
         return rowKey;
     }
 
+    @Override
+    public byte[] getSerialisedAdjacentVertex(final byte[] row) {
+        if (doesKeyRepresentEntity(row)) {
+            return null;
+        }
+
+        // The row key is first DELIMITER flag DELIMITER second DELIMITER flag
+        int carriage = 0;
+        while (row[carriage] != ByteArrayEscapeUtils.DELIMITER) {
+            carriage++;
+        }
+        return Arrays.copyOfRange(row, carriage + 3, row.length - 2);
+    }
+
     @Override
     protected boolean doesKeyRepresentEntity(final byte[] row) {
         return row[row.length - 1] == ByteEntityPositions.ENTITY;
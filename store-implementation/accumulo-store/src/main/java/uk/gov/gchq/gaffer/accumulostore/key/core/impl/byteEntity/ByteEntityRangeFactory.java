@@ -113,7 +113,18 @@ public class ByteEntityRangeFactory extends AbstractCoreKeyRangeFactory {
     @Override
     protected List<Range> getRange(final Object vertex, final GraphFilters operation,
                                    final boolean includeEdgesParam) throws RangeFactoryException {
+        byte[] serialisedVertex;
+        try {
+            serialisedVertex = ByteArrayEscapeUtils.escape(((ToBytesSerialiser) schema.getVertexSerialiser()).serialise(vertex));
+        } catch (final SerialisationException e) {
+            throw new RangeFactoryException("Failed to serialise identifier", e);
+        }
+        return getRangeFromSerialisedVertex(serialisedVertex, operation, includeEdgesParam);
+    }
 
+    @Override
+    protected List<Range> getRangeFromSerialisedVertex(final byte[] serialisedVertex, final GraphFilters operation,
+                                                       final boolean includeEdgesParam) {
         final IncludeIncomingOutgoingType inOutType = (operation instanceof SeededGraphFilters) ? ((SeededGraphFilters) operation).getIncludeIncomingOutGoing() : IncludeIncomingOutgoingType.OUTGOING;
         final DirectedType directedType = operation.getDirectedType();
         final boolean includeEdges;
@@ -128,13 +139,6 @@ public class ByteEntityRangeFactory extends AbstractCoreKeyRangeFactory {
             includeEntities = operation.getView().hasEntities();
         }
 
-        byte[] serialisedVertex;
-        try {
-            serialisedVertex = ByteArrayEscapeUtils.escape(((ToBytesSerialiser) schema.getVertexSerialiser()).serialise(vertex));
-        } catch (final SerialisationException e) {
-            throw new RangeFactoryException("Failed to serialise identifier", e);
-        }
-
         if (!includeEntities && !includeEdges) {
             throw new IllegalArgumentException("Need to include either Entities or Edges or both when getting Range");
         }
@@ -31,6 +31,8 @@ import uk.gov.gchq.gaffer.operation.data.EntitySeed;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 
+import java.util.Arrays;
+
 public class ClassicAccumuloElementConverter extends AbstractCoreKeyAccumuloElementConverter {
     public ClassicAccumuloElementConverter(final Schema schema) {
         super(schema);
@@ -107,6 +109,20 @@ public class ClassicAccumuloElementConverter extends AbstractCoreKeyAccumuloElem
         return rowKey;
     }
 
+    @Override
+    public byte[] getSerialisedAdjacentVertex(final byte[] row) {
+        // The row key is first DELIMITER second DELIMITER flag, or just the
+        // vertex for an Entity
+        int carriage = 0;
+        while (carriage < row.length && row[carriage] != ByteArrayEscapeUtils.DELIMITER) {
+            carriage++;
+        }
+        if (carriage == row.length) {
+            return null;
+        }
+        return Arrays.copyOfRange(row, carriage + 1, row.length - 2);
+    }
+
     @Override
     protected boolean doesKeyRepresentEntity(final byte[] row) {
         short numDelims = 0;
@@ -46,6 +46,18 @@ public class ClassicRangeFactory extends AbstractCoreKeyRangeFactory {
     @Override
     protected List<Range> getRange(final Object vertex, final GraphFilters operation,
                                    final boolean includeEdgesParam) throws RangeFactoryException {
+        byte[] serialisedVertex;
+        try {
+            serialisedVertex = ByteArrayEscapeUtils.escape(((ToBytesSerialiser) schema.getVertexSerialiser()).serialise(vertex));
+        } catch (final SerialisationException e) {
+            throw new RangeFactoryException("Failed to serialise identifier", e);
+        }
+        return getRangeFromSerialisedVertex(serialisedVertex, operation, includeEdgesParam);
+    }
+
+    @Override
+    protected List<Range> getRangeFromSerialisedVertex(final byte[] serialisedVertex, final GraphFilters operation,
+                                                       final boolean includeEdgesParam) {
         final boolean includeEdges;
         final boolean includeEntities;
         final boolean seedEqual = operation instanceof SeedMatching
@@ -58,12 +70,6 @@ public class ClassicRangeFactory extends AbstractCoreKeyRangeFactory {
             includeEntities = operation.getView().hasEntities();
         }
 
-        byte[] serialisedVertex;
-        try {
-            serialisedVertex = ByteArrayEscapeUtils.escape(((ToBytesSerialiser) schema.getVertexSerialiser()).serialise(vertex));
-        } catch (final SerialisationException e) {
-            throw new RangeFactoryException("Failed to serialise identifier", e);
-        }
         if (!includeEntities && !includeEdges) {
             throw new IllegalArgumentException(
                     "Need to include either Entities or Edges or both when getting Range from a type and value");
@@ -0,0 +1,246 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.accumulostore.operation.handler;
+
+import org.apache.accumulo.core.client.AccumuloException;
+import org.apache.accumulo.core.client.AccumuloSecurityException;
+import org.apache.accumulo.core.client.TableNotFoundException;
+import org.apache.accumulo.core.client.rfile.RFile;
+import org.apache.accumulo.core.client.rfile.RFileWriter;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.apache.commons.io.FileUtils;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.Text;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.operation.hdfs.handler.ImportAccumuloKeyValueFilesHandler;
+import uk.gov.gchq.gaffer.accumulostore.operation.hdfs.operation.ImportAccumuloKeyValueFiles;
+import uk.gov.gchq.gaffer.accumulostore.operation.impl.BulkAddElements;
+import uk.gov.gchq.gaffer.accumulostore.utils.ExternalKeyValueSorter;
+import uk.gov.gchq.gaffer.accumulostore.utils.TableUtils;
+import uk.gov.gchq.gaffer.commonutil.CommonConstants;
+import uk.gov.gchq.gaffer.commonutil.pair.Pair;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Properties;
+import uk.gov.gchq.gaffer.data.element.function.ElementAggregator;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.ValidatedElements;
+import uk.gov.gchq.gaffer.store.operation.handler.OperationHandler;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A {@code BulkAddElementsHandler} handles the {@link BulkAddElements} operation.
+ * <p>
+ * The key-value pairs are partitioned by the table's current split points so each
+ * RFile that is written only contains data for a single tablet. The values of
+ * duplicate keys are aggregated in the same way as the
+ * {@link uk.gov.gchq.gaffer.accumulostore.operation.hdfs.reducer.AccumuloKeyValueReducer}.
+ * The files are then imported using the {@link ImportAccumuloKeyValueFilesHandler}.
+ */
+public class BulkAddElementsHandler implements OperationHandler<BulkAddElements> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BulkAddElementsHandler.class);
+
+    @Override
+    public Void doOperation(final BulkAddElements operation,
+                            final Context context, final Store store)
+            throws OperationException {
+        doOperation(operation, (AccumuloStore) store);
+        return null;
+    }
+
+    public void doOperation(final BulkAddElements operation, final AccumuloStore store) throws OperationException {
+        if (null == operation.getInput()) {
+            throw new OperationException("Operation input is required.");
+        }
+
+        try {
+            TableUtils.ensureTableExists(store);
+            writeFiles(operation, store);
+        } catch (final StoreException | IOException e) {
+            throw new OperationException("Failed to write elements to files for bulk import", e);
+        }
+
+        new ImportAccumuloKeyValueFilesHandler().doOperation(new ImportAccumuloKeyValueFiles.Builder()
+                .inputPath(operation.getWorkingPath())
+                .failurePath(operation.getFailurePath())
+                .build(), store);
+    }
+
+    private void writeFiles(final BulkAddElements operation, final AccumuloStore store)
+            throws StoreException, IOException, OperationException {
+        final Iterable<? extends Element> elements;
+        if (operation.isValidate()) {
+            elements = new ValidatedElements(operation.getInput(), store.getSchema(), operation.isSkipInvalidElements());
+        } else {
+            elements = operation.getInput();
+        }
+
+        final List<Text> splits = getSplits(store);
+        final FileSystem fs = FileSystem.get(new Configuration());
+        final Path workingPath = new Path(operation.getWorkingPath());
+        checkWorkingPath(fs, workingPath);
+
+        final AccumuloElementConverter converter = store.getKeyPackage().getKeyConverter();
+        final int maxEntriesInMemory = null != operation.getMaxEntriesInMemory()
+                ? operation.getMaxEntriesInMemory()
+                : ExternalKeyValueSorter.DEFAULT_MAX_ENTRIES_IN_MEMORY;
+        final java.nio.file.Path spillDirectory = Files.createTempDirectory("gaffer-bulk-add");
+        try (final ExternalKeyValueSorter sorter = new ExternalKeyValueSorter(maxEntriesInMemory, spillDirectory,
+                new AggregatingValueCombiner(store.getSchema(), converter))) {
+            long numElements = 0;
+            for (final Element element : elements) {
+                final Pair<Key, Key> keys = converter.getKeysFromElement(element);
+                final Value value = converter.getValueFromElement(element);
+                sorter.add(getPartition(splits, keys.getFirst()), keys.getFirst(), value);
+                // Entities only have one key
+                if (null != keys.getSecond()) {
+                    sorter.add(getPartition(splits, keys.getSecond()), keys.getSecond(), value);
+                }
+                numElements++;
+            }
+            LOGGER.info("Sorting the key-value pairs of {} elements using {} run files", numElements, sorter.getNumberOfRuns());
+
+            final PartitionFileWriter writer = new PartitionFileWriter(fs, workingPath);
+            try {
+                sorter.sort(writer::append);
+            } finally {
+                writer.close();
+            }
+            LOGGER.info("Wrote {} RFiles to {}", writer.getNumberOfFiles(), workingPath);
+        } finally {
+            // Delete the directory with its contents in case the sorter failed to delete any of its run files
+            if (!FileUtils.deleteQuietly(spillDirectory.toFile())) {
+                LOGGER.warn("Failed to delete spill directory {}", spillDirectory);
+            }
+        }
+    }
+
+    private List<Text> getSplits(final AccumuloStore store) throws StoreException, OperationException {
+        try {
+            final List<Text> splits = new ArrayList<>(store.getConnection().tableOperations().listSplits(store.getTableName()));
+            Collections.sort(splits);
+            return splits;
+        } catch (final TableNotFoundException | AccumuloSecurityException | AccumuloException e) {
+            throw new OperationException("Failed to get the split points of table " + store.getTableName(), e);
+        }
+    }
+
+    private void checkWorkingPath(final FileSystem fs, final Path workingPath) throws IOException {
+        if (fs.exists(workingPath) && fs.listFiles(workingPath, true).hasNext()) {
+            LOGGER.error("Working directory exists and is not empty: {}", workingPath);
+            throw new IllegalArgumentException("Working directory exists and is not empty: " + workingPath);
+        }
+        fs.mkdirs(workingPath);
+    }
+
+    /**
+     * Tablet i contains the rows after split i - 1 up to and including split i,
+     * the last tablet contains the rows after the last split.
+     */
+    private static int getPartition(final List<Text> splits, final Key key) {
+        final int index = Collections.binarySearch(splits, key.getRow());
+        return index >= 0 ? index : -index - 1;
+    }
+
+    private static final class AggregatingValueCombiner implements ExternalKeyValueSorter.ValueCombiner {
+        private final Schema schema;
+        private final AccumuloElementConverter converter;
+
+        private AggregatingValueCombiner(final Schema schema, final AccumuloElementConverter converter) {
+            this.schema = schema;
+            this.converter = converter;
+        }
+
+        @Override
+        public Iterable<Value> combine(final Key key, final List<Value> values) {
+            final String group;
+            try {
+                group = new String(key.getColumnFamilyData().getBackingArray(), CommonConstants.UTF_8);
+            } catch (final UnsupportedEncodingException e) {
+                throw new RuntimeException(e.getMessage(), e);
+            }
+
+            final SchemaElementDefinition elementDef = schema.getElement(group);
+            if (!elementDef.isAggregate()) {
+                // The group has aggregation disabled - so keep all the values
+                return values;
+            }
+
+            final ElementAggregator aggregator = elementDef.getIngestAggregator();
+            Properties state = null;
+            for (final Value value : values) {
+                final Properties properties = converter.getPropertiesFromValue(group, value);
+                state = null == state ? properties : aggregator.apply(state, properties);
+            }
+            return Collections.singletonList(converter.getValueFromProperties(group, state));
+        }
+    }
+
+    /**
+     * Writes sorted key-value pairs to one RFile per partition.
+     */
+    private static final class PartitionFileWriter {
+        private final FileSystem fs;
+        private final Path workingPath;
+        private RFileWriter writer;
+        private int partition = -1;
+        private int numberOfFiles;
+
+        private PartitionFileWriter(final FileSystem fs, final Path workingPath) {
+            this.fs = fs;
+            this.workingPath = workingPath;
+        }
+
+        private void append(final int keyPartition, final Key key, final Value value) throws IOException {
+            if (null == writer || keyPartition != partition) {
+                close();
+                partition = keyPartition;
+                final Path file = new Path(workingPath, String.format("part-%05d.rf", partition));
+                writer = RFile.newWriter().to(file.toString()).withFileSystem(fs).build();
+                numberOfFiles++;
+            }
+            writer.append(key, value);
+        }
+
+        private void close() throws IOException {
+            if (null != writer) {
+                writer.close();
+                writer = null;
+            }
+        }
+
+        private int getNumberOfFiles() {
+            return numberOfFiles;
+        }
+    }
+}
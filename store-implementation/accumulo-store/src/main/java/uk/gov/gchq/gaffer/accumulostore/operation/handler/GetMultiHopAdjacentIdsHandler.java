@@ -0,0 +1,50 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.accumulostore.operation.handler;
+
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
+import uk.gov.gchq.gaffer.accumulostore.operation.impl.GetMultiHopAdjacentIds;
+import uk.gov.gchq.gaffer.accumulostore.retriever.impl.AccumuloMultiHopAdjacentIdRetriever;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
+import uk.gov.gchq.gaffer.user.User;
+
+public class GetMultiHopAdjacentIdsHandler implements OutputOperationHandler<GetMultiHopAdjacentIds, CloseableIterable<? extends EntityId>> {
+
+    @Override
+    public CloseableIterable<? extends EntityId> doOperation(final GetMultiHopAdjacentIds operation,
+                                                             final Context context, final Store store)
+            throws OperationException {
+        return doOperation(operation, context.getUser(), (AccumuloStore) store);
+    }
+
+    public CloseableIterable<? extends EntityId> doOperation(final GetMultiHopAdjacentIds op,
+                                                             final User user,
+                                                             final AccumuloStore store)
+            throws OperationException {
+        try {
+            return new AccumuloMultiHopAdjacentIdRetriever(store, op, user);
+        } catch (final IteratorSettingException | StoreException e) {
+            throw new OperationException(e.getMessage(), e);
+        }
+    }
+}
@@ -64,6 +64,10 @@ public class AccumuloAddElementsFromHdfsJobFactory implements AddElementsFromHdf
         LOGGER.info("Added {} of {} to job conf", MAPPER_GENERATOR, mapperGeneratorClassName);
         jobConf.set(VALIDATE, String.valueOf(operation.isValidate()));
         LOGGER.info("Added {} option of {} to job conf", VALIDATE, operation.isValidate());
+        if (null != operation.getMapperAggregationBufferSize()) {
+            jobConf.setInt(MAPPER_AGGREGATION_BUFFER_SIZE, operation.getMapperAggregationBufferSize());
+            LOGGER.info("Added {} option of {} to job conf", MAPPER_AGGREGATION_BUFFER_SIZE, operation.getMapperAggregationBufferSize());
+        }
 
         if (null != operation.getNumMapTasks()) {
             jobConf.setNumMapTasks(operation.getNumMapTasks());
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.accumulostore.operation.impl;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+
+import uk.gov.gchq.gaffer.commonutil.Required;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.Validatable;
+import uk.gov.gchq.gaffer.operation.io.MultiInput;
+
+import java.util.Map;
+
+/**
+ * A {@code BulkAddElements} operation adds elements to an Accumulo table by
+ * bulk importing files rather than writing mutations, without running a
+ * MapReduce job.
+ * <p>
+ * The elements are converted to key-value pairs and sorted locally, spilling to
+ * the local disk when there are more than {@code maxEntriesInMemory} pairs. Pairs
+ * with the same key are aggregated using the schema, then one RFile per tablet is
+ * written to the working path and the files are imported into the table. The
+ * working path and failure path must be on a file system that Accumulo can read.
+ * <p>
+ * This is intended for loads that are too large to add efficiently with
+ * {@link uk.gov.gchq.gaffer.operation.impl.add.AddElements} but are not large
+ * enough to justify a MapReduce job.
+ *
+ * @see BulkAddElements.Builder
+ */
+public class BulkAddElements implements
+        Validatable,
+        MultiInput<Element> {
+    private boolean validate = true;
+    private boolean skipInvalidElements;
+    private Iterable<? extends Element> elements;
+
+    /**
+     * Path to a directory to write the RFiles to. The directory must be empty if it exists.
+     */
+    @Required
+    private String workingPath;
+
+    @Required
+    private String failurePath;
+
+    /**
+     * The maximum number of key-value pairs to sort in memory before spilling them to
+     * the local disk. If null the default of
+     * {@link uk.gov.gchq.gaffer.accumulostore.utils.ExternalKeyValueSorter#DEFAULT_MAX_ENTRIES_IN_MEMORY} is used.
+     */
+    private Integer maxEntriesInMemory;
+
+    private Map<String, String> options;
+
+    @Override
+    public boolean isValidate() {
+        return validate;
+    }
+
+    @Override
+    public void setValidate(final boolean validate) {
+        this.validate = validate;
+    }
+
+    @Override
+    public boolean isSkipInvalidElements() {
+        return skipInvalidElements;
+    }
+
+    @Override
+    public void setSkipInvalidElements(final boolean skipInvalidElements) {
+        this.skipInvalidElements = skipInvalidElements;
+    }
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.EXISTING_PROPERTY, property = "class")
+    @Override
+    public Object[] createInputArray() {
+        return MultiInput.super.createInputArray();
+    }
+
+    @Override
+    public Iterable<? extends Element> getInput() {
+        return elements;
+    }
+
+    @Override
+    public void setInput(final Iterable<? extends Element> elements) {
+        this.elements = elements;
+    }
+
+    public String getWorkingPath() {
+        return workingPath;
+    }
+
+    public void setWorkingPath(final String workingPath) {
+        this.workingPath = workingPath;
+    }
+
+    public String getFailurePath() {
+        return failurePath;
+    }
+
+    public void setFailurePath(final String failurePath) {
+        this.failurePath = failurePath;
+    }
+
+    public Integer getMaxEntriesInMemory() {
+        return maxEntriesInMemory;
+    }
+
+    public void setMaxEntriesInMemory(final Integer maxEntriesInMemory) {
+        this.maxEntriesInMemory = maxEntriesInMemory;
+    }
+
+    @Override
+    public Map<String, String> getOptions() {
+        return options;
+    }
+
+    @Override
+    public void setOptions(final Map<String, String> options) {
+        this.options = options;
+    }
+
+    @Override
+    public BulkAddElements shallowClone() {
+        return new BulkAddElements.Builder()
+                .validate(validate)
+                .skipInvalidElements(skipInvalidElements)
+                .input(elements)
+                .workingPath(workingPath)
+                .failurePath(failurePath)
+                .maxEntriesInMemory(maxEntriesInMemory)
+                .options(options)
+                .build();
+    }
+
+    public static class Builder extends Operation.BaseBuilder<BulkAddElements, Builder>
+            implements Validatable.Builder<BulkAddElements, Builder>,
+            MultiInput.Builder<BulkAddElements, Element, Builder> {
+        public Builder() {
+            super(new BulkAddElements());
+        }
+
+        public Builder workingPath(final String workingPath) {
+            _getOp().setWorkingPath(workingPath);
+            return _self();
+        }
+
+        public Builder failurePath(final String failurePath) {
+            _getOp().setFailurePath(failurePath);
+            return _self();
+        }
+
+        public Builder maxEntriesInMemory(final Integer maxEntriesInMemory) {
+            _getOp().setMaxEntriesInMemory(maxEntriesInMemory);
+            return _self();
+        }
+    }
+}
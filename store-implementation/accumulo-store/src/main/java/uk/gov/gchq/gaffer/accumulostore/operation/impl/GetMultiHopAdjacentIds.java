@@ -0,0 +1,172 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.accumulostore.operation.impl;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import uk.gov.gchq.gaffer.commonutil.Required;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.id.DirectedType;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters;
+import uk.gov.gchq.gaffer.operation.io.InputOutput;
+import uk.gov.gchq.gaffer.operation.io.MultiInput;
+import uk.gov.gchq.gaffer.operation.serialisation.TypeReferenceImpl;
+import uk.gov.gchq.koryphe.ValidationResult;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Retrieves the vertices within a given number of hops of the provided seeds.
+ * Each hop follows the {@link uk.gov.gchq.gaffer.data.element.Edge}s in the
+ * {@link View}, in the same way as a
+ * {@link uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds} operation.
+ * <p>
+ * All of the hops are executed by a single handler, so the vertices found on
+ * each hop are used as the seeds for the next hop in their serialised form,
+ * without being returned to the client or deserialised. Each vertex is only
+ * expanded and returned once, and the seeds are not returned.
+ **/
+public class GetMultiHopAdjacentIds implements
+        InputOutput<Iterable<? extends EntityId>, CloseableIterable<? extends EntityId>>,
+        MultiInput<EntityId>,
+        SeededGraphFilters {
+    private View view;
+    private Iterable<? extends EntityId> input;
+    private DirectedType directedType;
+    private IncludeIncomingOutgoingType inOutType;
+    @Required
+    private Integer hops;
+    private Map<String, String> options;
+
+    @Override
+    public View getView() {
+        return view;
+    }
+
+    @Override
+    public void setView(final View view) {
+        if (null != view && view.hasEntities()) {
+            if (view.hasEntityFilters()) {
+                throw new IllegalArgumentException("View should not have entities with filters.");
+            }
+            this.view = new View.Builder()
+                    .merge(view)
+                    .entities(Collections.emptyMap())
+                    .build();
+        } else {
+            this.view = view;
+        }
+    }
+
+    @Override
+    public DirectedType getDirectedType() {
+        return directedType;
+    }
+
+    @Override
+    public void setDirectedType(final DirectedType directedType) {
+        this.directedType = directedType;
+    }
+
+    @Override
+    public IncludeIncomingOutgoingType getIncludeIncomingOutGoing() {
+        return inOutType;
+    }
+
+    @Override
+    public void setIncludeIncomingOutGoing(final IncludeIncomingOutgoingType inOutType) {
+        this.inOutType = inOutType;
+    }
+
+    @Override
+    public Iterable<? extends EntityId> getInput() {
+        return input;
+    }
+
+    @Override
+    public void setInput(final Iterable<? extends EntityId> input) {
+        this.input = input;
+    }
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.EXISTING_PROPERTY, property = "class")
+    @Override
+    public Object[] createInputArray() {
+        return MultiInput.super.createInputArray();
+    }
+
+    public Integer getHops() {
+        return hops;
+    }
+
+    public void setHops(final Integer hops) {
+        this.hops = hops;
+    }
+
+    @Override
+    public ValidationResult validate() {
+        final ValidationResult result = InputOutput.super.validate();
+        if (null != hops && hops < 1) {
+            result.addError("hops must be at least 1.");
+        }
+        return result;
+    }
+
+    @Override
+    public TypeReference<CloseableIterable<? extends EntityId>> getOutputTypeReference() {
+        return new TypeReferenceImpl.CloseableIterableEntityId();
+    }
+
+    @Override
+    public Map<String, String> getOptions() {
+        return options;
+    }
+
+    @Override
+    public void setOptions(final Map<String, String> options) {
+        this.options = options;
+    }
+
+    @Override
+    public GetMultiHopAdjacentIds shallowClone() {
+        return new GetMultiHopAdjacentIds.Builder()
+                .view(view)
+                .input(input)
+                .directedType(directedType)
+                .inOutType(inOutType)
+                .hops(hops)
+                .options(options)
+                .build();
+    }
+
+    public static class Builder extends Operation.BaseBuilder<GetMultiHopAdjacentIds, Builder>
+            implements InputOutput.Builder<GetMultiHopAdjacentIds, Iterable<? extends EntityId>, CloseableIterable<? extends EntityId>, Builder>,
+            MultiInput.Builder<GetMultiHopAdjacentIds, EntityId, Builder>,
+            SeededGraphFilters.Builder<GetMultiHopAdjacentIds, Builder> {
+        public Builder() {
+            super(new GetMultiHopAdjacentIds());
+        }
+
+        public Builder hops(final Integer hops) {
+            _getOp().setHops(hops);
+            return _self();
+        }
+    }
+}
@@ -129,7 +129,7 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
             while (scannerIterator.hasNext()) {
                 final Entry<Key, Value> entry = scannerIterator.next();
                 try {
-                    nextElm = elementConverter.getFullElement(
+                    nextElm = elementConverter.getLazyFullElement(
                             entry.getKey(),
                             entry.getValue(),
                             includeMatchedVertex);
@@ -30,11 +30,11 @@ import uk.gov.gchq.gaffer.accumulostore.key.RangeFactory;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.data.element.Element;
-import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
 import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
 import uk.gov.gchq.gaffer.operation.io.Output;
+import uk.gov.gchq.gaffer.store.ElementValidator;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.user.User;
 
@@ -50,6 +50,7 @@ public abstract class AccumuloRetriever<OP extends Output & GraphFilters, O_ITEM
     protected final OP operation;
     protected final AccumuloElementConverter elementConverter;
     protected final IteratorSetting[] iteratorSettings;
+    private final ElementValidator validator;
 
     protected AccumuloRetriever(final AccumuloStore store, final OP operation,
                                 final User user, final IteratorSetting... iteratorSettings)
@@ -59,6 +60,7 @@ public abstract class AccumuloRetriever<OP extends Output & GraphFilters, O_ITEM
         this.iteratorSettingFactory = store.getKeyPackage().getIteratorFactory();
         this.elementConverter = store.getKeyPackage().getKeyConverter();
         this.operation = operation;
+        this.validator = new ElementValidator(operation.getView());
         this.iteratorSettings = iteratorSettings;
         this.user = user;
         if (null != user && null != user.getDataAuths()) {
@@ -89,10 +91,7 @@ public abstract class AccumuloRetriever<OP extends Output & GraphFilters, O_ITEM
      */
     public boolean doPostFilter(final Element element) {
         final ViewElementDefinition viewDef = operation.getView().getElement(element.getGroup());
-        if (null != viewDef) {
-            return postFilter(element, viewDef.getPostTransformFilter());
-        }
-        return true;
+        return null == viewDef || validator.validateTransform(element);
     }
 
     @Override
@@ -138,8 +137,4 @@ public abstract class AccumuloRetriever<OP extends Output & GraphFilters, O_ITEM
             transformer.apply(element);
         }
     }
-
-    protected boolean postFilter(final Element element, final ElementFilter postFilter) {
-        return null == postFilter || postFilter.test(element);
-    }
 }
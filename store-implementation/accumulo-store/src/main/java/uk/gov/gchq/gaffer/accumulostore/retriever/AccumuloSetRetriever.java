@@ -45,9 +45,11 @@ import uk.gov.gchq.gaffer.operation.io.InputOutput;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.user.User;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map.Entry;
 import java.util.NoSuchElementException;
 import java.util.Set;
@@ -170,10 +172,19 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
         }
     }
 
+    private void logBloomFilterFalsePositives(final long numEdgesPassedBloomFilter, final long numFalsePositives) {
+        if (numEdgesPassedBloomFilter > 0) {
+            LOGGER.debug("{} of the {} edges that passed the Bloom filter were false positives (rate {})",
+                    numFalsePositives, numEdgesPassedBloomFilter, (double) numFalsePositives / numEdgesPassedBloomFilter);
+        }
+    }
+
     protected abstract class AbstractElementIteratorReadIntoMemory implements CloseableIterator<Element> {
         private AccumuloItemRetriever<?, ?> parentRetriever;
         private Iterator<Element> iterator;
         private Element nextElm;
+        private long numEdgesPassedBloomFilter;
+        private long numFalsePositives;
 
         protected void initialise(final BloomFilter filter) throws RetrieverException {
             IteratorSetting bloomFilter = null;
@@ -206,10 +217,15 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
             }
             while (iterator.hasNext()) {
                 nextElm = iterator.next();
+                if (nextElm instanceof Edge) {
+                    numEdgesPassedBloomFilter++;
+                }
                 if (checkIfBothEndsInSet(nextElm)) {
                     return true;
                 }
+                numFalsePositives++;
             }
+            nextElm = null;
             return false;
         }
 
@@ -237,6 +253,7 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
             if (null != parentRetriever) {
                 parentRetriever.close();
             }
+            logBloomFilterFalsePositives(numEdgesPassedBloomFilter, numFalsePositives);
         }
 
         protected abstract boolean checkIfBothEndsInSet(final Object source, final Object destination);
@@ -271,18 +288,24 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
         protected BloomFilter clientSideFilter;
         protected Set<Object> currentSeeds;
         protected BatchScanner scanner;
+        // The Bloom filter that is passed to the iterators, created by
+        // createBloomFilter once the number of seeds to add to it is known.
         protected BloomFilter filter;
+        // The number of seeds the filter was sized for
+        protected int filterCapacity;
+        private int filterSize;
         private Iterator<Entry<Key, Value>> scannerIterator;
+        // The filter is only serialised into an iterator setting when it has
+        // changed, so an unchanged filter is reused for every batch.
+        private IteratorSetting bloomFilterSetting;
         private Element nextElm;
         private int count;
+        private long numEdgesPassedBloomFilter;
+        private long numFalsePositives;
 
         public AbstractElementIteratorFromBatches() {
             // Set up client side filter
             clientSideFilter = BloomFilterUtils.getBloomFilter(store.getProperties().getClientSideBloomFilterSize());
-            // Create Bloom filter to be passed to iterators.
-            filter = BloomFilterUtils.getBloomFilter(store.getProperties().getFalsePositiveRate(),
-                    store.getProperties().getMaxEntriesForBatchScanner(),
-                    store.getProperties().getMaxBloomFilterToPassToAnIterator());
             currentSeeds = new HashSet<>();
         }
 
@@ -295,16 +318,21 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
                 while (_hasNext()) {
                     final Entry<Key, Value> entry = scannerIterator.next();
                     try {
-                        nextElm = elementConverter.getFullElement(entry.getKey(), entry.getValue(), true);
+                        nextElm = elementConverter.getLazyFullElement(entry.getKey(), entry.getValue(), true);
                     } catch (final AccumuloElementConversionException e) {
                         LOGGER.error("Failed to create next element from key and value entry set", e);
                         continue;
                     }
+                    if (nextElm instanceof Edge) {
+                        numEdgesPassedBloomFilter++;
+                    }
                     if (secondaryCheck(nextElm)) {
                         doTransformation(nextElm);
                         if (doPostFilter(nextElm)) {
                             return true;
                         }
+                    } else {
+                        numFalsePositives++;
                     }
                 }
             } catch (final RetrieverException e) {
@@ -338,9 +366,42 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
             if (null != scanner) {
                 scanner.close();
             }
+            LOGGER.debug("The Bloom filter passed to the iterators was {} bits and sized for {} seeds", filterSize, filterCapacity);
+            logBloomFilterFalsePositives(numEdgesPassedBloomFilter, numFalsePositives);
+        }
+
+        /**
+         * Updates the Bloom filter that is passed to the iterators with the
+         * next batch of seeds, if required.
+         *
+         * @param seeds the batch of seeds about to be queried for
+         * @return true if the Bloom filter has been changed
+         * @throws RetrieverException if the seeds cannot be added to the filter
+         */
+        protected abstract boolean updateBloomFilterIfRequired(final List<EntityId> seeds) throws RetrieverException;
+
+        /**
+         * Creates the Bloom filter that is passed to the iterators, sized to
+         * achieve the false positive rate once the given number of seeds have
+         * been added to it, subject to the maximum size in the store properties.
+         *
+         * @param numSeedsToBeAdded the number of seeds to be added
+         */
+        protected void createBloomFilter(final int numSeedsToBeAdded) {
+            filterCapacity = Math.max(1, numSeedsToBeAdded);
+            filterSize = BloomFilterUtils.calculateBloomFilterSize(store.getProperties().getFalsePositiveRate(),
+                    filterCapacity, store.getProperties().getMaxBloomFilterToPassToAnIterator());
+            filter = BloomFilterUtils.getBloomFilter(filterSize, BloomFilterUtils.calculateNumHashes(filterSize, filterCapacity));
+            bloomFilterSetting = null;
         }
 
-        protected abstract void updateBloomFilterIfRequired(final EntityId seed) throws RetrieverException;
+        /**
+         * @return true if the Bloom filter passed to the iterators is smaller
+         * than the maximum size in the store properties
+         */
+        protected boolean canGrowBloomFilter() {
+            return filterSize < store.getProperties().getMaxBloomFilterToPassToAnIterator();
+        }
 
         protected void updateScanner() throws RetrieverException {
             // Read through the first N entities (where N =
@@ -348,16 +409,20 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
             // and add them to a set.
             count = 0;
             final Set<Range> ranges = new HashSet<>();
+            final List<EntityId> seeds = new ArrayList<>();
             while (idsAIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
                 final EntityId seed = idsAIterator.next();
                 currentSeeds.add(seed.getVertex());
+                seeds.add(seed);
                 count++;
                 try {
                     ranges.addAll(rangeFactory.getRange(seed, operation));
                 } catch (final RangeFactoryException e) {
                     LOGGER.error("Failed to create a range from given seed", e);
                 }
-                updateBloomFilterIfRequired(seed);
+            }
+            if (updateBloomFilterIfRequired(seeds)) {
+                bloomFilterSetting = null;
             }
 
             try {
@@ -368,7 +433,10 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
                 throw new RetrieverException(e);
             }
             try {
-                scanner.addScanIterator(iteratorSettingFactory.getBloomFilterIteratorSetting(filter));
+                if (null == bloomFilterSetting) {
+                    bloomFilterSetting = iteratorSettingFactory.getBloomFilterIteratorSetting(filter);
+                }
+                scanner.addScanIterator(bloomFilterSetting);
             } catch (final IteratorSettingException e) {
                 LOGGER.error("Failed to apply the bloom filter iterator setting continuing without bloom filter", e);
             }
@@ -139,7 +139,7 @@ public class AccumuloAdjacentIdRetriever extends AccumuloRetriever<GetAdjacentId
                 if (transformGroups.contains(group)) {
                     final Element element;
                     try {
-                        element = elementConverter.getFullElement(
+                        element = elementConverter.getLazyFullElement(
                                 entry.getKey(),
                                 entry.getValue(),
                                 true);
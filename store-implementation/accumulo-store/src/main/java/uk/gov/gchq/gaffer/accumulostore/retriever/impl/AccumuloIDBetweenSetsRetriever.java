@@ -34,7 +34,9 @@ import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.user.User;
 
+import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -64,8 +66,9 @@ import java.util.Set;
  * In the second mode, where there are too many seeds to be loaded into memory,
  * the seeds in set A are queried for in batches. The seeds in set B are loaded
  * into two {@link org.apache.hadoop.util.bloom.BloomFilter}s. The first of
- * these is relatively small and is passed to the filtering iterator to filter
- * out edges that are definitely not to set B. The second, larger,
+ * these is relatively small, sized from the number of seeds in set B where it
+ * is known, and is passed to the filtering iterator to filter out edges that
+ * are definitely not to set B. The second, larger,
  * {@link org.apache.hadoop.util.bloom.BloomFilter} is used client-side to
  * further reduce the chances of false positives making it to the user.
  */
@@ -151,6 +154,7 @@ public class AccumuloIDBetweenSetsRetriever extends AccumuloSetRetriever<GetElem
     private class ElementIteratorFromBatches extends AbstractElementIteratorFromBatches {
         ElementIteratorFromBatches() throws RetrieverException {
             try {
+                createBloomFilter(getNumberOfSeedsInSetB());
                 addToBloomFilter(seedSetBIter, filter, clientSideFilter);
                 idsAIterator = seedSetAIter;
                 updateScanner();
@@ -163,8 +167,19 @@ public class AccumuloIDBetweenSetsRetriever extends AccumuloSetRetriever<GetElem
         }
 
         @Override
-        protected void updateBloomFilterIfRequired(final EntityId seed) throws RetrieverException {
-            // no action required.
+        protected boolean updateBloomFilterIfRequired(final List<EntityId> seeds) throws RetrieverException {
+            // no action required - the Bloom filter of set B is the same for
+            // every batch of set A, so it is only passed to the iterators once.
+            return false;
+        }
+
+        // The size of set B is only known before it is read if it is a Collection,
+        // otherwise the Bloom filter is sized for one batch of seeds.
+        private int getNumberOfSeedsInSetB() {
+            if (seedSetB instanceof Collection) {
+                return ((Collection<?>) seedSetB).size();
+            }
+            return store.getProperties().getMaxEntriesForBatchScanner();
         }
 
         @Override
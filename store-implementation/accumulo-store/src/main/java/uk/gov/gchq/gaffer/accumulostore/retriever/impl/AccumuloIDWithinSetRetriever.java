@@ -35,6 +35,7 @@ import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.user.User;
 
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -65,7 +66,9 @@ import java.util.Set;
  * queried for, the same {@link org.apache.hadoop.util.bloom.BloomFilter} has
  * the second batch added to it. This is passed to the iterators, which filters
  * out all edges that are definitely not between elements of the second batch
- * and the first or second batch. This process repeats until all seeds have been
+ * and the first or second batch. The {@link org.apache.hadoop.util.bloom.BloomFilter}
+ * is sized from the number of seeds queried for so far, and is re-created at
+ * least twice as large whenever it holds more seeds than it was sized for. This process repeats until all seeds have been
  * queried for. This is best thought of as a square split into a grid (with the
  * same number of squares in both dimensions). As there are too many seeds to
  * load into memory, we use a client-side
@@ -147,14 +150,26 @@ public class AccumuloIDWithinSetRetriever extends AccumuloSetRetriever<GetElemen
         }
 
         @Override
-        protected void updateBloomFilterIfRequired(final EntityId seed) throws RetrieverException {
+        protected boolean updateBloomFilterIfRequired(final List<EntityId> seeds) throws RetrieverException {
             // NB: Do not reset either of the Bloom filters here - when we query
             // for the first batch of seeds the Bloom filters contain that first set
             // (and so we find edges within that first batch);
             // we next query for the second batch of seeds and the Bloom filters
             // contain both the first batch and the second batch
             // (and so we find edges from the second batch to either the first or second batches).
-            addToBloomFilter(seed, filter, clientSideFilter);
+            final Set<Object> vertices = extractVertices(seeds.iterator());
+            addToBloomFilter(vertices, clientSideFilter);
+            if (null == filter || (currentSeeds.size() > filterCapacity && canGrowBloomFilter())) {
+                // The filter passed to the iterators is sized from the number of
+                // seeds queried for so far. When it holds more seeds than it was
+                // sized for it is re-created at least twice as large from all of
+                // those seeds, which are held in currentSeeds.
+                createBloomFilter(Math.max(currentSeeds.size(), 2 * filterCapacity));
+                addToBloomFilter(currentSeeds, filter);
+            } else {
+                addToBloomFilter(vertices, filter);
+            }
+            return true;
         }
 
         @Override
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.accumulostore.retriever.impl;
+
+import org.apache.accumulo.core.client.BatchScanner;
+import org.apache.accumulo.core.client.TableNotFoundException;
+import org.apache.accumulo.core.data.ArrayByteSequence;
+import org.apache.accumulo.core.data.ByteSequence;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
+import uk.gov.gchq.gaffer.accumulostore.key.exception.RangeFactoryException;
+import uk.gov.gchq.gaffer.accumulostore.operation.impl.GetMultiHopAdjacentIds;
+import uk.gov.gchq.gaffer.accumulostore.retriever.AccumuloRetriever;
+import uk.gov.gchq.gaffer.accumulostore.retriever.RetrieverException;
+import uk.gov.gchq.gaffer.commonutil.ByteArrayEscapeUtils;
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.StringUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.ChainedIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.commonutil.iterable.EmptyCloseableIterator;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Retrieves the vertices within a number of hops of a set of seeds. Each hop
+ * is executed as one or more {@link BatchScanner} queries, with the
+ * vertices found on the previous hop as the seeds. The adjacent vertices are
+ * copied directly out of the row keys, so they are de-duplicated and used as
+ * the seeds for the next hop in their serialised form. They are only
+ * deserialised when they are returned.
+ */
+public class AccumuloMultiHopAdjacentIdRetriever extends AccumuloRetriever<GetMultiHopAdjacentIds, EntityId> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AccumuloMultiHopAdjacentIdRetriever.class);
+
+    private final Iterable<? extends EntityId> ids;
+    private final Set<String> transformGroups;
+
+    public AccumuloMultiHopAdjacentIdRetriever(final AccumuloStore store, final GetMultiHopAdjacentIds operation,
+                                               final User user)
+            throws IteratorSettingException, StoreException {
+        super(store, operation, user,
+                store.getKeyPackage().getIteratorFactory().getEdgeEntityDirectionFilterIteratorSetting(operation),
+                store.getKeyPackage().getIteratorFactory().getElementPreAggregationFilterIteratorSetting(operation.getView(), store),
+                store.getKeyPackage().getIteratorFactory().getQueryTimeAggregatorIteratorSetting(operation.getView(), store),
+                store.getKeyPackage().getIteratorFactory().getElementPostAggregationFilterIteratorSetting(operation.getView(), store));
+        this.ids = operation.getInput();
+        transformGroups = getGroupsWithTransforms(operation.getView());
+    }
+
+    /**
+     * Only 1 iterator can be open at a time. All of the hops are executed
+     * when the iterator is created.
+     *
+     * @return a closeable iterator of items.
+     */
+    @Override
+    public CloseableIterator<EntityId> iterator() {
+        CloseableUtil.close(iterator);
+
+        if (null == ids || null == operation.getHops()) {
+            return new EmptyCloseableIterator<>();
+        }
+
+        try {
+            iterator = new EntityIdIterator(getAdjacentVertices().iterator());
+        } catch (final RetrieverException e) {
+            LOGGER.error("{} returning empty iterator", e.getMessage(), e);
+            return new EmptyCloseableIterator<>();
+        }
+
+        return iterator;
+    }
+
+    private List<byte[]> getAdjacentVertices() throws RetrieverException {
+        // The vertices are held serialised and escaped, as in the row keys
+        final Set<ByteSequence> visited = new HashSet<>();
+        List<byte[]> frontier = new ArrayList<>();
+        for (final EntityId id : ids) {
+            final byte[] vertex = elementConverter.serialiseVertex(id.getVertex());
+            if (visited.add(new ArrayByteSequence(vertex))) {
+                frontier.add(vertex);
+            }
+        }
+
+        final List<byte[]> adjacentVertices = new ArrayList<>();
+        final int batchSize = store.getProperties().getMaxEntriesForBatchScanner();
+        for (int hop = 0; hop < operation.getHops() && !frontier.isEmpty(); hop++) {
+            final List<byte[]> nextFrontier = new ArrayList<>();
+            for (int start = 0; start < frontier.size(); start += batchSize) {
+                final Set<Range> ranges = new HashSet<>();
+                for (final byte[] vertex : frontier.subList(start, Math.min(start + batchSize, frontier.size()))) {
+                    try {
+                        ranges.addAll(rangeFactory.getRangeFromSerialisedVertex(vertex, operation));
+                    } catch (final RangeFactoryException e) {
+                        throw new RetrieverException("Failed to create a range from a serialised vertex", e);
+                    }
+                }
+                addAdjacentVertices(ranges, visited, nextFrontier);
+            }
+            adjacentVertices.addAll(nextFrontier);
+            frontier = nextFrontier;
+        }
+        return adjacentVertices;
+    }
+
+    private void addAdjacentVertices(final Set<Range> ranges, final Set<ByteSequence> visited, final List<byte[]> nextFrontier) throws RetrieverException {
+        final BatchScanner scanner;
+        try {
+            scanner = getScanner(ranges);
+        } catch (final TableNotFoundException | StoreException e) {
+            throw new RetrieverException(e);
+        }
+
+        try {
+            for (final Map.Entry<Key, Value> entry : scanner) {
+                final byte[] adjacentVertex = getAdjacentVertex(entry);
+                if (null != adjacentVertex && visited.add(new ArrayByteSequence(adjacentVertex))) {
+                    nextFrontier.add(adjacentVertex);
+                }
+            }
+        } finally {
+            scanner.close();
+        }
+    }
+
+    private byte[] getAdjacentVertex(final Map.Entry<Key, Value> entry) {
+        final String group = StringUtil.toString(entry.getKey().getColumnFamilyData().getBackingArray());
+        if (transformGroups.contains(group)) {
+            final Element element;
+            try {
+                element = elementConverter.getLazyFullElement(entry.getKey(), entry.getValue(), true);
+            } catch (final AccumuloElementConversionException e) {
+                LOGGER.error("Failed to re-create an element from a key value entry set, ignoring it", e);
+                return null;
+            }
+            doTransformation(element);
+            if (!doPostFilter(element)) {
+                return null;
+            }
+        }
+        return elementConverter.getSerialisedAdjacentVertex(entry.getKey().getRowData().getBackingArray());
+    }
+
+    private Set<String> getGroupsWithTransforms(final View view) {
+        final Set<String> groups = new HashSet<>();
+        for (final Map.Entry<String, ViewElementDefinition> entry : new ChainedIterable<Map.Entry<String, ViewElementDefinition>>(view.getEntities().entrySet(), view.getEdges().entrySet())) {
+            if (null != entry.getValue()) {
+                if (entry.getValue().hasPostTransformFilters()) {
+                    groups.add(entry.getKey());
+                }
+            }
+        }
+        return groups;
+    }
+
+    private final class EntityIdIterator implements CloseableIterator<EntityId> {
+        private final Iterator<byte[]> vertices;
+        private final ToBytesSerialiser vertexSerialiser;
+
+        private EntityIdIterator(final Iterator<byte[]> vertices) {
+            this.vertices = vertices;
+            this.vertexSerialiser = (ToBytesSerialiser) store.getSchema().getVertexSerialiser();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return vertices.hasNext();
+        }
+
+        @Override
+        public EntityId next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            try {
+                return new EntitySeed(vertexSerialiser.deserialise(ByteArrayEscapeUtils.unEscape(vertices.next())));
+            } catch (final SerialisationException e) {
+                throw new AccumuloElementConversionException("Failed to deserialise an adjacent vertex", e);
+            }
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("Unable to remove elements from this iterator");
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
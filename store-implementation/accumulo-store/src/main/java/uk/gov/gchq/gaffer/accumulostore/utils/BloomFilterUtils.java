@@ -79,6 +79,18 @@ public final class BloomFilterUtils {
         return new BloomFilter(size, numHashes, Hash.MURMUR_HASH);
     }
 
+    /**
+     * Returns a {@link org.apache.hadoop.util.bloom.BloomFilter} of the given
+     * size, configured with the given number of hash functions.
+     *
+     * @param size      the size of the bloom filter to create
+     * @param numHashes the number of hash functions to use
+     * @return A new BloomFilter of the desired size
+     */
+    public static BloomFilter getBloomFilter(final int size, final int numHashes) {
+        return new BloomFilter(size, numHashes, Hash.MURMUR_HASH);
+    }
+
     /**
      * Returns a {@link org.apache.hadoop.util.bloom.BloomFilter} of the given
      * size.
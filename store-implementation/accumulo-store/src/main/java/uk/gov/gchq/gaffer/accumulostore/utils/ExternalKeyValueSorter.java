@@ -0,0 +1,311 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.accumulostore.utils;
+
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * An {@code ExternalKeyValueSorter} sorts Accumulo key-value pairs by partition
+ * and then by key, using the local disk when there are too many pairs to sort in
+ * memory.
+ * <p>
+ * Pairs are buffered in memory until the buffer holds the maximum number of pairs,
+ * the buffer is then sorted and written to a run file in the spill directory.
+ * Once all the pairs have been added {@link #sort(KeyValueConsumer)} merges the
+ * runs and passes the pairs to a consumer in order. At most the maximum number of
+ * runs per merge are opened at once, if there are more runs than that then groups
+ * of runs are first merged into larger runs until few enough runs remain. Values
+ * with the same partition and key are passed to a {@link ValueCombiner} both when
+ * a run is written and when the runs are merged, so duplicate keys are combined as
+ * early as possible.
+ */
+public class ExternalKeyValueSorter implements Closeable {
+    public static final int DEFAULT_MAX_ENTRIES_IN_MEMORY = 500000;
+    public static final int DEFAULT_MAX_RUNS_PER_MERGE = 100;
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExternalKeyValueSorter.class);
+    private static final Comparator<Entry> ENTRY_COMPARATOR = Comparator
+            .comparingInt((Entry entry) -> entry.partition)
+            .thenComparing(entry -> entry.key);
+
+    private final int maxEntriesInMemory;
+    private final int maxRunsPerMerge;
+    private final Path spillDirectory;
+    private final ValueCombiner combiner;
+    private final List<Path> runs = new ArrayList<>();
+    private List<Entry> buffer = new ArrayList<>();
+    private boolean sorted;
+
+    public ExternalKeyValueSorter(final int maxEntriesInMemory, final Path spillDirectory, final ValueCombiner combiner) {
+        this(maxEntriesInMemory, DEFAULT_MAX_RUNS_PER_MERGE, spillDirectory, combiner);
+    }
+
+    public ExternalKeyValueSorter(final int maxEntriesInMemory, final int maxRunsPerMerge, final Path spillDirectory, final ValueCombiner combiner) {
+        if (maxEntriesInMemory < 1) {
+            throw new IllegalArgumentException("Max entries in memory must be at least 1");
+        }
+        if (maxRunsPerMerge < 2) {
+            throw new IllegalArgumentException("Max runs per merge must be at least 2");
+        }
+        if (null == spillDirectory) {
+            throw new IllegalArgumentException("Spill directory is required");
+        }
+        if (null == combiner) {
+            throw new IllegalArgumentException("Value combiner is required");
+        }
+        this.maxEntriesInMemory = maxEntriesInMemory;
+        this.maxRunsPerMerge = maxRunsPerMerge;
+        this.spillDirectory = spillDirectory;
+        this.combiner = combiner;
+    }
+
+    public void add(final int partition, final Key key, final Value value) throws IOException {
+        if (sorted) {
+            throw new IllegalStateException("Key-value pairs cannot be added once they have been sorted");
+        }
+        buffer.add(new Entry(partition, key, value));
+        if (buffer.size() >= maxEntriesInMemory) {
+            spill();
+        }
+    }
+
+    /**
+     * Sorts all the key-value pairs that have been added and passes them to the
+     * consumer in order of partition and then key.
+     *
+     * @param consumer the consumer of the sorted key-value pairs
+     * @throws IOException if the run files could not be read
+     */
+    public void sort(final KeyValueConsumer consumer) throws IOException {
+        if (sorted) {
+            throw new IllegalStateException("Key-value pairs can only be sorted once");
+        }
+        sorted = true;
+
+        if (runs.isEmpty()) {
+            buffer.sort(ENTRY_COMPARATOR);
+            combine(buffer, consumer);
+        } else {
+            if (!buffer.isEmpty()) {
+                spill();
+            }
+            while (runs.size() > maxRunsPerMerge) {
+                mergeRuns();
+            }
+            merge(runs, consumer);
+        }
+        buffer = new ArrayList<>();
+    }
+
+    public int getNumberOfRuns() {
+        return runs.size();
+    }
+
+    /**
+     * Deletes the run files.
+     */
+    @Override
+    public void close() {
+        for (final Path run : runs) {
+            try {
+                Files.deleteIfExists(run);
+            } catch (final IOException e) {
+                LOGGER.warn("Failed to delete run file {}", run, e);
+            }
+        }
+        runs.clear();
+        buffer = new ArrayList<>();
+    }
+
+    private void spill() throws IOException {
+        buffer.sort(ENTRY_COMPARATOR);
+        final Path run = Files.createTempFile(spillDirectory, "run", ".kv");
+        runs.add(run);
+        LOGGER.debug("Writing {} key-value pairs to run file {}", buffer.size(), run);
+        try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run)))) {
+            combine(buffer, (partition, key, value) -> write(out, partition, key, value));
+        }
+        buffer = new ArrayList<>();
+    }
+
+    /**
+     * Merges the oldest runs into a single new run at the end of the runs, so runs
+     * of a similar size are merged together.
+     */
+    private void mergeRuns() throws IOException {
+        final List<Path> merging = new ArrayList<>(runs.subList(0, maxRunsPerMerge));
+        final Path run = Files.createTempFile(spillDirectory, "run", ".kv");
+        runs.add(run);
+        LOGGER.debug("Merging {} run files into run file {}", merging.size(), run);
+        try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run)))) {
+            merge(merging, (partition, key, value) -> write(out, partition, key, value));
+        }
+        for (final Path merged : merging) {
+            Files.deleteIfExists(merged);
+        }
+        runs.subList(0, maxRunsPerMerge).clear();
+    }
+
+    private void merge(final List<Path> runsToMerge, final KeyValueConsumer consumer) throws IOException {
+        LOGGER.debug("Merging {} run files", runsToMerge.size());
+        final PriorityQueue<RunReader> readers = new PriorityQueue<>(runsToMerge.size(),
+                (first, second) -> ENTRY_COMPARATOR.compare(first.current, second.current));
+        final List<RunReader> openReaders = new ArrayList<>(runsToMerge.size());
+        try {
+            for (final Path run : runsToMerge) {
+                final RunReader reader = new RunReader(run);
+                openReaders.add(reader);
+                if (reader.next()) {
+                    readers.add(reader);
+                }
+            }
+
+            final List<Value> values = new ArrayList<>();
+            Entry group = null;
+            while (!readers.isEmpty()) {
+                final RunReader reader = readers.remove();
+                final Entry entry = reader.current;
+                if (null != group && 0 != ENTRY_COMPARATOR.compare(group, entry)) {
+                    accept(group, values, consumer);
+                    values.clear();
+                }
+                group = entry;
+                values.add(entry.value);
+
+                if (reader.next()) {
+                    readers.add(reader);
+                }
+            }
+            if (null != group) {
+                accept(group, values, consumer);
+            }
+        } finally {
+            for (final RunReader reader : openReaders) {
+                reader.close();
+            }
+        }
+    }
+
+    private static void write(final DataOutputStream out, final int partition, final Key key, final Value value) throws IOException {
+        out.writeInt(partition);
+        key.write(out);
+        value.write(out);
+    }
+
+    private void combine(final List<Entry> entries, final KeyValueConsumer consumer) throws IOException {
+        final List<Value> values = new ArrayList<>();
+        Entry group = null;
+        for (final Entry entry : entries) {
+            if (null != group && 0 != ENTRY_COMPARATOR.compare(group, entry)) {
+                accept(group, values, consumer);
+                values.clear();
+            }
+            group = entry;
+            values.add(entry.value);
+        }
+        if (null != group) {
+            accept(group, values, consumer);
+        }
+    }
+
+    private void accept(final Entry group, final List<Value> values, final KeyValueConsumer consumer) throws IOException {
+        final Iterable<Value> combined = 1 == values.size() ? values : combiner.combine(group.key, values);
+        for (final Value value : combined) {
+            consumer.accept(group.partition, group.key, value);
+        }
+    }
+
+    /**
+     * Combines the values of a key.
+     */
+    public interface ValueCombiner {
+        /**
+         * @param key    the key
+         * @param values the values of the key, there will always be more than one value
+         * @return the combined values
+         */
+        Iterable<Value> combine(final Key key, final List<Value> values);
+    }
+
+    /**
+     * Consumes sorted key-value pairs.
+     */
+    public interface KeyValueConsumer {
+        void accept(final int partition, final Key key, final Value value) throws IOException;
+    }
+
+    private static final class Entry {
+        private final int partition;
+        private final Key key;
+        private final Value value;
+
+        private Entry(final int partition, final Key key, final Value value) {
+            this.partition = partition;
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    private static final class RunReader implements Closeable {
+        private final DataInputStream in;
+        private Entry current;
+
+        private RunReader(final Path run) throws IOException {
+            in = new DataInputStream(new BufferedInputStream(Files.newInputStream(run)));
+        }
+
+        private boolean next() throws IOException {
+            final int partition;
+            try {
+                partition = in.readInt();
+            } catch (final EOFException e) {
+                current = null;
+                return false;
+            }
+            final Key key = new Key();
+            key.readFields(in);
+            final Value value = new Value();
+            value.readFields(in);
+            current = new Entry(partition, key, value);
+            return true;
+        }
+
+        @Override
+        public void close() {
+            try {
+                in.close();
+            } catch (final IOException e) {
+                LOGGER.warn("Failed to close run file", e);
+            }
+        }
+    }
+}
@@ -47,6 +47,7 @@ import uk.gov.gchq.gaffer.types.function.FreqMapAggregator;
 
 import java.io.IOException;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
@@ -99,6 +100,30 @@ public abstract class AbstractAccumuloElementConverterTest<T extends AccumuloEle
         assertEquals("3", newEntity.getVertex());
     }
 
+    @Test
+    public void shouldGetSerialisedAdjacentVertexFromRowKey() throws SchemaException, IOException {
+        // Given
+        final Edge edge = new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("1")
+                // The delimiter byte is escaped in the row key
+                .dest("2\u0000")
+                .directed(true)
+                .build();
+        final Entity entity = new Entity(TestGroups.ENTITY, "3");
+
+        // When
+        final Pair<Key, Key> edgeKeys = converter.getKeysFromElement(edge);
+        final Key entityKey = converter.getKeyFromEntity(entity);
+
+        // Then
+        assertArrayEquals(converter.serialiseVertex("2\u0000"),
+                converter.getSerialisedAdjacentVertex(edgeKeys.getFirst().getRowData().getBackingArray()));
+        assertArrayEquals(converter.serialiseVertex("1"),
+                converter.getSerialisedAdjacentVertex(edgeKeys.getSecond().getRowData().getBackingArray()));
+        assertNull(converter.getSerialisedAdjacentVertex(entityKey.getRowData().getBackingArray()));
+    }
+
     @Test
     public void shouldReturnAccumuloKeyConverterFromCFCQPropertyEdge() throws SchemaException, IOException {
         // Given
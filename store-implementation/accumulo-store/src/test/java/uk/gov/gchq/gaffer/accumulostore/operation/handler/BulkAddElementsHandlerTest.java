@@ -0,0 +1,190 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.accumulostore.operation.handler;
+
+import com.google.common.collect.Sets;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapred.JobConf;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import uk.gov.gchq.gaffer.accumulostore.AccumuloProperties;
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.SingleUseMockAccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.key.AccumuloKeyPackage;
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityKeyPackage;
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.classic.ClassicKeyPackage;
+import uk.gov.gchq.gaffer.accumulostore.operation.impl.BulkAddElements;
+import uk.gov.gchq.gaffer.commonutil.CommonTestConstants;
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.util.ElementUtil;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SortedSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class BulkAddElementsHandlerTest {
+    private static final List<String> VERTICES = Arrays.asList("A", "B", "C", "D", "E");
+    private static final SortedSet<Text> SPLITS = Sets.newTreeSet(Arrays.asList(new Text("B"), new Text("D")));
+
+    @Rule
+    public final TemporaryFolder testFolder = new TemporaryFolder(CommonTestConstants.TMP_DIRECTORY);
+
+    private String workingDir;
+    private String failureDir;
+
+    @Before
+    public void setup() {
+        workingDir = testFolder.getRoot().getAbsolutePath() + "/workingDir";
+        failureDir = testFolder.getRoot().getAbsolutePath() + "/failureDir";
+    }
+
+    @Test
+    public void shouldBulkAddAndAggregateElementsIntoPreSplitTableByteEntityStore() throws Exception {
+        shouldBulkAddAndAggregateElementsIntoPreSplitTable(ByteEntityKeyPackage.class, null);
+    }
+
+    @Test
+    public void shouldBulkAddAndAggregateElementsIntoPreSplitTableGaffer1Store() throws Exception {
+        shouldBulkAddAndAggregateElementsIntoPreSplitTable(ClassicKeyPackage.class, null);
+    }
+
+    @Test
+    public void shouldBulkAddAndAggregateElementsWhenSortSpillsToDiskByteEntityStore() throws Exception {
+        shouldBulkAddAndAggregateElementsIntoPreSplitTable(ByteEntityKeyPackage.class, 3);
+    }
+
+    @Test
+    public void shouldBulkAddAndAggregateElementsWhenSortSpillsToDiskGaffer1Store() throws Exception {
+        shouldBulkAddAndAggregateElementsIntoPreSplitTable(ClassicKeyPackage.class, 3);
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenWorkingDirectoryContainsFiles() throws Exception {
+        // Given
+        final AccumuloStore store = createStore(ByteEntityKeyPackage.class);
+        final FileSystem fs = FileSystem.getLocal(createLocalConf());
+        fs.mkdirs(new Path(workingDir));
+        try (final BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(fs.create(new Path(workingDir + "/someFile.txt"), true)))) {
+            writer.write("Some content");
+        }
+
+        // When / Then
+        try {
+            bulkAddElements(store, createElements(), null);
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertEquals("Working directory exists and is not empty: " + new Path(workingDir), e.getMessage());
+        }
+    }
+
+    private void shouldBulkAddAndAggregateElementsIntoPreSplitTable(final Class<? extends AccumuloKeyPackage> keyPackageClass,
+                                                                   final Integer maxEntriesInMemory) throws Exception {
+        // Given
+        final AccumuloStore store = createStore(keyPackageClass);
+        store.getConnection().tableOperations().addSplits(store.getTableName(), SPLITS);
+
+        // Each element is added twice so the duplicates must be aggregated
+        final List<Element> elements = new ArrayList<>(createElements());
+        elements.addAll(createElements());
+
+        // When
+        bulkAddElements(store, elements, maxEntriesInMemory);
+
+        // Then
+        final List<Element> expected = new ArrayList<>();
+        for (final Element element : createElements()) {
+            element.putProperty(TestPropertyNames.COUNT, 2);
+            expected.add(element);
+        }
+        try (final CloseableIterable<? extends Element> results = store.execute(new GetAllElements(), new Context(new User()))) {
+            ElementUtil.assertElementEquals(expected, results);
+        }
+        assertEquals(SPLITS.size(), store.getConnection().tableOperations().listSplits(store.getTableName()).size());
+    }
+
+    private void bulkAddElements(final AccumuloStore store, final Iterable<? extends Element> elements,
+                                 final Integer maxEntriesInMemory) throws OperationException {
+        new BulkAddElementsHandler().doOperation(new BulkAddElements.Builder()
+                .input(elements)
+                .workingPath(workingDir)
+                .failurePath(failureDir)
+                .maxEntriesInMemory(maxEntriesInMemory)
+                .build(), new Context(new User()), store);
+    }
+
+    /**
+     * Creates an entity for each vertex and edges between the first and every
+     * other vertex, so the two keys of most edges are in different tablets.
+     */
+    private List<Element> createElements() {
+        final List<Element> elements = new ArrayList<>();
+        for (final String vertex : VERTICES) {
+            elements.add(new Entity.Builder()
+                    .group(TestGroups.ENTITY)
+                    .vertex(vertex)
+                    .property(TestPropertyNames.COUNT, 1)
+                    .build());
+            if (!VERTICES.get(0).equals(vertex)) {
+                elements.add(new Edge.Builder()
+                        .group(TestGroups.EDGE)
+                        .source(VERTICES.get(0))
+                        .dest(vertex)
+                        .directed(true)
+                        .property(TestPropertyNames.COUNT, 1)
+                        .build());
+            }
+        }
+        return elements;
+    }
+
+    private JobConf createLocalConf() {
+        final JobConf conf = new JobConf();
+        conf.set("fs.defaultFS", "file:///");
+        return conf;
+    }
+
+    private AccumuloStore createStore(final Class<? extends AccumuloKeyPackage> keyPackageClass) throws Exception {
+        final AccumuloProperties properties = AccumuloProperties.loadStoreProperties(StreamUtil.storeProps(getClass()));
+        properties.setKeyPackageClass(keyPackageClass.getName());
+        properties.setInstance("instance_" + keyPackageClass.getName());
+
+        final AccumuloStore store = new SingleUseMockAccumuloStore();
+        store.initialise(keyPackageClass.getSimpleName() + "Graph", Schema.fromJson(StreamUtil.schemas(getClass())), properties);
+        return store;
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.accumulostore.operation.handler;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.accumulostore.AccumuloProperties;
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.SingleUseMockAccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.operation.impl.GetMultiHopAdjacentIds;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloPropertyNames;
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters.IncludeIncomingOutgoingType;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+
+public class GetMultiHopAdjacentIdsHandlerTest {
+    private static final Schema SCHEMA = Schema.fromJson(StreamUtil.schemas(GetMultiHopAdjacentIdsHandlerTest.class));
+    private static final AccumuloProperties PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil
+            .storeProps(GetMultiHopAdjacentIdsHandlerTest.class));
+    private static final AccumuloProperties CLASSIC_PROPERTIES = AccumuloProperties
+            .loadStoreProperties(StreamUtil.openStream(GetMultiHopAdjacentIdsHandlerTest.class, "/accumuloStoreClassicKeys.properties"));
+    private static AccumuloStore byteEntityStore;
+    private static AccumuloStore gaffer1KeyStore;
+
+    private final User user = new User();
+
+    @BeforeClass
+    public static void setup() throws StoreException, OperationException {
+        byteEntityStore = new SingleUseMockAccumuloStore();
+        gaffer1KeyStore = new SingleUseMockAccumuloStore();
+        byteEntityStore.initialise("byteEntityGraph", SCHEMA, PROPERTIES);
+        gaffer1KeyStore.initialise("gaffer1Graph", SCHEMA, CLASSIC_PROPERTIES);
+        setupGraph(byteEntityStore);
+        setupGraph(gaffer1KeyStore);
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        byteEntityStore = null;
+        gaffer1KeyStore = null;
+    }
+
+    @Test
+    public void shouldGetVerticesWithinEachNumberOfHopsByteEntityStore() throws OperationException {
+        shouldGetVerticesWithinEachNumberOfHops(byteEntityStore);
+    }
+
+    @Test
+    public void shouldGetVerticesWithinEachNumberOfHopsGaffer1Store() throws OperationException {
+        shouldGetVerticesWithinEachNumberOfHops(gaffer1KeyStore);
+    }
+
+    private void shouldGetVerticesWithinEachNumberOfHops(final AccumuloStore store) throws OperationException {
+        assertEquals(Sets.newHashSet(new EntitySeed("A1")), getAdjacentIds(store, 1, IncludeIncomingOutgoingType.OUTGOING));
+        assertEquals(Sets.newHashSet(new EntitySeed("A1"), new EntitySeed("A2")), getAdjacentIds(store, 2, IncludeIncomingOutgoingType.OUTGOING));
+        assertEquals(Sets.newHashSet(new EntitySeed("A1"), new EntitySeed("A2"), new EntitySeed("A3")), getAdjacentIds(store, 3, IncludeIncomingOutgoingType.OUTGOING));
+    }
+
+    @Test
+    public void shouldNotReturnSeedsOrDuplicateVerticesByteEntityStore() throws OperationException {
+        shouldNotReturnSeedsOrDuplicateVertices(byteEntityStore);
+    }
+
+    @Test
+    public void shouldNotReturnSeedsOrDuplicateVerticesGaffer1Store() throws OperationException {
+        shouldNotReturnSeedsOrDuplicateVertices(gaffer1KeyStore);
+    }
+
+    private void shouldNotReturnSeedsOrDuplicateVertices(final AccumuloStore store) throws OperationException {
+        // When
+        final List<EntityId> results = getAdjacentIdList(store, 10, IncludeIncomingOutgoingType.EITHER);
+
+        // Then
+        assertEquals(3, results.size());
+        assertEquals(Sets.newHashSet(new EntitySeed("A1"), new EntitySeed("A2"), new EntitySeed("A3")), Sets.newHashSet(results));
+    }
+
+    @Test
+    public void shouldFollowIncomingEdgesByteEntityStore() throws OperationException {
+        shouldFollowIncomingEdges(byteEntityStore);
+    }
+
+    @Test
+    public void shouldFollowIncomingEdgesGaffer1Store() throws OperationException {
+        shouldFollowIncomingEdges(gaffer1KeyStore);
+    }
+
+    private void shouldFollowIncomingEdges(final AccumuloStore store) throws OperationException {
+        assertEquals(Sets.newHashSet(new EntitySeed("A2")), getAdjacentIds(store, 1, IncludeIncomingOutgoingType.INCOMING));
+        assertEquals(Sets.newHashSet(new EntitySeed("A1"), new EntitySeed("A2")), getAdjacentIds(store, 2, IncludeIncomingOutgoingType.INCOMING));
+    }
+
+    private Set<EntityId> getAdjacentIds(final AccumuloStore store, final int hops, final IncludeIncomingOutgoingType inOutType) throws OperationException {
+        return Sets.newHashSet(getAdjacentIdList(store, hops, inOutType));
+    }
+
+    private List<EntityId> getAdjacentIdList(final AccumuloStore store, final int hops, final IncludeIncomingOutgoingType inOutType) throws OperationException {
+        final GetMultiHopAdjacentIds operation = new GetMultiHopAdjacentIds.Builder()
+                .input(new EntitySeed("A0"))
+                .view(new View.Builder()
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .inOutType(inOutType)
+                .hops(hops)
+                .build();
+        final GetMultiHopAdjacentIdsHandler handler = new GetMultiHopAdjacentIdsHandler();
+        try (final CloseableIterable<? extends EntityId> results = handler.doOperation(operation, user, store)) {
+            return Lists.newArrayList(results);
+        }
+    }
+
+    private static void setupGraph(final AccumuloStore store) throws OperationException {
+        // Create edges A0 -> A1 -> A2 -> A3 and A2 -> A0, with an Entity for each vertex
+        final List<Element> data = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            data.add(new Entity.Builder()
+                    .group(TestGroups.ENTITY)
+                    .vertex("A" + i)
+                    .property(AccumuloPropertyNames.COUNT, 1)
+                    .build());
+        }
+        data.add(createEdge("A0", "A1"));
+        data.add(createEdge("A1", "A2"));
+        data.add(createEdge("A2", "A3"));
+        data.add(createEdge("A2", "A0"));
+        store.execute(new AddElements.Builder().input(data).build(), store.createContext(new User()));
+    }
+
+    private static Edge createEdge(final String source, final String dest) {
+        return new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source(source)
+                .dest(dest)
+                .directed(true)
+                .property(AccumuloPropertyNames.COLUMN_QUALIFIER, 1)
+                .property(AccumuloPropertyNames.COUNT, 1)
+                .property(AccumuloPropertyNames.PROP_1, 0)
+                .property(AccumuloPropertyNames.PROP_2, 0)
+                .property(AccumuloPropertyNames.PROP_3, 0)
+                .property(AccumuloPropertyNames.PROP_4, 0)
+                .build();
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.accumulostore.operation.impl;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.operation.OperationTest;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+public class BulkAddElementsTest extends OperationTest<BulkAddElements> {
+    private static final String WORKING_DIRECTORY = "/working";
+    private static final String FAIL_DIRECTORY = "/fail";
+    private static final String TEST_OPTION_KEY = "testOption";
+
+    @Override
+    protected Set<String> getRequiredFields() {
+        return Sets.newHashSet("workingPath", "failurePath");
+    }
+
+    @Test
+    public void shouldJSONSerialiseAndDeserialise() throws SerialisationException {
+        // Given
+        final List<Element> elements = Lists.newArrayList(
+                new Entity.Builder()
+                        .group(TestGroups.ENTITY)
+                        .vertex("vertex")
+                        .build(),
+                new Edge.Builder()
+                        .group(TestGroups.EDGE)
+                        .source("source")
+                        .dest("dest")
+                        .directed(true)
+                        .build());
+        final BulkAddElements op = new BulkAddElements.Builder()
+                .input(elements)
+                .workingPath(WORKING_DIRECTORY)
+                .failurePath(FAIL_DIRECTORY)
+                .maxEntriesInMemory(1000)
+                .build();
+
+        // When
+        final byte[] json = JSONSerialiser.serialise(op, true);
+        final BulkAddElements deserialisedOp = JSONSerialiser.deserialise(json, BulkAddElements.class);
+
+        // Then
+        assertEquals(elements, Lists.newArrayList(deserialisedOp.getInput()));
+        assertEquals(WORKING_DIRECTORY, deserialisedOp.getWorkingPath());
+        assertEquals(FAIL_DIRECTORY, deserialisedOp.getFailurePath());
+        assertEquals(new Integer(1000), deserialisedOp.getMaxEntriesInMemory());
+        assertTrue(deserialisedOp.isValidate());
+    }
+
+    @Test
+    @Override
+    public void builderShouldCreatePopulatedOperation() {
+        // When
+        final BulkAddElements bulkAddElements = new BulkAddElements.Builder()
+                .workingPath(WORKING_DIRECTORY)
+                .failurePath(FAIL_DIRECTORY)
+                .maxEntriesInMemory(1000)
+                .validate(false)
+                .skipInvalidElements(true)
+                .option(TEST_OPTION_KEY, "true")
+                .build();
+
+        // Then
+        assertEquals(WORKING_DIRECTORY, bulkAddElements.getWorkingPath());
+        assertEquals(FAIL_DIRECTORY, bulkAddElements.getFailurePath());
+        assertEquals(new Integer(1000), bulkAddElements.getMaxEntriesInMemory());
+        assertFalse(bulkAddElements.isValidate());
+        assertTrue(bulkAddElements.isSkipInvalidElements());
+        assertEquals("true", bulkAddElements.getOption(TEST_OPTION_KEY));
+    }
+
+    @Override
+    public void shouldShallowCloneOperation() {
+        // Given
+        final Entity entity = new Entity(TestGroups.ENTITY, "vertex");
+        final BulkAddElements bulkAddElements = new BulkAddElements.Builder()
+                .input(entity)
+                .workingPath(WORKING_DIRECTORY)
+                .failurePath(FAIL_DIRECTORY)
+                .maxEntriesInMemory(1000)
+                .validate(false)
+                .skipInvalidElements(true)
+                .option(TEST_OPTION_KEY, "true")
+                .build();
+
+        // When
+        final BulkAddElements clone = bulkAddElements.shallowClone();
+
+        // Then
+        assertNotSame(bulkAddElements, clone);
+        assertEquals(entity, clone.getInput().iterator().next());
+        assertEquals(WORKING_DIRECTORY, clone.getWorkingPath());
+        assertEquals(FAIL_DIRECTORY, clone.getFailurePath());
+        assertEquals(new Integer(1000), clone.getMaxEntriesInMemory());
+        assertFalse(clone.isValidate());
+        assertTrue(clone.isSkipInvalidElements());
+        assertEquals("true", clone.getOption(TEST_OPTION_KEY));
+    }
+
+    @Override
+    protected BulkAddElements getTestObject() {
+        return new BulkAddElements();
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.accumulostore.operation.impl;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloTestData;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.id.DirectedType;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.operation.OperationTest;
+import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters.IncludeIncomingOutgoingType;
+
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+public class GetMultiHopAdjacentIdsTest extends OperationTest<GetMultiHopAdjacentIds> {
+
+    @Override
+    protected Set<String> getRequiredFields() {
+        return Sets.newHashSet("hops");
+    }
+
+    @Test
+    public void shouldJSONSerialiseAndDeserialise() throws SerialisationException {
+        // Given
+        final GetMultiHopAdjacentIds op = new GetMultiHopAdjacentIds.Builder()
+                .input(AccumuloTestData.SEED_SOURCE_1, AccumuloTestData.SEED_SOURCE_2)
+                .hops(3)
+                .build();
+
+        // When
+        final byte[] json = JSONSerialiser.serialise(op, true);
+        final GetMultiHopAdjacentIds deserialisedOp = JSONSerialiser.deserialise(json, GetMultiHopAdjacentIds.class);
+
+        // Then
+        assertEquals(Lists.newArrayList(AccumuloTestData.SEED_SOURCE_1, AccumuloTestData.SEED_SOURCE_2),
+                Lists.newArrayList(deserialisedOp.getInput()));
+        assertEquals(new Integer(3), deserialisedOp.getHops());
+    }
+
+    @Test
+    @Override
+    public void builderShouldCreatePopulatedOperation() {
+        // When
+        final GetMultiHopAdjacentIds op = new GetMultiHopAdjacentIds.Builder()
+                .input(AccumuloTestData.SEED_A)
+                .hops(2)
+                .directedType(DirectedType.DIRECTED)
+                .inOutType(IncludeIncomingOutgoingType.OUTGOING)
+                .option(AccumuloTestData.TEST_OPTION_PROPERTY_KEY, "true")
+                .view(new View.Builder()
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .build();
+
+        // Then
+        assertEquals(AccumuloTestData.SEED_A, op.getInput().iterator().next());
+        assertEquals(new Integer(2), op.getHops());
+        assertEquals(DirectedType.DIRECTED, op.getDirectedType());
+        assertEquals(IncludeIncomingOutgoingType.OUTGOING, op.getIncludeIncomingOutGoing());
+        assertEquals("true", op.getOption(AccumuloTestData.TEST_OPTION_PROPERTY_KEY));
+        assertTrue(op.getView().hasEdges());
+    }
+
+    @Test
+    public void shouldRemoveEntitiesFromTheView() {
+        // When
+        final GetMultiHopAdjacentIds op = new GetMultiHopAdjacentIds.Builder()
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY)
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .build();
+
+        // Then
+        assertFalse(op.getView().hasEntities());
+        assertTrue(op.getView().hasEdges());
+    }
+
+    @Test
+    public void shouldFailValidationIfHopsIsLessThanOne() {
+        // Given
+        final GetMultiHopAdjacentIds op = new GetMultiHopAdjacentIds.Builder()
+                .hops(0)
+                .build();
+
+        // When / Then
+        assertFalse(op.validate().isValid());
+    }
+
+    @Override
+    public void shouldShallowCloneOperation() {
+        // Given
+        final View view = new View.Builder()
+                .edge(TestGroups.EDGE)
+                .build();
+        final GetMultiHopAdjacentIds op = new GetMultiHopAdjacentIds.Builder()
+                .input(AccumuloTestData.SEED_A)
+                .hops(2)
+                .directedType(DirectedType.DIRECTED)
+                .inOutType(IncludeIncomingOutgoingType.OUTGOING)
+                .option(AccumuloTestData.TEST_OPTION_PROPERTY_KEY, "true")
+                .view(view)
+                .build();
+
+        // When
+        final GetMultiHopAdjacentIds clone = op.shallowClone();
+
+        // Then
+        assertNotSame(op, clone);
+        assertEquals(AccumuloTestData.SEED_A, clone.getInput().iterator().next());
+        assertEquals(new Integer(2), clone.getHops());
+        assertEquals(DirectedType.DIRECTED, clone.getDirectedType());
+        assertEquals(IncludeIncomingOutgoingType.OUTGOING, clone.getIncludeIncomingOutGoing());
+        assertEquals("true", clone.getOption(AccumuloTestData.TEST_OPTION_PROPERTY_KEY));
+        assertEquals(view, clone.getView());
+    }
+
+    @Override
+    protected GetMultiHopAdjacentIds getTestObject() {
+        return new GetMultiHopAdjacentIds();
+    }
+}
@@ -478,6 +478,100 @@ public class AccumuloIDBetweenSetsRetrieverTest {
         assertThat(betweenA0A23_B_Results, IsCollectionContaining.hasItems(AccumuloTestData.A0_ENTITY, AccumuloTestData.A23_ENTITY));
     }
 
+    @Test
+    public void shouldGetAllEdgesWhenSetBIsLargerThanABatchByteEntityStoreInMemory() throws StoreException {
+        shouldGetAllEdgesWhenSetBIsLargerThanABatch(true, getSeedsB(49), byteEntityStore);
+    }
+
+    @Test
+    public void shouldGetAllEdgesWhenSetBIsLargerThanABatchGaffer1StoreInMemory() throws StoreException {
+        shouldGetAllEdgesWhenSetBIsLargerThanABatch(true, getSeedsB(49), gaffer1KeyStore);
+    }
+
+    @Test
+    public void shouldGetAllEdgesWhenSetBIsLargerThanABatchByteEntityStore() throws StoreException {
+        shouldGetAllEdgesWhenSetBIsLargerThanABatch(false, getSeedsB(49), byteEntityStore);
+    }
+
+    @Test
+    public void shouldGetAllEdgesWhenSetBIsLargerThanABatchGaffer1Store() throws StoreException {
+        shouldGetAllEdgesWhenSetBIsLargerThanABatch(false, getSeedsB(49), gaffer1KeyStore);
+    }
+
+    @Test
+    public void shouldGetAllEdgesWhenSetBIsNotACollectionByteEntityStore() throws StoreException {
+        final Set<EntityId> seedsB = getSeedsB(49);
+        shouldGetAllEdgesWhenSetBIsLargerThanABatch(false, seedsB::iterator, byteEntityStore);
+    }
+
+    @Test
+    public void shouldGetAllEdgesWhenSetBIsNotACollectionGaffer1Store() throws StoreException {
+        final Set<EntityId> seedsB = getSeedsB(49);
+        shouldGetAllEdgesWhenSetBIsLargerThanABatch(false, seedsB::iterator, gaffer1KeyStore);
+    }
+
+    private void shouldGetAllEdgesWhenSetBIsLargerThanABatch(final boolean loadIntoMemory, final Iterable<EntityId> seedsB, final AccumuloStore store) throws StoreException {
+        store.getProperties().setMaxEntriesForBatchScanner("5");
+
+        // Query for all edges between the set {A0} and the set {A1, ..., A49}
+        final GetElementsBetweenSets op = new GetElementsBetweenSets.Builder().input(AccumuloTestData.SEED_A0_SET).inputB(seedsB).view(defaultView).build();
+        final Set<Element> results = returnElementsFromOperation(store, op, new User(), loadIntoMemory);
+
+        final Set<Element> expectedResults = new HashSet<>();
+        expectedResults.add(AccumuloTestData.A0_ENTITY);
+        for (int i = 1; i < 50; i++) {
+            expectedResults.add(new Edge.Builder()
+                    .group(TestGroups.EDGE)
+                    .source("A0")
+                    .dest("A" + i)
+                    .directed(true)
+                    .property(AccumuloPropertyNames.COUNT, 23)
+                    .property(AccumuloPropertyNames.COLUMN_QUALIFIER, 1)
+                    .build());
+        }
+        assertEquals(expectedResults, results);
+    }
+
+    @Test
+    public void shouldGetTheSameResultsWhenIteratedTwiceByteEntityStoreInMemory() throws StoreException {
+        shouldGetTheSameResultsWhenIteratedTwice(true, byteEntityStore);
+    }
+
+    @Test
+    public void shouldGetTheSameResultsWhenIteratedTwiceGaffer1StoreInMemory() throws StoreException {
+        shouldGetTheSameResultsWhenIteratedTwice(true, gaffer1KeyStore);
+    }
+
+    @Test
+    public void shouldGetTheSameResultsWhenIteratedTwiceByteEntityStore() throws StoreException {
+        shouldGetTheSameResultsWhenIteratedTwice(false, byteEntityStore);
+    }
+
+    @Test
+    public void shouldGetTheSameResultsWhenIteratedTwiceGaffer1Store() throws StoreException {
+        shouldGetTheSameResultsWhenIteratedTwice(false, gaffer1KeyStore);
+    }
+
+    private void shouldGetTheSameResultsWhenIteratedTwice(final boolean loadIntoMemory, final AccumuloStore store) throws StoreException {
+        store.getProperties().setMaxEntriesForBatchScanner("5");
+        final GetElementsBetweenSets op = new GetElementsBetweenSets.Builder().input(AccumuloTestData.SEED_A0_SET).inputB(getSeedsB(19)).view(defaultView).build();
+        final AccumuloRetriever<?, Element> retriever = new AccumuloIDBetweenSetsRetriever(store, op, new User(), loadIntoMemory, store.getKeyPackage().getIteratorFactory().getEdgeEntityDirectionFilterIteratorSetting(op));
+
+        final Set<Element> firstResults = new HashSet<>();
+        for (final Element element : retriever) {
+            firstResults.add(element);
+        }
+        final Set<Element> secondResults = new HashSet<>();
+        for (final Element element : retriever) {
+            secondResults.add(element);
+        }
+        retriever.close();
+
+        // The entity for A0 and the edges A0 -> A1, ..., A0 -> A19
+        assertEquals(20, firstResults.size());
+        assertEquals(firstResults, secondResults);
+    }
+
     private Set<Element> returnElementsFromOperation(final AccumuloStore store, final GetElementsBetweenSets operation, final User user, final boolean loadIntoMemory) throws StoreException {
 
         final AccumuloRetriever<?, Element> retriever = new AccumuloIDBetweenSetsRetriever(store, operation, user, loadIntoMemory, store.getKeyPackage().getIteratorFactory().getEdgeEntityDirectionFilterIteratorSetting(operation));
@@ -491,6 +585,14 @@ public class AccumuloIDBetweenSetsRetrieverTest {
         return results;
     }
 
+    private static Set<EntityId> getSeedsB(final int numSeeds) {
+        final Set<EntityId> seeds = new HashSet<>();
+        for (int i = 1; i <= numSeeds; i++) {
+            seeds.add(new EntitySeed("A" + i));
+        }
+        return seeds;
+    }
+
     private static void setupGraph(final AccumuloStore store) {
         Set<Element> data = new HashSet<>();
 
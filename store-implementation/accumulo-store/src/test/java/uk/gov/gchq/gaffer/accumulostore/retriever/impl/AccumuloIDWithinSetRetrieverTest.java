@@ -459,6 +459,107 @@ public class AccumuloIDWithinSetRetrieverTest {
         assertThat(a1A23Results, IsCollectionContaining.hasItems(AccumuloTestData.A1_ENTITY, AccumuloTestData.A2_ENTITY));
     }
 
+    @Test
+    public void shouldGetAllEdgesWhenTheBloomFilterGrowsByteEntityStore() throws StoreException {
+        shouldGetAllEdgesWhenTheBloomFilterGrows(getSeeds(50), byteEntityStore);
+    }
+
+    @Test
+    public void shouldGetAllEdgesWhenTheBloomFilterGrowsGaffer1Store() throws StoreException {
+        shouldGetAllEdgesWhenTheBloomFilterGrows(getSeeds(50), gaffer1KeyStore);
+    }
+
+    @Test
+    public void shouldGetAllEdgesWhenTheSeedsAreNotACollectionByteEntityStore() throws StoreException {
+        final Set<EntityId> seeds = getSeeds(50);
+        shouldGetAllEdgesWhenTheBloomFilterGrows(seeds::iterator, byteEntityStore);
+    }
+
+    @Test
+    public void shouldGetAllEdgesWhenTheSeedsAreNotACollectionGaffer1Store() throws StoreException {
+        final Set<EntityId> seeds = getSeeds(50);
+        shouldGetAllEdgesWhenTheBloomFilterGrows(seeds::iterator, gaffer1KeyStore);
+    }
+
+    private void shouldGetAllEdgesWhenTheBloomFilterGrows(final Iterable<EntityId> seeds, final AccumuloStore store) throws StoreException {
+        // The Bloom filter is first sized for a batch of 5 seeds, so it has to
+        // grow several times to hold all 50 seeds
+        store.getProperties().setMaxEntriesForBatchScanner("5");
+        final GetElementsWithinSet op = new GetElementsWithinSet.Builder()
+                .view(defaultView)
+                .input(seeds)
+                .build();
+
+        final Set<Element> results = returnElementsFromOperation(store, op, new User(), false);
+
+        final Set<Object> edgeDestinations = new HashSet<>();
+        int numEntities = 0;
+        for (final Element element : results) {
+            if (element instanceof Edge) {
+                edgeDestinations.add(((Edge) element).getDestination());
+            } else {
+                numEntities++;
+            }
+        }
+        final Set<Object> expectedEdgeDestinations = new HashSet<>();
+        for (int i = 1; i < 50; i++) {
+            expectedEdgeDestinations.add("A" + i);
+        }
+        assertEquals(expectedEdgeDestinations, edgeDestinations);
+        assertEquals(50, numEntities);
+    }
+
+    @Test
+    public void shouldGetTheSameResultsWhenIteratedTwiceInMemoryByteEntityStore() throws StoreException {
+        shouldGetTheSameResultsWhenIteratedTwice(true, byteEntityStore);
+    }
+
+    @Test
+    public void shouldGetTheSameResultsWhenIteratedTwiceInMemoryGaffer1Store() throws StoreException {
+        shouldGetTheSameResultsWhenIteratedTwice(true, gaffer1KeyStore);
+    }
+
+    @Test
+    public void shouldGetTheSameResultsWhenIteratedTwiceByteEntityStore() throws StoreException {
+        shouldGetTheSameResultsWhenIteratedTwice(false, byteEntityStore);
+    }
+
+    @Test
+    public void shouldGetTheSameResultsWhenIteratedTwiceGaffer1Store() throws StoreException {
+        shouldGetTheSameResultsWhenIteratedTwice(false, gaffer1KeyStore);
+    }
+
+    private void shouldGetTheSameResultsWhenIteratedTwice(final boolean loadIntoMemory, final AccumuloStore store) throws StoreException {
+        store.getProperties().setMaxEntriesForBatchScanner("5");
+        final GetElementsWithinSet op = new GetElementsWithinSet.Builder()
+                .view(defaultView)
+                .input(getSeeds(20))
+                .build();
+        final AccumuloRetriever<?, Element> retriever = new AccumuloIDWithinSetRetriever(store, op, new User(), loadIntoMemory);
+
+        final Set<Element> firstResults = new HashSet<>();
+        for (final Element elm : retriever) {
+            firstResults.add(elm);
+        }
+        final Set<Element> secondResults = new HashSet<>();
+        for (final Element elm : retriever) {
+            secondResults.add(elm);
+        }
+        retriever.close();
+
+        assertThat(firstResults, IsCollectionContaining.hasItem(AccumuloTestData.A0_ENTITY));
+        assertEquals(39, firstResults.size());
+        assertEquals(firstResults, secondResults);
+    }
+
+    private static Set<EntityId> getSeeds(final int numSeeds) {
+        final Set<EntityId> seeds = new HashSet<>();
+        for (int i = 0; i < numSeeds; i++) {
+            seeds.add(new EntitySeed("A" + i));
+        }
+        return seeds;
+    }
+
     private static void setupGraph(final AccumuloStore store) {
         try {
             // Create table
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.accumulostore.utils;
+
+import org.apache.hadoop.util.bloom.BloomFilter;
+import org.apache.hadoop.util.bloom.Key;
+import org.apache.hadoop.util.hash.Hash;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BloomFilterUtilsTest {
+
+    @Test
+    public void shouldCreateBloomFilterOfTheGivenSize() {
+        // When
+        final BloomFilter filter = BloomFilterUtils.getBloomFilter(1000, 5);
+
+        // Then
+        assertEquals(1000, filter.getVectorSize());
+    }
+
+    @Test
+    public void shouldCreateTheSameBloomFilterAsTheHadoopConstructor() throws IOException {
+        // Given
+        final BloomFilter expected = new BloomFilter(1000, 5, Hash.MURMUR_HASH);
+        final BloomFilter filter = BloomFilterUtils.getBloomFilter(1000, 5);
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            expected.add(createKey(i));
+            filter.add(createKey(i));
+        }
+
+        // Then
+        assertArrayEquals(serialise(expected), serialise(filter));
+    }
+
+    @Test
+    public void shouldContainAllItemsAddedToACalculatedBloomFilter() {
+        // Given
+        final int numItems = 1000;
+        final int size = BloomFilterUtils.calculateBloomFilterSize(0.0001, numItems, Integer.MAX_VALUE);
+        final BloomFilter filter = BloomFilterUtils.getBloomFilter(size, BloomFilterUtils.calculateNumHashes(size, numItems));
+
+        // When
+        for (int i = 0; i < numItems; i++) {
+            filter.add(createKey(i));
+        }
+
+        // Then
+        for (int i = 0; i < numItems; i++) {
+            assertTrue(filter.membershipTest(createKey(i)));
+        }
+    }
+
+    private static Key createKey(final int i) {
+        return new Key(("A" + i).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] serialise(final BloomFilter filter) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final DataOutputStream out = new DataOutputStream(bytes)) {
+            filter.write(out);
+        }
+        return bytes.toByteArray();
+    }
+}
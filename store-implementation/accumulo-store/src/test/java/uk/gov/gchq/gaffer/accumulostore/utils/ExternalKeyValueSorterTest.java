@@ -0,0 +1,157 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.accumulostore.utils;
+
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ExternalKeyValueSorterTest {
+    private static final int NUM_ROWS = 100;
+    private static final int VALUES_PER_ROW = 5;
+
+    @Rule
+    public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldSortAndCombineInMemory() throws IOException {
+        // Given
+        final File spillDirectory = tempFolder.newFolder();
+
+        // When
+        final List<String> sorted;
+        try (final ExternalKeyValueSorter sorter = new ExternalKeyValueSorter(Integer.MAX_VALUE, spillDirectory.toPath(), this::sum)) {
+            addKeyValues(sorter);
+            sorted = sort(sorter);
+            assertEquals(0, sorter.getNumberOfRuns());
+        }
+
+        // Then
+        assertEquals(getExpected(), sorted);
+    }
+
+    @Test
+    public void shouldSpillAndMergeRuns() throws IOException {
+        // Given
+        final File spillDirectory = tempFolder.newFolder();
+
+        // When
+        final List<String> sorted;
+        try (final ExternalKeyValueSorter sorter = new ExternalKeyValueSorter(7, spillDirectory.toPath(), this::sum)) {
+            addKeyValues(sorter);
+            sorted = sort(sorter);
+            assertTrue(sorter.getNumberOfRuns() > 1);
+        }
+
+        // Then
+        assertEquals(getExpected(), sorted);
+        assertArrayEquals(new String[0], spillDirectory.list());
+    }
+
+    @Test
+    public void shouldMergeRunsInPassesWhenThereAreTooManyRunsToMergeAtOnce() throws IOException {
+        // Given
+        final File spillDirectory = tempFolder.newFolder();
+
+        // When
+        final List<String> sorted;
+        try (final ExternalKeyValueSorter sorter = new ExternalKeyValueSorter(7, 3, spillDirectory.toPath(), this::sum)) {
+            addKeyValues(sorter);
+            assertTrue(sorter.getNumberOfRuns() > 3);
+            sorted = sort(sorter);
+            assertTrue(sorter.getNumberOfRuns() <= 3);
+            assertEquals(sorter.getNumberOfRuns(), spillDirectory.list().length);
+        }
+
+        // Then
+        assertEquals(getExpected(), sorted);
+        assertArrayEquals(new String[0], spillDirectory.list());
+    }
+
+    @Test
+    public void shouldKeepAllValuesIfTheCombinerDoesNotCombineThem() throws IOException {
+        // Given
+        final File spillDirectory = tempFolder.newFolder();
+        final List<String> sorted;
+
+        // When
+        try (final ExternalKeyValueSorter sorter = new ExternalKeyValueSorter(3, spillDirectory.toPath(), (key, values) -> values)) {
+            sorter.add(0, new Key("row", "cf", "cq"), new Value(new byte[]{1}));
+            sorter.add(0, new Key("row", "cf", "cq"), new Value(new byte[]{1}));
+            sorter.add(0, new Key("row", "cf", "cq"), new Value(new byte[]{1}));
+            sorter.add(0, new Key("row", "cf", "cq"), new Value(new byte[]{1}));
+            sorted = sort(sorter);
+        }
+
+        // Then
+        assertEquals(Collections.nCopies(4, "0 row 1"), sorted);
+    }
+
+    private void addKeyValues(final ExternalKeyValueSorter sorter) throws IOException {
+        // Add the rows in reverse order, with the partition going down as the rows go up
+        for (int i = 0; i < VALUES_PER_ROW; i++) {
+            for (int row = NUM_ROWS - 1; row >= 0; row--) {
+                sorter.add(getPartition(row), new Key(getRow(row), "cf", "cq"), new Value(new byte[]{1}));
+            }
+        }
+    }
+
+    private List<String> sort(final ExternalKeyValueSorter sorter) throws IOException {
+        final List<String> sorted = new ArrayList<>();
+        sorter.sort((partition, key, value) -> sorted.add(partition + " " + key.getRow() + " " + value.get()[0]));
+        return sorted;
+    }
+
+    private List<String> getExpected() {
+        final List<String> expected = new ArrayList<>();
+        for (int partition = getPartition(NUM_ROWS - 1); partition <= getPartition(0); partition++) {
+            for (int row = 0; row < NUM_ROWS; row++) {
+                if (getPartition(row) == partition) {
+                    expected.add(partition + " " + getRow(row) + " " + VALUES_PER_ROW);
+                }
+            }
+        }
+        return expected;
+    }
+
+    private Iterable<Value> sum(final Key key, final List<Value> values) {
+        byte total = 0;
+        for (final Value value : values) {
+            total += value.get()[0];
+        }
+        return Collections.singletonList(new Value(new byte[]{total}));
+    }
+
+    private int getPartition(final int row) {
+        return (NUM_ROWS - 1 - row) / 10;
+    }
+
+    private String getRow(final int row) {
+        return String.format("row%03d", row);
+    }
+}
@@ -58,6 +58,10 @@ public class HBaseAddElementsFromHdfsJobFactory implements AddElementsFromHdfsJo
         LOGGER.info("Added {} of {} to job conf", MAPPER_GENERATOR, mapperGeneratorClassName);
         jobConf.set(VALIDATE, String.valueOf(operation.isValidate()));
         LOGGER.info("Added {} option of {} to job conf", VALIDATE, operation.isValidate());
+        if (null != operation.getMapperAggregationBufferSize()) {
+            jobConf.setInt(MAPPER_AGGREGATION_BUFFER_SIZE, operation.getMapperAggregationBufferSize());
+            LOGGER.info("Added {} option of {} to job conf", MAPPER_AGGREGATION_BUFFER_SIZE, operation.getMapperAggregationBufferSize());
+        }
 
         Integer numTasks = operation.getNumMapTasks();
         if (null != numTasks) {
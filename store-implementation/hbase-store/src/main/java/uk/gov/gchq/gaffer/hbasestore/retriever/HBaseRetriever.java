@@ -126,7 +126,7 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
 
     private Element deserialiseAndTransform(final Cell cell) {
         try {
-            Element element = serialisation.getElement(cell, includeMatchedVertex);
+            Element element = serialisation.getLazyElement(cell, includeMatchedVertex);
             final ViewElementDefinition viewDef = operation.getView().getElement(element.getGroup());
             if (null != viewDef) {
                 final ElementTransformer transformer = viewDef.getTransformer();
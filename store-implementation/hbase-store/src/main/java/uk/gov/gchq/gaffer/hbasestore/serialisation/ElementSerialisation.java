@@ -32,6 +32,7 @@ import uk.gov.gchq.gaffer.data.element.EdgeDirection;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.data.element.Properties;
+import uk.gov.gchq.gaffer.data.element.PropertyDecoder;
 import uk.gov.gchq.gaffer.data.element.id.EdgeId;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.hbasestore.utils.HBaseStoreConstants;
@@ -46,6 +47,9 @@ import java.io.IOException;
 import java.nio.charset.Charset;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
 
 public class ElementSerialisation {
     private static final Logger LOGGER = LoggerFactory.getLogger(ElementSerialisation.class);
@@ -153,11 +157,32 @@ public class ElementSerialisation {
 
     public Element getElement(final Cell cell, final boolean includeMatchedVertex)
             throws SerialisationException {
+        return getElement(cell, includeMatchedVertex, false);
+    }
+
+    /**
+     * Creates an {@link Element} from a {@link Cell}. The properties stored in
+     * the cell value are only deserialised when they are first accessed, so
+     * properties that are never read, or are removed by the view, are not
+     * deserialised.
+     *
+     * @param cell                 the cell to convert
+     * @param includeMatchedVertex if true then the matchedVertex field is set on Edges
+     * @return the element
+     * @throws SerialisationException if the element could not be created
+     */
+    public Element getLazyElement(final Cell cell, final boolean includeMatchedVertex)
+            throws SerialisationException {
+        return getElement(cell, includeMatchedVertex, true);
+    }
+
+    private Element getElement(final Cell cell, final boolean includeMatchedVertex, final boolean lazy)
+            throws SerialisationException {
         final boolean keyRepresentsEntity = isEntity(cell);
         if (keyRepresentsEntity) {
-            return getEntity(cell);
+            return getEntity(cell, lazy);
         }
-        return getEdge(cell, includeMatchedVertex);
+        return getEdge(cell, includeMatchedVertex, lazy);
     }
 
     public byte[] getColumnVisibility(final Element element) throws SerialisationException {
@@ -552,22 +577,25 @@ public class ElementSerialisation {
         out.write(bytes);
     }
 
-    private void addPropertiesToElement(final Element element, final Cell cell)
-            throws SerialisationException {
-        element.copyProperties(
-                getPropertiesFromColumnQualifier(element.getGroup(), CellUtil.cloneQualifier(cell)));
-        element.copyProperties(
-                getPropertiesFromValue(element.getGroup(), CellUtil.cloneValue(cell)));
-        element.copyProperties(
-                getPropertiesFromTimestamp(element.getGroup(), cell.getTimestamp()));
-    }
-
-    private Edge getEdge(final Cell cell)
+    private Properties getProperties(final String group, final Cell cell, final boolean lazy)
             throws SerialisationException {
-        return getEdge(cell, false);
+        final Properties properties;
+        if (lazy) {
+            final SchemaElementDefinition elementDefinition = schema.getElement(group);
+            if (null == elementDefinition) {
+                throw new SerialisationException("No SchemaElementDefinition found for group " + group + ", is this group in your schema or do your table iterators need updating?");
+            }
+            final ValuePropertyDecoder decoder = new ValuePropertyDecoder(group, CellUtil.cloneValue(cell), elementDefinition);
+            properties = new Properties(elementDefinition.getPropertiesLayout(), decoder.getPropertyNames(), decoder);
+        } else {
+            properties = getPropertiesFromValue(group, CellUtil.cloneValue(cell));
+        }
+        properties.putAll(getPropertiesFromColumnQualifier(group, CellUtil.cloneQualifier(cell)));
+        properties.putAll(getPropertiesFromTimestamp(group, cell.getTimestamp()));
+        return properties;
     }
 
-    private Edge getEdge(final Cell cell, final boolean includeMatchedVertex)
+    private Edge getEdge(final Cell cell, final boolean includeMatchedVertex, final boolean lazy)
             throws SerialisationException {
         final byte[][] result = new byte[3][];
         final EdgeDirection direction = getSourceAndDestination(CellUtil.cloneRow(cell), result);
@@ -581,25 +609,92 @@ public class ElementSerialisation {
         }
         final String group = getGroup(cell);
         try {
-            final Edge edge = new Edge(group, ((ToBytesSerialiser) schema.getVertexSerialiser()).deserialise(result[0]),
-                    ((ToBytesSerialiser) schema.getVertexSerialiser()).deserialise(result[1]), direction.isDirected(), matchedVertex, null);
-            addPropertiesToElement(edge, cell);
-            return edge;
+            return new Edge(group, ((ToBytesSerialiser) schema.getVertexSerialiser()).deserialise(result[0]),
+                    ((ToBytesSerialiser) schema.getVertexSerialiser()).deserialise(result[1]), direction.isDirected(), matchedVertex,
+                    getProperties(group, cell, lazy));
         } catch (final SerialisationException e) {
             throw new SerialisationException("Failed to re-create Edge from cell", e);
         }
     }
 
-    private Entity getEntity(final Cell cell) throws SerialisationException {
+    private Entity getEntity(final Cell cell, final boolean lazy) throws SerialisationException {
 
         try {
             final byte[] row = CellUtil.cloneRow(cell);
-            final Entity entity = new Entity(getGroup(cell), ((ToBytesSerialiser) schema.getVertexSerialiser())
-                    .deserialise(ByteArrayEscapeUtils.unEscape(row, 0, row.length - 2)));
-            addPropertiesToElement(entity, cell);
-            return entity;
+            final String group = getGroup(cell);
+            return new Entity(group, ((ToBytesSerialiser) schema.getVertexSerialiser())
+                    .deserialise(ByteArrayEscapeUtils.unEscape(row, 0, row.length - 2)), getProperties(group, cell, lazy));
         } catch (final SerialisationException e) {
             throw new SerialisationException("Failed to re-create Entity from cell", e);
         }
     }
+
+    /**
+     * Decodes the properties stored in a cell value on demand. The value is
+     * scanned once to find the offset of each serialised property, each property
+     * is then only deserialised when it is requested.
+     */
+    private final class ValuePropertyDecoder implements PropertyDecoder {
+        private final String group;
+        private final byte[] value;
+        private final Map<String, Integer> positions = new LinkedHashMap<>();
+        private final SchemaElementDefinition elementDefinition;
+
+        private ValuePropertyDecoder(final String group, final byte[] value, final SchemaElementDefinition elementDefinition)
+                throws SerialisationException {
+            this.group = group;
+            this.value = value;
+            this.elementDefinition = elementDefinition;
+            int lastDelimiter = 0;
+            final Iterator<String> propertyNames = elementDefinition.getProperties().iterator();
+            while (propertyNames.hasNext() && lastDelimiter < value.length) {
+                final String propertyName = propertyNames.next();
+                if (isStoredInValue(propertyName, elementDefinition)) {
+                    if (null != getSerialiser(propertyName)) {
+                        positions.put(propertyName, lastDelimiter);
+                        lastDelimiter += CompactRawSerialisationUtils.decodeVIntSize(value[lastDelimiter])
+                                + getPropertyLength(lastDelimiter);
+                    } else {
+                        LOGGER.warn("No serialiser found in schema for property {} in group {}", propertyName, group);
+                    }
+                }
+            }
+        }
+
+        private Set<String> getPropertyNames() {
+            return positions.keySet();
+        }
+
+        @Override
+        public Object decode(final String propertyName) {
+            final Integer position = positions.get(propertyName);
+            if (null == position) {
+                return null;
+            }
+            try {
+                final ToBytesSerialiser serialiser = getSerialiser(propertyName);
+                final int length = getPropertyLength(position);
+                if (length > 0) {
+                    return serialiser.deserialise(value, position + CompactRawSerialisationUtils.decodeVIntSize(value[position]), length);
+                }
+                return serialiser.deserialiseEmpty();
+            } catch (final SerialisationException e) {
+                throw new RuntimeException("Failed to deserialise property " + propertyName + " in group " + group, e);
+            }
+        }
+
+        private int getPropertyLength(final int position) throws SerialisationException {
+            try {
+                // value is never larger than int.
+                return (int) CompactRawSerialisationUtils.readLong(value, position);
+            } catch (final SerialisationException e) {
+                throw new SerialisationException("Exception reading length of property");
+            }
+        }
+
+        private ToBytesSerialiser getSerialiser(final String propertyName) {
+            final TypeDefinition typeDefinition = elementDefinition.getPropertyTypeDef(propertyName);
+            return (null != typeDefinition) ? (ToBytesSerialiser) typeDefinition.getSerialiser() : null;
+        }
+    }
 }
@@ -22,6 +22,8 @@ import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.data.element.GroupedProperties;
+import uk.gov.gchq.gaffer.data.element.Properties;
+import uk.gov.gchq.gaffer.data.element.PropertiesLayout;
 import uk.gov.gchq.gaffer.data.element.id.EdgeId;
 import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.mapstore.MapStore;
@@ -114,7 +116,7 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
     private Element addAggElement(final Element element, final Schema schema, final MapImpl mapImpl) {
         final String group = element.getGroup();
         final Element elementWithGroupByProperties = element.emptyClone();
-        final GroupedProperties properties = new GroupedProperties(element.getGroup());
+        final GroupedProperties properties = new GroupedProperties(element.getGroup(), schema.getElement(group).getPropertiesLayout());
         for (final String propertyName : mapImpl.getGroupByProperties(group)) {
             elementWithGroupByProperties.putProperty(propertyName, element.getProperty(propertyName));
         }
@@ -127,10 +129,9 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
     }
 
     private Element addNonAggElement(final Element element, final Schema schema, final MapImpl mapImpl) {
-        final Element elementClone = element.emptyClone();
-
         // Copy properties that exist in the schema
         final SchemaElementDefinition elementDef = schema.getElement(element.getGroup());
+        final Element elementClone = emptyCompactClone(element, elementDef.getPropertiesLayout());
         for (final String property : elementDef.getProperties()) {
             elementClone.putProperty(property, element.getProperty(property));
         }
@@ -139,6 +140,15 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
         return elementClone;
     }
 
+    private static Element emptyCompactClone(final Element element, final PropertiesLayout layout) {
+        if (element instanceof Entity) {
+            return new Entity(element.getGroup(), ((Entity) element).getVertex(), new Properties(layout));
+        }
+
+        final Edge edge = (Edge) element;
+        return new Edge(edge.getGroup(), edge.getSource(), edge.getDestination(), edge.isDirected(), edge.getMatchedVertex(), new Properties(layout));
+    }
+
     private void updateElementIndex(final Element element, final MapImpl mapImpl) {
         if (element instanceof Entity) {
             final Entity entity = (Entity) element;
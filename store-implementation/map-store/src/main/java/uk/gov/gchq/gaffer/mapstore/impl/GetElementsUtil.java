@@ -30,6 +30,7 @@ import uk.gov.gchq.gaffer.operation.SeedMatching.SeedMatchingType;
 import uk.gov.gchq.gaffer.operation.data.EdgeSeed;
 import uk.gov.gchq.gaffer.operation.data.EntitySeed;
 import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters.IncludeIncomingOutgoingType;
+import uk.gov.gchq.gaffer.store.ElementValidator;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 
 import java.util.Collection;
@@ -145,17 +146,14 @@ public final class GetElementsUtil {
             stream = stream.filter(e -> viewGroups.contains(e.getGroup()));
         }
 
+        // The filters are compiled once and can be shared if the stream is parallel
+        final ElementValidator validator = new ElementValidator(view);
+
         // Apply pre-aggregation filter
-        stream = stream.filter(e -> {
-            final ViewElementDefinition ved = view.getElement(e.getGroup());
-            return ved.getPreAggregationFilter() == null || ved.getPreAggregationFilter().test(e);
-        });
+        stream = stream.filter(validator::validateInput);
 
         // Apply post-aggregation filter
-        stream = stream.filter(e -> {
-            final ViewElementDefinition ved = view.getElement(e.getGroup());
-            return ved.getPostAggregationFilter() == null || ved.getPostAggregationFilter().test(e);
-        });
+        stream = stream.filter(validator::validateAggregation);
 
         // Apply transform
         stream = stream.map(e -> {
@@ -168,10 +166,7 @@ public final class GetElementsUtil {
         });
 
         // Apply post transform filter
-        stream = stream.filter(e -> {
-            final ViewElementDefinition ved = view.getElement(e.getGroup());
-            return ved.getPostTransformFilter() == null || ved.getPostTransformFilter().test(e);
-        });
+        stream = stream.filter(validator::validateTransform);
 
         return stream;
     }
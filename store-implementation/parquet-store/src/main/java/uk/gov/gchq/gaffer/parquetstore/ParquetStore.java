@@ -59,10 +59,13 @@ import java.io.IOException;
 import java.util.Collections;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import static uk.gov.gchq.gaffer.store.StoreTrait.INGEST_AGGREGATION;
 import static uk.gov.gchq.gaffer.store.StoreTrait.ORDERED;
 import static uk.gov.gchq.gaffer.store.StoreTrait.PRE_AGGREGATION_FILTERING;
+import static uk.gov.gchq.gaffer.store.StoreTrait.QUERY_AGGREGATION;
 import static uk.gov.gchq.gaffer.store.StoreTrait.STORE_VALIDATION;
 import static uk.gov.gchq.gaffer.store.StoreTrait.VISIBILITY;
 
@@ -80,6 +83,7 @@ public class ParquetStore extends Store {
                     ORDERED,
                     VISIBILITY,
                     INGEST_AGGREGATION,
+                    QUERY_AGGREGATION,
                     PRE_AGGREGATION_FILTERING,
                     STORE_VALIDATION
             ));
@@ -87,6 +91,7 @@ public class ParquetStore extends Store {
     private GraphIndex graphIndex;
     private SchemaUtils schemaUtils;
     private FileSystem fs;
+    private final Lock ingestLock = new ReentrantLock();
 
     @Override
     public void initialise(final String graphId, final Schema schema, final StoreProperties properties) throws StoreException {
@@ -129,6 +134,16 @@ public class ParquetStore extends Store {
         return graphIndex;
     }
 
+    /**
+     * Operations that write to the temporary files directory or swap in a new {@link GraphIndex}, i.e. adding
+     * elements and compacting deltas, must hold this lock.
+     *
+     * @return the lock used to serialise writes to this store
+     */
+    public Lock getIngestLock() {
+        return ingestLock;
+    }
+
     public static String getGroupDirectory(final String group, final String column, final String rootDir) {
         if (ParquetStoreConstants.VERTEX.equals(column) || ParquetStoreConstants.SOURCE.equals(column)) {
             return rootDir + "/" + ParquetStoreConstants.GRAPH + "/" + ParquetStoreConstants.GROUP + "=" + group;
@@ -137,6 +152,10 @@ public class ParquetStore extends Store {
         }
     }
 
+    public static String getDeltaDirectory(final String snapshotDir, final long deltaTimestamp) {
+        return snapshotDir + "/" + ParquetStoreConstants.DELTA + "=" + deltaTimestamp;
+    }
+
     @SuppressFBWarnings(value = "BC_UNCONFIRMED_CAST_OF_RETURN_VALUE", justification = "The properties should always be ParquetStoreProperties")
     @Override
     public ParquetStoreProperties getProperties() {
@@ -205,6 +224,7 @@ public class ParquetStore extends Store {
                 graphIndex = new GraphIndex();
                 final long snapshot = getLatestSnapshot(rootDir);
                 graphIndex.readGroups(schemaUtils, rootDir + "/" + snapshot, fs);
+                graphIndex.readDeltas(schemaUtils, rootDir + "/" + snapshot, fs);
                 graphIndex.setSnapshotTimestamp(snapshot);
             }
         } catch (final IOException e) {
@@ -42,10 +42,15 @@ public class ParquetStoreProperties extends StoreProperties implements Serializa
     public static final String PARQUET_AGGREGATE_ON_INGEST = "parquet.add_elements.aggregate";
     public static final String PARQUET_SORT_BY_SPLITS_ON_INGEST = "parquet.add_elements.sort_by_splits";
     public static final String PARQUET_SPLIT_POINTS_SAMPLE_RATE = "parquet.add_elements.split_points.sample_rate";
+    public static final String PARQUET_SPLIT_POINTS_MAX_SAMPLE_SIZE = "parquet.add_elements.split_points.max_sample_size";
     public static final String PARQUET_THREADS_AVAILABLE = "parquet.threadsAvailable";
     public static final String PARQUET_ADD_ELEMENTS_OUTPUT_FILES_PER_GROUP = "parquet.add_elements.output_files_per_group";
     public static final String SPARK_MASTER = "spark.master";
     public static final String PARQUET_SKIP_VALIDATION = "parquet.skip_validation";
+    public static final String PARQUET_INDEX_BLOOM_FILTER = "parquet.add_elements.index.bloom_filter";
+    public static final String PARQUET_DELTA_INGEST = "parquet.add_elements.delta_ingest";
+    public static final String PARQUET_COMPACTION_MAX_DELTAS = "parquet.compaction.max_deltas";
+    public static final String PARQUET_COMPACTION_MAX_DELTA_SIZE_IN_BYTES = "parquet.compaction.max_delta_size";
 
 
     // Default values
@@ -56,10 +61,15 @@ public class ParquetStoreProperties extends StoreProperties implements Serializa
     public static final String PARQUET_AGGREGATE_ON_INGEST_DEFAULT = "true";
     public static final String PARQUET_SORT_BY_SPLITS_ON_INGEST_DEFAULT = "false";
     private static final String PARQUET_SPLIT_POINTS_SAMPLE_RATE_DEFAULT = "10";
+    private static final String PARQUET_SPLIT_POINTS_MAX_SAMPLE_SIZE_DEFAULT = "100000";
     private static final String PARQUET_THREADS_AVAILABLE_DEFAULT = "3";
     private static final String PARQUET_ADD_ELEMENTS_OUTPUT_FILES_PER_GROUP_DEFAULT = "10";
     private static final String SPARK_MASTER_DEFAULT = "local[*]";
     private static final String PARQUET_SKIP_VALIDATION_DEFAULT = "false";
+    private static final String PARQUET_INDEX_BLOOM_FILTER_DEFAULT = "false";
+    private static final String PARQUET_DELTA_INGEST_DEFAULT = "false";
+    private static final String PARQUET_COMPACTION_MAX_DELTAS_DEFAULT = "10";
+    private static final String PARQUET_COMPACTION_MAX_DELTA_SIZE_IN_BYTES_DEFAULT = "268435456"; //256MB
     private static final long serialVersionUID = 7695540336792378185L;
 
     public ParquetStoreProperties() {
@@ -114,6 +124,18 @@ public class ParquetStoreProperties extends StoreProperties implements Serializa
         set(PARQUET_SPLIT_POINTS_SAMPLE_RATE, sampleRate.toString());
     }
 
+    /**
+     * @return the maximum number of sampled vertices or sources kept per group when calculating the split points for
+     * the input to an {@code AddElements} operation
+     */
+    public int getMaxSampleSize() {
+        return Integer.parseInt(get(PARQUET_SPLIT_POINTS_MAX_SAMPLE_SIZE, PARQUET_SPLIT_POINTS_MAX_SAMPLE_SIZE_DEFAULT));
+    }
+
+    public void setMaxSampleSize(final int maxSampleSize) {
+        set(PARQUET_SPLIT_POINTS_MAX_SAMPLE_SIZE, String.valueOf(maxSampleSize));
+    }
+
     public Integer getRowGroupSize() {
         return Integer.parseInt(get(PARQUET_ROW_GROUP_SIZE_IN_BYTES, PARQUET_ROW_GROUP_SIZE_IN_BYTES_DEFAULT));
     }
@@ -188,4 +210,49 @@ public class ParquetStoreProperties extends StoreProperties implements Serializa
     public void setSortBySplitsOnIngest(final boolean sortBySplits) {
         set(PARQUET_SORT_BY_SPLITS_ON_INGEST, String.valueOf(sortBySplits));
     }
+
+    /**
+     * @return true if the index of each file should include a bloom filter of the values of the indexed column, so
+     * seeded queries can skip files that do not contain the seeds
+     */
+    public boolean getIndexBloomFilter() {
+        return Boolean.parseBoolean(get(PARQUET_INDEX_BLOOM_FILTER, PARQUET_INDEX_BLOOM_FILTER_DEFAULT));
+    }
+
+    public void setIndexBloomFilter(final boolean indexBloomFilter) {
+        set(PARQUET_INDEX_BLOOM_FILTER, String.valueOf(indexBloomFilter));
+    }
+
+    /**
+     * If delta ingest is enabled then, once the store holds some data, each {@link uk.gov.gchq.gaffer.operation.impl.add.AddElements}
+     * is written as a small sorted delta alongside the current snapshot rather than being merged into a new snapshot.
+     * Deltas are merged with the snapshot at query time. Once there are more than {@link #getCompactionMaxDeltas()}
+     * deltas or they use more than {@link #getCompactionMaxDeltaSize()} bytes, the add that wrote the last delta
+     * compacts them into a new snapshot before it returns.
+     *
+     * @return true if delta ingest is enabled
+     */
+    public boolean getDeltaIngest() {
+        return Boolean.parseBoolean(get(PARQUET_DELTA_INGEST, PARQUET_DELTA_INGEST_DEFAULT));
+    }
+
+    public void setDeltaIngest(final boolean deltaIngest) {
+        set(PARQUET_DELTA_INGEST, String.valueOf(deltaIngest));
+    }
+
+    public int getCompactionMaxDeltas() {
+        return Integer.parseInt(get(PARQUET_COMPACTION_MAX_DELTAS, PARQUET_COMPACTION_MAX_DELTAS_DEFAULT));
+    }
+
+    public void setCompactionMaxDeltas(final int maxDeltas) {
+        set(PARQUET_COMPACTION_MAX_DELTAS, String.valueOf(maxDeltas));
+    }
+
+    public long getCompactionMaxDeltaSize() {
+        return Long.parseLong(get(PARQUET_COMPACTION_MAX_DELTA_SIZE_IN_BYTES, PARQUET_COMPACTION_MAX_DELTA_SIZE_IN_BYTES_DEFAULT));
+    }
+
+    public void setCompactionMaxDeltaSize(final long maxDeltaSizeInBytes) {
+        set(PARQUET_COMPACTION_MAX_DELTA_SIZE_IN_BYTES, String.valueOf(maxDeltaSizeInBytes));
+    }
 }
@@ -17,14 +17,21 @@ package uk.gov.gchq.gaffer.parquetstore.index;
 
 import org.apache.hadoop.fs.FSDataInputStream;
 import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.util.bloom.BloomFilter;
+import org.apache.hadoop.util.bloom.Key;
+import org.apache.hadoop.util.hash.Hash;
 import org.apache.parquet.bytes.BytesUtils;
 
 import uk.gov.gchq.gaffer.commonutil.StringUtil;
 import uk.gov.gchq.gaffer.store.StoreException;
 
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.List;
 import java.util.SortedSet;
 import java.util.TreeSet;
 
@@ -32,11 +39,18 @@ import java.util.TreeSet;
  * This class is used to store a file-based index for a single gaffer column, i.e. it stores a set of
  * {@link MinValuesWithPath}s. Each {@link MinValuesWithPath} contains a path to a file that has been sorted by the column this index
  * is for and contains the min and max parquet objects from that parquet file.
+ * <p>
+ * The index is written with a version marker followed by, for each file, the min values, the path, the max values,
+ * the min and max values of each row group and an optional {@link BloomFilter}. Indices written by older versions of
+ * the store only contain the min values and path of each file and can still be read.
  */
 public class ColumnIndex {
     private static final Comparator<MinValuesWithPath> BY_PATH =
             Comparator.comparing(MinValuesWithPath::getPath);
+    private static final int STATISTICS_FORMAT = -2;
+    private static final int MAX_BLOOM_FILTER_SIZE_IN_BITS = 1 << 26;
     private final SortedSet<MinValuesWithPath> minValuesWithPaths;
+    private SortedColumnIndex sortedIndex;
 
     public ColumnIndex() {
         this.minValuesWithPaths = new TreeSet<>(BY_PATH);
@@ -46,8 +60,9 @@ public class ColumnIndex {
         return minValuesWithPaths.isEmpty();
     }
 
-    public void add(final MinValuesWithPath minValuesWithPath) {
+    public synchronized void add(final MinValuesWithPath minValuesWithPath) {
         minValuesWithPaths.add(minValuesWithPath);
+        sortedIndex = null;
     }
 
     public Iterator<MinValuesWithPath> getIterator() {
@@ -58,25 +73,37 @@ public class ColumnIndex {
         return minValuesWithPaths.size();
     }
 
+    /**
+     * @return a {@link SortedColumnIndex} of the files in this index, which is built the first time it is requested
+     */
+    public synchronized SortedColumnIndex getSortedIndex() {
+        if (null == sortedIndex) {
+            sortedIndex = new SortedColumnIndex(minValuesWithPaths);
+        }
+        return sortedIndex;
+    }
+
     protected void write(final FSDataOutputStream outputFile) throws StoreException {
         try {
+            outputFile.writeInt(STATISTICS_FORMAT);
             for (final MinValuesWithPath minValuesWithPath : minValuesWithPaths) {
-                final Object[] min = minValuesWithPath.getMin();
-                final String path = minValuesWithPath.getPath();
-                outputFile.writeInt(min.length);
-                for (int colIndex = 0; colIndex < min.length; colIndex++) {
-                    final Object minCol = min[colIndex];
-                    final String minColType = minCol.getClass().getSimpleName();
-                    final byte[] columnType = StringUtil.toBytes(minColType);
-                    outputFile.writeInt(columnType.length);
-                    outputFile.write(columnType);
-                    final byte[] minValue = serialiseObject(min[colIndex]);
-                    outputFile.writeInt(minValue.length);
-                    outputFile.write(minValue);
-                }
-                byte[] filePath = StringUtil.toBytes(path);
+                writeValues(minValuesWithPath.getMin(), outputFile);
+                byte[] filePath = StringUtil.toBytes(minValuesWithPath.getPath());
                 outputFile.writeInt(filePath.length);
                 outputFile.write(filePath);
+                writeOptionalValues(minValuesWithPath.getMax(), outputFile);
+                final List<RowGroupStatistics> rowGroups = minValuesWithPath.getRowGroups();
+                outputFile.writeInt(rowGroups.size());
+                for (final RowGroupStatistics rowGroup : rowGroups) {
+                    writeValues(rowGroup.getMin(), outputFile);
+                    writeValues(rowGroup.getMax(), outputFile);
+                    outputFile.writeLong(rowGroup.getRowCount());
+                }
+                final BloomFilter bloomFilter = minValuesWithPath.getBloomFilter();
+                outputFile.writeBoolean(null != bloomFilter);
+                if (null != bloomFilter) {
+                    bloomFilter.write(outputFile);
+                }
                 outputFile.hsync();
             }
             outputFile.hsync();
@@ -86,7 +113,28 @@ public class ColumnIndex {
         }
     }
 
-    private byte[] serialiseObject(final Object value) throws StoreException {
+    private void writeOptionalValues(final Object[] values, final FSDataOutputStream outputFile) throws IOException, StoreException {
+        outputFile.writeBoolean(null != values);
+        if (null != values) {
+            writeValues(values, outputFile);
+        }
+    }
+
+    private void writeValues(final Object[] values, final FSDataOutputStream outputFile) throws IOException, StoreException {
+        outputFile.writeInt(values.length);
+        for (int colIndex = 0; colIndex < values.length; colIndex++) {
+            final Object value = values[colIndex];
+            final String valueType = value.getClass().getSimpleName();
+            final byte[] columnType = StringUtil.toBytes(valueType);
+            outputFile.writeInt(columnType.length);
+            outputFile.write(columnType);
+            final byte[] valueBytes = serialiseObject(value);
+            outputFile.writeInt(valueBytes.length);
+            outputFile.write(valueBytes);
+        }
+    }
+
+    private static byte[] serialiseObject(final Object value) throws StoreException {
         final String objectType = value.getClass().getSimpleName();
         if ("Long".equals(objectType)) {
             return BytesUtils.longToBytes((long) value);
@@ -107,19 +155,39 @@ public class ColumnIndex {
 
     public void read(final FSDataInputStream reader) throws StoreException {
         try {
-            while (reader.available() > 0) {
-                final int numOfCols = reader.readInt();
-                Object[] min = new Object[numOfCols];
-                for (int i = 0; i < numOfCols; i++) {
-                    final int colTypeLength = reader.readInt();
-                    final byte[] colType = readBytes(colTypeLength, reader);
-                    final int minLength = reader.readInt();
-                    final byte[] minBytes = readBytes(minLength, reader);
-                    min[i] = deserialiseColumn(colType, minBytes);
+            boolean withStatistics = false;
+            Integer numOfCols = null;
+            if (reader.available() > 0) {
+                final int first = reader.readInt();
+                if (STATISTICS_FORMAT == first) {
+                    withStatistics = true;
+                } else {
+                    numOfCols = first;
                 }
+            }
+            while (null != numOfCols || reader.available() > 0) {
+                final Object[] min = readValues(null != numOfCols ? numOfCols : reader.readInt(), reader);
+                numOfCols = null;
                 final int filePathLength = reader.readInt();
-                final byte[] filePath = readBytes(filePathLength, reader);
-                add(new MinValuesWithPath(min, StringUtil.toString(filePath)));
+                final String filePath = StringUtil.toString(readBytes(filePathLength, reader));
+                if (withStatistics) {
+                    final Object[] max = reader.readBoolean() ? readValues(reader.readInt(), reader) : null;
+                    final int numOfRowGroups = reader.readInt();
+                    final List<RowGroupStatistics> rowGroups = new ArrayList<>(numOfRowGroups);
+                    for (int i = 0; i < numOfRowGroups; i++) {
+                        final Object[] rowGroupMin = readValues(reader.readInt(), reader);
+                        final Object[] rowGroupMax = readValues(reader.readInt(), reader);
+                        rowGroups.add(new RowGroupStatistics(rowGroupMin, rowGroupMax, reader.readLong()));
+                    }
+                    BloomFilter bloomFilter = null;
+                    if (reader.readBoolean()) {
+                        bloomFilter = new BloomFilter();
+                        bloomFilter.readFields(reader);
+                    }
+                    add(new MinValuesWithPath(min, max, filePath, rowGroups, bloomFilter));
+                } else {
+                    add(new MinValuesWithPath(min, filePath));
+                }
             }
             reader.close();
         } catch (final IOException e) {
@@ -127,6 +195,18 @@ public class ColumnIndex {
         }
     }
 
+    private Object[] readValues(final int numOfCols, final FSDataInputStream reader) throws IOException, StoreException {
+        final Object[] values = new Object[numOfCols];
+        for (int i = 0; i < numOfCols; i++) {
+            final int colTypeLength = reader.readInt();
+            final byte[] colType = readBytes(colTypeLength, reader);
+            final int valueLength = reader.readInt();
+            final byte[] valueBytes = readBytes(valueLength, reader);
+            values[i] = deserialiseColumn(colType, valueBytes);
+        }
+        return values;
+    }
+
     private byte[] readBytes(final int length, final FSDataInputStream reader) throws StoreException {
         try {
             final byte[] bytes = new byte[length];
@@ -157,6 +237,48 @@ public class ColumnIndex {
         }
     }
 
+    /**
+     * Creates an empty {@link BloomFilter} sized for the given number of values and false positive probability.
+     *
+     * @param expectedNumberOfValues   the number of values that will be added to the filter
+     * @param falsePositiveProbability the desired probability of a false positive
+     * @return an empty {@link BloomFilter}
+     */
+    public static BloomFilter createBloomFilter(final long expectedNumberOfValues, final double falsePositiveProbability) {
+        final long numberOfValues = Math.max(1L, expectedNumberOfValues);
+        final double ln2 = Math.log(2);
+        final long vectorSize = Math.min(MAX_BLOOM_FILTER_SIZE_IN_BITS,
+                Math.max(64L, (long) Math.ceil(-numberOfValues * Math.log(falsePositiveProbability) / (ln2 * ln2))));
+        final int numberOfHashes = (int) Math.max(1L, Math.round((double) vectorSize / numberOfValues * ln2));
+        return new BloomFilter((int) vectorSize, numberOfHashes, Hash.MURMUR_HASH);
+    }
+
+    /**
+     * Converts the parquet objects of a single value of a gaffer column into the {@link Key} used by the
+     * {@link BloomFilter}s in the index.
+     *
+     * @param values the parquet objects
+     * @return the {@link Key} for the values
+     */
+    public static Key toBloomFilterKey(final Object[] values) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final DataOutputStream out = new DataOutputStream(bytes)) {
+            for (final Object value : values) {
+                final byte[] valueBytes;
+                if (value instanceof byte[]) {
+                    valueBytes = (byte[]) value;
+                } else {
+                    valueBytes = StringUtil.toBytes(value.getClass().getSimpleName() + ":" + value);
+                }
+                out.writeInt(valueBytes.length);
+                out.write(valueBytes);
+            }
+        } catch (final IOException e) {
+            throw new RuntimeException("Unable to create the bloom filter key", e);
+        }
+        return new Key(bytes.toByteArray());
+    }
+
     @Override
     public String toString() {
         return minValuesWithPaths.toString();
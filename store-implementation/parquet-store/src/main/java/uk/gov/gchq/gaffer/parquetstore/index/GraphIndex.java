@@ -15,29 +15,41 @@
  */
 package uk.gov.gchq.gaffer.parquetstore.index;
 
+import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
 
+import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
 import uk.gov.gchq.gaffer.parquetstore.utils.ParquetStoreConstants;
 import uk.gov.gchq.gaffer.parquetstore.utils.SchemaUtils;
 import uk.gov.gchq.gaffer.store.StoreException;
 
+import java.io.IOException;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
 /**
  * This class is used to store a file-based groupToIndex for each group, i.e. for each group it stores a {@link GroupIndex}
  * which is a set of {@link ColumnIndex}s. Each {@link ColumnIndex} contains a path to a file that contains data for
  * that group along with minimum and maximum values of the indexed columns within that file. This allows queries for
  * particular values of the indexed columns to skip files that do not contain relevant data.
+ * <p>
+ * The index of a snapshot also holds a {@link GraphIndex} for each delta that has been added to that snapshot, keyed
+ * by the timestamp of the delta. A {@link GraphIndex} with deltas should be treated as immutable, so
+ * {@link #withDelta(long, GraphIndex)} returns a new index rather than modifying this one.
  */
 public class GraphIndex {
     private final Map<String, GroupIndex> groupToIndex;
+    private final TreeMap<Long, GraphIndex> deltas;
     private long snapshot;
 
     public GraphIndex() {
         this.groupToIndex = new HashMap<>();
+        this.deltas = new TreeMap<>();
     }
 
     public void add(final String group, final GroupIndex groupIndex) {
@@ -63,6 +75,36 @@ public class GraphIndex {
         snapshot = snapshotTimestamp;
     }
 
+    /**
+     * @return the indices of the deltas that have been added to this snapshot, ordered by the delta timestamp.
+     */
+    public SortedMap<Long, GraphIndex> getDeltas() {
+        return Collections.unmodifiableSortedMap(deltas);
+    }
+
+    public boolean hasDeltas() {
+        return !deltas.isEmpty();
+    }
+
+    /**
+     * Creates a copy of this index with the given delta registered against it.
+     *
+     * @param deltaTimestamp the timestamp of the delta, which is used to name its directory
+     * @param deltaIndex     the index of the data in the delta
+     * @return a new {@link GraphIndex} for the same snapshot that includes the delta
+     */
+    public GraphIndex withDelta(final long deltaTimestamp, final GraphIndex deltaIndex) {
+        if (deltas.containsKey(deltaTimestamp)) {
+            throw new IllegalArgumentException("Cannot overwrite an existing delta (delta was " + deltaTimestamp + ")");
+        }
+        final GraphIndex newIndex = new GraphIndex();
+        newIndex.groupToIndex.putAll(groupToIndex);
+        newIndex.deltas.putAll(deltas);
+        newIndex.deltas.put(deltaTimestamp, deltaIndex);
+        newIndex.snapshot = snapshot;
+        return newIndex;
+    }
+
     public void writeGroups(final String rootDir, final FileSystem fs) throws StoreException {
         for (final Map.Entry<String, GroupIndex> groupIndexEntry : groupToIndex.entrySet()) {
             final String group = groupIndexEntry.getKey();
@@ -88,8 +130,39 @@ public class GraphIndex {
         }
     }
 
+    /**
+     * Reads the indices of all the deltas that have been written into the snapshot directory.
+     *
+     * @param schemaUtils the {@link SchemaUtils} for the graph
+     * @param rootDir     the snapshot directory
+     * @param fs          the {@link FileSystem} the data is stored on
+     * @throws StoreException if the snapshot directory can not be listed
+     */
+    public void readDeltas(final SchemaUtils schemaUtils, final String rootDir, final FileSystem fs) throws StoreException {
+        final String deltaPrefix = ParquetStoreConstants.DELTA + "=";
+        try {
+            for (final FileStatus status : fs.listStatus(new Path(rootDir))) {
+                final String name = status.getPath().getName();
+                if (status.isDirectory() && name.startsWith(deltaPrefix)) {
+                    final long deltaTimestamp = Long.parseLong(name.substring(deltaPrefix.length()));
+                    final GraphIndex deltaIndex = new GraphIndex();
+                    deltaIndex.readGroups(schemaUtils, ParquetStore.getDeltaDirectory(rootDir, deltaTimestamp), fs);
+                    deltaIndex.setSnapshotTimestamp(deltaTimestamp);
+                    if (!deltaIndex.groupsIndexed().isEmpty()) {
+                        deltas.put(deltaTimestamp, deltaIndex);
+                    }
+                }
+            }
+        } catch (final IOException e) {
+            throw new StoreException("Failed to read the deltas in " + rootDir, e);
+        }
+    }
+
     @Override
     public String toString() {
-        return groupToIndex.toString();
+        if (deltas.isEmpty()) {
+            return groupToIndex.toString();
+        }
+        return groupToIndex.toString() + ", deltas=" + deltas.toString();
     }
 }
@@ -13,28 +13,47 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
+
 package uk.gov.gchq.gaffer.parquetstore.index;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.apache.hadoop.util.bloom.BloomFilter;
 
 import uk.gov.gchq.gaffer.store.StoreException;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * This class is used to store a single parquet file's path along with the first rows parquet objects that are contained in that file
  * for a specific gaffer column, i.e. if the vertex was a {@link uk.gov.gchq.gaffer.types.TypeValue} object then the Min would consist of two Strings,
  * the first representing the type and the second representing the value.
+ * <p>
+ * Indices written by newer versions of the store also hold the last rows parquet objects, the min and max of each
+ * row group in the file and optionally a {@link BloomFilter} of all the values of the column in the file. These are
+ * null, or empty, for indices written by older versions.
  */
 public class MinValuesWithPath {
     private final Object[] min;
+    private final Object[] max;
     private final String path;
+    private final List<RowGroupStatistics> rowGroups;
+    private final BloomFilter bloomFilter;
+
+    public MinValuesWithPath(final Object[] min, final String path) throws StoreException {
+        this(min, null, path, null, null);
+    }
 
     @SuppressFBWarnings(value = "EI_EXPOSE_REP2",
             justification = "This method is only used in this package and users will not mutate the values returned.")
-    public MinValuesWithPath(final Object[] min, final String path) throws StoreException {
+    public MinValuesWithPath(final Object[] min, final Object[] max, final String path,
+                             final List<RowGroupStatistics> rowGroups, final BloomFilter bloomFilter) throws StoreException {
         this.min = min;
+        this.max = max;
         this.path = path;
+        this.rowGroups = null != rowGroups ? rowGroups : Collections.emptyList();
+        this.bloomFilter = bloomFilter;
     }
 
     @SuppressFBWarnings(value = "EI_EXPOSE_REP",
@@ -43,16 +62,38 @@ public class MinValuesWithPath {
         return min;
     }
 
+    /**
+     * @return the parquet objects of the last row in the file, or null if the index does not include the max values
+     */
+    @SuppressFBWarnings(value = "EI_EXPOSE_REP",
+            justification = "This method is only used in this package and users will not mutate the values returned.")
+    public Object[] getMax() {
+        return max;
+    }
+
     public String getPath() {
         return path;
     }
 
+    public List<RowGroupStatistics> getRowGroups() {
+        return Collections.unmodifiableList(rowGroups);
+    }
+
+    /**
+     * @return the {@link BloomFilter} of the values in the file, or null if one was not created
+     */
+    public BloomFilter getBloomFilter() {
+        return bloomFilter;
+    }
+
     @Override
     public String toString() {
         final StringBuilder sb = new StringBuilder();
         sb.append("MinValuesWithPath{ ")
                 .append("Min=").append(Arrays.toString(min))
-                .append(", path=").append(path);
+                .append(", Max=").append(Arrays.toString(max))
+                .append(", path=").append(path)
+                .append(", rowGroups=").append(rowGroups.size());
         return sb.toString();
     }
 }
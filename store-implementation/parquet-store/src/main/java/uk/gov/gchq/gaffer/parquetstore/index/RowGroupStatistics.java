@@ -0,0 +1,61 @@
+/*
+ * Copyright 2017. Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.parquetstore.index;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.util.Arrays;
+
+/**
+ * This class is used to store the min and max parquet objects of a gaffer column within a single row group of a
+ * parquet file, along with the number of rows in that row group.
+ */
+public class RowGroupStatistics {
+    private final Object[] min;
+    private final Object[] max;
+    private final long rowCount;
+
+    @SuppressFBWarnings(value = "EI_EXPOSE_REP2",
+            justification = "This method is only used in this package and users will not mutate the values returned.")
+    public RowGroupStatistics(final Object[] min, final Object[] max, final long rowCount) {
+        this.min = min;
+        this.max = max;
+        this.rowCount = rowCount;
+    }
+
+    @SuppressFBWarnings(value = "EI_EXPOSE_REP",
+            justification = "This method is only used in this package and users will not mutate the values returned.")
+    public Object[] getMin() {
+        return min;
+    }
+
+    @SuppressFBWarnings(value = "EI_EXPOSE_REP",
+            justification = "This method is only used in this package and users will not mutate the values returned.")
+    public Object[] getMax() {
+        return max;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public String toString() {
+        return "RowGroupStatistics{ Min=" + Arrays.toString(min)
+                + ", Max=" + Arrays.toString(max)
+                + ", rowCount=" + rowCount + " }";
+    }
+}
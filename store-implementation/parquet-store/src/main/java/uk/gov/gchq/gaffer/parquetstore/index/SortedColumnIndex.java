@@ -0,0 +1,152 @@
+/*
+ * Copyright 2017. Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.parquetstore.index;
+
+import org.apache.hadoop.util.bloom.BloomFilter;
+
+import uk.gov.gchq.gaffer.parquetstore.utils.SeedComparator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A read only view of a {@link ColumnIndex} which holds the min and max values of each file and row group in sorted
+ * arrays so that the files that could contain a value can be found with a binary search.
+ * <p>
+ * A file is only returned for a value if the value is between the min and max of the file, is between the min and max
+ * of one of the file's row groups and is in the file's {@link BloomFilter}. If the index does not contain the max of a
+ * file then the min of the next file is used instead, and the last file is treated as unbounded.
+ */
+public class SortedColumnIndex {
+    private static final SeedComparator COMPARATOR = new SeedComparator();
+    private static final Object[][] NO_VALUES = new Object[0][];
+
+    private final String[] paths;
+    private final Object[][] mins;
+    private final Object[][] maxs;
+    // The largest max of this file and all the files before it, null if unbounded
+    private final Object[][] coveredMaxs;
+    private final Object[][][] rowGroupMins;
+    private final Object[][][] rowGroupMaxs;
+    private final BloomFilter[] bloomFilters;
+
+    public SortedColumnIndex(final Collection<MinValuesWithPath> files) {
+        final List<MinValuesWithPath> sortedFiles = new ArrayList<>(files);
+        sortedFiles.sort((a, b) -> COMPARATOR.compare(a.getMin(), b.getMin()));
+        final int size = sortedFiles.size();
+        paths = new String[size];
+        mins = new Object[size][];
+        maxs = new Object[size][];
+        coveredMaxs = new Object[size][];
+        rowGroupMins = new Object[size][][];
+        rowGroupMaxs = new Object[size][][];
+        bloomFilters = new BloomFilter[size];
+        for (int i = 0; i < size; i++) {
+            final MinValuesWithPath file = sortedFiles.get(i);
+            paths[i] = file.getPath();
+            mins[i] = file.getMin();
+            bloomFilters[i] = file.getBloomFilter();
+            final List<RowGroupStatistics> rowGroups = file.getRowGroups();
+            if (rowGroups.isEmpty()) {
+                rowGroupMins[i] = NO_VALUES;
+                rowGroupMaxs[i] = NO_VALUES;
+            } else {
+                rowGroupMins[i] = new Object[rowGroups.size()][];
+                rowGroupMaxs[i] = new Object[rowGroups.size()][];
+                for (int j = 0; j < rowGroups.size(); j++) {
+                    rowGroupMins[i][j] = rowGroups.get(j).getMin();
+                    rowGroupMaxs[i][j] = rowGroups.get(j).getMax();
+                }
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            final Object[] max = sortedFiles.get(i).getMax();
+            if (null != max) {
+                maxs[i] = max;
+            } else if (i + 1 < size) {
+                maxs[i] = mins[i + 1];
+            } else {
+                maxs[i] = null;
+            }
+            if (0 == i || null == maxs[i] || null == coveredMaxs[i - 1]) {
+                coveredMaxs[i] = maxs[i];
+            } else {
+                coveredMaxs[i] = COMPARATOR.compare(maxs[i], coveredMaxs[i - 1]) >= 0 ? maxs[i] : coveredMaxs[i - 1];
+            }
+        }
+    }
+
+    public int size() {
+        return paths.length;
+    }
+
+    /**
+     * @param value the parquet objects of a value of the indexed column
+     * @return the paths of the files, relative to the group directory, that could contain the value
+     */
+    public List<String> getPathsForValue(final Object[] value) {
+        final List<String> matches = new ArrayList<>();
+        for (int i = lastFileWithMinLessThanOrEqualTo(value); i >= 0; i--) {
+            if (null != coveredMaxs[i] && COMPARATOR.compare(coveredMaxs[i], value) < 0) {
+                // None of the earlier files can contain the value either
+                break;
+            }
+            if ((null == maxs[i] || COMPARATOR.compare(maxs[i], value) >= 0) && rowGroupsMightContain(i, value)
+                    && (null == bloomFilters[i] || bloomFilters[i].membershipTest(ColumnIndex.toBloomFilterKey(value)))) {
+                matches.add(paths[i]);
+            }
+        }
+        return matches;
+    }
+
+    private int lastFileWithMinLessThanOrEqualTo(final Object[] value) {
+        int low = 0;
+        int high = mins.length - 1;
+        int result = -1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            if (COMPARATOR.compare(mins[mid], value) <= 0) {
+                result = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return result;
+    }
+
+    private boolean rowGroupsMightContain(final int file, final Object[] value) {
+        final Object[][] fileRowGroupMins = rowGroupMins[file];
+        if (0 == fileRowGroupMins.length) {
+            return true;
+        }
+        // The data in a file is sorted so only the last row group starting at or before the value can contain it
+        int low = 0;
+        int high = fileRowGroupMins.length - 1;
+        int rowGroup = -1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            if (COMPARATOR.compare(fileRowGroupMins[mid], value) <= 0) {
+                rowGroup = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return rowGroup >= 0 && COMPARATOR.compare(rowGroupMaxs[file][rowGroup], value) >= 0;
+    }
+}
@@ -16,38 +16,102 @@
 package uk.gov.gchq.gaffer.parquetstore.io.reader;
 
 import org.apache.hadoop.conf.Configuration;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
 import org.apache.parquet.hadoop.api.InitContext;
 import org.apache.parquet.hadoop.api.ReadSupport;
 import org.apache.parquet.io.api.RecordMaterializer;
 import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.Type;
 
 import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
 import uk.gov.gchq.gaffer.parquetstore.utils.GafferGroupObjectConverter;
+import uk.gov.gchq.koryphe.tuple.predicate.TupleAdaptedPredicate;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * This class provides the {@link ReadSupport} required by the {@link ParquetElementReader} making use of the
  * {@link ElementRecordMaterialiser} to directly build the Gaffer Elements from the parquet types.
+ * <p>
+ * If the Gaffer columns to read are provided then only the Parquet columns holding those columns, the identifiers and
+ * the columns used by the {@link ElementFilter} and the {@link FilterPredicate} are requested from the file, so the
+ * pages of the other columns are never decompressed or decoded. If an {@link ElementFilter} is provided then it is applied as soon as the columns it
+ * selects have been de-serialised and the remaining properties are only de-serialised for the Elements that pass it.
  */
 public class ElementReadSupport extends ReadSupport<Element> {
     private final boolean isEntity;
     private final GafferGroupObjectConverter converter;
+    private final Set<String> gafferColumns;
+    private final ElementFilter elementFilter;
+    private final Set<String> filterColumns;
+    private final FilterPredicate filterPredicate;
 
     public ElementReadSupport(final boolean isEntity, final GafferGroupObjectConverter converter) {
+        this(isEntity, converter, null, null, null);
+    }
+
+    /**
+     * @param isEntity        is the data being read Entities
+     * @param converter       the converter for the group being read
+     * @param gafferColumns   the properties that are required in the returned Elements, or null for all of them
+     * @param elementFilter   the filter that the Elements must pass to be returned, or null
+     * @param filterPredicate the Parquet filter that the reader is using, or null
+     */
+    public ElementReadSupport(final boolean isEntity, final GafferGroupObjectConverter converter,
+                              final Set<String> gafferColumns, final ElementFilter elementFilter,
+                              final FilterPredicate filterPredicate) {
         super();
         this.isEntity = isEntity;
         this.converter = converter;
+        this.filterPredicate = filterPredicate;
+        this.elementFilter = elementFilter;
+        this.filterColumns = getSelectedColumns(elementFilter);
+        if (null != gafferColumns) {
+            this.gafferColumns = new HashSet<>(gafferColumns);
+            this.gafferColumns.addAll(filterColumns);
+        } else {
+            this.gafferColumns = null;
+        }
+    }
+
+    private static Set<String> getSelectedColumns(final ElementFilter elementFilter) {
+        final Set<String> columns = new HashSet<>();
+        if (null != elementFilter) {
+            for (final TupleAdaptedPredicate<String, ?> predicate : elementFilter.getComponents()) {
+                columns.addAll(Arrays.asList(predicate.getSelection()));
+            }
+        }
+        return columns;
     }
 
     @Override
     public RecordMaterializer<Element> prepareForRead(final Configuration configuration, final Map<String, String> map,
                                                       final MessageType parquetSchema, final ReadContext readContext) {
-        return new ElementRecordMaterialiser(parquetSchema, isEntity, converter);
+        return new ElementRecordMaterialiser(readContext.getRequestedSchema(), isEntity, converter, gafferColumns,
+                elementFilter, filterColumns);
     }
 
     @Override
     public ReadContext init(final InitContext context) {
-        return new ReadContext(context.getFileSchema());
+        final MessageType fileSchema = context.getFileSchema();
+        if (null == gafferColumns) {
+            return new ReadContext(fileSchema);
+        }
+        final Set<String> fields = converter.getParquetFields(gafferColumns);
+        // Parquet treats a column that has not been read as null when applying its filter
+        fields.addAll(FilterPredicateFields.getFields(filterPredicate));
+        final List<Type> requestedFields = new ArrayList<>(fields.size());
+        for (final Type field : fileSchema.getFields()) {
+            if (fields.contains(field.getName())) {
+                requestedFields.add(field);
+            }
+        }
+        return new ReadContext(new MessageType(fileSchema.getName(), requestedFields));
     }
 }
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2017. Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.parquetstore.io.reader;
+
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.filter2.predicate.Operators;
+import org.apache.parquet.filter2.predicate.UserDefinedPredicate;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * This class is used to find the top level Parquet fields that a {@link FilterPredicate} is applied to, so that those
+ * fields are always included when only some of the columns are read from a file.
+ */
+public final class FilterPredicateFields implements FilterPredicate.Visitor<Void> {
+    private final Set<String> fields = new HashSet<>();
+
+    private FilterPredicateFields() {
+    }
+
+    /**
+     * @param filterPredicate the filter, may be null
+     * @return the names of the top level Parquet fields that the filter is applied to
+     */
+    public static Set<String> getFields(final FilterPredicate filterPredicate) {
+        final FilterPredicateFields visitor = new FilterPredicateFields();
+        if (null != filterPredicate) {
+            filterPredicate.accept(visitor);
+        }
+        return visitor.fields;
+    }
+
+    private Void addColumn(final Operators.Column<?> column) {
+        fields.add(column.getColumnPath().toArray()[0]);
+        return null;
+    }
+
+    @Override
+    public <T extends Comparable<T>> Void visit(final Operators.Eq<T> eq) {
+        return addColumn(eq.getColumn());
+    }
+
+    @Override
+    public <T extends Comparable<T>> Void visit(final Operators.NotEq<T> notEq) {
+        return addColumn(notEq.getColumn());
+    }
+
+    @Override
+    public <T extends Comparable<T>> Void visit(final Operators.Lt<T> lt) {
+        return addColumn(lt.getColumn());
+    }
+
+    @Override
+    public <T extends Comparable<T>> Void visit(final Operators.LtEq<T> ltEq) {
+        return addColumn(ltEq.getColumn());
+    }
+
+    @Override
+    public <T extends Comparable<T>> Void visit(final Operators.Gt<T> gt) {
+        return addColumn(gt.getColumn());
+    }
+
+    @Override
+    public <T extends Comparable<T>> Void visit(final Operators.GtEq<T> gtEq) {
+        return addColumn(gtEq.getColumn());
+    }
+
+    @Override
+    public Void visit(final Operators.And and) {
+        and.getLeft().accept(this);
+        return and.getRight().accept(this);
+    }
+
+    @Override
+    public Void visit(final Operators.Or or) {
+        or.getLeft().accept(this);
+        return or.getRight().accept(this);
+    }
+
+    @Override
+    public Void visit(final Operators.Not not) {
+        return not.getPredicate().accept(this);
+    }
+
+    @Override
+    public <T extends Comparable<T>, U extends UserDefinedPredicate<T>> Void visit(final Operators.UserDefined<T, U> udp) {
+        return addColumn(udp.getColumn());
+    }
+
+    @Override
+    public <T extends Comparable<T>, U extends UserDefinedPredicate<T>> Void visit(final Operators.LogicalNotUserDefined<T, U> udp) {
+        return visit(udp.getUserDefined());
+    }
+}
@@ -16,13 +16,17 @@
 package uk.gov.gchq.gaffer.parquetstore.io.reader;
 
 import org.apache.hadoop.fs.Path;
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
 import org.apache.parquet.hadoop.ParquetReader;
 import org.apache.parquet.hadoop.api.ReadSupport;
 
 import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
 import uk.gov.gchq.gaffer.parquetstore.utils.GafferGroupObjectConverter;
 
 import java.io.IOException;
+import java.util.Set;
 
 /**
  * This is the Parquet reader that can read the Parquet files directly to Elements provided the files are written the
@@ -51,6 +55,9 @@ public class ParquetElementReader extends ParquetReader<Element> {
     public static class Builder<Element> extends ParquetReader.Builder<Element> {
         private boolean isEntity;
         private GafferGroupObjectConverter converter;
+        private Set<String> gafferColumns;
+        private ElementFilter elementFilter;
+        private FilterPredicate filterPredicate;
 
         public Builder(final Path path) {
             super(path);
@@ -66,9 +73,38 @@ public class ParquetElementReader extends ParquetReader<Element> {
             return this;
         }
 
+        /**
+         * @param gafferColumns the properties that are required in the returned Elements, only the Parquet columns
+         *                      holding these properties, the identifiers and the properties used by the element filter
+         *                      will be read
+         * @return this Builder
+         */
+        public ParquetElementReader.Builder<Element> withColumns(final Set<String> gafferColumns) {
+            this.gafferColumns = gafferColumns;
+            return this;
+        }
+
+        /**
+         * @param elementFilter a filter to apply to each Element before the properties it does not use are
+         *                      de-serialised, the Elements that do not pass it are not returned
+         * @return this Builder
+         */
+        public ParquetElementReader.Builder<Element> withElementFilter(final ElementFilter elementFilter) {
+            this.elementFilter = elementFilter;
+            return this;
+        }
+
+        @Override
+        public ParquetReader.Builder<Element> withFilter(final FilterCompat.Filter filter) {
+            if (filter instanceof FilterCompat.FilterPredicateCompat) {
+                this.filterPredicate = ((FilterCompat.FilterPredicateCompat) filter).getFilterPredicate();
+            }
+            return super.withFilter(filter);
+        }
+
         @Override
         protected ReadSupport<Element> getReadSupport() {
-            return (ReadSupport<Element>) new ElementReadSupport(isEntity, converter);
+            return (ReadSupport<Element>) new ElementReadSupport(isEntity, converter, gafferColumns, elementFilter, filterPredicate);
         }
     }
 }
@@ -23,11 +23,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.function.CompiledElementFilter;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.parquetstore.utils.GafferGroupObjectConverter;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * This class is used by the {@link uk.gov.gchq.gaffer.parquetstore.io.reader.ElementRecordMaterialiser} to materialises
@@ -40,11 +44,38 @@ public class GafferElementConverter extends GroupConverter {
     private final Map<Integer, Converter> fieldToConverter;
     private final Map<String, Object[]> parquetColumnToObject;
     private final int fieldCount;
+    private final Set<String> gafferColumns;
+    private final CompiledElementFilter elementFilter;
+    private final Set<String> filterColumns;
+    private final Set<String> remainingColumns;
     private Element currentRecord = null;
 
     public GafferElementConverter(final boolean isEntity, final MessageType schema, final GafferGroupObjectConverter gafferGroupObjectConverter) {
+        this(isEntity, schema, gafferGroupObjectConverter, null, null, null);
+    }
+
+    /**
+     * @param isEntity                   is the data being read Entities
+     * @param schema                     the requested Parquet schema
+     * @param gafferGroupObjectConverter the converter for the group being read
+     * @param gafferColumns              the properties to add to each Element, or null for all of them
+     * @param elementFilter              the filter that an Element must pass to be materialised, or null
+     * @param filterColumns              the properties selected by the elementFilter
+     */
+    public GafferElementConverter(final boolean isEntity, final MessageType schema, final GafferGroupObjectConverter gafferGroupObjectConverter,
+                                  final Set<String> gafferColumns, final ElementFilter elementFilter, final Set<String> filterColumns) {
         super();
         this.isEntity = isEntity;
+        this.gafferColumns = gafferColumns;
+        this.elementFilter = null != elementFilter ? CompiledElementFilter.compile(elementFilter) : null;
+        if (null != elementFilter) {
+            this.filterColumns = filterColumns;
+            this.remainingColumns = new HashSet<>(null != gafferColumns ? gafferColumns : gafferGroupObjectConverter.getColumns());
+            this.remainingColumns.removeAll(filterColumns);
+        } else {
+            this.filterColumns = null;
+            this.remainingColumns = null;
+        }
         this.parquetColumnToObject = new HashMap<>(schema.getFieldCount());
         this.gafferGroupObjectConverter = gafferGroupObjectConverter;
         this.fieldCount = schema.getFieldCount();
@@ -78,9 +109,22 @@ public class GafferElementConverter extends GroupConverter {
     @Override
     public void end() {
         try {
-            currentRecord = gafferGroupObjectConverter.buildElementFromParquetObjects(parquetColumnToObject, isEntity);
+            if (null == elementFilter) {
+                currentRecord = gafferGroupObjectConverter.buildElementFromParquetObjects(parquetColumnToObject, isEntity, gafferColumns);
+            } else {
+                // Only de-serialise the properties the filter needs until the filter has been passed
+                final Element element = gafferGroupObjectConverter.buildElementFromParquetObjects(parquetColumnToObject, isEntity, filterColumns);
+                if (elementFilter.test(element)) {
+                    gafferGroupObjectConverter.addPropertiesFromParquetObjects(element, parquetColumnToObject, remainingColumns);
+                    currentRecord = element;
+                } else {
+                    // A null record tells the Parquet reader to skip this record
+                    currentRecord = null;
+                }
+            }
         } catch (final SerialisationException e) {
             LOGGER.warn("Failed to build the Element, skipping this Element {}", parquetColumnToObject);
+            currentRecord = null;
         }
     }
 
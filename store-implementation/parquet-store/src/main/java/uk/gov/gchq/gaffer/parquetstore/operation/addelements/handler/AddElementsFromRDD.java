@@ -47,6 +47,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.locks.Lock;
 
 import static uk.gov.gchq.gaffer.parquetstore.utils.ParquetStoreUtils.createThreadPool;
 import static uk.gov.gchq.gaffer.parquetstore.utils.ParquetStoreUtils.invokeSplitPointCalculations;
@@ -59,6 +60,22 @@ public class AddElementsFromRDD {
 
     protected void addElementsFromRDD(final JavaRDD<Element> input, final Context context, final ParquetStore store)
             throws OperationException {
+        final Lock ingestLock = store.getIngestLock();
+        ingestLock.lock();
+        try {
+            final GraphIndex index = store.getGraphIndex();
+            if (null != index && index.hasDeltas()) {
+                // The new snapshot is built from the current snapshot only, so any deltas must be compacted first
+                new AddElementsHandler().compactDeltas(store, SparkContextUtil.getSparkSession(context, store.getProperties()));
+            }
+            addElementsFromRDD(input, context, store, store.getGraphIndex());
+        } finally {
+            ingestLock.unlock();
+        }
+    }
+
+    private void addElementsFromRDD(final JavaRDD<Element> input, final Context context, final ParquetStore store,
+                                    final GraphIndex index) throws OperationException {
         try {
             final FileSystem fs = store.getFS();
             final ParquetStoreProperties parquetStoreProperties = store.getProperties();
@@ -77,7 +94,6 @@ public class AddElementsFromRDD {
             final Schema gafferSchema = store.getSchema();
             final List<Callable<Tuple2<String, Map<Object, Integer>>>> tasks = new ArrayList<>();
             final Map<String, Map<Object, Integer>> groupToSplitPoints;
-            final GraphIndex index = store.getGraphIndex();
             if (null == index) {
                 groupToSplitPoints = new HashMap<>();
                 for (final String group : gafferSchema.getEdgeGroups()) {
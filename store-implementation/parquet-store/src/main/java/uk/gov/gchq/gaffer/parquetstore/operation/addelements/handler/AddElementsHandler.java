@@ -15,12 +15,13 @@
  */
 package uk.gov.gchq.gaffer.parquetstore.operation.addelements.handler;
 
+import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.PathFilter;
 import org.apache.spark.sql.SparkSession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import scala.Tuple2;
 
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
@@ -32,7 +33,7 @@ import uk.gov.gchq.gaffer.parquetstore.ParquetStoreProperties;
 import uk.gov.gchq.gaffer.parquetstore.index.GraphIndex;
 import uk.gov.gchq.gaffer.parquetstore.operation.addelements.impl.AggregateAndSortTempData;
 import uk.gov.gchq.gaffer.parquetstore.operation.addelements.impl.CalculateSplitPointsFromIndex;
-import uk.gov.gchq.gaffer.parquetstore.operation.addelements.impl.CalculateSplitPointsFromIterable;
+import uk.gov.gchq.gaffer.parquetstore.operation.addelements.impl.DeltaElementsIterable;
 import uk.gov.gchq.gaffer.parquetstore.operation.addelements.impl.GenerateIndices;
 import uk.gov.gchq.gaffer.parquetstore.operation.addelements.impl.WriteUnsortedData;
 import uk.gov.gchq.gaffer.parquetstore.utils.ParquetStoreConstants;
@@ -42,25 +43,26 @@ import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.store.operation.handler.OperationHandler;
-import uk.gov.gchq.gaffer.store.schema.Schema;
 
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
-import java.util.List;
 import java.util.Map;
-import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.locks.Lock;
 
 import static uk.gov.gchq.gaffer.parquetstore.utils.ParquetStoreUtils.createThreadPool;
-import static uk.gov.gchq.gaffer.parquetstore.utils.ParquetStoreUtils.invokeSplitPointCalculations;
 
 /**
  * An {@link OperationHandler} for the {@link AddElements} operation on the {@link ParquetStore}.
+ * <p>
+ * If delta ingest is enabled and the store already has a snapshot then the input is aggregated and sorted on its own
+ * and added to the snapshot as a delta. Once there are too many deltas or they have grown too large, they are compacted
+ * into a new snapshot by the {@link AddElements} operation that added the last delta, after its data has been added.
  */
 public class AddElementsHandler implements OperationHandler<AddElements> {
     private static final Logger LOGGER = LoggerFactory.getLogger(AddElementsHandler.class);
+    private static final PathFilter DELTA_FILTER = path -> path.getName().startsWith(ParquetStoreConstants.DELTA + "=");
 
     @Override
     public Void doOperation(final AddElements operation,
@@ -69,16 +71,68 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
         final SparkSession spark = SparkContextUtil.getSparkSession(context, store.getProperties());
         final ParquetStore parquetStore = (ParquetStore) store;
         SparkParquetUtils.configureSparkForAddElements(spark, parquetStore.getProperties());
-        addElements(operation, parquetStore, spark);
+        final boolean deltaIngest = parquetStore.getProperties().getDeltaIngest();
+        final Lock ingestLock = parquetStore.getIngestLock();
+        ingestLock.lock();
+        try {
+            addElements(operation.getInput(), parquetStore, spark, deltaIngest && null != parquetStore.getGraphIndex());
+        } finally {
+            ingestLock.unlock();
+        }
+        if (deltaIngest && isCompactionRequired(parquetStore)) {
+            compactDeltas(parquetStore, spark);
+        }
         return null;
     }
 
-    private void addElements(final AddElements addElementsOperation, final ParquetStore store, final SparkSession spark)
-            throws OperationException {
+    /**
+     * Merges all the deltas of the store's current snapshot into a new snapshot.
+     *
+     * @param store the {@link ParquetStore} to compact
+     * @param spark the {@link SparkSession} used to aggregate and sort the data
+     * @throws OperationException if the compaction fails
+     */
+    public void compactDeltas(final ParquetStore store, final SparkSession spark) throws OperationException {
+        final Lock ingestLock = store.getIngestLock();
+        ingestLock.lock();
+        try {
+            final GraphIndex index = store.getGraphIndex();
+            if (null != index && index.hasDeltas()) {
+                LOGGER.info("Compacting {} deltas into a new snapshot", index.getDeltas().size());
+                addElements(new DeltaElementsIterable(store, index), store, spark, false);
+            }
+        } finally {
+            ingestLock.unlock();
+        }
+    }
+
+    private boolean isCompactionRequired(final ParquetStore store) {
+        final GraphIndex index = store.getGraphIndex();
+        if (null == index || !index.hasDeltas()) {
+            return false;
+        }
+        final ParquetStoreProperties properties = store.getProperties();
+        if (index.getDeltas().size() >= properties.getCompactionMaxDeltas()) {
+            return true;
+        }
+        try {
+            final FileSystem fs = store.getFS();
+            long deltaSize = 0L;
+            for (final FileStatus delta : fs.listStatus(new Path(store.getDataDir() + "/" + index.getSnapshotTimestamp()), DELTA_FILTER)) {
+                deltaSize += fs.getContentSummary(delta.getPath()).getLength();
+            }
+            return deltaSize >= properties.getCompactionMaxDeltaSize();
+        } catch (final IOException e) {
+            LOGGER.warn("Unable to calculate the size of the deltas", e);
+            return false;
+        }
+    }
+
+    private void addElements(final Iterable<? extends Element> input, final ParquetStore store, final SparkSession spark,
+                             final boolean asDelta) throws OperationException {
         try {
             final FileSystem fs = store.getFS();
             final ParquetStoreProperties parquetStoreProperties = store.getProperties();
-            final Schema gafferSchema = store.getSchema();
             final String rootDataDirString = store.getDataDir();
             final String tempDirString = store.getTempFilesDir();
             final Path tempDir = new Path(tempDirString);
@@ -88,38 +142,33 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
             }
             // Write the data out
             LOGGER.debug("Starting to write the input Parquet data to {} split by group and split points", tempDirString);
-            final Iterable<? extends Element> input = addElementsOperation.getInput();
             final ExecutorService pool = createThreadPool(spark, parquetStoreProperties);
-            final List<Callable<Tuple2<String, Map<Object, Integer>>>> tasks = new ArrayList<>();
-            final Map<String, Map<Object, Integer>> groupToSplitPoints;
+            // Groups without split points from the index are sampled while the input is written, so the input is
+            // only read once
             final GraphIndex index = store.getGraphIndex();
+            final Map<String, Map<Object, Integer>> groupToSplitPoints;
             if (null == index) {
                 groupToSplitPoints = new HashMap<>();
-                for (final String group : gafferSchema.getEdgeGroups()) {
-                    tasks.add(new CalculateSplitPointsFromIterable(parquetStoreProperties.getSampleRate(),
-                            parquetStoreProperties.getAddElementsOutputFilesPerGroup() - 1, input, group, false));
-                }
-                for (final String group : gafferSchema.getEntityGroups()) {
-                    tasks.add(new CalculateSplitPointsFromIterable(parquetStoreProperties.getSampleRate(),
-                            parquetStoreProperties.getAddElementsOutputFilesPerGroup() - 1, input, group, true));
-                }
-                invokeSplitPointCalculations(pool, tasks, groupToSplitPoints);
             } else {
-                groupToSplitPoints = CalculateSplitPointsFromIndex.apply(index, store.getSchemaUtils(), parquetStoreProperties, input, pool);
+                groupToSplitPoints = CalculateSplitPointsFromIndex.calculateSplitPointsFromIndex(index, store.getSchemaUtils());
             }
-
+            final WriteUnsortedData writeUnsortedData = WriteUnsortedData.withSampling(store, groupToSplitPoints);
             final Iterator<? extends Element> inputIter = input.iterator();
-            new WriteUnsortedData(store, groupToSplitPoints).writeElements(inputIter);
-            if (inputIter instanceof CloseableIterator) {
-                ((CloseableIterator) inputIter).close();
-            }
-            if (input instanceof CloseableIterable) {
-                ((CloseableIterable) input).close();
+            try {
+                writeUnsortedData.writeElements(inputIter);
+            } finally {
+                if (inputIter instanceof CloseableIterator) {
+                    ((CloseableIterator) inputIter).close();
+                }
+                if (input instanceof CloseableIterable) {
+                    ((CloseableIterable) input).close();
+                }
             }
+            writeUnsortedData.splitSampledGroups(pool);
             LOGGER.debug("Finished writing the input Parquet data to {}", tempDirString);
             // Use to Spark read in all the data, aggregate and sort it
             LOGGER.debug("Starting to write the sorted and aggregated Parquet data to {}/sorted split by group", tempDirString);
-            new AggregateAndSortTempData(store, spark, groupToSplitPoints, pool);
+            new AggregateAndSortTempData(store, spark, groupToSplitPoints, pool, !asDelta);
             pool.shutdown();
             LOGGER.debug("Finished writing the sorted and aggregated Parquet data to {}/sorted", tempDirString);
             // Generate the file based index
@@ -127,7 +176,11 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
             final GraphIndex newGraphIndex = new GenerateIndices(store, spark).getGraphIndex();
             LOGGER.debug("Finished writing the indexes");
             try {
-                moveDataToDataDir(store, fs, rootDataDirString, tempDirString, newGraphIndex);
+                if (asDelta) {
+                    moveDeltaToDataDir(store, fs, rootDataDirString, tempDirString, newGraphIndex);
+                } else {
+                    moveDataToDataDir(store, fs, rootDataDirString, tempDirString, newGraphIndex);
+                }
                 tidyUp(fs, tempDirString);
             } catch (final IOException | StoreException e) {
                 throw new OperationException("Failed to reload the indices", e);
@@ -154,6 +207,26 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
         store.setGraphIndex(newGraphIndex);
     }
 
+    private void moveDeltaToDataDir(final ParquetStore store, final FileSystem fs, final String dataDirString, final String tempDataDirString, final GraphIndex newGraphIndex) throws IOException {
+        if (newGraphIndex.groupsIndexed().isEmpty()) {
+            LOGGER.debug("There is no data to add as a delta");
+            return;
+        }
+        // Move data from temp to a delta of the current snapshot
+        final GraphIndex index = store.getGraphIndex();
+        long delta = System.currentTimeMillis();
+        while (index.getDeltas().containsKey(delta)) {
+            delta++;
+        }
+        final String destPath = ParquetStore.getDeltaDirectory(dataDirString + "/" + index.getSnapshotTimestamp(), delta);
+        final String tempPath = tempDataDirString + "/" + ParquetStoreConstants.SORTED;
+        LOGGER.debug("Renaming {} to {}", tempPath, destPath);
+        fs.rename(new Path(tempPath), new Path(destPath));
+        // Register the delta
+        newGraphIndex.setSnapshotTimestamp(delta);
+        store.setGraphIndex(index.withDelta(delta, newGraphIndex));
+    }
+
     private void tidyUp(final FileSystem fs, final String tempDataDirString) throws IOException {
         Path tempDir = new Path(tempDataDirString);
         fs.delete(tempDir, true);
@@ -58,11 +58,28 @@ public class AggregateAndSortTempData {
     public AggregateAndSortTempData(final ParquetStore store, final SparkSession spark,
                                     final Map<String, Map<Object, Integer>> groupToSplitPoints,
                                     final ExecutorService pool) throws OperationException, SerialisationException {
+        this(store, spark, groupToSplitPoints, pool, true);
+    }
+
+    /**
+     * @param store              the {@link ParquetStore}
+     * @param spark              the {@link SparkSession} used to aggregate and sort the data
+     * @param groupToSplitPoints the split points for each group
+     * @param pool               the {@link ExecutorService} used to run the tasks
+     * @param includeCurrentData whether the data in the store's current snapshot should be merged with the new data, if
+     *                           false only the new data is aggregated and sorted, e.g. when writing a delta
+     * @throws OperationException     if any of the aggregation or sorting tasks fail
+     * @throws SerialisationException if the schema can not be serialised
+     */
+    public AggregateAndSortTempData(final ParquetStore store, final SparkSession spark,
+                                    final Map<String, Map<Object, Integer>> groupToSplitPoints,
+                                    final ExecutorService pool,
+                                    final boolean includeCurrentData) throws OperationException, SerialisationException {
         final List<Callable<OperationException>> tasks = new ArrayList<>();
         final SchemaUtils schemaUtils = store.getSchemaUtils();
         final GraphIndex index = store.getGraphIndex();
         final String currentDataDir;
-        if (null != index) {
+        if (includeCurrentData && null != index) {
             currentDataDir = store.getDataDir()
                     + "/" + index.getSnapshotTimestamp();
         } else {
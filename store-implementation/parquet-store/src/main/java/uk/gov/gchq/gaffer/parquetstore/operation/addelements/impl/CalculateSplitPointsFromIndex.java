@@ -94,7 +94,13 @@ public final class CalculateSplitPointsFromIndex {
         return groupToSplitPoints;
     }
 
-    private static Map<String, Map<Object, Integer>> calculateSplitPointsFromIndex(final GraphIndex index, final SchemaUtils schemaUtils) throws SerialisationException {
+    /**
+     * @param index       the {@link GraphIndex} of the current snapshot
+     * @param schemaUtils the {@link SchemaUtils} for the graph
+     * @return the split points of each group in the index, taken from the min value of each file
+     * @throws SerialisationException if the min values can not be converted back to Gaffer objects
+     */
+    public static Map<String, Map<Object, Integer>> calculateSplitPointsFromIndex(final GraphIndex index, final SchemaUtils schemaUtils) throws SerialisationException {
         final Set<String> entityGroups = schemaUtils.getEntityGroups();
         final Map<String, Map<Object, Integer>> groupToSplitPoints = new HashMap<>();
         for (final String group : index.groupsIndexed()) {
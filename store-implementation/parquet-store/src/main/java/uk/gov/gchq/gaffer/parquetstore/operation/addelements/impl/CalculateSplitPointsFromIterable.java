@@ -19,12 +19,10 @@ import scala.Tuple2;
 
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.IdentifierType;
-import uk.gov.gchq.gaffer.data.element.comparison.ComparableOrToStringComparator;
 
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.Map;
-import java.util.TreeMap;
 import java.util.concurrent.Callable;
 
 /**
@@ -33,7 +31,6 @@ import java.util.concurrent.Callable;
  */
 public class CalculateSplitPointsFromIterable implements Callable<Tuple2<String, Map<Object, Integer>>> {
 
-    private static final ComparableOrToStringComparator COMPARATOR = new ComparableOrToStringComparator();
     private final long sampleRate;
     private final int numOfSplits;
     private final Iterable<? extends Element> data;
@@ -67,20 +64,6 @@ public class CalculateSplitPointsFromIterable implements Callable<Tuple2<String,
                 }
             }
         }
-        if (sample.isEmpty()) {
-            return new Tuple2<>(group, new TreeMap<>(COMPARATOR));
-        } else {
-            sample.sort(COMPARATOR);
-            final int sampleSize = sample.size();
-            final int splitRate = (sampleSize / (numOfSplits + 1)) + 1;
-            final Map<Object, Integer> splitPoints = new TreeMap<>(COMPARATOR);
-            for (int i = 0; i < sampleSize; i += splitRate) {
-                splitPoints.put(sample.get(i), i / splitRate);
-            }
-            if (splitPoints.isEmpty()) {
-                splitPoints.put(sample.get(0), 0);
-            }
-            return new Tuple2<>(group, splitPoints);
-        }
+        return new Tuple2<>(group, SplitPointsReservoir.calculateSplitPoints(sample, numOfSplits));
     }
 }
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.parquetstore.operation.addelements.impl;
+
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.hadoop.ParquetReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
+import uk.gov.gchq.gaffer.parquetstore.index.GraphIndex;
+import uk.gov.gchq.gaffer.parquetstore.io.reader.ParquetElementReader;
+import uk.gov.gchq.gaffer.parquetstore.utils.ParquetStoreConstants;
+import uk.gov.gchq.gaffer.parquetstore.utils.SchemaUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * A {@link CloseableIterable} of all the {@link Element}s stored in the deltas of a {@link GraphIndex}. The files are
+ * read one at a time so the deltas can be used as the input to a compaction without being held in memory.
+ */
+public class DeltaElementsIterable implements CloseableIterable<Element> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DeltaElementsIterable.class);
+    private final SchemaUtils schemaUtils;
+    private final List<Path> groupDirectories;
+
+    public DeltaElementsIterable(final ParquetStore store, final GraphIndex graphIndex) {
+        this.schemaUtils = store.getSchemaUtils();
+        this.groupDirectories = new ArrayList<>();
+        final String snapshotDir = store.getDataDir() + "/" + graphIndex.getSnapshotTimestamp();
+        for (final Map.Entry<Long, GraphIndex> delta : graphIndex.getDeltas().entrySet()) {
+            final String deltaDir = ParquetStore.getDeltaDirectory(snapshotDir, delta.getKey());
+            for (final String group : delta.getValue().groupsIndexed()) {
+                final String column;
+                if (schemaUtils.getEntityGroups().contains(group)) {
+                    column = ParquetStoreConstants.VERTEX;
+                } else {
+                    column = ParquetStoreConstants.SOURCE;
+                }
+                groupDirectories.add(new Path(ParquetStore.getGroupDirectory(group, column, deltaDir)));
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public CloseableIterator<Element> iterator() {
+        return new DeltaElementsIterator();
+    }
+
+    private final class DeltaElementsIterator implements CloseableIterator<Element> {
+        private final Iterator<Path> directories = groupDirectories.iterator();
+        private ParquetReader<Element> reader;
+        private Element nextElement;
+
+        @Override
+        public boolean hasNext() {
+            try {
+                while (null == nextElement) {
+                    if (null == reader) {
+                        if (!directories.hasNext()) {
+                            return false;
+                        }
+                        reader = openReader(directories.next());
+                    }
+                    nextElement = reader.read();
+                    if (null == nextElement) {
+                        reader.close();
+                        reader = null;
+                    }
+                }
+            } catch (final IOException e) {
+                throw new RuntimeException("Failed to read the elements in the deltas", e);
+            }
+            return true;
+        }
+
+        @Override
+        public Element next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Element element = nextElement;
+            nextElement = null;
+            return element;
+        }
+
+        @Override
+        public void close() {
+            if (null != reader) {
+                try {
+                    reader.close();
+                } catch (final IOException e) {
+                    LOGGER.warn("Failed to close the reader of the delta data", e);
+                }
+                reader = null;
+            }
+        }
+
+        private ParquetReader<Element> openReader(final Path groupDirectory) throws IOException {
+            final String group = groupDirectory.getName().split("=")[1];
+            LOGGER.debug("Opening a new Parquet reader for delta directory: {}", groupDirectory);
+            return new ParquetElementReader.Builder<Element>(groupDirectory)
+                    .isEntity(schemaUtils.getEntityGroups().contains(group))
+                    .usingConverter(schemaUtils.getConverter(group))
+                    .build();
+        }
+    }
+}
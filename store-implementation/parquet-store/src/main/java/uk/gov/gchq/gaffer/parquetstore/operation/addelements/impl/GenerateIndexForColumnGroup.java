@@ -20,67 +20,67 @@ import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
-import org.apache.spark.sql.Dataset;
-import org.apache.spark.sql.Row;
-import org.apache.spark.sql.SparkSession;
-import scala.collection.mutable.Builder;
-import scala.collection.mutable.Seq;
-import scala.collection.mutable.Seq$;
+import org.apache.hadoop.util.bloom.BloomFilter;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.ParquetReader;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
 
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.parquetstore.index.ColumnIndex;
 import uk.gov.gchq.gaffer.parquetstore.index.MinValuesWithPath;
+import uk.gov.gchq.gaffer.parquetstore.index.RowGroupStatistics;
+import uk.gov.gchq.gaffer.parquetstore.io.reader.ParquetElementReader;
+import uk.gov.gchq.gaffer.parquetstore.utils.GafferGroupObjectConverter;
+import uk.gov.gchq.gaffer.parquetstore.utils.ParquetStoreConstants;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.koryphe.tuple.n.Tuple4;
 
 import java.io.IOException;
 import java.io.Serializable;
-import java.util.NoSuchElementException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.Callable;
 
 /**
- * Generates the index for a single group directory.
+ * Generates the index for a single group directory. Each file is read once to find the min and max values of the
+ * indexed column in the file and in each of its row groups, and optionally to build a {@link BloomFilter} of the values.
  */
 public class GenerateIndexForColumnGroup implements Callable<Tuple4<String, String, ColumnIndex, OperationException>>, Serializable {
     private static final long serialVersionUID = 2287226248631201061L;
+    private static final double BLOOM_FILTER_FALSE_POSITIVE_PROBABILITY = 0.01;
     private final String directoryPath;
-    private final String[] paths;
     private final ColumnIndex columnIndex;
     private final String group;
     private final String column;
-    private final SparkSession spark;
+    private final GafferGroupObjectConverter converter;
+    private final boolean createBloomFilter;
 
-    public GenerateIndexForColumnGroup(final String directoryPath, final String[] paths, final String group, final String column, final SparkSession spark) throws OperationException,
-            SerialisationException, StoreException {
+    public GenerateIndexForColumnGroup(final String directoryPath, final String group, final String column,
+                                       final GafferGroupObjectConverter converter, final boolean createBloomFilter) {
         this.directoryPath = directoryPath;
-        this.paths = paths;
         this.columnIndex = new ColumnIndex();
         this.group = group;
         this.column = column;
-        this.spark = spark;
+        this.converter = converter;
+        this.createBloomFilter = createBloomFilter;
     }
 
     @Override
     public Tuple4<String, String, ColumnIndex, OperationException> call() {
         try {
-            final FileSystem fs = FileSystem.get(new Configuration());
+            final Configuration conf = new Configuration();
+            final FileSystem fs = FileSystem.get(conf);
             if (fs.exists(new Path(directoryPath))) {
                 final FileStatus[] files = fs.listStatus(new Path(directoryPath),
                         path1 -> path1.getName().endsWith(".parquet"));
                 for (final FileStatus file : files) {
-                    final String firstColumn = paths[0];
-                    final Builder<String, Seq<String>> seqBuilder = Seq$.MODULE$.newBuilder();
-                    final int numberOfColumns = paths.length;
-                    for (int i = 1; i < numberOfColumns; i++) {
-                        seqBuilder.$plus$eq(paths[i]);
-                    }
-                    final Dataset<Row> fileData = spark.read().parquet(file.getPath().toString()).select(firstColumn, seqBuilder.result());
-                    try {
-                        final Row minRow = fileData.head();
-                        columnIndex.add(generateGafferObjectsIndex(minRow, file.getPath().getName()));
-                    } catch (final NoSuchElementException ignored) {
-                        // ignore as dataframe was empty
+                    final MinValuesWithPath fileIndex = generateFileIndex(conf, file.getPath());
+                    if (null != fileIndex) {
+                        columnIndex.add(fileIndex);
                     }
                 }
             }
@@ -92,12 +92,63 @@ public class GenerateIndexForColumnGroup implements Callable<Tuple4<String, Stri
         return new Tuple4<>(group, column, columnIndex, null);
     }
 
-    private MinValuesWithPath generateGafferObjectsIndex(final Row minRow, final String path) throws StoreException {
-        final int numOfCols = minRow.length();
-        final Object[] min = new Object[numOfCols];
-        for (int i = 0; i < numOfCols; i++) {
-            min[i] = minRow.get(i);
+    private MinValuesWithPath generateFileIndex(final Configuration conf, final Path file) throws IOException, StoreException {
+        final List<BlockMetaData> blocks = ParquetFileReader.readFooter(conf, file).getBlocks();
+        long numberOfRows = 0L;
+        for (final BlockMetaData block : blocks) {
+            numberOfRows += block.getRowCount();
+        }
+        if (0L == numberOfRows) {
+            // ignore as the file is empty
+            return null;
+        }
+        final BloomFilter bloomFilter = createBloomFilter
+                ? ColumnIndex.createBloomFilter(numberOfRows, BLOOM_FILTER_FALSE_POSITIVE_PROBABILITY)
+                : null;
+        final List<RowGroupStatistics> rowGroups = new ArrayList<>(blocks.size());
+        try (final ParquetReader<Element> reader = new ParquetElementReader.Builder<Element>(file)
+                .isEntity(ParquetStoreConstants.VERTEX.equals(column))
+                .usingConverter(converter)
+                .build()) {
+            // The rows are read in row group order so the row counts from the footer mark the row group boundaries
+            for (final BlockMetaData block : blocks) {
+                Object[] rowGroupMin = null;
+                Object[] rowGroupMax = null;
+                for (long row = 0; row < block.getRowCount(); row++) {
+                    final Element element = reader.read();
+                    if (null == element) {
+                        break;
+                    }
+                    final Object[] value = getColumnValue(element);
+                    if (null == rowGroupMin) {
+                        rowGroupMin = value;
+                    }
+                    rowGroupMax = value;
+                    if (null != bloomFilter) {
+                        bloomFilter.add(ColumnIndex.toBloomFilterKey(value));
+                    }
+                }
+                if (null != rowGroupMin) {
+                    rowGroups.add(new RowGroupStatistics(rowGroupMin, rowGroupMax, block.getRowCount()));
+                }
+            }
+        }
+        if (rowGroups.isEmpty()) {
+            return null;
+        }
+        return new MinValuesWithPath(rowGroups.get(0).getMin(), rowGroups.get(rowGroups.size() - 1).getMax(),
+                file.getName(), rowGroups, bloomFilter);
+    }
+
+    private Object[] getColumnValue(final Element element) throws SerialisationException {
+        final Object value;
+        if (ParquetStoreConstants.VERTEX.equals(column)) {
+            value = ((Entity) element).getVertex();
+        } else if (ParquetStoreConstants.SOURCE.equals(column)) {
+            value = ((Edge) element).getSource();
+        } else {
+            value = ((Edge) element).getDestination();
         }
-        return new MinValuesWithPath(min, path);
+        return converter.gafferObjectToParquetObjects(column, value);
     }
 }
@@ -16,7 +16,6 @@
 
 package uk.gov.gchq.gaffer.parquetstore.operation.addelements.impl;
 
-import org.apache.commons.lang3.StringUtils;
 import org.apache.spark.sql.SparkSession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -35,7 +34,6 @@ import uk.gov.gchq.koryphe.tuple.n.Tuple4;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -64,22 +62,19 @@ public class GenerateIndices {
         final SchemaUtils schemaUtils = store.getSchemaUtils();
         final String rootDir = tempFileDir + "/" + ParquetStoreConstants.SORTED;
         final List<Callable<Tuple4<String, String, ColumnIndex, OperationException>>> tasks = new ArrayList<>();
+        final boolean createBloomFilters = store.getProperties().getIndexBloomFilter();
         for (final String group : schemaUtils.getEntityGroups()) {
             final String directory = ParquetStore.getGroupDirectory(group, ParquetStoreConstants.VERTEX, rootDir);
-            tasks.add(new GenerateIndexForColumnGroup(directory, schemaUtils.getPaths(group, ParquetStoreConstants.VERTEX), group, ParquetStoreConstants.VERTEX, spark));
-            LOGGER.debug("Created a task to create the graphIndex for group {} from directory {} and paths {}",
-                    group, directory, schemaUtils.getPaths(group, ParquetStoreConstants.VERTEX));
+            tasks.add(new GenerateIndexForColumnGroup(directory, group, ParquetStoreConstants.VERTEX, schemaUtils.getConverter(group), createBloomFilters));
+            LOGGER.debug("Created a task to create the graphIndex for group {} from directory {}", group, directory);
         }
         for (final String group : store.getSchemaUtils().getEdgeGroups()) {
-            final Map<String, String[]> columnToPaths = schemaUtils.getColumnToPaths(group);
             final String directorySource = ParquetStore.getGroupDirectory(group, ParquetStoreConstants.SOURCE, rootDir);
-            LOGGER.debug("Creating a task to create the graphIndex for group {} from directory {} and paths {}",
-                    group, directorySource, StringUtils.join(columnToPaths.get(ParquetStoreConstants.SOURCE)));
-            tasks.add(new GenerateIndexForColumnGroup(directorySource, columnToPaths.get(ParquetStoreConstants.SOURCE), group, ParquetStoreConstants.SOURCE, spark));
+            LOGGER.debug("Creating a task to create the graphIndex for group {} from directory {}", group, directorySource);
+            tasks.add(new GenerateIndexForColumnGroup(directorySource, group, ParquetStoreConstants.SOURCE, schemaUtils.getConverter(group), createBloomFilters));
             final String directoryDestination = ParquetStore.getGroupDirectory(group, ParquetStoreConstants.DESTINATION, rootDir);
-            LOGGER.debug("Creating a task to create the graphIndex for group {} from directory {} and paths {}",
-                    group, directorySource, StringUtils.join(columnToPaths.get(ParquetStoreConstants.DESTINATION)));
-            tasks.add(new GenerateIndexForColumnGroup(directoryDestination, columnToPaths.get(ParquetStoreConstants.DESTINATION), group, ParquetStoreConstants.DESTINATION, spark));
+            LOGGER.debug("Creating a task to create the graphIndex for group {} from directory {}", group, directoryDestination);
+            tasks.add(new GenerateIndexForColumnGroup(directoryDestination, group, ParquetStoreConstants.DESTINATION, schemaUtils.getConverter(group), createBloomFilters));
         }
 
         try {
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2017. Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.parquetstore.operation.addelements.impl;
+
+import uk.gov.gchq.gaffer.data.element.comparison.ComparableOrToStringComparator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Samples the vertices or sources of a single group as they are streamed past so that the split points for the group
+ * can be calculated without another pass over the data. Every sampleRate-th value offered is added to a reservoir of
+ * at most maxSampleSize values, once the reservoir is full each new sample replaces a random existing one so that the
+ * reservoir remains a uniform sample of the data.
+ */
+public class SplitPointsReservoir {
+    private static final ComparableOrToStringComparator COMPARATOR = new ComparableOrToStringComparator();
+    private final long sampleRate;
+    private final Object[] reservoir;
+    private final Random random;
+    private long counter;
+    private long sampled;
+    private int size;
+
+    public SplitPointsReservoir(final long sampleRate, final int maxSampleSize) {
+        this(sampleRate, maxSampleSize, new Random());
+    }
+
+    public SplitPointsReservoir(final long sampleRate, final int maxSampleSize, final Random random) {
+        if (maxSampleSize < 1) {
+            throw new IllegalArgumentException("The maximum sample size must be at least 1");
+        }
+        this.sampleRate = Math.max(1L, sampleRate);
+        this.reservoir = new Object[maxSampleSize];
+        this.random = random;
+        this.counter = this.sampleRate;
+    }
+
+    public void offer(final Object value) {
+        if (counter < sampleRate) {
+            counter++;
+            return;
+        }
+        counter = 1;
+        sampled++;
+        if (size < reservoir.length) {
+            reservoir[size++] = value;
+        } else {
+            final long i = (long) (random.nextDouble() * sampled);
+            if (i < reservoir.length) {
+                reservoir[(int) i] = value;
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return 0 == size;
+    }
+
+    /**
+     * @param numOfSplits the number of split points required
+     * @return the split points calculated from the sampled values
+     */
+    public Map<Object, Integer> getSplitPoints(final int numOfSplits) {
+        final List<Object> sample = new ArrayList<>(Arrays.asList(reservoir).subList(0, size));
+        return calculateSplitPoints(sample, numOfSplits);
+    }
+
+    /**
+     * Sorts the sample and pulls out evenly spaced objects to act as the split points.
+     *
+     * @param sample      the sampled vertices or sources of a group
+     * @param numOfSplits the number of split points required
+     * @return a map from each split point to its split number, empty if the sample is empty
+     */
+    public static Map<Object, Integer> calculateSplitPoints(final List<Object> sample, final int numOfSplits) {
+        final Map<Object, Integer> splitPoints = new TreeMap<>(COMPARATOR);
+        if (!sample.isEmpty()) {
+            sample.sort(COMPARATOR);
+            final int sampleSize = sample.size();
+            final int splitRate = (sampleSize / (numOfSplits + 1)) + 1;
+            for (int i = 0; i < sampleSize; i += splitRate) {
+                splitPoints.put(sample.get(i), i / splitRate);
+            }
+            if (splitPoints.isEmpty()) {
+                splitPoints.put(sample.get(0), 0);
+            }
+        }
+        return splitPoints;
+    }
+}
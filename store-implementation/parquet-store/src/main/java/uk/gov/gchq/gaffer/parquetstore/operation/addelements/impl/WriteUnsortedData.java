@@ -16,7 +16,10 @@
 
 package uk.gov.gchq.gaffer.parquetstore.operation.addelements.impl;
 
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
+import org.apache.parquet.hadoop.ParquetReader;
 import org.apache.parquet.hadoop.ParquetWriter;
 import org.apache.parquet.hadoop.metadata.CompressionCodecName;
 import org.apache.spark.TaskContext;
@@ -28,25 +31,44 @@ import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
+import uk.gov.gchq.gaffer.parquetstore.ParquetStoreProperties;
+import uk.gov.gchq.gaffer.parquetstore.io.reader.ParquetElementReader;
 import uk.gov.gchq.gaffer.parquetstore.io.writer.ParquetElementWriter;
 import uk.gov.gchq.gaffer.parquetstore.utils.ParquetStoreConstants;
 import uk.gov.gchq.gaffer.parquetstore.utils.SchemaUtils;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 /**
  * Takes an {@link Iterator} of {@link Element}'s and writes the elements out into Parquet files split into directories for each group.
+ * <p>
+ * If sampling is enabled then the elements of any group without split points are written to a single unsplit
+ * directory while their vertices or sources are sampled, so the input only needs to be read once. Calling
+ * {@link #splitSampledGroups(ExecutorService)} afterwards calculates the split points for those groups from the
+ * samples and moves their data into the split directories.
  */
 public class WriteUnsortedData {
     private static final Logger LOGGER = LoggerFactory.getLogger(WriteUnsortedData.class);
+    private static final String UNSPLIT = "/raw/unsplit";
     private String tempFilesDir;
     private final SchemaUtils schemaUtils;
     private final Map<String, Map<Integer, ParquetWriter<Element>>> groupSplitToWriter;
     private final Map<String, Map<Object, Integer>> groupToSplitPoints;
+    private final Map<String, Object[]> groupToSplits;
+    private final Map<String, SplitPointsReservoir> groupToReservoir;
+    private final long sampleRate;
+    private final int maxSampleSize;
+    private final int numOfSplits;
 
     public WriteUnsortedData(final ParquetStore store, final Map<String, Map<Object, Integer>> groupToSplitPoints) {
         this(store.getTempFilesDir(), store.getSchemaUtils(), groupToSplitPoints);
@@ -54,10 +76,44 @@ public class WriteUnsortedData {
 
     public WriteUnsortedData(final String tempFilesDir, final SchemaUtils schemaUtils,
                              final Map<String, Map<Object, Integer>> groupToSplitPoints) {
+        this(tempFilesDir, schemaUtils, groupToSplitPoints, 0, 0, 0);
+    }
+
+    /**
+     * Creates a {@code WriteUnsortedData} that samples the split points of the groups that are not in groupToSplitPoints.
+     *
+     * @param store              the {@link ParquetStore}, which provides the sample rate, maximum sample size and number of splits
+     * @param groupToSplitPoints the known split points for each group, the calculated split points of the sampled
+     *                           groups are added to this map by {@link #splitSampledGroups(ExecutorService)}
+     * @return a {@code WriteUnsortedData} that samples the groups without split points
+     */
+    public static WriteUnsortedData withSampling(final ParquetStore store, final Map<String, Map<Object, Integer>> groupToSplitPoints) {
+        final ParquetStoreProperties properties = store.getProperties();
+        return new WriteUnsortedData(store.getTempFilesDir(), store.getSchemaUtils(), groupToSplitPoints,
+                properties.getSampleRate(), properties.getMaxSampleSize(), properties.getAddElementsOutputFilesPerGroup() - 1);
+    }
+
+    /**
+     * @param tempFilesDir       the directory to write the data to
+     * @param schemaUtils        the {@link SchemaUtils} for the graph
+     * @param groupToSplitPoints the known split points for each group
+     * @param sampleRate         the rate at which the vertices or sources of groups without split points are sampled
+     * @param maxSampleSize      the maximum number of values sampled per group, if this is 0 then sampling is disabled
+     *                           and every group must have split points
+     * @param numOfSplits        the number of split points to calculate for each sampled group
+     */
+    public WriteUnsortedData(final String tempFilesDir, final SchemaUtils schemaUtils,
+                             final Map<String, Map<Object, Integer>> groupToSplitPoints,
+                             final long sampleRate, final int maxSampleSize, final int numOfSplits) {
         this.tempFilesDir = tempFilesDir;
         this.schemaUtils = schemaUtils;
         this.groupToSplitPoints = groupToSplitPoints;
         this.groupSplitToWriter = new HashMap<>();
+        this.groupToSplits = new HashMap<>();
+        this.groupToReservoir = new HashMap<>();
+        this.sampleRate = sampleRate;
+        this.maxSampleSize = maxSampleSize;
+        this.numOfSplits = numOfSplits;
     }
 
     public void writeElements(final Iterator<? extends Element> elements) throws OperationException {
@@ -69,14 +125,78 @@ public class WriteUnsortedData {
         } finally {
             // Close the writers
             for (final Map<Integer, ParquetWriter<Element>> splitToWriter : groupSplitToWriter.values()) {
-                for (final ParquetWriter<Element> writer : splitToWriter.values()) {
-                    try {
-                        writer.close();
-                    } catch (final IOException ignored) {
-                        // ignored
-                    }
+                closeWriters(splitToWriter);
+            }
+            groupSplitToWriter.clear();
+        }
+    }
+
+    /**
+     * Calculates the split points of each sampled group from its sample, adds them to the split points map and then
+     * moves the group's unsplit data into the split directories. A task is run for each group so the data of each
+     * sampled group is only read once.
+     *
+     * @param pool the {@link ExecutorService} used to run the tasks
+     * @return the split points for every group, including the sampled groups
+     * @throws OperationException if the data of a sampled group could not be split
+     */
+    public Map<String, Map<Object, Integer>> splitSampledGroups(final ExecutorService pool) throws OperationException {
+        final List<Callable<OperationException>> tasks = new ArrayList<>();
+        for (final Map.Entry<String, SplitPointsReservoir> entry : groupToReservoir.entrySet()) {
+            final String group = entry.getKey();
+            final Map<Object, Integer> splitPoints = entry.getValue().getSplitPoints(numOfSplits);
+            groupToSplitPoints.put(group, splitPoints);
+            tasks.add(() -> splitGroup(group, splitPoints.keySet().toArray()));
+        }
+        groupToReservoir.clear();
+        try {
+            final List<Future<OperationException>> results = pool.invokeAll(tasks);
+            for (final Future<OperationException> result : results) {
+                if (null != result.get()) {
+                    throw result.get();
                 }
             }
+        } catch (final InterruptedException | ExecutionException e) {
+            throw new OperationException("Failed to split the data of the sampled groups", e);
+        }
+        return groupToSplitPoints;
+    }
+
+    private OperationException splitGroup(final String group, final Object[] splits) {
+        final boolean isEntity = schemaUtils.getEntityGroups().contains(group);
+        final String column = isEntity ? ParquetStoreConstants.VERTEX : ParquetStoreConstants.SOURCE;
+        final String groupDir = ParquetStore.getGroupDirectory(group, column, tempFilesDir);
+        final Path unsplitDir = new Path(groupDir + UNSPLIT);
+        try {
+            final FileSystem fs = unsplitDir.getFileSystem(new Configuration());
+            if (splits.length < 2) {
+                // Everything belongs in the first split so there is no need to rewrite the data
+                final Path splitDir = new Path(groupDir + "/raw/split0");
+                if (!fs.rename(unsplitDir, splitDir)) {
+                    return new OperationException("Failed to move the sampled data for group " + group
+                            + " from " + unsplitDir + " to " + splitDir);
+                }
+                return null;
+            }
+            LOGGER.debug("Splitting the sampled data for group {} into {} splits", group, splits.length);
+            final Map<Integer, ParquetWriter<Element>> splitToWriter = new HashMap<>();
+            try (final ParquetReader<Element> reader = new ParquetElementReader.Builder<Element>(unsplitDir)
+                    .isEntity(isEntity)
+                    .usingConverter(schemaUtils.getConverter(group))
+                    .build()) {
+                Element element = reader.read();
+                while (null != element) {
+                    final Object key = isEntity ? ((Entity) element).getVertex() : ((Edge) element).getSource();
+                    getWriter(splitToWriter, splits, key, group, column).write(element);
+                    element = reader.read();
+                }
+            } finally {
+                closeWriters(splitToWriter);
+            }
+            fs.delete(unsplitDir, true);
+            return null;
+        } catch (final IOException e) {
+            return new OperationException("Failed to split the sampled data for group " + group, e);
         }
     }
 
@@ -92,10 +212,24 @@ public class WriteUnsortedData {
                 splitToWriter = new HashMap<>();
                 groupSplitToWriter.put(group, splitToWriter);
             }
+            final Object key;
+            final String column;
             if (schemaUtils.getEntityGroups().contains(group)) {
-                writer = getWriter(splitToWriter, groupToSplitPoints.get(group), ((Entity) element).getVertex(), group, ParquetStoreConstants.VERTEX);
+                key = ((Entity) element).getVertex();
+                column = ParquetStoreConstants.VERTEX;
+            } else if (schemaUtils.getEdgeGroups().contains(group)) {
+                key = ((Edge) element).getSource();
+                column = ParquetStoreConstants.SOURCE;
+            } else {
+                key = null;
+                column = null;
+            }
+            if (null == column) {
+                writer = null;
+            } else if (0 < maxSampleSize && !groupToSplitPoints.containsKey(group)) {
+                writer = getUnsplitWriter(splitToWriter, key, group, column);
             } else {
-                writer = getWriter(splitToWriter, groupToSplitPoints.get(group), ((Edge) element).getSource(), group, ParquetStoreConstants.SOURCE);
+                writer = getWriter(splitToWriter, getSplits(group), key, group, column);
             }
             if (null != writer) {
                 writer.write(element);
@@ -105,10 +239,35 @@ public class WriteUnsortedData {
         }
     }
 
+    private Object[] getSplits(final String group) {
+        Object[] splits = groupToSplits.get(group);
+        if (null == splits) {
+            splits = groupToSplitPoints.get(group).keySet().toArray();
+            groupToSplits.put(group, splits);
+        }
+        return splits;
+    }
+
+    private ParquetWriter<Element> getUnsplitWriter(final Map<Integer, ParquetWriter<Element>> splitToWriter,
+                                                    final Object gafferObject, final String group, final String column) throws IOException {
+        SplitPointsReservoir reservoir = groupToReservoir.get(group);
+        if (null == reservoir) {
+            reservoir = new SplitPointsReservoir(sampleRate, maxSampleSize);
+            groupToReservoir.put(group, reservoir);
+        }
+        reservoir.offer(gafferObject);
+        ParquetWriter<Element> writer = splitToWriter.get(-1);
+        if (null == writer) {
+            writer = buildWriter(group, column, ParquetStoreConstants.VERTEX.equals(column),
+                    new Path(ParquetStore.getGroupDirectory(group, column, tempFilesDir) + UNSPLIT + "/part-" + TaskContext.getPartitionId() + ".parquet"));
+            splitToWriter.put(-1, writer);
+        }
+        return writer;
+    }
+
     private ParquetWriter<Element> getWriter(final Map<Integer, ParquetWriter<Element>> splitToWriter,
-                                             final Map<Object, Integer> splitPoints,
+                                             final Object[] splits,
                                              final Object gafferObject, final String group, final String column) throws IOException {
-        final Object[] splits = splitPoints.keySet().toArray();
         final int searchResult = Arrays.binarySearch(splits, gafferObject);
         final int split;
         if (searchResult < 0) {
@@ -126,7 +285,8 @@ public class WriteUnsortedData {
         final boolean isEntity = ParquetStoreConstants.VERTEX.equals(column);
         final ParquetWriter<Element> writer;
         if (!splitToWriter.containsKey(split)) {
-            writer = buildWriter(group, column, isEntity, split);
+            writer = buildWriter(group, column, isEntity, new Path(ParquetStore.getGroupDirectory(group, column,
+                    tempFilesDir) + "/raw/split" + split + "/part-" + TaskContext.getPartitionId() + ".parquet"));
             splitToWriter.put(split, writer);
         } else {
             writer = splitToWriter.get(split);
@@ -134,10 +294,8 @@ public class WriteUnsortedData {
         return writer;
     }
 
-    private ParquetWriter<Element> buildWriter(final String group, final String column, final boolean isEntity, final int splitNumber) throws IOException {
-        LOGGER.debug("Creating a new writer for group: {}", group + " with file number " + splitNumber);
-        final Path filePath = new Path(ParquetStore.getGroupDirectory(group, column,
-                tempFilesDir) + "/raw/split" + splitNumber + "/part-" + TaskContext.getPartitionId() + ".parquet");
+    private ParquetWriter<Element> buildWriter(final String group, final String column, final boolean isEntity, final Path filePath) throws IOException {
+        LOGGER.debug("Creating a new writer for group: {} writing to {}", group, filePath);
 
         return new ParquetElementWriter.Builder(filePath)
                 .isEntity(isEntity)
@@ -147,4 +305,14 @@ public class WriteUnsortedData {
                 .withSparkSchema(schemaUtils.getSparkSchema(group))
                 .build();
     }
+
+    private void closeWriters(final Map<Integer, ParquetWriter<Element>> splitToWriter) {
+        for (final ParquetWriter<Element> writer : splitToWriter.values()) {
+            try {
+                writer.close();
+            } catch (final IOException ignored) {
+                // ignored
+            }
+        }
+    }
 }
@@ -0,0 +1,271 @@
+/*
+ * Copyright 2017. Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.parquetstore.operation.getelements.impl;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.function.CompiledElementFilter;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewUtil;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.parquetstore.utils.GafferGroupObjectConverter;
+import uk.gov.gchq.gaffer.parquetstore.utils.ParquetStoreConstants;
+import uk.gov.gchq.gaffer.parquetstore.utils.SchemaUtils;
+import uk.gov.gchq.gaffer.parquetstore.utils.SeedComparator;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.util.AggregatorUtil;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+
+/**
+ * Used to aggregate the elements of a single group from a number of files before they are returned, either because
+ * the group has deltas that need merging with the snapshot or because the view summarises the group.
+ * <p>
+ * Every file is sorted by its vertex, source or destination column, so the files that are sorted by the same column
+ * are merged with a k-way merge and only the elements that share a value of that column are held in memory and
+ * aggregated together. The validation and view filters are applied after the ingest aggregation of the deltas and
+ * before the query aggregation, and the aggregated elements are put into a shared {@link BlockingQueue}. The queue is
+ * bounded, so the merge waits for the elements to be consumed rather than holding all the aggregated elements in memory.
+ * <p>
+ * The aggregators cached by the {@link Schema} are not thread safe, so all the files for a group are merged by a
+ * single instance of this class.
+ */
+public class AggregateSortedFiles implements Callable<OperationException> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AggregateSortedFiles.class);
+    private static final SeedComparator COMPARATOR = new SeedComparator();
+    private static final String SORTED_BY = "sortedBy=";
+
+    private final String group;
+    private final Map<Path, FilterPredicate> pathToFilterMap;
+    private final Schema gafferSchema;
+    private final View view;
+    private final User user;
+    private final BlockingQueue<Element> queue;
+    private final boolean ingestAggregate;
+    private final boolean queryAggregate;
+    private final CompiledElementFilter filter;
+
+    /**
+     * @param group                             the group that is being read
+     * @param pathToFilterMap                   the files or group directories to read and the Parquet filter for each
+     * @param gafferSchema                      the Gaffer schema
+     * @param view                              the view of the query
+     * @param user                              the user running the query
+     * @param queue                             the queue to add the aggregated elements to
+     * @param ingestAggregate                   true if the files contain deltas that need aggregating with the schema's aggregators
+     * @param queryAggregate                    true if the view summarises the group
+     * @param needsValidatorsAndFiltersApplying true if the view filters could not be fully converted to Parquet filters
+     * @param skipValidation                    true if the schema validation should not be applied
+     */
+    public AggregateSortedFiles(final String group, final Map<Path, FilterPredicate> pathToFilterMap, final Schema gafferSchema,
+                                final View view, final User user, final BlockingQueue<Element> queue,
+                                final boolean ingestAggregate, final boolean queryAggregate,
+                                final boolean needsValidatorsAndFiltersApplying, final boolean skipValidation) {
+        this.group = group;
+        this.pathToFilterMap = pathToFilterMap;
+        this.gafferSchema = gafferSchema;
+        this.view = view;
+        this.user = user;
+        this.queue = queue;
+        this.ingestAggregate = ingestAggregate;
+        this.queryAggregate = queryAggregate;
+        // The Parquet filters of groups that are merged on read do not include the view filters
+        if (ingestAggregate || needsValidatorsAndFiltersApplying) {
+            final ElementFilter combinedFilter = new ElementFilter();
+            final ElementFilter validator = gafferSchema.getElement(group).getValidator(false);
+            if (!skipValidation && null != validator) {
+                combinedFilter.getComponents().addAll(validator.getComponents());
+            }
+            final ViewElementDefinition groupView = view.getElement(group);
+            if (null != groupView && null != groupView.getPreAggregationFilter()) {
+                combinedFilter.getComponents().addAll(groupView.getPreAggregationFilter().getComponents());
+            }
+            this.filter = combinedFilter.getComponents().isEmpty() ? null : CompiledElementFilter.compile(combinedFilter);
+        } else {
+            this.filter = null;
+        }
+    }
+
+    /**
+     * @param view         the view of the query
+     * @param gafferSchema the Gaffer schema
+     * @param group        the group
+     * @return true if the view changes the group by or the aggregator of an aggregated group
+     */
+    public static boolean isSummarised(final View view, final Schema gafferSchema, final String group) {
+        if (null == view || !gafferSchema.getAggregatedGroups().contains(group)) {
+            return false;
+        }
+        final ViewElementDefinition groupView = view.getElement(group);
+        return null != groupView && (null != groupView.getGroupBy() || null != groupView.getAggregator());
+    }
+
+    @Override
+    public OperationException call() throws Exception {
+        final SchemaUtils schemaUtils = new SchemaUtils(gafferSchema);
+        final boolean isEntity = schemaUtils.getEntityGroups().contains(group);
+        final GafferGroupObjectConverter converter = schemaUtils.getConverter(group);
+        for (final Map.Entry<String, List<RetrieveElementsFromFile>> entry : getFilesBySortColumn(isEntity).entrySet()) {
+            mergeSortedFiles(entry.getKey(), entry.getValue(), converter);
+        }
+        return null;
+    }
+
+    private Map<String, List<RetrieveElementsFromFile>> getFilesBySortColumn(final boolean isEntity) throws IOException {
+        final Map<String, List<RetrieveElementsFromFile>> sortColumnToFiles = new HashMap<>();
+        final FileSystem fs = FileSystem.get(new Configuration());
+        for (final Map.Entry<Path, FilterPredicate> entry : pathToFilterMap.entrySet()) {
+            final Path path = entry.getKey();
+            final List<Path> files = new ArrayList<>();
+            final Path groupDirectory;
+            if (path.getName().contains("=")) {
+                groupDirectory = path;
+                if (fs.exists(path)) {
+                    for (final FileStatus status : fs.listStatus(path, p -> p.getName().endsWith(".parquet"))) {
+                        files.add(status.getPath());
+                    }
+                }
+            } else {
+                groupDirectory = path.getParent();
+                files.add(path);
+            }
+            final String sortColumn = getSortColumn(groupDirectory, isEntity);
+            final List<RetrieveElementsFromFile> readers = sortColumnToFiles.computeIfAbsent(sortColumn, k -> new ArrayList<>());
+            for (final Path file : files) {
+                readers.add(new RetrieveElementsFromFile(file, entry.getValue(), gafferSchema, null, true, true, view, user, true));
+            }
+        }
+        return sortColumnToFiles;
+    }
+
+    private static String getSortColumn(final Path groupDirectory, final boolean isEntity) {
+        final String sortedBy = groupDirectory.getParent().getName();
+        if (sortedBy.startsWith(SORTED_BY)) {
+            return sortedBy.substring(SORTED_BY.length());
+        }
+        return isEntity ? ParquetStoreConstants.VERTEX : ParquetStoreConstants.SOURCE;
+    }
+
+    private void mergeSortedFiles(final String sortColumn, final List<RetrieveElementsFromFile> files,
+                                  final GafferGroupObjectConverter converter) throws SerialisationException, InterruptedException {
+        LOGGER.debug("Merging {} files of group {} sorted by {}", files.size(), group, sortColumn);
+        final PriorityQueue<SortedFileHead> heads = new PriorityQueue<>(Math.max(1, files.size()),
+                (a, b) -> COMPARATOR.compare(a.key, b.key));
+        final List<CloseableIterator<Element>> iterators = new ArrayList<>(files.size());
+        try {
+            for (final RetrieveElementsFromFile file : files) {
+                final CloseableIterator<Element> iterator;
+                try {
+                    iterator = file.openIterator();
+                } catch (final IOException ignore) {
+                    // ignore as this file does not exist
+                    continue;
+                }
+                iterators.add(iterator);
+                advance(heads, iterator, sortColumn, converter);
+            }
+            final List<Element> elementsWithSameKey = new ArrayList<>();
+            while (!heads.isEmpty()) {
+                final Object[] key = heads.peek().key;
+                while (!heads.isEmpty() && 0 == COMPARATOR.compare(heads.peek().key, key)) {
+                    final SortedFileHead head = heads.poll();
+                    elementsWithSameKey.add(head.element);
+                    advance(heads, head.iterator, sortColumn, converter);
+                }
+                aggregate(elementsWithSameKey);
+                elementsWithSameKey.clear();
+            }
+        } finally {
+            for (final CloseableIterator<Element> iterator : iterators) {
+                iterator.close();
+            }
+        }
+    }
+
+    private void advance(final PriorityQueue<SortedFileHead> heads, final CloseableIterator<Element> iterator,
+                         final String sortColumn, final GafferGroupObjectConverter converter) throws SerialisationException {
+        if (iterator.hasNext()) {
+            final Element element = iterator.next();
+            heads.add(new SortedFileHead(element, converter.gafferObjectToParquetObjects(sortColumn, getSortValue(element, sortColumn)), iterator));
+        }
+    }
+
+    private static Object getSortValue(final Element element, final String sortColumn) {
+        if (element instanceof Entity) {
+            return ((Entity) element).getVertex();
+        }
+        if (ParquetStoreConstants.DESTINATION.equals(sortColumn)) {
+            return ((Edge) element).getDestination();
+        }
+        return ((Edge) element).getSource();
+    }
+
+    private void aggregate(final List<Element> elementsWithSameKey) throws InterruptedException {
+        Iterable<Element> elements = elementsWithSameKey;
+        if (ingestAggregate) {
+            elements = AggregatorUtil.ingestAggregate(elements, gafferSchema);
+        }
+        if (null != filter) {
+            final List<Element> filtered = new ArrayList<>();
+            for (final Element e : elements) {
+                if (filter.test(e)) {
+                    filtered.add(e);
+                }
+            }
+            elements = filtered;
+        }
+        if (queryAggregate) {
+            elements = AggregatorUtil.queryAggregate(elements, gafferSchema, view);
+        }
+        for (final Element e : elements) {
+            ViewUtil.removeProperties(view, e);
+            queue.put(e);
+        }
+    }
+
+    private static final class SortedFileHead {
+        private final Element element;
+        private final Object[] key;
+        private final CloseableIterator<Element> iterator;
+
+        private SortedFileHead(final Element element, final Object[] key, final CloseableIterator<Element> iterator) {
+            this.element = element;
+            this.key = key;
+            this.iterator = iterator;
+        }
+    }
+}
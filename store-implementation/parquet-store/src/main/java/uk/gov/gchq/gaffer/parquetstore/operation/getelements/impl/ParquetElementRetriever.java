@@ -40,19 +40,31 @@ import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.user.User;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
-import java.util.stream.Collectors;
+import java.util.concurrent.LinkedBlockingQueue;
 
 /**
  * Converts the inputs for get element operations and converts them to a mapping of files to Parquet filters which is
  * then looped over to retrieve the filtered Elements.
+ * <p>
+ * If the {@link GraphIndex} has deltas then the elements of the aggregated groups that have data in a delta are
+ * retrieved from the snapshot and the deltas, aggregated, and only then validated and filtered by the view. If the
+ * view changes the group by or the aggregator of a group then the elements of that group are also aggregated at query
+ * time. In both cases the sorted files are merged by an {@link AggregateSortedFiles} so that only the elements that
+ * share a vertex are held in memory at once.
+ * <p>
+ * The tasks put the elements into a bounded queue, so they wait for the elements to be consumed rather than reading
+ * all the results into memory.
  */
 public class ParquetElementRetriever implements CloseableIterable<Element> {
     private static final Logger LOGGER = LoggerFactory.getLogger(ParquetElementRetriever.class);
@@ -99,9 +111,12 @@ public class ParquetElementRetriever implements CloseableIterable<Element> {
     }
 
     protected static class ParquetIterator implements CloseableIterator<Element> {
-        private ConcurrentLinkedQueue<Element> queue;
+        private static final int QUEUE_CAPACITY = 10000;
+        private BlockingQueue<Element> queue;
         private List<Future<OperationException>> runningTasks;
         private ExecutorService executorServicePool;
+        private final View view;
+        private final Schema gafferSchema;
 
         protected ParquetIterator(final View view,
                                   final DirectedType directedType,
@@ -113,17 +128,41 @@ public class ParquetElementRetriever implements CloseableIterable<Element> {
                                   final ParquetStoreProperties properties,
                                   final Schema gafferSchema,
                                   final User user) {
+            this.view = view;
+            this.gafferSchema = gafferSchema;
             try {
                 if (null != graphIndex) {
                     parquetFilterUtils.buildPathToFilterMap(view, directedType, includeIncomingOutgoingType, seedMatchingType, seeds, graphIndex);
                     final Map<Path, FilterPredicate> pathToFilterMap = parquetFilterUtils.getPathToFilterMap();
                     LOGGER.debug("pathToFilterMap: {}", pathToFilterMap);
                     if (!pathToFilterMap.isEmpty()) {
-                        queue = new ConcurrentLinkedQueue<>();
+                        queue = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+                        final Set<String> mergeOnReadGroups = parquetFilterUtils.getMergeOnReadGroups();
+                        if (!mergeOnReadGroups.isEmpty()) {
+                            LOGGER.debug("Merging the data from the deltas for groups: {}", mergeOnReadGroups);
+                        }
                         executorServicePool = Executors.newFixedThreadPool(properties.getThreadsAvailable());
-                        final List<RetrieveElementsFromFile> tasks = new ArrayList<>(pathToFilterMap.size());
-                        tasks.addAll(pathToFilterMap.entrySet().stream().map(entry -> new RetrieveElementsFromFile(entry.getKey(), entry.getValue(), gafferSchema, queue, parquetFilterUtils.needsValidatorsAndFiltersApplying(), properties.getSkipValidation(), view, user)).collect(Collectors.toList()));
-                        runningTasks = executorServicePool.invokeAll(tasks);
+                        final List<Callable<OperationException>> tasks = new ArrayList<>(pathToFilterMap.size());
+                        final Map<String, Map<Path, FilterPredicate>> groupToAggregatedPaths = new HashMap<>();
+                        for (final Map.Entry<Path, FilterPredicate> entry : pathToFilterMap.entrySet()) {
+                            final String group = RetrieveElementsFromFile.getGroup(entry.getKey());
+                            if (mergeOnReadGroups.contains(group) || AggregateSortedFiles.isSummarised(view, gafferSchema, group)) {
+                                groupToAggregatedPaths.computeIfAbsent(group, k -> new HashMap<>()).put(entry.getKey(), entry.getValue());
+                            } else {
+                                tasks.add(new RetrieveElementsFromFile(entry.getKey(), entry.getValue(), gafferSchema, queue, parquetFilterUtils.needsValidatorsAndFiltersApplying(), properties.getSkipValidation(), view, user));
+                            }
+                        }
+                        for (final Map.Entry<String, Map<Path, FilterPredicate>> entry : groupToAggregatedPaths.entrySet()) {
+                            final String group = entry.getKey();
+                            tasks.add(new AggregateSortedFiles(group, entry.getValue(), gafferSchema, view, user, queue,
+                                    mergeOnReadGroups.contains(group), AggregateSortedFiles.isSummarised(view, gafferSchema, group),
+                                    parquetFilterUtils.needsValidatorsAndFiltersApplying(), properties.getSkipValidation()));
+                        }
+                        // Submit rather than invoke the tasks so that the elements can be consumed while the files are read
+                        runningTasks = new ArrayList<>(tasks.size());
+                        for (final Callable<OperationException> task : tasks) {
+                            runningTasks.add(executorServicePool.submit(task));
+                        }
                     } else {
                         LOGGER.debug(THERE_ARE_NO_RESULTS_FOR_THIS_QUERY);
                     }
@@ -133,8 +172,6 @@ public class ParquetElementRetriever implements CloseableIterable<Element> {
                 }
             } catch (final OperationException | SerialisationException e) {
                 LOGGER.error("Exception while creating the mapping of file paths to Parquet filters: {}", e.getMessage());
-            } catch (final InterruptedException e) {
-                LOGGER.error(e.getMessage(), e);
             }
         }
 
@@ -148,7 +185,7 @@ public class ParquetElementRetriever implements CloseableIterable<Element> {
                         try {
                             finishedAllTasks = hasFinishedAllTasks();
                             if (!finishedAllTasks) {
-                                wait(100L);
+                                Thread.sleep(10L);
                             }
                         } catch (final Exception e) {
                             LOGGER.error(e.getMessage(), e);
@@ -196,7 +233,8 @@ public class ParquetElementRetriever implements CloseableIterable<Element> {
         @Override
         public void close() {
             if (null != executorServicePool) {
-                executorServicePool.shutdown();
+                // Interrupt any tasks that are waiting for space in the queue
+                executorServicePool.shutdownNow();
                 executorServicePool = null;
             }
             queue = null;
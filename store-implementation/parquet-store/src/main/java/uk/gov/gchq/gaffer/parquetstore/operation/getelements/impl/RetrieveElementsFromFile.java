@@ -26,6 +26,7 @@ import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.Authorisations;
 import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.ElementVisibility;
 import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.VisibilityEvaluator;
 import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.exception.VisibilityParseException;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
@@ -39,12 +40,19 @@ import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.user.User;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashSet;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
-import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
- * Used to retrieve the elements from a single file and put the elements into a shared {@link java.util.concurrent.ConcurrentLinkedQueue}
+ * Used to retrieve the elements from a single file and put the elements into a shared {@link BlockingQueue}.
+ * If the elements are going to be merged with elements from other files before they are returned, only the visibility
+ * is checked and the validation and view filters are left to be applied after the merge. Otherwise only the columns
+ * needed by the view are read from the file and the validation and pre aggregation filters are applied as each record
+ * is read, before the properties they do not use are de-serialised.
  */
 public class RetrieveElementsFromFile implements Callable<OperationException> {
 
@@ -53,7 +61,7 @@ public class RetrieveElementsFromFile implements Callable<OperationException> {
     private final FilterPredicate filter;
     private final byte[] jsonGafferSchema;
     private transient SchemaUtils schemaUtils;
-    private final ConcurrentLinkedQueue<Element> queue;
+    private final BlockingQueue<Element> queue;
     private transient ElementFilter elementFilter;
     private final byte[] elementDefinitionJson;
     private final boolean needsValidatorsAndFiltersApplying;
@@ -63,10 +71,18 @@ public class RetrieveElementsFromFile implements Callable<OperationException> {
     private final Schema gafferSchema;
     private final Authorisations auths;
     private final String visibility;
+    private final boolean mergeOnRead;
 
     public RetrieveElementsFromFile(final Path filePath, final FilterPredicate filter, final Schema gafferSchema,
-                                    final ConcurrentLinkedQueue<Element> queue, final boolean needsValidatorsAndFiltersApplying,
+                                    final BlockingQueue<Element> queue, final boolean needsValidatorsAndFiltersApplying,
                                     final boolean skipValidation, final View view, final User user) {
+        this(filePath, filter, gafferSchema, queue, needsValidatorsAndFiltersApplying, skipValidation, view, user, false);
+    }
+
+    public RetrieveElementsFromFile(final Path filePath, final FilterPredicate filter, final Schema gafferSchema,
+                                    final BlockingQueue<Element> queue, final boolean needsValidatorsAndFiltersApplying,
+                                    final boolean skipValidation, final View view, final User user,
+                                    final boolean mergeOnRead) {
         this.filePath = filePath;
         this.filter = filter;
         this.jsonGafferSchema = gafferSchema.toCompactJson();
@@ -89,80 +105,112 @@ public class RetrieveElementsFromFile implements Callable<OperationException> {
         this.view = view;
         this.needsValidatorsAndFiltersApplying = needsValidatorsAndFiltersApplying;
         this.skipValidation = skipValidation;
+        this.mergeOnRead = mergeOnRead;
+        this.group = getGroup(filePath);
+        elementDefinitionJson = view.getElement(group).toCompactJson();
+    }
+
+    /**
+     * @param filePath the path of a group directory or of a file within a group directory
+     * @return the group that the data in the path belongs to
+     */
+    public static String getGroup(final Path filePath) {
         if (filePath.getName().contains("=")) {
-            group = filePath.getName().split("=")[1];
+            return filePath.getName().split("=")[1];
         } else {
-            group = filePath.getParent().getName().split("=")[1];
+            return filePath.getParent().getName().split("=")[1];
         }
-        elementDefinitionJson = view.getElement(group).toCompactJson();
     }
 
     @Override
     public OperationException call() throws Exception {
+        try (final CloseableIterator<Element> elements = openIterator()) {
+            while (elements.hasNext()) {
+                queue.put(elements.next());
+            }
+        } catch (final IOException | UncheckedIOException ignore) {
+            // ignore as this file does not exist
+        }
+        return null;
+    }
+
+    /**
+     * Opens the file and returns the elements that {@link #call()} would add to the queue, in the order that they are
+     * stored in the file.
+     *
+     * @return an iterator over the visible elements in the file, which must be closed
+     * @throws IOException if the file can not be opened
+     */
+    public CloseableIterator<Element> openIterator() throws IOException {
         if (null == elementFilter) {
             elementFilter = new ViewElementDefinition.Builder().json(elementDefinitionJson).build().getPreAggregationFilter();
         }
         if (null == schemaUtils) {
             schemaUtils = new SchemaUtils(Schema.fromJson(jsonGafferSchema));
         }
-        try {
-            final ParquetReader<Element> fileReader = openParquetReader();
-            Element e = fileReader.read();
-            while (null != e) {
-                if (!visibility.isEmpty()) {
-                    if (isVisible(e)) {
-                        if (needsValidatorsAndFiltersApplying) {
-                            final String group = e.getGroup();
-                            final ElementFilter validatorFilter = gafferSchema.getElement(group).getValidator(false);
-                            if (skipValidation || validatorFilter == null || validatorFilter.test(e)) {
-                                if (elementFilter == null || elementFilter.test(e)) {
-                                    ViewUtil.removeProperties(view, e);
-                                    queue.add(e);
-                                }
-                            }
-                        } else {
-                            ViewUtil.removeProperties(view, e);
-                            queue.add(e);
-                        }
-                    }
-                } else if (needsValidatorsAndFiltersApplying) {
-                    final String group = e.getGroup();
-                    final ElementFilter validatorFilter = gafferSchema.getElement(group).getValidator(false);
-                    if (skipValidation || validatorFilter == null || validatorFilter.test(e)) {
-                        if (elementFilter == null || elementFilter.test(e)) {
-                            ViewUtil.removeProperties(view, e);
-                            queue.add(e);
-                        }
-                    }
-                } else {
-                    ViewUtil.removeProperties(view, e);
-                    queue.add(e);
-                }
-                e = fileReader.read();
+        return new FileElementIterator(openParquetReader(getColumnsToRead(), getReaderFilter()));
+    }
+
+    /**
+     * The validation and pre aggregation filters are applied by the reader, so that the properties they do not use are
+     * only de-serialised for the elements that pass them.
+     *
+     * @return the filter combining the validator and the pre aggregation filter, or null if no filtering is required
+     */
+    private ElementFilter getReaderFilter() {
+        if (mergeOnRead || !needsValidatorsAndFiltersApplying) {
+            return null;
+        }
+        final ElementFilter readerFilter = new ElementFilter();
+        if (!skipValidation) {
+            final ElementFilter validatorFilter = gafferSchema.getElement(group).getValidator(false);
+            if (null != validatorFilter) {
+                readerFilter.getComponents().addAll(validatorFilter.getComponents());
             }
-            fileReader.close();
-        } catch (final IOException ignore) {
-            // ignore as this file does not exist
         }
-        return null;
+        if (null != elementFilter) {
+            readerFilter.getComponents().addAll(elementFilter.getComponents());
+        }
+        return readerFilter.getComponents().isEmpty() ? null : readerFilter;
     }
 
-    private ParquetReader<Element> openParquetReader() throws IOException {
+    /**
+     * When the elements are merged before they are returned all the properties are needed for the aggregation,
+     * otherwise only the properties that the view keeps and the visibility property need to be read.
+     *
+     * @return the properties that need to be read from the file, or null if all of them are needed
+     */
+    private Set<String> getColumnsToRead() {
+        final ViewElementDefinition elementDefinition = view.getElement(group);
+        if (mergeOnRead || null == elementDefinition || elementDefinition.isAllProperties()) {
+            return null;
+        }
+        final Set<String> columns;
+        if (null != elementDefinition.getProperties()) {
+            columns = new HashSet<>(elementDefinition.getProperties());
+        } else {
+            columns = new HashSet<>(gafferSchema.getElement(group).getProperties());
+            columns.removeAll(elementDefinition.getExcludeProperties());
+        }
+        if (!visibility.isEmpty()) {
+            columns.add(visibility);
+        }
+        return columns;
+    }
+
+    private ParquetReader<Element> openParquetReader(final Set<String> columns, final ElementFilter readerFilter) throws IOException {
         final boolean isEntity = schemaUtils.getEntityGroups().contains(group);
         final GafferGroupObjectConverter converter = schemaUtils.getConverter(group);
         LOGGER.debug("Opening a new Parquet reader for file: {}", filePath);
+        final ParquetElementReader.Builder<Element> builder = new ParquetElementReader.Builder<Element>(filePath)
+                .isEntity(isEntity)
+                .usingConverter(converter)
+                .withColumns(columns)
+                .withElementFilter(readerFilter);
         if (null != filter) {
-            return new ParquetElementReader.Builder<Element>(filePath)
-                    .isEntity(isEntity)
-                    .usingConverter(converter)
-                    .withFilter(FilterCompat.get(filter))
-                    .build();
-        } else {
-            return new ParquetElementReader.Builder<Element>(filePath)
-                    .isEntity(isEntity)
-                    .usingConverter(converter)
-                    .build();
+            builder.withFilter(FilterCompat.get(filter));
         }
+        return builder.build();
     }
 
     private Boolean isVisible(final Element e) throws VisibilityParseException {
@@ -175,4 +223,60 @@ public class RetrieveElementsFromFile implements Callable<OperationException> {
             return true;
         }
     }
+
+    private final class FileElementIterator implements CloseableIterator<Element> {
+        private final ParquetReader<Element> fileReader;
+        private Element next;
+
+        private FileElementIterator(final ParquetReader<Element> fileReader) {
+            this.fileReader = fileReader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (null == next) {
+                next = readNext();
+            }
+            return null != next;
+        }
+
+        @Override
+        public Element next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Element e = next;
+            next = null;
+            return e;
+        }
+
+        private Element readNext() {
+            try {
+                Element e = fileReader.read();
+                while (null != e) {
+                    if (visibility.isEmpty() || isVisible(e)) {
+                        if (!mergeOnRead) {
+                            ViewUtil.removeProperties(view, e);
+                        }
+                        return e;
+                    }
+                    e = fileReader.read();
+                }
+                return null;
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (final VisibilityParseException e) {
+                throw new IllegalArgumentException("Unable to parse the visibility of an element in " + filePath, e);
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                fileReader.close();
+            } catch (final IOException e) {
+                LOGGER.warn("Failed to close the Parquet reader for file: {}", filePath, e);
+            }
+        }
+    }
 }
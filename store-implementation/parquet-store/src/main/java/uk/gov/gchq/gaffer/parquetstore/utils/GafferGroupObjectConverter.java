@@ -35,10 +35,13 @@ import uk.gov.gchq.gaffer.serialisation.Serialiser;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * This class contains the logic for converting objects between the Gaffer, Parquet and Spark types for a single Gaffer group.
@@ -47,6 +50,8 @@ public class GafferGroupObjectConverter implements Serializable {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(GafferGroupObjectConverter.class);
     private static final long serialVersionUID = -8098393761925808135L;
+    private static final Set<String> IDENTIFIERS = new HashSet<>(Arrays.asList(ParquetStoreConstants.VERTEX,
+            ParquetStoreConstants.SOURCE, ParquetStoreConstants.DESTINATION, ParquetStoreConstants.DIRECTED));
     private final Map<String, Serialiser> columnToSerialiser;
     private final Map<String, String[]> columnToPaths;
     private final String group;
@@ -245,86 +250,129 @@ public class GafferGroupObjectConverter implements Serializable {
      * @throws SerialisationException if the parquet objects can not be de-serialised
      */
     public Element buildElementFromParquetObjects(final Map<String, Object[]> parquetColumnToObject, final boolean isEntity) throws SerialisationException {
+        return buildElementFromParquetObjects(parquetColumnToObject, isEntity, null);
+    }
+
+    /**
+     * Builds up a Gaffer element containing the identifiers and only the requested properties using a map of
+     * parquetColumn to Object[] containing the relevant objects stored in that column.
+     *
+     * @param parquetColumnToObject is a map from parquet column path to a list of the objects stored on that path which
+     *                              only contains more then 1 if the column is storing an array or part of a map
+     * @param isEntity              is it an Entity that needs building
+     * @param gafferColumns         the properties to add to the Element, or null to add all of them
+     * @return an Element containing the identifiers and requested properties from the parquetColumnToObject
+     * @throws SerialisationException if the parquet objects can not be de-serialised
+     */
+    public Element buildElementFromParquetObjects(final Map<String, Object[]> parquetColumnToObject, final boolean isEntity,
+                                                  final Set<String> gafferColumns) throws SerialisationException {
         final Element e;
         if (isEntity) {
             e = new Entity(group);
+            ((Entity) e).setVertex(getGafferObject(ParquetStoreConstants.VERTEX, parquetColumnToObject));
         } else {
             e = new Edge(group);
+            final Object isDir = getGafferObject(ParquetStoreConstants.DIRECTED, parquetColumnToObject);
+            ((Edge) e).setIdentifiers(getGafferObject(ParquetStoreConstants.SOURCE, parquetColumnToObject),
+                    getGafferObject(ParquetStoreConstants.DESTINATION, parquetColumnToObject),
+                    null != isDir && (boolean) isDir);
         }
-        Object src = null;
-        Object dst = null;
-        boolean isDir = false;
-        for (final Map.Entry<String, String[]> columnToPaths : columnToPaths.entrySet()) {
-            final String column = columnToPaths.getKey();
-            final String[] paths = columnToPaths.getValue();
-            final Object[] parquetObjectsForColumn = new Object[paths.length];
-            boolean isMap = false;
-            for (int i = 0; i < paths.length; i++) {
-                final String path = paths[i];
-                if (path.endsWith("key_value.key")) {
-                    isMap = true;
-                }
-                Object[] parquetColumnObjects = parquetColumnToObject.getOrDefault(paths[i], null);
-                if (null != parquetColumnObjects) {
-                    if (path.endsWith("list.element")) {
-                        final boolean expectsList = columnToSerialiser.get(column).canHandle(List.class);
-                        if (expectsList) {
-                            final List<Object> list = new ArrayList<>(parquetColumnObjects.length);
-                            for (final Object listObject : parquetColumnObjects) {
-                                list.add(listObject);
-                            }
-                            parquetObjectsForColumn[i] = list;
-                        } else {
-                            parquetObjectsForColumn[i] = parquetColumnObjects;
-                        }
-                    } else {
-                        if (isMap) {
-                            parquetObjectsForColumn[i] = parquetColumnObjects;
-                        } else {
-                            parquetObjectsForColumn[i] = parquetColumnObjects[0];
-                        }
-                    }
+        addPropertiesFromParquetObjects(e, parquetColumnToObject, gafferColumns);
+        return e;
+    }
+
+    /**
+     * Adds properties to an Element that was built by {@link #buildElementFromParquetObjects(Map, boolean, Set)}, this
+     * allows the properties that are not needed to decide whether to keep an Element to only be de-serialised for the
+     * Elements that are kept.
+     *
+     * @param e                     the Element to add the properties to
+     * @param parquetColumnToObject is a map from parquet column path to a list of the objects stored on that path
+     * @param gafferColumns         the properties to add to the Element, or null to add all of them
+     * @throws SerialisationException if the parquet objects can not be de-serialised
+     */
+    public void addPropertiesFromParquetObjects(final Element e, final Map<String, Object[]> parquetColumnToObject,
+                                                final Set<String> gafferColumns) throws SerialisationException {
+        for (final String column : columnToPaths.keySet()) {
+            if (!IDENTIFIERS.contains(column) && (null == gafferColumns || gafferColumns.contains(column))) {
+                final Object gafferObject = getGafferObject(column, parquetColumnToObject);
+                if (null != gafferObject) {
+                    e.putProperty(column, gafferObject);
                 }
             }
-            final Object gafferObject;
-            if (isMap) {
-                final Object[] keys = (Object[]) parquetObjectsForColumn[0];
-                if (null != keys) {
-                    final Object[] values = (Object[]) parquetObjectsForColumn[1];
-                    final Map<Object, Object> map = new HashMap<>(keys.length);
-                    for (int i = 0; i < keys.length; i++) {
-                        map.put(keys[i], values[i]);
-                    }
-                    gafferObject = parquetObjectsToGafferObject(column, new Object[]{map});
-                } else {
-                    gafferObject = null;
-                }
-            } else {
-                gafferObject = parquetObjectsToGafferObject(column, parquetObjectsForColumn);
+        }
+    }
+
+    private Object getGafferObject(final String column, final Map<String, Object[]> parquetColumnToObject) throws SerialisationException {
+        final String[] paths = columnToPaths.get(column);
+        if (null == paths) {
+            return null;
+        }
+        final Object[] parquetObjectsForColumn = new Object[paths.length];
+        boolean isMap = false;
+        for (int i = 0; i < paths.length; i++) {
+            final String path = paths[i];
+            if (path.endsWith("key_value.key")) {
+                isMap = true;
             }
-            if (null != gafferObject) {
-                if (isEntity) {
-                    if (ParquetStoreConstants.VERTEX.equals(column)) {
-                        ((Entity) e).setVertex(gafferObject);
+            Object[] parquetColumnObjects = parquetColumnToObject.getOrDefault(paths[i], null);
+            if (null != parquetColumnObjects) {
+                if (path.endsWith("list.element")) {
+                    final boolean expectsList = columnToSerialiser.get(column).canHandle(List.class);
+                    if (expectsList) {
+                        final List<Object> list = new ArrayList<>(parquetColumnObjects.length);
+                        for (final Object listObject : parquetColumnObjects) {
+                            list.add(listObject);
+                        }
+                        parquetObjectsForColumn[i] = list;
                     } else {
-                        e.putProperty(column, gafferObject);
+                        parquetObjectsForColumn[i] = parquetColumnObjects;
                     }
                 } else {
-                    if (ParquetStoreConstants.SOURCE.equals(column)) {
-                        src = gafferObject;
-                    } else if (ParquetStoreConstants.DESTINATION.equals(column)) {
-                        dst = gafferObject;
-                    } else if (ParquetStoreConstants.DIRECTED.equals(column)) {
-                        isDir = (boolean) gafferObject;
+                    if (isMap) {
+                        parquetObjectsForColumn[i] = parquetColumnObjects;
                     } else {
-                        e.putProperty(column, gafferObject);
+                        parquetObjectsForColumn[i] = parquetColumnObjects[0];
                     }
                 }
             }
         }
-        if (!isEntity) {
-            ((Edge) e).setIdentifiers(src, dst, isDir);
+        if (isMap) {
+            final Object[] keys = (Object[]) parquetObjectsForColumn[0];
+            if (null != keys) {
+                final Object[] values = (Object[]) parquetObjectsForColumn[1];
+                final Map<Object, Object> map = new HashMap<>(keys.length);
+                for (int i = 0; i < keys.length; i++) {
+                    map.put(keys[i], values[i]);
+                }
+                return parquetObjectsToGafferObject(column, new Object[]{map});
+            } else {
+                return null;
+            }
         }
-        return e;
+        return parquetObjectsToGafferObject(column, parquetObjectsForColumn);
+    }
+
+    /**
+     * @return the names of all the Gaffer columns in this group
+     */
+    public Set<String> getColumns() {
+        return Collections.unmodifiableSet(columnToPaths.keySet());
+    }
+
+    /**
+     * @param gafferColumns the Gaffer columns to read, the identifier columns are always included
+     * @return the names of the top level Parquet fields that hold the given Gaffer columns
+     */
+    public Set<String> getParquetFields(final Set<String> gafferColumns) {
+        final Set<String> fields = new HashSet<>();
+        for (final Map.Entry<String, String[]> entry : columnToPaths.entrySet()) {
+            if (IDENTIFIERS.contains(entry.getKey()) || gafferColumns.contains(entry.getKey())) {
+                for (final String path : entry.getValue()) {
+                    fields.add(path.split("\\.")[0]);
+                }
+            }
+        }
+        return fields;
     }
 }
@@ -34,9 +34,11 @@ import uk.gov.gchq.gaffer.operation.data.EdgeSeed;
 import uk.gov.gchq.gaffer.operation.data.EntitySeed;
 import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters;
 import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
+import uk.gov.gchq.gaffer.parquetstore.ParquetStoreProperties;
 import uk.gov.gchq.gaffer.parquetstore.index.GraphIndex;
 import uk.gov.gchq.gaffer.parquetstore.index.GroupIndex;
 import uk.gov.gchq.gaffer.parquetstore.index.MinValuesWithPath;
+import uk.gov.gchq.gaffer.parquetstore.index.SortedColumnIndex;
 import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
 import uk.gov.gchq.koryphe.impl.predicate.AgeOff;
 import uk.gov.gchq.koryphe.impl.predicate.And;
@@ -50,6 +52,7 @@ import uk.gov.gchq.koryphe.impl.predicate.Or;
 import uk.gov.gchq.koryphe.tuple.predicate.TupleAdaptedPredicate;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -85,6 +88,7 @@ public final class ParquetFilterUtils {
     private final String rootDir;
     private final SchemaUtils schemaUtils;
     private final boolean skipValidation;
+    private final String aggregateOnIngest;
     private String dataDir;
     private View view;
     private DirectedType directedType;
@@ -92,7 +96,9 @@ public final class ParquetFilterUtils {
     private SeedMatching.SeedMatchingType seedMatchingType;
     private Iterable<? extends ElementId> seeds;
     private GraphIndex graphIndex;
-    private final Map<Path, FilterPredicate> pathToFilterMap;
+    private Map<Path, FilterPredicate> pathToFilterMap;
+    private final Map<Path, FilterPredicate> allPathsToFilterMap;
+    private Set<String> mergeOnReadGroups;
     private boolean needsValidatorsAndFiltersApplying;
 
     /**
@@ -105,12 +111,26 @@ public final class ParquetFilterUtils {
         this.rootDir = store.getDataDir();
         this.schemaUtils = store.getSchemaUtils();
         this.pathToFilterMap = new HashMap<>();
+        this.allPathsToFilterMap = new HashMap<>();
+        this.mergeOnReadGroups = Collections.emptySet();
         this.skipValidation = store.getProperties().getSkipValidation();
+        this.aggregateOnIngest = store.getProperties().get(ParquetStoreProperties.PARQUET_AGGREGATE_ON_INGEST, null);
         this.needsValidatorsAndFiltersApplying = false;
     }
 
     public Map<Path, FilterPredicate> getPathToFilterMap() {
-        return pathToFilterMap;
+        return allPathsToFilterMap;
+    }
+
+    /**
+     * Returns the groups that have data in at least one delta and are aggregated on ingest. The elements retrieved for
+     * these groups must be aggregated before the validation and pre-aggregation view filters are applied, so no
+     * property filters are pushed down to Parquet for these groups.
+     *
+     * @return the groups that need to be merged on read
+     */
+    public Set<String> getMergeOnReadGroups() {
+        return mergeOnReadGroups;
     }
 
     public boolean needsValidatorsAndFiltersApplying() {
@@ -139,13 +159,35 @@ public final class ParquetFilterUtils {
             final GraphIndex graphIndex)
             throws SerialisationException, OperationException {
         // Setup global variables to build a new PathToFilter mapping
-        this.dataDir = rootDir + "/" + graphIndex.getSnapshotTimestamp();
         this.view = view;
         this.directedType = directedType;
         this.includeIncomingOutgoingType = includeIncomingOutgoingType;
         this.seedMatchingType = seedMatchingType;
         this.seeds = seeds;
+        this.allPathsToFilterMap.clear();
+        this.mergeOnReadGroups = getMergeOnReadGroups(graphIndex);
+        this.needsValidatorsAndFiltersApplying = false;
+
+        final String snapshotDir = rootDir + "/" + graphIndex.getSnapshotTimestamp();
+        buildPathToFilterMap(snapshotDir, graphIndex);
+        for (final Map.Entry<Long, GraphIndex> delta : graphIndex.getDeltas().entrySet()) {
+            buildPathToFilterMap(ParquetStore.getDeltaDirectory(snapshotDir, delta.getKey()), delta.getValue());
+        }
+    }
+
+    /**
+     * Adds the mapping of paths to Parquet filters for the data in a single snapshot or delta directory.
+     *
+     * @param dataDir    the snapshot or delta directory
+     * @param graphIndex the {@link GraphIndex} of the data in that directory
+     * @throws SerialisationException If any of the Gaffer objects are unable to be serialised to Parquet objects
+     * @throws OperationException     If a serialiser is used which serialises objects to a type not supported
+     */
+    private void buildPathToFilterMap(final String dataDir, final GraphIndex graphIndex)
+            throws SerialisationException, OperationException {
+        this.dataDir = dataDir;
         this.graphIndex = graphIndex;
+        this.pathToFilterMap = new HashMap<>();
         final Set<String> edgeGroups;
         final Set<String> entityGroups;
         if (null != view) {
@@ -166,8 +208,6 @@ public final class ParquetFilterUtils {
             edgeGroups = schemaUtils.getEdgeGroups();
             entityGroups = schemaUtils.getEntityGroups();
         }
-        this.pathToFilterMap.clear();
-        this.needsValidatorsAndFiltersApplying = false;
 
         if (null == seeds && (null == view || schemaUtils.getEmptyView().equals(view))) {
             // get all elements
@@ -188,6 +228,29 @@ public final class ParquetFilterUtils {
                 applyGroupFilter(entityGroup, true);
             }
         }
+        allPathsToFilterMap.putAll(pathToFilterMap);
+    }
+
+    private Set<String> getMergeOnReadGroups(final GraphIndex graphIndex) {
+        if (!graphIndex.hasDeltas()) {
+            return Collections.emptySet();
+        }
+        final Set<String> groups = new HashSet<>();
+        for (final GraphIndex deltaIndex : graphIndex.getDeltas().values()) {
+            for (final String group : deltaIndex.groupsIndexed()) {
+                final SchemaElementDefinition elementDefinition = schemaUtils.getGafferSchema().getElement(group);
+                final boolean aggregate;
+                if (null == aggregateOnIngest) {
+                    aggregate = null != elementDefinition && elementDefinition.isAggregate();
+                } else {
+                    aggregate = Boolean.valueOf(aggregateOnIngest);
+                }
+                if (aggregate) {
+                    groups.add(group);
+                }
+            }
+        }
+        return groups;
     }
 
     /**
@@ -278,7 +341,7 @@ public final class ParquetFilterUtils {
     private void buildSeedFilterForIndex(final List<Object[]> sortedSeeds, final String indexedColumn, final String group,
                                          final boolean isEntityGroup, final Map<Object[], Pair<Object[], DirectedType>> seed2Parts)
             throws OperationException, SerialisationException {
-        final Map<Object[], Set<Path>> seedsToPaths = getIndexedPathsForSeeds(sortedSeeds, indexedColumn, group);
+        final Map<Object[], Set<Path>> seedsToPaths = getPathsContainingSeeds(sortedSeeds, indexedColumn, group);
         for (final Map.Entry<Object[], Set<Path>> entry : seedsToPaths.entrySet()) {
             final Set<Path> paths = entry.getValue();
             final Object[] currentSeed = entry.getKey();
@@ -374,6 +437,36 @@ public final class ParquetFilterUtils {
         }
     }
 
+    /**
+     * This method looks up the paths that could contain each of the seeds using the min and max values of each file
+     * and row group, and the bloom filters, held in the {@link SortedColumnIndex} for the indexed column. Seeds that
+     * can not be in any file are not included in the returned map.
+     *
+     * @param sortedSeeds   A list of Parquet object[] which represent the seeds
+     * @param indexedColumn The name of the Gaffer column that has been indexed
+     * @param group         The name of the Gaffer group to apply the filter to
+     * @return a mapping of Parquet Objects representing the input seeds to a set of Paths that may contain that seed
+     */
+    private Map<Object[], Set<Path>> getPathsContainingSeeds(final List<Object[]> sortedSeeds, final String indexedColumn,
+                                                             final String group) {
+        final Map<Object[], Set<Path>> seedsToPaths = new HashMap<>();
+        final GroupIndex groupIndex = graphIndex.getGroup(group);
+        if (null != groupIndex && groupIndex.columnsIndexed().contains(indexedColumn)) {
+            final SortedColumnIndex sortedIndex = groupIndex.getColumn(indexedColumn).getSortedIndex();
+            final String groupDirectory = ParquetStore.getGroupDirectory(group, indexedColumn, dataDir);
+            for (final Object[] seed : sortedSeeds) {
+                final List<String> files = sortedIndex.getPathsForValue(seed);
+                if (!files.isEmpty()) {
+                    final Set<Path> paths = seedsToPaths.computeIfAbsent(seed, k -> new HashSet<>());
+                    for (final String file : files) {
+                        paths.add(new Path(groupDirectory + "/" + file));
+                    }
+                }
+            }
+        }
+        return seedsToPaths;
+    }
+
     /**
      * This method allows for looking up of which paths to target a filter at if the target Gaffer column has been indexed
      *
@@ -689,8 +782,9 @@ public final class ParquetFilterUtils {
      */
     protected Pair<FilterPredicate, Set<Path>> buildGroupFilter(final String group, final boolean isEntity) throws SerialisationException {
         Pair<FilterPredicate, Set<Path>> groupFilter = null;
+        final boolean mergeOnRead = mergeOnReadGroups.contains(group);
         final ViewElementDefinition groupView = view.getElement(group);
-        if (null != groupView) {
+        if (null != groupView && !mergeOnRead) {
             List<TupleAdaptedPredicate<String, ?>> preAggFilterFunctions = groupView.getPreAggregationFilterFunctions();
             if (null != preAggFilterFunctions) {
                 for (final TupleAdaptedPredicate<String, ?> filterFunctionContext : preAggFilterFunctions) {
@@ -714,6 +808,10 @@ public final class ParquetFilterUtils {
                 groupFilter = new Pair<>(directedFilter, getAllPathsForColumn(group));
             }
         }
+        if (mergeOnRead) {
+            // The validation and view filters are applied after the elements from the deltas have been aggregated
+            return groupFilter;
+        }
         final Pair<FilterPredicate, Set<Path>> groupValidationFilter = buildGroupValidatorFilter(group);
         if (null != groupFilter && null != groupValidationFilter) {
             return new Pair<>(andFilter(groupFilter.getFirst(), buildGroupValidatorFilter(group).getFirst()), groupFilter.getSecond());
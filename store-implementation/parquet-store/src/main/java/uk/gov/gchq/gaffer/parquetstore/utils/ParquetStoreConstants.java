@@ -46,6 +46,7 @@ public final class ParquetStoreConstants {
     public static final String GROUP = "GROUP";
     public static final String SORTED = "sorted";
     public static final String INDEX = "_index";
+    public static final String DELTA = "delta";
     public static final String VERTEX = IdentifierType.VERTEX.name();
     public static final String SOURCE = IdentifierType.SOURCE.name();
     public static final String DESTINATION = IdentifierType.DESTINATION.name();
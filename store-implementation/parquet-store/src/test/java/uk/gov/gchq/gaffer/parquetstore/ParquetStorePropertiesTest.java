@@ -77,6 +77,13 @@ public class ParquetStorePropertiesTest {
         assertEquals((Integer) 100000, props.getSampleRate());
     }
 
+    @Test
+    public void maxSampleSizeTest() {
+        assertEquals(100000, props.getMaxSampleSize());
+        props.setMaxSampleSize(1000);
+        assertEquals(1000, props.getMaxSampleSize());
+    }
+
     @Test
     public void addElementsOutputFilesPerGroupTest() {
         assertEquals(10, props.getAddElementsOutputFilesPerGroup());
@@ -98,6 +105,34 @@ public class ParquetStorePropertiesTest {
         assertEquals(true, props.getSortBySplitsOnIngest());
     }
 
+    @Test
+    public void indexBloomFilterTest() {
+        assertEquals(false, props.getIndexBloomFilter());
+        props.setIndexBloomFilter(true);
+        assertEquals(true, props.getIndexBloomFilter());
+    }
+
+    @Test
+    public void deltaIngestTest() {
+        assertEquals(false, props.getDeltaIngest());
+        props.setDeltaIngest(true);
+        assertEquals(true, props.getDeltaIngest());
+    }
+
+    @Test
+    public void compactionMaxDeltasTest() {
+        assertEquals(10, props.getCompactionMaxDeltas());
+        props.setCompactionMaxDeltas(2);
+        assertEquals(2, props.getCompactionMaxDeltas());
+    }
+
+    @Test
+    public void compactionMaxDeltaSizeTest() {
+        assertEquals(268435456L, props.getCompactionMaxDeltaSize());
+        props.setCompactionMaxDeltaSize(1024L);
+        assertEquals(1024L, props.getCompactionMaxDeltaSize());
+    }
+
     @Test
     public void sparkMasterTest() {
         //might fail if Spark is properly installed
@@ -33,6 +33,7 @@ public class ParquetStoreTest {
         final ParquetStore store = new ParquetStore();
         final Set<StoreTrait> expectedTraits = new HashSet<>();
         expectedTraits.add(StoreTrait.INGEST_AGGREGATION);
+        expectedTraits.add(StoreTrait.QUERY_AGGREGATION);
         expectedTraits.add(StoreTrait.PRE_AGGREGATION_FILTERING);
         expectedTraits.add(StoreTrait.ORDERED);
         expectedTraits.add(StoreTrait.STORE_VALIDATION);
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2017. Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.parquetstore.index;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.util.bloom.BloomFilter;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.CommonTestConstants;
+import uk.gov.gchq.gaffer.store.StoreException;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class SortedColumnIndexTest {
+
+    @Test
+    public void shouldUseTheMinOfTheNextFileWhenThereIsNoMax() throws StoreException {
+        // Given
+        final ColumnIndex columnIndex = new ColumnIndex();
+        columnIndex.add(new MinValuesWithPath(new Object[]{"b"}, "fileB"));
+        columnIndex.add(new MinValuesWithPath(new Object[]{"d"}, "fileD"));
+        columnIndex.add(new MinValuesWithPath(new Object[]{"f"}, "fileF"));
+
+        // When
+        final SortedColumnIndex sortedIndex = columnIndex.getSortedIndex();
+
+        // Then
+        assertEquals(Collections.emptyList(), sortedIndex.getPathsForValue(new Object[]{"a"}));
+        assertEquals(Collections.singletonList("fileB"), sortedIndex.getPathsForValue(new Object[]{"c"}));
+        assertEquals(Arrays.asList("fileD", "fileB"), sortedIndex.getPathsForValue(new Object[]{"d"}));
+        assertEquals(Collections.singletonList("fileF"), sortedIndex.getPathsForValue(new Object[]{"z"}));
+    }
+
+    @Test
+    public void shouldOnlyReturnFilesWhoseRangeContainsTheValue() throws StoreException {
+        // Given
+        final ColumnIndex columnIndex = new ColumnIndex();
+        columnIndex.add(new MinValuesWithPath(new Object[]{1L}, new Object[]{10L}, "file1", null, null));
+        columnIndex.add(new MinValuesWithPath(new Object[]{10L}, new Object[]{20L}, "file2", null, null));
+        columnIndex.add(new MinValuesWithPath(new Object[]{30L}, new Object[]{40L}, "file3", null, null));
+
+        // When
+        final SortedColumnIndex sortedIndex = columnIndex.getSortedIndex();
+
+        // Then
+        assertEquals(Arrays.asList("file2", "file1"), sortedIndex.getPathsForValue(new Object[]{10L}));
+        assertEquals(Collections.singletonList("file2"), sortedIndex.getPathsForValue(new Object[]{15L}));
+        assertEquals(Collections.emptyList(), sortedIndex.getPathsForValue(new Object[]{25L}));
+        assertEquals(Collections.emptyList(), sortedIndex.getPathsForValue(new Object[]{41L}));
+    }
+
+    @Test
+    public void shouldSkipFilesWhenTheValueIsBetweenRowGroups() throws StoreException {
+        // Given
+        final List<RowGroupStatistics> rowGroups = Arrays.asList(
+                new RowGroupStatistics(new Object[]{1L}, new Object[]{5L}, 10L),
+                new RowGroupStatistics(new Object[]{8L}, new Object[]{10L}, 10L));
+        final ColumnIndex columnIndex = new ColumnIndex();
+        columnIndex.add(new MinValuesWithPath(new Object[]{1L}, new Object[]{10L}, "file1", rowGroups, null));
+
+        // When
+        final SortedColumnIndex sortedIndex = columnIndex.getSortedIndex();
+
+        // Then
+        assertEquals(Collections.singletonList("file1"), sortedIndex.getPathsForValue(new Object[]{5L}));
+        assertEquals(Collections.emptyList(), sortedIndex.getPathsForValue(new Object[]{6L}));
+        assertEquals(Collections.singletonList("file1"), sortedIndex.getPathsForValue(new Object[]{9L}));
+    }
+
+    @Test
+    public void shouldSkipFilesWhenTheValueIsNotInTheBloomFilter() throws StoreException {
+        // Given
+        final BloomFilter bloomFilter = ColumnIndex.createBloomFilter(100, 0.01);
+        for (long i = 0; i < 100; i += 2) {
+            bloomFilter.add(ColumnIndex.toBloomFilterKey(new Object[]{i}));
+        }
+        final ColumnIndex columnIndex = new ColumnIndex();
+        columnIndex.add(new MinValuesWithPath(new Object[]{0L}, new Object[]{98L}, "file1", null, bloomFilter));
+
+        // When
+        final SortedColumnIndex sortedIndex = columnIndex.getSortedIndex();
+
+        // Then
+        int falsePositives = 0;
+        for (long i = 0; i < 100; i++) {
+            final List<String> paths = sortedIndex.getPathsForValue(new Object[]{i});
+            if (0 == i % 2) {
+                assertEquals(Collections.singletonList("file1"), paths);
+            } else if (!paths.isEmpty()) {
+                falsePositives++;
+            }
+        }
+        assertTrue("Too many false positives: " + falsePositives, falsePositives < 5);
+    }
+
+    @Test
+    public void shouldWriteAndReadIndexWithStatistics() throws StoreException, IOException {
+        // Given
+        final FileSystem fs = FileSystem.getLocal(new Configuration());
+        final Path dir = new Path(CommonTestConstants.TMP_DIRECTORY.getAbsolutePath() + "/SortedColumnIndexTest");
+        final Path path = new Path(dir, "_index");
+        final BloomFilter bloomFilter = ColumnIndex.createBloomFilter(10, 0.01);
+        bloomFilter.add(ColumnIndex.toBloomFilterKey(new Object[]{"a", 1L}));
+        final ColumnIndex columnIndex = new ColumnIndex();
+        columnIndex.add(new MinValuesWithPath(new Object[]{"a", 1L}, new Object[]{"c", 2L}, "file1",
+                Collections.singletonList(new RowGroupStatistics(new Object[]{"a", 1L}, new Object[]{"c", 2L}, 3L)), bloomFilter));
+        columnIndex.add(new MinValuesWithPath(new Object[]{"d", 1L}, "file2"));
+
+        // When
+        columnIndex.write(fs.create(path));
+        final ColumnIndex readIndex = new ColumnIndex();
+        readIndex.read(fs.open(path));
+        fs.delete(dir, true);
+
+        // Then
+        final Iterator<MinValuesWithPath> files = readIndex.getIterator();
+        final MinValuesWithPath file1 = files.next();
+        assertEquals("file1", file1.getPath());
+        assertArrayEquals(new Object[]{"a", 1L}, file1.getMin());
+        assertArrayEquals(new Object[]{"c", 2L}, file1.getMax());
+        assertEquals(1, file1.getRowGroups().size());
+        assertEquals(3L, file1.getRowGroups().get(0).getRowCount());
+        assertTrue(file1.getBloomFilter().membershipTest(ColumnIndex.toBloomFilterKey(new Object[]{"a", 1L})));
+        final MinValuesWithPath file2 = files.next();
+        assertEquals("file2", file2.getPath());
+        assertNull(file2.getMax());
+        assertTrue(file2.getRowGroups().isEmpty());
+        assertNull(file2.getBloomFilter());
+    }
+}
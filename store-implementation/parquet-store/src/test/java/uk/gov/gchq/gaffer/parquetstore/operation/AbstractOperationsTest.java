@@ -38,11 +38,18 @@ import uk.gov.gchq.gaffer.parquetstore.ParquetStoreProperties;
 import uk.gov.gchq.gaffer.parquetstore.testutils.TestUtils;
 import uk.gov.gchq.gaffer.user.User;
 import uk.gov.gchq.koryphe.impl.predicate.IsEqual;
+import uk.gov.gchq.koryphe.impl.predicate.IsIn;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -122,6 +129,68 @@ public abstract class AbstractOperationsTest {
         data.close();
     }
 
+    @Test
+    public void getElementsWithViewPropertiesAndUnsupportedFilterTest() throws OperationException {
+        // IsIn can not be converted to a Parquet filter so it is applied as each record is read
+        final ElementFilter filter = new ElementFilter.Builder()
+                .select("count")
+                .execute(new IsIn(1, 2))
+                .build();
+        final View allPropertiesView = new View.Builder().edge(TestGroups.EDGE,
+                new ViewElementDefinition.Builder()
+                        .preAggregationFilter(filter)
+                        .build())
+                .build();
+        final View doubleOnlyView = new View.Builder().edge(TestGroups.EDGE,
+                new ViewElementDefinition.Builder()
+                        .preAggregationFilter(filter)
+                        .properties("double")
+                        .build())
+                .build();
+        final List<Element> expected = new ArrayList<>();
+        final CloseableIterable<? extends Element> allPropertiesData = graph.execute(new GetAllElements.Builder().view(allPropertiesView).build(), USER);
+        for (final Element element : allPropertiesData) {
+            element.getProperties().keepOnly(Collections.singleton("double"));
+            expected.add(element);
+        }
+        allPropertiesData.close();
+        final List<Element> actual = new ArrayList<>();
+        final CloseableIterable<? extends Element> doubleOnlyData = graph.execute(new GetAllElements.Builder().view(doubleOnlyView).build(), USER);
+        for (final Element element : doubleOnlyData) {
+            actual.add(element);
+        }
+        doubleOnlyData.close();
+        assertEquals(expected.size(), actual.size());
+        assertTrue(actual.containsAll(expected));
+        assertTrue(expected.containsAll(actual));
+    }
+
+    @Test
+    public void getElementsWithQueryAggregationTest() throws OperationException {
+        final View edgeView = new View.Builder()
+                .edge(TestGroups.EDGE)
+                .build();
+        final View summarisedView = new View.Builder().edge(TestGroups.EDGE,
+                new ViewElementDefinition.Builder()
+                        .groupBy()
+                        .build())
+                .build();
+        final Map<Element, Integer> expected = new HashMap<>();
+        final CloseableIterable<? extends Element> edgeData = graph.execute(new GetAllElements.Builder().view(edgeView).build(), USER);
+        for (final Element element : edgeData) {
+            expected.merge(element.emptyClone(), (Integer) element.getProperty("count"), Integer::sum);
+        }
+        edgeData.close();
+        final Map<Element, Integer> actual = new HashMap<>();
+        final CloseableIterable<? extends Element> summarisedData = graph.execute(new GetAllElements.Builder().view(summarisedView).build(), USER);
+        for (final Element element : summarisedData) {
+            assertNull("Found more than one element for " + element, actual.put(element.emptyClone(), (Integer) element.getProperty("count")));
+        }
+        summarisedData.close();
+        assertFalse(actual.isEmpty());
+        assertEquals(expected, actual);
+    }
+
     @Test
     public void getElementsWithPostAggregationFilterTest() throws OperationException {
         final View view = new View.Builder().edge(TestGroups.EDGE,
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2017. Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.operation;
+
+import com.google.common.collect.Lists;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.junit.AfterClass;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
+import uk.gov.gchq.gaffer.parquetstore.ParquetStoreProperties;
+import uk.gov.gchq.gaffer.parquetstore.operation.addelements.handler.AddElementsHandler;
+import uk.gov.gchq.gaffer.parquetstore.testutils.DataGen;
+import uk.gov.gchq.gaffer.parquetstore.testutils.TestUtils;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.types.FreqMap;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class DeltaIngestTest {
+    private static final User USER = new User();
+
+    @AfterClass
+    public static void cleanUp() throws IOException {
+        try (final FileSystem fs = FileSystem.get(new Configuration())) {
+            Path dataDir = new Path(TestUtils.getParquetStoreProperties().getDataDir());
+            if (fs.exists(dataDir)) {
+                fs.delete(dataDir, true);
+                while (fs.listStatus(dataDir.getParent()).length == 0) {
+                    dataDir = dataDir.getParent();
+                    fs.delete(dataDir, true);
+                }
+            }
+        }
+    }
+
+    private static ParquetStoreProperties getDeltaIngestProperties() {
+        final ParquetStoreProperties parquetStoreProperties = TestUtils.getParquetStoreProperties();
+        parquetStoreProperties.setSampleRate(1);
+        parquetStoreProperties.setAddElementsOutputFilesPerGroup(1);
+        parquetStoreProperties.setDeltaIngest(true);
+        parquetStoreProperties.setCompactionMaxDeltas(100);
+        return parquetStoreProperties;
+    }
+
+    private static List<Element> getElements() {
+        final List<Element> elements = new ArrayList<>(1);
+        elements.add(DataGen.getEntity(TestGroups.ENTITY, "vertex", (byte) 'a', 0.2, 3f, TestUtils.getTreeSet1(), 5L, (short) 6,
+                TestUtils.DATE, TestUtils.getFreqMap1(), 1, null));
+        return elements;
+    }
+
+    private static Entity getAggregatedEntity() {
+        final FreqMap f2 = new FreqMap();
+        f2.upsert("A", 2L);
+        f2.upsert("B", 2L);
+        return DataGen.getEntity(TestGroups.ENTITY, "vertex", (byte) 'a', 0.4, 6f, TestUtils.getTreeSet1(), 10L, (short) 12,
+                TestUtils.DATE, f2, 2, "");
+    }
+
+    @Test
+    public void shouldMergeDeltasOnReadAndCompactThemIntoANewSnapshot() throws StoreException, OperationException {
+        // Given
+        final Schema gafferSchema = TestUtils.gafferSchema("schemaUsingStringVertexType");
+        final ParquetStore store = new ParquetStore();
+        store.initialise("shouldMergeDeltasOnReadAndCompactThemIntoANewSnapshot", gafferSchema, getDeltaIngestProperties());
+        final Graph graph = new Graph.Builder()
+                .store(store)
+                .build();
+        graph.execute(new AddElements.Builder().input(getElements()).build(), USER);
+        final long snapshot = store.getGraphIndex().getSnapshotTimestamp();
+
+        // When
+        graph.execute(new AddElements.Builder().input(getElements()).build(), USER);
+
+        // Then
+        assertEquals(snapshot, store.getGraphIndex().getSnapshotTimestamp());
+        assertEquals(1, store.getGraphIndex().getDeltas().size());
+        assertEquals(Collections.singletonList(getAggregatedEntity()),
+                Lists.newArrayList(graph.execute(new GetAllElements(), USER)));
+        assertEquals(Collections.singletonList(getAggregatedEntity()),
+                Lists.newArrayList(graph.execute(new GetElements.Builder().input(new EntitySeed("vertex")).build(), USER)));
+
+        // When
+        new AddElementsHandler().compactDeltas(store, TestUtils.spark);
+
+        // Then
+        assertFalse(store.getGraphIndex().hasDeltas());
+        assertEquals(Collections.singletonList(getAggregatedEntity()),
+                Lists.newArrayList(graph.execute(new GetAllElements(), USER)));
+    }
+
+    @Test
+    public void shouldLoadDeltasWhenStoreIsInitialised() throws StoreException, OperationException {
+        // Given
+        final Schema gafferSchema = TestUtils.gafferSchema("schemaUsingStringVertexType");
+        final ParquetStore store = new ParquetStore();
+        store.initialise("shouldLoadDeltasWhenStoreIsInitialised", gafferSchema, getDeltaIngestProperties());
+        final Graph graph = new Graph.Builder()
+                .store(store)
+                .build();
+        graph.execute(new AddElements.Builder().input(getElements()).build(), USER);
+        graph.execute(new AddElements.Builder().input(getElements()).build(), USER);
+
+        // When
+        final ParquetStore reloadedStore = new ParquetStore();
+        reloadedStore.initialise("shouldLoadDeltasWhenStoreIsInitialised", gafferSchema, getDeltaIngestProperties());
+
+        // Then
+        assertEquals(store.getGraphIndex().getSnapshotTimestamp(), reloadedStore.getGraphIndex().getSnapshotTimestamp());
+        assertEquals(store.getGraphIndex().getDeltas().keySet(), reloadedStore.getGraphIndex().getDeltas().keySet());
+        assertEquals(Collections.singletonList(getAggregatedEntity()),
+                Lists.newArrayList(new Graph.Builder().store(reloadedStore).build().execute(new GetAllElements(), USER)));
+    }
+}
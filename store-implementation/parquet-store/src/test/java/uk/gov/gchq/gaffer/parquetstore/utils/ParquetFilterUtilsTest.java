@@ -28,6 +28,7 @@ import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.SeedMatching;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
 import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters;
 import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
 import uk.gov.gchq.gaffer.parquetstore.ParquetStoreProperties;
@@ -42,7 +43,9 @@ import uk.gov.gchq.koryphe.impl.predicate.And;
 import uk.gov.gchq.koryphe.impl.predicate.IsLessThan;
 import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
 
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -116,5 +119,35 @@ public class ParquetFilterUtilsTest {
         final Object[] actualPaths = pathToFilterMap.keySet().stream().map(Path::getName).toArray();
         assertThat(expectedPaths, containsInAnyOrder(actualPaths));
     }
-            
+
+    @Test
+    public void buildPathToFilterMapOnlySelectsFilesThatCanContainTheSeeds() throws StoreException, SerialisationException, OperationException {
+        final ParquetStore store = new ParquetStore();
+        final Schema gafferSchema = TestUtils.gafferSchema("schemaUsingStringVertexType");
+        final ParquetStoreProperties storeProperties = TestUtils.getParquetStoreProperties();
+        store.initialise("buildPathToFilterMapOnlySelectsFilesThatCanContainTheSeeds", gafferSchema, storeProperties);
+        final ParquetFilterUtils parquetFilterUtils = new ParquetFilterUtils(store);
+        final View view = new View.Builder().edge(TestGroups.EDGE).build();
+        final List<ElementId> seeds = Arrays.asList(new EntitySeed("b1"), new EntitySeed("bz"));
+        final GraphIndex graphIndex = new GraphIndex();
+        final GroupIndex edgeIndex = new GroupIndex();
+        graphIndex.add(TestGroups.EDGE, edgeIndex);
+        final ColumnIndex srcIndex = new ColumnIndex();
+        edgeIndex.add(ParquetStoreConstants.SOURCE, srcIndex);
+        final ColumnIndex dstIndex = new ColumnIndex();
+        edgeIndex.add(ParquetStoreConstants.DESTINATION, dstIndex);
+        for (final String file : new String[]{"a", "b", "c", "d"}) {
+            srcIndex.add(new MinValuesWithPath(new Object[]{file}, new Object[]{file + "9"}, "srcFile" + file.toUpperCase(), null, null));
+            dstIndex.add(new MinValuesWithPath(new Object[]{file}, new Object[]{file + "9"}, "dstFile" + file.toUpperCase(), null, null));
+        }
+
+        parquetFilterUtils.buildPathToFilterMap(view, DirectedType.EITHER, SeededGraphFilters.IncludeIncomingOutgoingType.EITHER,
+                SeedMatching.SeedMatchingType.RELATED, seeds, graphIndex);
+        final Map<Path, FilterPredicate> pathToFilterMap = parquetFilterUtils.getPathToFilterMap();
+        final Set<String> expectedPaths = new HashSet<>(2);
+        expectedPaths.add("srcFileB");
+        expectedPaths.add("dstFileB");
+        final Object[] actualPaths = pathToFilterMap.keySet().stream().map(Path::getName).toArray();
+        assertThat(expectedPaths, containsInAnyOrder(actualPaths));
+    }
 }
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2017. Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.parquetstore.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.parquetstore.operation.addelements.impl.SplitPointsReservoir;
+
+import java.util.Map;
+import java.util.Random;
+
+public class SplitPointsReservoirTest {
+
+    @Test
+    public void calculateSplitsFromEmptyReservoir() {
+        final SplitPointsReservoir reservoir = new SplitPointsReservoir(2, 10);
+        Assert.assertTrue(reservoir.isEmpty());
+        Assert.assertTrue(reservoir.getSplitPoints(2).isEmpty());
+    }
+
+    @Test
+    public void calculateSplitsFromSampleSmallerThanReservoir() {
+        final SplitPointsReservoir reservoir = new SplitPointsReservoir(2, 10);
+        for (long i = 11; i >= 0; i--) {
+            reservoir.offer(i);
+        }
+        final Map<Object, Integer> splitPoints = reservoir.getSplitPoints(2);
+        Assert.assertEquals(2, splitPoints.size());
+        Assert.assertEquals((Integer) 0, splitPoints.get(1L));
+        Assert.assertEquals((Integer) 1, splitPoints.get(7L));
+    }
+
+    @Test
+    public void calculateSplitsFromSampleLargerThanReservoir() {
+        final SplitPointsReservoir reservoir = new SplitPointsReservoir(1, 100, new Random(1L));
+        for (long i = 0; i < 100000; i++) {
+            reservoir.offer(i);
+        }
+        final Map<Object, Integer> splitPoints = reservoir.getSplitPoints(1);
+        Assert.assertEquals(2, splitPoints.size());
+        for (final Map.Entry<Object, Integer> entry : splitPoints.entrySet()) {
+            if (1 == entry.getValue()) {
+                final long splitPoint = (long) entry.getKey();
+                Assert.assertTrue("Split point " + splitPoint + " is not close to the median", splitPoint > 30000 && splitPoint < 70000);
+            }
+        }
+    }
+}
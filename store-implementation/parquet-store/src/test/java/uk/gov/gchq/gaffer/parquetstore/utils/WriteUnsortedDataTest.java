@@ -41,6 +41,8 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class WriteUnsortedDataTest {
 
@@ -137,6 +139,43 @@ public class WriteUnsortedDataTest {
         }
     }
 
+    @Test
+    public void writeIterableOfEntitiesSamplingSplitPoints() throws OperationException, IOException {
+        final SchemaUtils schemaUtils = new SchemaUtils(TestUtils.gafferSchema("schemaUsingLongVertexType"));
+        final FileSystem fs = FileSystem.get(new Configuration());
+        final ParquetStoreProperties props = TestUtils.getParquetStoreProperties();
+        final List<Element> data = new ArrayList<>();
+        for (long i = 0; i < 12; i++) {
+            data.add(DataGen.getEntity(TestGroups.ENTITY, i, null, null, null, null, null, null, null, null, 1, null));
+            data.add(DataGen.getEntity(TestGroups.ENTITY_2, i + 5, null, null, null, null, null, null, null, null, 1, null));
+        }
+        final Map<String, Map<Object, Integer>> splitPoints = new HashMap<>(2);
+        splitPoints.put(TestGroups.ENTITY, new CalculateSplitPointsFromIterable(2, 2, data, TestGroups.ENTITY, true).call()._2);
+        final String tempDir = props.getTempFilesDir() + "/WriteUnsortedDataTest/sampled";
+        final WriteUnsortedData writeUnsortedData = new WriteUnsortedData(tempDir, schemaUtils, splitPoints, 2, 100, 2);
+        final ExecutorService pool = Executors.newFixedThreadPool(1);
+        writeUnsortedData.writeElements(data.iterator());
+        final Map<String, Map<Object, Integer>> allSplitPoints = writeUnsortedData.splitSampledGroups(pool);
+        pool.shutdown();
+        Assert.assertEquals(new CalculateSplitPointsFromIterable(2, 2, data, TestGroups.ENTITY_2, true).call()._2, allSplitPoints.get(TestGroups.ENTITY_2));
+        final String entity2Dir = tempDir + "/graph/GROUP=" + TestGroups.ENTITY_2 + "/raw";
+        Assert.assertFalse(fs.exists(new Path(entity2Dir + "/unsplit")));
+        Row[] results = (Row[]) TestUtils.spark.read().parquet(entity2Dir + "/split0").select(ParquetStoreConstants.VERTEX).collect();
+        Assert.assertEquals(6, results.length);
+        for (int i = 0; i < 6; i++) {
+            Assert.assertEquals((long) i + 5, results[i].get(0));
+        }
+        results = (Row[]) TestUtils.spark.read().parquet(entity2Dir + "/split1").select(ParquetStoreConstants.VERTEX).collect();
+        Assert.assertEquals(6, results.length);
+        for (int i = 6; i < 12; i++) {
+            Assert.assertEquals((long) i + 5, results[i - 6].get(0));
+        }
+        results = (Row[]) TestUtils.spark.read().parquet(tempDir + "/graph/GROUP=" + TestGroups.ENTITY + "/raw/split1").select(ParquetStoreConstants.VERTEX).collect();
+        for (int i = 6; i < 12; i++) {
+            Assert.assertEquals((long) i, results[i - 6].get(0));
+        }
+    }
+
     @AfterClass
     public static void cleanUp() throws IOException {
         final ParquetStoreProperties props = TestUtils.getParquetStoreProperties();
@@ -166,8 +166,8 @@ public class ProxyStoreBasicIT {
                 .build();
         JobDetail jobDetail = graph.executeJob(new OperationChain<>(add), USER);
 
-        // Wait until the job status is not RUNNING
-        while (JobStatus.RUNNING.equals(jobDetail.getStatus())) {
+        // Wait until the job status is not QUEUED or RUNNING
+        while (JobStatus.QUEUED.equals(jobDetail.getStatus()) || JobStatus.RUNNING.equals(jobDetail.getStatus())) {
             jobDetail = graph.execute(new GetJobDetails.Builder()
                     .jobId(jobDetail.getJobId())
                     .build(), USER);